@@ -10,6 +10,8 @@ import com.pcz.mybatis.core.reflection.MetaObject;
 import com.pcz.mybatis.core.reflection.ParamNameResolver;
 import com.pcz.mybatis.core.reflection.TypeParameterResolver;
 import com.pcz.mybatis.core.session.Configuration;
+import com.pcz.mybatis.core.session.KeysetBounds;
+import com.pcz.mybatis.core.session.KeysetPage;
 import com.pcz.mybatis.core.session.ResultHandler;
 import com.pcz.mybatis.core.session.RowBounds;
 import com.pcz.mybatis.core.session.SqlSession;
@@ -22,6 +24,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Mapper 方法
@@ -78,6 +81,9 @@ public class MapperMethod {
                     // 返回空
                     executeWithResultHandler(sqlSession, args);
                     result = null;
+                } else if (methodSignature.returnsKeysetPage()) {
+                    // 返回键集分页的一页
+                    result = executeForKeysetPage(sqlSession, args);
                 } else if (methodSignature.returnsMany()) {
                     // 返回多个
                     result = executeForMany(sqlSession, args);
@@ -110,9 +116,50 @@ public class MapperMethod {
                     + methodSignature.getReturnType() + ").");
         }
 
+        if (methodSignature.returnsFuture()) {
+            // 在当前会话中同步执行，异步执行由 AsyncSqlSession 负责
+            return CompletableFuture.completedFuture(result);
+        }
+
         return result;
     }
 
+    /**
+     * 执行键集分页查询
+     *
+     * @param sqlSession 会话
+     * @param args       参数
+     * @param <E>        泛型
+     * @return 一页结果
+     */
+    private <E> KeysetPage<E> executeForKeysetPage(SqlSession sqlSession, Object[] args) {
+        if (!methodSignature.hasKeysetBounds()) {
+            throw new BindingException("Method '" + sqlCommand.getName()
+                    + "' returns a KeysetPage and must declare a KeysetBounds parameter.");
+        }
+
+        Object param = methodSignature.convertArgsToSqlCommandParam(args);
+        return sqlSession.selectKeysetPage(sqlCommand.getName(), param, methodSignature.extractKeysetBounds(args));
+    }
+
+    /**
+     * 是否返回 CompletableFuture
+     *
+     * @return 是否返回 CompletableFuture
+     */
+    public boolean returnsFuture() {
+        return methodSignature.returnsFuture();
+    }
+
+    /**
+     * 是否返回游标
+     *
+     * @return 是否返回游标
+     */
+    public boolean returnsCursor() {
+        return methodSignature.returnsCursor();
+    }
+
     /**
      * 获取影响行数结果
      *
@@ -413,6 +460,16 @@ public class MapperMethod {
          */
         private final boolean returnsOptional;
 
+        /**
+         * 是否返回键集分页的一页
+         */
+        private final boolean returnsKeysetPage;
+
+        /**
+         * 是否返回 CompletableFuture，此时其余的返回类型信息按 CompletableFuture 的类型参数解析
+         */
+        private final boolean returnsFuture;
+
         /**
          * 返回 Class 实例
          */
@@ -433,6 +490,11 @@ public class MapperMethod {
          */
         private final Integer rowBoundsIndex;
 
+        /**
+         * 键集分页边界索引
+         */
+        private final Integer keysetBoundsIndex;
+
         /**
          * 参数名解析器
          */
@@ -440,23 +502,33 @@ public class MapperMethod {
 
         public MethodSignature(Configuration configuration, Class<?> mapperInterface, Method method) {
             Type resolvedReturnType = TypeParameterResolver.resolveReturnType(method, mapperInterface);
+            this.returnsFuture = CompletableFuture.class.equals(method.getReturnType());
+            if (this.returnsFuture) {
+                resolvedReturnType = resolvedReturnType instanceof ParameterizedType
+                        ? ((ParameterizedType) resolvedReturnType).getActualTypeArguments()[0]
+                        : Object.class;
+            }
+
             if (resolvedReturnType instanceof Class<?>) {
                 this.returnType = (Class<?>) resolvedReturnType;
             } else if (resolvedReturnType instanceof ParameterizedType) {
                 this.returnType = (Class<?>) ((ParameterizedType) resolvedReturnType).getRawType();
             } else {
-                this.returnType = method.getReturnType();
+                this.returnType = this.returnsFuture ? Object.class : method.getReturnType();
             }
 
-            this.returnsVoid = void.class.equals(this.returnType);
+            this.returnsVoid = void.class.equals(this.returnType)
+                    || (this.returnsFuture && Void.class.equals(this.returnType));
             this.returnsMany = configuration.getObjectFactory().isCollection(this.returnType)
                     || this.returnType.isArray();
             this.returnsCursor = Cursor.class.equals(this.returnType);
             this.returnsOptional = Optional.class.equals(this.returnType);
+            this.returnsKeysetPage = KeysetPage.class.equals(this.returnType);
             this.mapKey = getMapKey(method);
             this.returnsMap = this.mapKey != null;
             this.rowBoundsIndex = getUniqueParamIndex(method, RowBounds.class);
             this.resultHandlerIndex = getUniqueParamIndex(method, ResultHandler.class);
+            this.keysetBoundsIndex = getUniqueParamIndex(method, KeysetBounds.class);
             this.paramNameResolver = new ParamNameResolver(configuration, method);
         }
 
@@ -488,6 +560,14 @@ public class MapperMethod {
             return returnsOptional;
         }
 
+        public boolean returnsKeysetPage() {
+            return returnsKeysetPage;
+        }
+
+        public boolean returnsFuture() {
+            return returnsFuture;
+        }
+
         public boolean hasRowBounds() {
             return rowBoundsIndex != null;
         }
@@ -497,6 +577,15 @@ public class MapperMethod {
                     (RowBounds) args[rowBoundsIndex] : null;
         }
 
+        public boolean hasKeysetBounds() {
+            return keysetBoundsIndex != null;
+        }
+
+        public KeysetBounds extractKeysetBounds(Object[] args) {
+            return hasKeysetBounds() ?
+                    (KeysetBounds) args[keysetBoundsIndex] : null;
+        }
+
         public boolean hasResultHandler() {
             return resultHandlerIndex != null;
         }
@@ -90,6 +90,17 @@ public abstract class BaseBuilder {
         return value == null ? defaultValue : Integer.valueOf(value);
     }
 
+    /**
+     * 获取 Long 值
+     *
+     * @param value        输入值
+     * @param defaultValue 默认值
+     * @return Long 值
+     */
+    protected Long longValueOf(String value, Long defaultValue) {
+        return value == null ? defaultValue : Long.valueOf(value);
+    }
+
     /**
      * 获取 Set<String> 值
      *
@@ -9,6 +9,7 @@ import com.pcz.mybatis.core.session.Configuration;
 import com.pcz.mybatis.core.type.JdbcType;
 import com.pcz.mybatis.core.type.TypeHandler;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -146,6 +147,27 @@ public class MapperBuilderAssistant extends BaseBuilder {
         return null;
     }
 
+    /**
+     * 构造结果映射
+     * 结果映射暂不支持 notNullColumn、resultSet 和 foreignColumn，这些属性会被忽略
+     *
+     * @param resultType      结果类型
+     * @param property        属性
+     * @param column          列
+     * @param javaType        Java 类型
+     * @param jdbcType        Jdbc 类型
+     * @param nestedSelect    嵌套查询的 id
+     * @param nestedResultMap 嵌套结果 Map 的 id
+     * @param notNullColumn   非空列
+     * @param columnPrefix    列名前缀
+     * @param typeHandler     类型处理器的类型
+     * @param flags           结果标志
+     * @param resultSet       结果集
+     * @param foreignColumn   外键列
+     * @param lazy            是否懒加载
+     * @param batchSize       嵌套查询批量加载的外键个数，null 表示使用全局配置
+     * @return 结果映射
+     */
     public ResultMapping buildResultMapping(Class<?> resultType,
                                             String property,
                                             String column,
@@ -159,8 +181,22 @@ public class MapperBuilderAssistant extends BaseBuilder {
                                             List<ResultFlag> flags,
                                             String resultSet,
                                             String foreignColumn,
-                                            boolean lazy) {
-        return null;
+                                            boolean lazy,
+                                            Integer batchSize) {
+        TypeHandler<?> typeHandlerInstance = typeHandler == null
+                ? null : typeHandlerRegistry.getInstance(javaType, typeHandler);
+        return new ResultMapping.Builder(configuration, property)
+                .column(column)
+                .javaType(javaType)
+                .jdbcType(jdbcType)
+                .typeHandler(typeHandlerInstance)
+                .nestedQueryId(applyCurrentNamespace(nestedSelect, true))
+                .nestedResultMapId(applyCurrentNamespace(nestedResultMap, true))
+                .columnPrefix(columnPrefix)
+                .flags(flags == null ? new ArrayList<>() : flags)
+                .lazy(lazy)
+                .batchSize(batchSize)
+                .build();
     }
 
     public Discriminator buildDiscriminator(Class<?> resultType,
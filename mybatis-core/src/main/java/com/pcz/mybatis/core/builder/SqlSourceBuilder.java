@@ -0,0 +1,120 @@
+package com.pcz.mybatis.core.builder;
+
+import com.pcz.mybatis.core.mapping.ParameterMapping;
+import com.pcz.mybatis.core.mapping.SqlSource;
+import com.pcz.mybatis.core.parsing.GenericTokenParser;
+import com.pcz.mybatis.core.parsing.TokenHandler;
+import com.pcz.mybatis.core.reflection.MetaClass;
+import com.pcz.mybatis.core.session.Configuration;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sql 源构造器
+ * 将 #{} 占位符解析为 ? 和对应的参数映射
+ *
+ * @author picongzhi
+ */
+public class SqlSourceBuilder extends BaseBuilder {
+    public SqlSourceBuilder(Configuration configuration) {
+        super(configuration);
+    }
+
+    /**
+     * 解析 Sql
+     *
+     * @param originalSql   原始 Sql
+     * @param parameterType 参数类型
+     * @return 静态 Sql 源
+     */
+    public SqlSource parse(String originalSql, Class<?> parameterType) {
+        ParameterMappingTokenHandler handler = new ParameterMappingTokenHandler(configuration, parameterType);
+        GenericTokenParser parser = new GenericTokenParser("#{", "}", handler);
+        String sql = parser.parse(originalSql);
+
+        return new StaticSqlSource(configuration, sql, handler.getParameterMappings());
+    }
+
+    /**
+     * 参数映射 Token 处理器
+     */
+    private static class ParameterMappingTokenHandler extends BaseBuilder implements TokenHandler {
+        /**
+         * 参数映射
+         */
+        private final List<ParameterMapping> parameterMappings = new ArrayList<>();
+
+        /**
+         * 参数类型
+         */
+        private final Class<?> parameterType;
+
+        ParameterMappingTokenHandler(Configuration configuration, Class<?> parameterType) {
+            super(configuration);
+            this.parameterType = parameterType == null ? Object.class : parameterType;
+        }
+
+        List<ParameterMapping> getParameterMappings() {
+            return parameterMappings;
+        }
+
+        @Override
+        public String handleToken(String content) {
+            parameterMappings.add(buildParameterMapping(content));
+            return "?";
+        }
+
+        /**
+         * 构造参数映射
+         * 格式为 property,javaType=int,jdbcType=NUMERIC
+         *
+         * @param content 占位符的内容
+         * @return 参数映射
+         */
+        private ParameterMapping buildParameterMapping(String content) {
+            String[] parts = content.split(",");
+            String property = parts[0].trim();
+            Map<String, String> attributes = new HashMap<>();
+            for (int i = 1; i < parts.length; i++) {
+                String[] pair = parts[i].split("=", 2);
+                if (pair.length != 2) {
+                    throw new BuilderException("Parsing error in {" + content + "}. Expected name=value pairs after property.");
+                }
+                attributes.put(pair[0].trim(), pair[1].trim());
+            }
+
+            Class<?> propertyType;
+            String javaType = attributes.get("javaType");
+            if (javaType != null) {
+                propertyType = resolveClass(javaType);
+            } else if (typeHandlerRegistry.hasTypeHandler(parameterType)) {
+                propertyType = parameterType;
+            } else if (Map.class.isAssignableFrom(parameterType) || Object.class.equals(parameterType)) {
+                propertyType = Object.class;
+            } else {
+                MetaClass metaClass = MetaClass.forClass(parameterType, configuration.getReflectorFactory());
+                propertyType = metaClass.hasGetter(property) ? metaClass.getGetterType(property) : Object.class;
+            }
+
+            ParameterMapping.Builder builder = new ParameterMapping.Builder(configuration, property, propertyType);
+            for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+                String name = attribute.getKey();
+                String value = attribute.getValue();
+                if ("jdbcType".equals(name)) {
+                    builder.jdbcType(resolveJdbcType(value));
+                } else if ("mode".equals(name)) {
+                    builder.mode(resolveParameterMode(value));
+                } else if ("typeHandler".equals(name)) {
+                    builder.typeHandler(typeHandlerRegistry.getInstance(propertyType, resolveClass(value)));
+                } else if (!"javaType".equals(name)) {
+                    throw new BuilderException("An invalid property '" + name + "' was found in mapping #{" + content + "}.");
+                }
+            }
+
+            return builder.build();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.pcz.mybatis.core.builder;
+
+import com.pcz.mybatis.core.mapping.BoundSql;
+import com.pcz.mybatis.core.mapping.ParameterMapping;
+import com.pcz.mybatis.core.mapping.SqlSource;
+import com.pcz.mybatis.core.session.Configuration;
+
+import java.util.List;
+
+/**
+ * 静态 Sql 源
+ * Sql 中的占位符已经解析为 ?，每次获取时直接绑定参数对象
+ *
+ * @author picongzhi
+ */
+public class StaticSqlSource implements SqlSource {
+    /**
+     * Sql
+     */
+    private final String sql;
+
+    /**
+     * 参数映射
+     */
+    private final List<ParameterMapping> parameterMappings;
+
+    /**
+     * 配置
+     */
+    private final Configuration configuration;
+
+    public StaticSqlSource(Configuration configuration, String sql) {
+        this(configuration, sql, null);
+    }
+
+    public StaticSqlSource(Configuration configuration, String sql, List<ParameterMapping> parameterMappings) {
+        this.sql = sql;
+        this.parameterMappings = parameterMappings;
+        this.configuration = configuration;
+    }
+
+    @Override
+    public BoundSql getBoundSql(Object parameterObject) {
+        return new BoundSql(sql, parameterMappings, parameterObject);
+    }
+}
@@ -3,6 +3,8 @@ package com.pcz.mybatis.core.builder.xml;
 import com.pcz.mybatis.core.builder.BaseBuilder;
 import com.pcz.mybatis.core.builder.BuilderException;
 import com.pcz.mybatis.core.datasource.DataSourceFactory;
+import com.pcz.mybatis.core.datasource.routing.ReplicaSelector;
+import com.pcz.mybatis.core.datasource.sharding.ShardingFunction;
 import com.pcz.mybatis.core.executor.ErrorContext;
 import com.pcz.mybatis.core.executor.loader.ProxyFactory;
 import com.pcz.mybatis.core.io.Resources;
@@ -399,6 +401,42 @@ public class XMLConfigBuilder extends BaseBuilder {
         configuration.setDefaultFetchSize(
                 integerValueOf(settings.getProperty("defaultFetchSize"), null));
 
+        // 设置默认的游标预取深度
+        configuration.setDefaultPrefetchDepth(
+                integerValueOf(settings.getProperty("defaultPrefetchDepth"), null));
+
+        // 设置嵌套查询默认的批量加载大小
+        configuration.setDefaultNestedSelectBatchSize(
+                integerValueOf(settings.getProperty("defaultNestedSelectBatchSize"), null));
+
+        // 设置批量执行时自动刷新的行数
+        configuration.setBatchFlushRows(
+                integerValueOf(settings.getProperty("batchFlushRows"), null));
+
+        // 设置批量执行时自动刷新的估算字节数
+        configuration.setBatchFlushBytes(
+                longValueOf(settings.getProperty("batchFlushBytes"), null));
+
+        // 设置批量执行时是否按映射的语句重排
+        configuration.setBatchReorderingEnabled(
+                booleanValueOf(settings.getProperty("batchReorderingEnabled"), false));
+
+        // 设置以集合为参数的 insert 语句是否改写为多行 VALUES 的语句
+        configuration.setMultiRowInsertEnabled(
+                booleanValueOf(settings.getProperty("multiRowInsertEnabled"), false));
+
+        // 设置是否按方言把行边界改写为 Sql 中的分页子句
+        configuration.setRowBoundsPushdownEnabled(
+                booleanValueOf(settings.getProperty("rowBoundsPushdownEnabled"), true));
+
+        // 设置是否为结果 Map 生成编译的行映射器
+        configuration.setCompiledRowMappersEnabled(
+                booleanValueOf(settings.getProperty("compiledRowMappersEnabled"), true));
+
+        // 设置是否由超时调度器取消超时的语句
+        configuration.setTimeoutSchedulerEnabled(
+                booleanValueOf(settings.getProperty("timeoutSchedulerEnabled"), false));
+
         // 设置默认的结果集类型
         configuration.setDefaultResultSetType(
                 resolveResultSetType(settings.getProperty("defaultResultSetType")));
@@ -498,20 +536,85 @@ public class XMLConfigBuilder extends BaseBuilder {
                 // 解析 Datasource
                 DataSourceFactory dataSourceFactory =
                         parseDataSourceFactory(child.evalNode("datasource"));
-                DataSource dataSource = dataSourceFactory.getDataSource();
+                DataSource dataSource = dataSourceFactory == null ? null : dataSourceFactory.getDataSource();
 
                 // 构造 Environment 并设置到 Configuration
-                Environment environment = new Environment.Builder(id)
+                Environment.Builder environmentBuilder = new Environment.Builder(id)
                         .transactionFactory(transactionFactory)
-                        .datasource(dataSource)
-                        .build();
-                configuration.setEnvironment(environment);
+                        .datasource(dataSource);
+
+                // 解析 replicas
+                parseReplicas(child.evalNode("replicas"), environmentBuilder);
+
+                // 解析 shards
+                parseShards(child.evalNode("shards"), environmentBuilder);
+
+                configuration.setEnvironment(environmentBuilder.build());
 
                 break;
             }
         }
     }
 
+    /**
+     * 解析 replicas 节点
+     *
+     * @param xnode              replicas 节点
+     * @param environmentBuilder 环境构造器
+     * @throws Exception 异常
+     */
+    private void parseReplicas(XNode xnode, Environment.Builder environmentBuilder) throws Exception {
+        if (xnode == null) {
+            return;
+        }
+
+        // 获取从库选择器类型
+        String selector = xnode.getStringAttribute("selector", "ROUND_ROBIN");
+        ReplicaSelector replicaSelector = (ReplicaSelector) resolveClass(selector)
+                .getDeclaredConstructor()
+                .newInstance();
+        environmentBuilder.replicaSelector(replicaSelector);
+
+        // 解析每个从库的 datasource
+        for (XNode child : xnode.getChildren()) {
+            DataSourceFactory dataSourceFactory = parseDataSourceFactory(child);
+            environmentBuilder.replica(dataSourceFactory.getDataSource());
+        }
+    }
+
+    /**
+     * 解析 shards 节点，每个分片使用独立的数据源
+     *
+     * @param xnode              shards 节点
+     * @param environmentBuilder 环境构造器
+     * @throws Exception 异常
+     */
+    private void parseShards(XNode xnode, Environment.Builder environmentBuilder) throws Exception {
+        if (xnode == null) {
+            return;
+        }
+
+        // 获取分片键属性
+        String keyProperty = xnode.getStringAttribute("keyProperty");
+        if (keyProperty == null) {
+            throw new BuilderException("Environment shards requires a keyProperty attribute.");
+        }
+        environmentBuilder.shardKeyProperty(keyProperty);
+
+        // 获取分片函数类型
+        String function = xnode.getStringAttribute("function", "MOD");
+        ShardingFunction shardingFunction = (ShardingFunction) resolveClass(function)
+                .getDeclaredConstructor()
+                .newInstance();
+        environmentBuilder.shardingFunction(shardingFunction);
+
+        // 解析每个分片的 datasource
+        for (XNode child : xnode.getChildren()) {
+            DataSourceFactory dataSourceFactory = parseDataSourceFactory(child);
+            environmentBuilder.shard(dataSourceFactory.getDataSource());
+        }
+    }
+
     /**
      * 解析 transactionManager 节点
      *
@@ -435,6 +435,7 @@ public class XMLMapperBuilder extends BaseBuilder {
         String columnPrefix = xnode.getStringAttribute("columnPrefix");
         String resultSet = xnode.getStringAttribute("resultSet");
         String foreignColumn = xnode.getStringAttribute("foreignColumn");
+        Integer batchSize = xnode.getIntAttribute("batchSize");
 
         boolean lazy = "lazy".equals(xnode.getStringAttribute("fetchType",
                 configuration.isLazyLoadingEnabled() ? "lazy" : "eager"));
@@ -449,7 +450,7 @@ public class XMLMapperBuilder extends BaseBuilder {
         JdbcType jdbcTypeEnum = resolveJdbcType(jdbcType);
 
         return builderAssistant.buildResultMapping(
-                resultType, property, column, javaTypeClass, jdbcTypeEnum, nestedSelect, nestedResultMap, notNullColumn, columnPrefix, typeHandlerClass, flags, resultSet, foreignColumn, lazy);
+                resultType, property, column, javaTypeClass, jdbcTypeEnum, nestedSelect, nestedResultMap, notNullColumn, columnPrefix, typeHandlerClass, flags, resultSet, foreignColumn, lazy, batchSize);
     }
 
     /**
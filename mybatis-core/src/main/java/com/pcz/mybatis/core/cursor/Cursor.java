@@ -11,4 +11,24 @@ import java.util.Iterator;
  * @author picongzhi
  */
 public interface Cursor<T> extends Closeable, Iterator<T> {
+    /**
+     * 判断游标是否已打开
+     *
+     * @return 是否已打开
+     */
+    boolean isOpen();
+
+    /**
+     * 判断是否已取出所有元素
+     *
+     * @return 是否已取出所有元素
+     */
+    boolean isConsumed();
+
+    /**
+     * 获取当前元素的下标，从 0 开始，还未取出元素时返回 -1
+     *
+     * @return 当前元素的下标
+     */
+    int getCurrentIndex();
 }
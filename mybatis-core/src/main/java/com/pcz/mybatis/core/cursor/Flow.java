@@ -0,0 +1,77 @@
+package com.pcz.mybatis.core.cursor;
+
+/**
+ * 响应式流的接口
+ * 与 Java 9 的 java.util.concurrent.Flow 的方法签名一致，可以直接用方法引用适配
+ *
+ * @author picongzhi
+ */
+public final class Flow {
+    private Flow() {
+    }
+
+    /**
+     * 发布者
+     *
+     * @param <T> 泛型
+     */
+    @FunctionalInterface
+    public interface Publisher<T> {
+        /**
+         * 订阅
+         *
+         * @param subscriber 订阅者
+         */
+        void subscribe(Subscriber<? super T> subscriber);
+    }
+
+    /**
+     * 订阅者
+     *
+     * @param <T> 泛型
+     */
+    public interface Subscriber<T> {
+        /**
+         * 订阅成功
+         *
+         * @param subscription 订阅
+         */
+        void onSubscribe(Subscription subscription);
+
+        /**
+         * 接收元素
+         *
+         * @param item 元素
+         */
+        void onNext(T item);
+
+        /**
+         * 发生异常，之后不再发送任何信号
+         *
+         * @param throwable 异常
+         */
+        void onError(Throwable throwable);
+
+        /**
+         * 所有元素发送完成，之后不再发送任何信号
+         */
+        void onComplete();
+    }
+
+    /**
+     * 订阅
+     */
+    public interface Subscription {
+        /**
+         * 请求元素
+         *
+         * @param n 请求的元素个数，必须大于 0
+         */
+        void request(long n);
+
+        /**
+         * 取消订阅
+         */
+        void cancel();
+    }
+}
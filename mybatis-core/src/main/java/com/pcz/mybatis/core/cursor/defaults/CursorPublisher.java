@@ -0,0 +1,259 @@
+package com.pcz.mybatis.core.cursor.defaults;
+
+import com.pcz.mybatis.core.cursor.Cursor;
+import com.pcz.mybatis.core.cursor.Flow;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 基于游标的发布者
+ * 在第一次请求元素时执行查询，只在有未满足的请求时从游标取行，不会超出请求数预读，
+ * 有限的请求数作为结果集的抓取数量提示，使每次从数据库获取的行数与下游的消费能力一致
+ * 抓取数量提示和取消语句依赖 {@link DefaultCursor}，提供者不应返回会超出请求数预读的 {@link PrefetchingCursor}
+ * 取消订阅时关闭游标，查询仍在其他线程执行时取消语句
+ * 结果集只能遍历一次，因此只允许一个订阅者，信号在调用 request 或 cancel 的线程上串行发送
+ *
+ * @param <T> 泛型
+ * @author picongzhi
+ */
+public class CursorPublisher<T> implements Flow.Publisher<T> {
+    /**
+     * 游标提供者
+     */
+    private final Supplier<Cursor<T>> cursorSupplier;
+
+    /**
+     * 是否已订阅
+     */
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    public CursorPublisher(Supplier<Cursor<T>> cursorSupplier) {
+        this.cursorSupplier = cursorSupplier;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(EmptySubscription.INSTANCE);
+            subscriber.onError(new IllegalStateException("CursorPublisher allows only a single subscriber"));
+            return;
+        }
+
+        subscriber.onSubscribe(new CursorSubscription<>(subscriber, cursorSupplier));
+    }
+
+    /**
+     * 基于游标的订阅
+     *
+     * @param <T> 泛型
+     */
+    private static class CursorSubscription<T> implements Flow.Subscription {
+        /**
+         * 订阅者
+         */
+        private final Flow.Subscriber<? super T> subscriber;
+
+        /**
+         * 游标提供者
+         */
+        private final Supplier<Cursor<T>> cursorSupplier;
+
+        /**
+         * 未满足的请求数，Long.MAX_VALUE 表示不限
+         */
+        private final AtomicLong requested = new AtomicLong();
+
+        /**
+         * 待处理的信号数，保证同一时刻只有一个线程发送信号
+         */
+        private final AtomicInteger wip = new AtomicInteger();
+
+        /**
+         * 游标
+         */
+        private volatile Cursor<T> cursor;
+
+        /**
+         * 正在发送信号的线程
+         */
+        private volatile Thread emittingThread;
+
+        /**
+         * 是否已取消
+         */
+        private volatile boolean cancelled;
+
+        /**
+         * 非法的请求
+         */
+        private volatile IllegalArgumentException invalidRequest;
+
+        /**
+         * 是否已结束
+         */
+        private boolean done;
+
+        /**
+         * 当前的抓取数量提示
+         */
+        private long fetchSizeHint;
+
+        CursorSubscription(Flow.Subscriber<? super T> subscriber, Supplier<Cursor<T>> cursorSupplier) {
+            this.subscriber = subscriber;
+            this.cursorSupplier = cursorSupplier;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("Requested " + n + " items, but must be positive");
+            } else {
+                requested.accumulateAndGet(n, (current, added) -> {
+                    long sum = current + added;
+                    return sum < 0 ? Long.MAX_VALUE : sum;
+                });
+            }
+
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            Thread thread = emittingThread;
+            Cursor<T> current = cursor;
+            if (thread != null && thread != Thread.currentThread() && current instanceof DefaultCursor) {
+                ((DefaultCursor<T>) current).cancel();
+            }
+
+            drain();
+        }
+
+        /**
+         * 发送信号，已有线程在发送时由该线程继续处理
+         */
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+
+            int missed = 1;
+            while (true) {
+                emittingThread = Thread.currentThread();
+                if (!done) {
+                    emit();
+                }
+                emittingThread = null;
+
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        /**
+         * 按未满足的请求数发送元素
+         */
+        private void emit() {
+            if (cancelled) {
+                terminate();
+                return;
+            }
+
+            if (invalidRequest != null) {
+                terminate();
+                subscriber.onError(invalidRequest);
+                return;
+            }
+
+            long demand = requested.get();
+            try {
+                while (demand > 0) {
+                    if (cursor == null) {
+                        cursor = cursorSupplier.get();
+                    }
+                    applyFetchSize(demand);
+
+                    long emitted = 0;
+                    while (emitted != demand) {
+                        if (cancelled) {
+                            terminate();
+                            return;
+                        }
+
+                        if (!cursor.hasNext()) {
+                            terminate();
+                            subscriber.onComplete();
+                            return;
+                        }
+
+                        subscriber.onNext(cursor.next());
+                        emitted++;
+                    }
+
+                    demand = demand == Long.MAX_VALUE ? demand : requested.addAndGet(-emitted);
+                }
+            } catch (RuntimeException e) {
+                terminate();
+                if (!cancelled) {
+                    subscriber.onError(e);
+                }
+            }
+        }
+
+        /**
+         * 将请求数作为结果集的抓取数量提示，不限请求数时使用语句的抓取数量
+         *
+         * @param demand 请求数
+         */
+        private void applyFetchSize(long demand) {
+            if (demand >= Integer.MAX_VALUE || demand == fetchSizeHint) {
+                return;
+            }
+
+            fetchSizeHint = demand;
+            if (cursor instanceof DefaultCursor) {
+                ((DefaultCursor<T>) cursor).setFetchSize((int) demand);
+            }
+        }
+
+        /**
+         * 结束订阅，关闭游标
+         */
+        private void terminate() {
+            done = true;
+            if (cursor != null) {
+                try {
+                    cursor.close();
+                } catch (IOException e) {
+                    // 忽略
+                }
+            }
+        }
+    }
+
+    /**
+     * 空的订阅
+     */
+    private enum EmptySubscription implements Flow.Subscription {
+        /**
+         * 实例
+         */
+        INSTANCE;
+
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.pcz.mybatis.core.cursor.defaults;
+
+import com.pcz.mybatis.core.cursor.Cursor;
+import com.pcz.mybatis.core.executor.resultset.DefaultResultSetHandler;
+import com.pcz.mybatis.core.executor.resultset.ResultSetWrapper;
+import com.pcz.mybatis.core.mapping.ResultMap;
+import com.pcz.mybatis.core.session.ResultContext;
+import com.pcz.mybatis.core.session.ResultHandler;
+import com.pcz.mybatis.core.session.RowBounds;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.NoSuchElementException;
+
+/**
+ * 默认的游标
+ * 从只进的结果集中逐行映射，每次只在内存中保留一行，每次从数据库获取的行数由语句的抓取数量控制
+ * 取完所有行或关闭时关闭结果集和语句，连接由会话在关闭时释放
+ *
+ * @param <T> 泛型
+ * @author picongzhi
+ */
+public class DefaultCursor<T> implements Cursor<T> {
+    /**
+     * 结果集处理器
+     */
+    private final DefaultResultSetHandler resultSetHandler;
+
+    /**
+     * 结果 Map
+     */
+    private final ResultMap resultMap;
+
+    /**
+     * 结果集包装器
+     */
+    private final ResultSetWrapper resultSetWrapper;
+
+    /**
+     * 行边界
+     */
+    private final RowBounds rowBounds;
+
+    /**
+     * 获取单行结果的处理器
+     */
+    private final ObjectWrapperResultHandler<T> objectWrapperResultHandler = new ObjectWrapperResultHandler<>();
+
+    /**
+     * 状态
+     */
+    private CursorStatus status = CursorStatus.CREATED;
+
+    /**
+     * 从结果集中取出的行数，包括行边界跳过的行
+     */
+    private int indexWithRowBound = -1;
+
+    /**
+     * 当前元素的下标
+     */
+    private int currentIndex = -1;
+
+    /**
+     * 预取的下一个元素
+     */
+    private T next;
+
+    /**
+     * 是否已预取下一个元素
+     */
+    private boolean nextFetched;
+
+    public DefaultCursor(DefaultResultSetHandler resultSetHandler,
+                         ResultMap resultMap,
+                         ResultSetWrapper resultSetWrapper,
+                         RowBounds rowBounds) {
+        this.resultSetHandler = resultSetHandler;
+        this.resultMap = resultMap;
+        this.resultSetWrapper = resultSetWrapper;
+        this.rowBounds = rowBounds == null ? RowBounds.DEFAULT : rowBounds;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return status == CursorStatus.OPEN;
+    }
+
+    @Override
+    public boolean isConsumed() {
+        return status == CursorStatus.CONSUMED;
+    }
+
+    @Override
+    public int getCurrentIndex() {
+        return currentIndex;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!nextFetched) {
+            next = fetchNextUsingRowBound();
+            nextFetched = true;
+        }
+
+        return objectWrapperResultHandler.fetched;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        T result = next;
+        next = null;
+        nextFetched = false;
+        objectWrapperResultHandler.fetched = false;
+        currentIndex++;
+        return result;
+    }
+
+    @Override
+    public void close() {
+        if (isClosed()) {
+            return;
+        }
+
+        closeResultSetAndStatement();
+        status = CursorStatus.CLOSED;
+    }
+
+    /**
+     * 设置结果集的抓取数量提示，影响之后从数据库获取的行数
+     *
+     * @param fetchSize 抓取数量
+     */
+    public void setFetchSize(int fetchSize) {
+        ResultSet resultSet = resultSetWrapper.getResultSet();
+        if (isClosed() || resultSet == null || fetchSize <= 0) {
+            return;
+        }
+
+        try {
+            resultSet.setFetchSize(fetchSize);
+        } catch (SQLException e) {
+            // 驱动不支持时忽略
+        }
+    }
+
+    /**
+     * 取消正在执行的语句，可以在其他线程调用，之后取数据的线程会收到异常并关闭游标
+     */
+    public void cancel() {
+        ResultSet resultSet = resultSetWrapper.getResultSet();
+        try {
+            Statement statement = resultSet == null ? null : resultSet.getStatement();
+            if (statement != null) {
+                statement.cancel();
+            }
+        } catch (SQLException e) {
+            // 忽略
+        }
+    }
+
+    /**
+     * 获取下一个元素，应用行边界
+     *
+     * @return 下一个元素
+     */
+    private T fetchNextUsingRowBound() {
+        if (currentIndex + 1 >= rowBounds.getLimit()) {
+            consume();
+            return null;
+        }
+
+        T result = fetchNextObjectFromDatabase();
+        while (objectWrapperResultHandler.fetched && indexWithRowBound < rowBounds.getOffset()) {
+            objectWrapperResultHandler.fetched = false;
+            result = fetchNextObjectFromDatabase();
+        }
+
+        return result;
+    }
+
+    /**
+     * 从数据库获取下一行并映射
+     *
+     * @return 下一个元素
+     */
+    private T fetchNextObjectFromDatabase() {
+        if (isClosed()) {
+            return null;
+        }
+
+        try {
+            status = CursorStatus.OPEN;
+            if (!resultSetWrapper.getResultSet().isClosed()) {
+                resultSetHandler.handleRowValues(resultSetWrapper, resultMap, objectWrapperResultHandler,
+                        RowBounds.DEFAULT);
+            }
+        } catch (SQLException e) {
+            close();
+            throw new IllegalStateException("Error fetching next row from cursor. Cause: " + e, e);
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+
+        if (!objectWrapperResultHandler.fetched) {
+            consume();
+            return null;
+        }
+
+        indexWithRowBound++;
+        return objectWrapperResultHandler.result;
+    }
+
+    /**
+     * 所有元素取完，释放结果集和语句
+     */
+    private void consume() {
+        if (isClosed()) {
+            return;
+        }
+
+        closeResultSetAndStatement();
+        status = CursorStatus.CONSUMED;
+    }
+
+    /**
+     * 判断游标是否已关闭或取完
+     *
+     * @return 是否已关闭或取完
+     */
+    private boolean isClosed() {
+        return status == CursorStatus.CLOSED || status == CursorStatus.CONSUMED;
+    }
+
+    /**
+     * 关闭结果集和语句
+     */
+    private void closeResultSetAndStatement() {
+        ResultSet resultSet = resultSetWrapper.getResultSet();
+        try {
+            if (resultSet != null) {
+                Statement statement = resultSet.getStatement();
+                resultSet.close();
+                if (statement != null) {
+                    statement.close();
+                }
+            }
+        } catch (SQLException e) {
+            // 忽略
+        }
+    }
+
+    /**
+     * 获取单行结果的处理器，取到一行后停止
+     *
+     * @param <T> 泛型
+     */
+    private static class ObjectWrapperResultHandler<T> implements ResultHandler<T> {
+        /**
+         * 结果
+         */
+        private T result;
+
+        /**
+         * 是否取到结果
+         */
+        private boolean fetched;
+
+        @Override
+        public void handleResult(ResultContext<? extends T> resultContext) {
+            this.result = resultContext.getResultObject();
+            resultContext.stop();
+            fetched = true;
+        }
+    }
+
+    /**
+     * 游标状态
+     */
+    private enum CursorStatus {
+        /**
+         * 已创建，还未取数据
+         */
+        CREATED,
+
+        /**
+         * 已打开
+         */
+        OPEN,
+
+        /**
+         * 已关闭
+         */
+        CLOSED,
+
+        /**
+         * 已取完所有元素
+         */
+        CONSUMED
+    }
+}
@@ -0,0 +1,269 @@
+package com.pcz.mybatis.core.cursor.defaults;
+
+import com.pcz.mybatis.core.cursor.Cursor;
+import com.pcz.mybatis.core.session.RowBounds;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * 合并游标
+ * 将多个有序或无序的数据源流式合并：
+ * 1. 没有比较器时依次拼接各个数据源
+ * 2. 有比较器时进行 k 路归并，各个数据源须按同一比较器有序，相等的元素按数据源顺序输出
+ * 合并后再应用行边界，关闭时关闭所有资源
+ *
+ * @param <T> 泛型
+ * @author picongzhi
+ */
+public class MergingCursor<T> implements Cursor<T> {
+    /**
+     * 数据源
+     */
+    private final List<Iterator<T>> sources;
+
+    /**
+     * 比较器，为 null 时拼接
+     */
+    private final Comparator<? super T> comparator;
+
+    /**
+     * 需要关闭的资源
+     */
+    private final List<Closeable> resources;
+
+    /**
+     * 归并堆
+     */
+    private PriorityQueue<Head<T>> heap;
+
+    /**
+     * 拼接时当前的数据源下标
+     */
+    private int sourceIndex;
+
+    /**
+     * 剩余需要跳过的行数
+     */
+    private int remainingOffset;
+
+    /**
+     * 剩余可以返回的行数
+     */
+    private int remainingLimit;
+
+    /**
+     * 预取的下一个元素
+     */
+    private T next;
+
+    /**
+     * 是否已预取下一个元素
+     */
+    private boolean nextFetched;
+
+    /**
+     * 预取的下一个元素是否存在
+     */
+    private boolean nextAvailable;
+
+    /**
+     * 是否已关闭
+     */
+    private boolean closed;
+
+    /**
+     * 是否已取出所有元素
+     */
+    private boolean consumed;
+
+    /**
+     * 当前元素的下标
+     */
+    private int currentIndex = -1;
+
+    public MergingCursor(List<? extends Iterator<T>> sources,
+                         Comparator<? super T> comparator,
+                         RowBounds rowBounds,
+                         List<? extends Closeable> resources) {
+        this.sources = new ArrayList<>(sources);
+        this.comparator = comparator;
+        this.resources = resources == null ? new ArrayList<>() : new ArrayList<>(resources);
+        RowBounds bounds = rowBounds == null ? RowBounds.DEFAULT : rowBounds;
+        this.remainingOffset = bounds.getOffset();
+        this.remainingLimit = bounds.getLimit();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!nextFetched) {
+            fetchNext();
+        }
+
+        return nextAvailable;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        T result = next;
+        currentIndex++;
+        next = null;
+        nextFetched = false;
+        nextAvailable = false;
+        return result;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return !closed;
+    }
+
+    @Override
+    public boolean isConsumed() {
+        return consumed;
+    }
+
+    @Override
+    public int getCurrentIndex() {
+        return currentIndex;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        next = null;
+        nextFetched = true;
+        nextAvailable = false;
+        RuntimeException error = null;
+        for (Closeable resource : resources) {
+            try {
+                resource.close();
+            } catch (IOException | RuntimeException e) {
+                if (error == null) {
+                    error = new IllegalStateException("Error closing merged source. Cause: " + e, e);
+                } else {
+                    error.addSuppressed(e);
+                }
+            }
+        }
+
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    /**
+     * 预取下一个元素，应用行边界
+     */
+    private void fetchNext() {
+        nextFetched = true;
+        while (!closed) {
+            if (remainingLimit <= 0) {
+                consumed = true;
+                close();
+                return;
+            }
+
+            Head<T> head = poll();
+            if (head == null) {
+                consumed = true;
+                close();
+                return;
+            }
+
+            if (remainingOffset > 0) {
+                remainingOffset--;
+                continue;
+            }
+
+            remainingLimit--;
+            next = head.value;
+            nextAvailable = true;
+            return;
+        }
+    }
+
+    /**
+     * 获取合并后的下一个元素
+     *
+     * @return 下一个元素，没有时返回 null
+     */
+    private Head<T> poll() {
+        if (comparator == null) {
+            while (sourceIndex < sources.size()) {
+                Iterator<T> source = sources.get(sourceIndex);
+                if (source.hasNext()) {
+                    return new Head<>(source.next(), sourceIndex);
+                }
+                sourceIndex++;
+            }
+
+            return null;
+        }
+
+        if (heap == null) {
+            heap = new PriorityQueue<>(Math.max(sources.size(), 1), (h1, h2) -> {
+                int result = comparator.compare(h1.value, h2.value);
+                return result != 0 ? result : Integer.compare(h1.source, h2.source);
+            });
+            for (int i = 0; i < sources.size(); i++) {
+                advance(i);
+            }
+        }
+
+        Head<T> head = heap.poll();
+        if (head != null) {
+            advance(head.source);
+        }
+
+        return head;
+    }
+
+    /**
+     * 将数据源的下一个元素放入归并堆
+     *
+     * @param source 数据源下标
+     */
+    private void advance(int source) {
+        Iterator<T> iterator = sources.get(source);
+        if (iterator.hasNext()) {
+            heap.offer(new Head<>(iterator.next(), source));
+        }
+    }
+
+    /**
+     * 数据源的头元素
+     *
+     * @param <T> 泛型
+     */
+    private static class Head<T> {
+        /**
+         * 元素
+         */
+        private final T value;
+
+        /**
+         * 数据源下标
+         */
+        private final int source;
+
+        Head(T value, int source) {
+            this.value = value;
+            this.source = source;
+        }
+    }
+}
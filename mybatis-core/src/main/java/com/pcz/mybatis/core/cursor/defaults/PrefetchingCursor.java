@@ -0,0 +1,320 @@
+package com.pcz.mybatis.core.cursor.defaults;
+
+import com.pcz.mybatis.core.cursor.Cursor;
+import com.pcz.mybatis.core.executor.resultset.DefaultResultSetHandler;
+import com.pcz.mybatis.core.executor.resultset.ResultSetWrapper;
+import com.pcz.mybatis.core.mapping.ResultMap;
+import com.pcz.mybatis.core.session.ResultContext;
+import com.pcz.mybatis.core.session.ResultHandler;
+import com.pcz.mybatis.core.session.RowBounds;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 预取的游标
+ * 在后台线程中从结果集获取并映射行，放入有界的环形缓冲区，调用方消费的同时后台继续获取，网络等待和行映射可以重叠
+ * 缓冲区满时后台线程等待，最多预取 prefetchDepth 行；后台线程的异常在调用方取到该位置时抛出
+ * 关闭时通知后台线程停止，等待其退出后关闭结果集和语句
+ * 游标打开期间后台线程会使用连接，调用方不能在同一个会话中执行其他语句
+ *
+ * @param <T> 泛型
+ * @author picongzhi
+ */
+public class PrefetchingCursor<T> implements Cursor<T> {
+    /**
+     * 默认的后台线程池
+     */
+    private static final ExecutorService DEFAULT_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "mybatis-cursor-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 结束标记
+     */
+    private static final Object END = new Object();
+
+    /**
+     * null 值标记
+     */
+    private static final Object NULL = new Object();
+
+    /**
+     * 后台线程放入缓冲区的等待间隔（毫秒），用于检查游标是否已关闭
+     */
+    private static final long OFFER_INTERVAL_MILLIS = 100;
+
+    /**
+     * 结果集包装器
+     */
+    private final ResultSetWrapper resultSetWrapper;
+
+    /**
+     * 缓冲区
+     */
+    private final BlockingQueue<Object> buffer;
+
+    /**
+     * 后台线程退出的信号
+     */
+    private final CountDownLatch producerDone = new CountDownLatch(1);
+
+    /**
+     * 是否已关闭
+     */
+    private volatile boolean closed;
+
+    /**
+     * 后台线程的异常
+     */
+    private volatile Throwable error;
+
+    /**
+     * 是否已取出所有元素
+     */
+    private boolean consumed;
+
+    /**
+     * 当前元素的下标
+     */
+    private int currentIndex = -1;
+
+    /**
+     * 预取的下一个元素
+     */
+    private Object next;
+
+    public PrefetchingCursor(DefaultResultSetHandler resultSetHandler,
+                             ResultMap resultMap,
+                             ResultSetWrapper resultSetWrapper,
+                             RowBounds rowBounds,
+                             int prefetchDepth) {
+        this(resultSetHandler, resultMap, resultSetWrapper, rowBounds, prefetchDepth, DEFAULT_EXECUTOR);
+    }
+
+    public PrefetchingCursor(DefaultResultSetHandler resultSetHandler,
+                             ResultMap resultMap,
+                             ResultSetWrapper resultSetWrapper,
+                             RowBounds rowBounds,
+                             int prefetchDepth,
+                             ExecutorService executor) {
+        if (prefetchDepth <= 0) {
+            throw new IllegalArgumentException("Parameter 'prefetchDepth' must be positive");
+        }
+
+        this.resultSetWrapper = resultSetWrapper;
+        this.buffer = new ArrayBlockingQueue<>(prefetchDepth);
+        RowBounds bounds = rowBounds == null ? RowBounds.DEFAULT : rowBounds;
+        executor.execute(() -> produce(resultSetHandler, resultMap, bounds));
+    }
+
+    @Override
+    public boolean isOpen() {
+        return !closed && !consumed;
+    }
+
+    @Override
+    public boolean isConsumed() {
+        return consumed;
+    }
+
+    @Override
+    public int getCurrentIndex() {
+        return currentIndex;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            next = take();
+        }
+
+        return next != END;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        Object result = next;
+        next = null;
+        currentIndex++;
+        return result == NULL ? null : (T) result;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        next = END;
+        buffer.clear();
+        if (producerDone.getCount() > 0) {
+            // 后台线程可能阻塞在驱动读取下一行上，先取消语句再等待
+            cancelStatement();
+        }
+        awaitProducer();
+        closeResultSetAndStatement();
+    }
+
+    /**
+     * 后台线程获取并映射所有行
+     *
+     * @param resultSetHandler 结果集处理器
+     * @param resultMap        结果 Map
+     * @param rowBounds        行边界
+     */
+    private void produce(DefaultResultSetHandler resultSetHandler, ResultMap resultMap, RowBounds rowBounds) {
+        try {
+            resultSetHandler.handleRowValues(resultSetWrapper, resultMap, new BufferingResultHandler(), rowBounds);
+        } catch (Throwable t) {
+            error = t;
+        } finally {
+            offer(END);
+            producerDone.countDown();
+        }
+    }
+
+    /**
+     * 放入缓冲区，缓冲区满时等待
+     *
+     * @param item 元素
+     * @return 是否放入，游标关闭时返回 false
+     */
+    private boolean offer(Object item) {
+        try {
+            while (!closed) {
+                if (buffer.offer(item, OFFER_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            error = error == null ? e : error;
+            closed = true;
+        }
+
+        return false;
+    }
+
+    /**
+     * 从缓冲区取出下一个元素，取到结束标记时释放资源并抛出后台线程的异常
+     *
+     * @return 下一个元素，没有更多元素时返回结束标记
+     */
+    private Object take() {
+        if (closed || consumed) {
+            return END;
+        }
+
+        Object item;
+        try {
+            item = buffer.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new IllegalStateException("Interrupted while waiting for prefetched rows", e);
+        }
+
+        if (item != END) {
+            return item;
+        }
+
+        Throwable t = error;
+        if (t != null) {
+            close();
+            if (t instanceof RuntimeException) {
+                throw (RuntimeException) t;
+            }
+            if (t instanceof Error) {
+                throw (Error) t;
+            }
+            throw new IllegalStateException("Error fetching next row from cursor. Cause: " + t, t);
+        }
+
+        awaitProducer();
+        closeResultSetAndStatement();
+        consumed = true;
+        return END;
+    }
+
+    /**
+     * 等待后台线程退出
+     */
+    private void awaitProducer() {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                producerDone.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 取消正在执行的语句
+     */
+    private void cancelStatement() {
+        ResultSet resultSet = resultSetWrapper.getResultSet();
+        try {
+            Statement statement = resultSet == null ? null : resultSet.getStatement();
+            if (statement != null) {
+                statement.cancel();
+            }
+        } catch (SQLException e) {
+            // 忽略
+        }
+    }
+
+    /**
+     * 关闭结果集和语句
+     */
+    private void closeResultSetAndStatement() {
+        ResultSet resultSet = resultSetWrapper.getResultSet();
+        try {
+            if (resultSet != null) {
+                Statement statement = resultSet.getStatement();
+                resultSet.close();
+                if (statement != null) {
+                    statement.close();
+                }
+            }
+        } catch (SQLException e) {
+            // 忽略
+        }
+    }
+
+    /**
+     * 将每一行放入缓冲区的结果处理器，游标关闭后停止
+     */
+    private class BufferingResultHandler implements ResultHandler<Object> {
+        @Override
+        public void handleResult(ResultContext<?> resultContext) {
+            Object value = resultContext.getResultObject();
+            if (!offer(value == null ? NULL : value)) {
+                resultContext.stop();
+            }
+        }
+    }
+}
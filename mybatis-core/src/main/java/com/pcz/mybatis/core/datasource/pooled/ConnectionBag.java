@@ -0,0 +1,305 @@
+package com.pcz.mybatis.core.datasource.pooled;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 连接包
+ * 空闲连接的交接不依赖全局锁：
+ * 1. 优先从当前线程最近归还的连接中借出（线程亲和）
+ * 2. 其次遍历共享列表，通过 CAS 抢占空闲连接
+ * 3. 最后在交接队列上等待其他线程归还的连接
+ *
+ * @author picongzhi
+ */
+public class ConnectionBag {
+    /**
+     * 线程本地缓存的最大连接数
+     */
+    private static final int THREAD_LOCAL_MAX_SIZE = 16;
+
+    /**
+     * 最短等待时间（纳秒），低于该值不再等待
+     */
+    private static final long MIN_WAIT_NANOS = 10_000L;
+
+    /**
+     * 关闭时交接给等待线程的标记，不属于连接包
+     */
+    private static final PooledConnection CLOSED_MARKER =
+            new PooledConnection(null, null, PooledConnection.STATE_REMOVED);
+
+    /**
+     * 所有连接
+     */
+    private final CopyOnWriteArrayList<PooledConnection> sharedList = new CopyOnWriteArrayList<>();
+
+    /**
+     * 当前线程最近归还的连接
+     */
+    private final ThreadLocal<List<WeakReference<PooledConnection>>> threadList =
+            ThreadLocal.withInitial(() -> new ArrayList<>(THREAD_LOCAL_MAX_SIZE));
+
+    /**
+     * 等待的线程数
+     */
+    private final AtomicInteger waiters = new AtomicInteger();
+
+    /**
+     * 交接队列
+     */
+    private final SynchronousQueue<PooledConnection> handoffQueue = new SynchronousQueue<>(true);
+
+    /**
+     * 是否已关闭
+     */
+    private volatile boolean closed;
+
+    /**
+     * 借出连接
+     *
+     * @param timeout 超时时间
+     * @param unit    时间单位
+     * @return 连接，超时返回 null
+     * @throws InterruptedException 中断异常
+     */
+    public PooledConnection borrow(long timeout, TimeUnit unit) throws InterruptedException {
+        // 从线程本地缓存中借出
+        List<WeakReference<PooledConnection>> list = threadList.get();
+        for (int i = list.size() - 1; i >= 0; i--) {
+            PooledConnection connection = list.remove(i).get();
+            if (connection != null && connection.compareAndSetState(
+                    PooledConnection.STATE_NOT_IN_USE, PooledConnection.STATE_IN_USE)) {
+                return connection;
+            }
+        }
+
+        // 从共享列表中抢占
+        PooledConnection connection = pollSharedList();
+        if (connection != null) {
+            return connection;
+        }
+
+        // 等待其他线程交接
+        long remaining = unit.toNanos(timeout);
+        while (remaining > MIN_WAIT_NANOS && !closed) {
+            final long start = System.nanoTime();
+            waiters.incrementAndGet();
+            try {
+                // 登记等待之前归还的连接不会交接，需要再抢占一次
+                connection = pollSharedList();
+                if (connection != null) {
+                    return connection;
+                }
+
+                connection = handoffQueue.poll(remaining, TimeUnit.NANOSECONDS);
+            } finally {
+                waiters.decrementAndGet();
+            }
+
+            if (connection == null || connection == CLOSED_MARKER) {
+                return null;
+            }
+
+            if (connection.compareAndSetState(
+                    PooledConnection.STATE_NOT_IN_USE, PooledConnection.STATE_IN_USE)) {
+                return connection;
+            }
+
+            remaining -= System.nanoTime() - start;
+        }
+
+        return null;
+    }
+
+    /**
+     * 归还连接
+     *
+     * @param connection 连接
+     */
+    public void requite(PooledConnection connection) {
+        connection.setState(PooledConnection.STATE_NOT_IN_USE);
+
+        // 有线程在等待时，直接交接
+        if (handoff(connection)) {
+            return;
+        }
+
+        List<WeakReference<PooledConnection>> list = threadList.get();
+        if (list.size() < THREAD_LOCAL_MAX_SIZE) {
+            list.add(new WeakReference<>(connection));
+        }
+    }
+
+    /**
+     * 添加连接
+     *
+     * @param connection 连接
+     */
+    public void add(PooledConnection connection) {
+        if (closed) {
+            throw new IllegalStateException("ConnectionBag has been closed, ignoring add()");
+        }
+
+        sharedList.add(connection);
+        handoff(connection);
+    }
+
+    /**
+     * 移除连接，只有借出或预留状态的连接可以移除
+     *
+     * @param connection 连接
+     * @return 是否移除成功
+     */
+    public boolean remove(PooledConnection connection) {
+        if (!connection.compareAndSetState(PooledConnection.STATE_IN_USE, PooledConnection.STATE_REMOVED)
+                && !connection.compareAndSetState(PooledConnection.STATE_RESERVED, PooledConnection.STATE_REMOVED)) {
+            return false;
+        }
+
+        return sharedList.remove(connection);
+    }
+
+    /**
+     * 预留空闲连接，被预留的连接不会被借出
+     *
+     * @param connection 连接
+     * @return 是否预留成功
+     */
+    public boolean reserve(PooledConnection connection) {
+        return connection.compareAndSetState(PooledConnection.STATE_NOT_IN_USE, PooledConnection.STATE_RESERVED);
+    }
+
+    /**
+     * 取消预留
+     *
+     * @param connection 连接
+     */
+    public void unreserve(PooledConnection connection) {
+        if (connection.compareAndSetState(PooledConnection.STATE_RESERVED, PooledConnection.STATE_NOT_IN_USE)) {
+            handoff(connection);
+        }
+    }
+
+    /**
+     * 获取所有连接
+     *
+     * @return 所有连接
+     */
+    public List<PooledConnection> values() {
+        return new ArrayList<>(sharedList);
+    }
+
+    /**
+     * 获取指定状态的连接
+     *
+     * @param state 状态
+     * @return 连接
+     */
+    public List<PooledConnection> values(int state) {
+        List<PooledConnection> connections = new ArrayList<>();
+        for (PooledConnection connection : sharedList) {
+            if (connection.getState() == state) {
+                connections.add(connection);
+            }
+        }
+
+        return connections;
+    }
+
+    /**
+     * 获取指定状态的连接数
+     *
+     * @param state 状态
+     * @return 连接数
+     */
+    public int getCount(int state) {
+        int count = 0;
+        for (PooledConnection connection : sharedList) {
+            if (connection.getState() == state) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * 获取连接总数
+     *
+     * @return 连接总数
+     */
+    public int size() {
+        return sharedList.size();
+    }
+
+    /**
+     * 获取等待的线程数
+     *
+     * @return 等待的线程数
+     */
+    public int getWaitingThreadCount() {
+        return waiters.get();
+    }
+
+    /**
+     * 关闭，唤醒等待交接的线程
+     */
+    public void close() {
+        closed = true;
+        for (int i = 0; waiters.get() > 0; i++) {
+            if (!handoffQueue.offer(CLOSED_MARKER)) {
+                if ((i & 0xff) == 0xff) {
+                    LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(10));
+                } else {
+                    Thread.yield();
+                }
+            }
+        }
+    }
+
+    /**
+     * 从共享列表中抢占空闲连接
+     *
+     * @return 连接，没有空闲连接时返回 null
+     */
+    private PooledConnection pollSharedList() {
+        for (PooledConnection connection : sharedList) {
+            if (connection.compareAndSetState(
+                    PooledConnection.STATE_NOT_IN_USE, PooledConnection.STATE_IN_USE)) {
+                return connection;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * 交接给等待的线程
+     *
+     * @param connection 连接
+     * @return 是否交接成功，或连接已被其他线程借走
+     */
+    private boolean handoff(PooledConnection connection) {
+        for (int i = 0; waiters.get() > 0; i++) {
+            if (connection.getState() != PooledConnection.STATE_NOT_IN_USE
+                    || handoffQueue.offer(connection)) {
+                return true;
+            }
+
+            if ((i & 0xff) == 0xff) {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(10));
+            } else {
+                Thread.yield();
+            }
+        }
+
+        return false;
+    }
+}
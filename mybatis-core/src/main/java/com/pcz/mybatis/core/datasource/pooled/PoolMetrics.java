@@ -0,0 +1,221 @@
+package com.pcz.mybatis.core.datasource.pooled;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 连接池指标快照
+ * 时间单位均为纳秒，百分位为近似值
+ *
+ * @author picongzhi
+ */
+public class PoolMetrics {
+    /**
+     * 连接总数
+     */
+    private final int totalConnections;
+
+    /**
+     * 借出的连接数
+     */
+    private final int activeConnections;
+
+    /**
+     * 空闲的连接数
+     */
+    private final int idleConnections;
+
+    /**
+     * 等待连接的线程数
+     */
+    private final int pendingThreads;
+
+    /**
+     * 借出次数
+     */
+    private final long borrowCount;
+
+    /**
+     * 等待时间 p50
+     */
+    private final long waitP50Nanos;
+
+    /**
+     * 等待时间 p95
+     */
+    private final long waitP95Nanos;
+
+    /**
+     * 等待时间 p99
+     */
+    private final long waitP99Nanos;
+
+    /**
+     * 最大等待时间
+     */
+    private final long maxWaitNanos;
+
+    /**
+     * 超时次数
+     */
+    private final long timeoutCount;
+
+    /**
+     * 驱逐次数
+     */
+    private final long evictionCount;
+
+    /**
+     * 创建连接次数
+     */
+    private final long creationCount;
+
+    /**
+     * 创建连接平均耗时
+     */
+    private final long meanCreationNanos;
+
+    /**
+     * 创建连接最大耗时
+     */
+    private final long maxCreationNanos;
+
+    /**
+     * 语句缓存命中次数
+     */
+    private final long statementCacheHitCount;
+
+    /**
+     * 语句缓存未命中次数
+     */
+    private final long statementCacheMissCount;
+
+    public PoolMetrics(int totalConnections,
+                       int activeConnections,
+                       int idleConnections,
+                       int pendingThreads,
+                       long borrowCount,
+                       long waitP50Nanos,
+                       long waitP95Nanos,
+                       long waitP99Nanos,
+                       long maxWaitNanos,
+                       long timeoutCount,
+                       long evictionCount,
+                       long creationCount,
+                       long meanCreationNanos,
+                       long maxCreationNanos,
+                       long statementCacheHitCount,
+                       long statementCacheMissCount) {
+        this.totalConnections = totalConnections;
+        this.activeConnections = activeConnections;
+        this.idleConnections = idleConnections;
+        this.pendingThreads = pendingThreads;
+        this.borrowCount = borrowCount;
+        this.waitP50Nanos = waitP50Nanos;
+        this.waitP95Nanos = waitP95Nanos;
+        this.waitP99Nanos = waitP99Nanos;
+        this.maxWaitNanos = maxWaitNanos;
+        this.timeoutCount = timeoutCount;
+        this.evictionCount = evictionCount;
+        this.creationCount = creationCount;
+        this.meanCreationNanos = meanCreationNanos;
+        this.maxCreationNanos = maxCreationNanos;
+        this.statementCacheHitCount = statementCacheHitCount;
+        this.statementCacheMissCount = statementCacheMissCount;
+    }
+
+    public int getTotalConnections() {
+        return totalConnections;
+    }
+
+    public int getActiveConnections() {
+        return activeConnections;
+    }
+
+    public int getIdleConnections() {
+        return idleConnections;
+    }
+
+    public int getPendingThreads() {
+        return pendingThreads;
+    }
+
+    public long getBorrowCount() {
+        return borrowCount;
+    }
+
+    public long getWaitP50Nanos() {
+        return waitP50Nanos;
+    }
+
+    public long getWaitP95Nanos() {
+        return waitP95Nanos;
+    }
+
+    public long getWaitP99Nanos() {
+        return waitP99Nanos;
+    }
+
+    public long getMaxWaitNanos() {
+        return maxWaitNanos;
+    }
+
+    public long getTimeoutCount() {
+        return timeoutCount;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public long getCreationCount() {
+        return creationCount;
+    }
+
+    public long getMeanCreationNanos() {
+        return meanCreationNanos;
+    }
+
+    public long getMaxCreationNanos() {
+        return maxCreationNanos;
+    }
+
+    public long getStatementCacheHitCount() {
+        return statementCacheHitCount;
+    }
+
+    public long getStatementCacheMissCount() {
+        return statementCacheMissCount;
+    }
+
+    @Override
+    public String toString() {
+        return "PoolMetrics{" +
+                "total=" + totalConnections +
+                ", active=" + activeConnections +
+                ", idle=" + idleConnections +
+                ", pending=" + pendingThreads +
+                ", borrows=" + borrowCount +
+                ", waitP50=" + toMicros(waitP50Nanos) + "us" +
+                ", waitP95=" + toMicros(waitP95Nanos) + "us" +
+                ", waitP99=" + toMicros(waitP99Nanos) + "us" +
+                ", waitMax=" + toMicros(maxWaitNanos) + "us" +
+                ", timeouts=" + timeoutCount +
+                ", evictions=" + evictionCount +
+                ", creations=" + creationCount +
+                ", creationMean=" + toMicros(meanCreationNanos) + "us" +
+                ", creationMax=" + toMicros(maxCreationNanos) + "us" +
+                ", statementCacheHits=" + statementCacheHitCount +
+                ", statementCacheMisses=" + statementCacheMissCount +
+                '}';
+    }
+
+    /**
+     * 纳秒转换为微秒
+     *
+     * @param nanos 纳秒
+     * @return 微秒
+     */
+    private static long toMicros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+}
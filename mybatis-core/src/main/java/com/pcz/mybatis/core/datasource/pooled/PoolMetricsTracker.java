@@ -0,0 +1,199 @@
+package com.pcz.mybatis.core.datasource.pooled;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 连接池指标记录器
+ * 所有计数均使用分段计数器，借出路径上的记录不产生竞争
+ * 等待时间按 2 的幂划分桶，百分位取所在桶的上界
+ *
+ * @author picongzhi
+ */
+public class PoolMetricsTracker {
+    /**
+     * 桶的数量，第 i 个桶记录 [2^(i-1), 2^i) 纳秒
+     */
+    private static final int BUCKET_COUNT = Long.SIZE;
+
+    /**
+     * 等待时间分布
+     */
+    private final LongAdder[] waitBuckets = new LongAdder[BUCKET_COUNT];
+
+    /**
+     * 借出次数
+     */
+    private final LongAdder borrowCount = new LongAdder();
+
+    /**
+     * 最大等待时间（纳秒）
+     */
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Long::max, 0);
+
+    /**
+     * 超时次数
+     */
+    private final LongAdder timeoutCount = new LongAdder();
+
+    /**
+     * 驱逐次数
+     */
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * 创建连接次数
+     */
+    private final LongAdder creationCount = new LongAdder();
+
+    /**
+     * 创建连接总耗时（纳秒）
+     */
+    private final LongAdder totalCreationNanos = new LongAdder();
+
+    /**
+     * 创建连接最大耗时（纳秒）
+     */
+    private final LongAccumulator maxCreationNanos = new LongAccumulator(Long::max, 0);
+
+    /**
+     * 语句缓存命中次数
+     */
+    private final LongAdder statementCacheHitCount = new LongAdder();
+
+    /**
+     * 语句缓存未命中次数
+     */
+    private final LongAdder statementCacheMissCount = new LongAdder();
+
+    public PoolMetricsTracker() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            waitBuckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * 记录借出连接的等待时间
+     *
+     * @param waitNanos 等待时间（纳秒）
+     */
+    public void recordBorrow(long waitNanos) {
+        long nanos = Math.max(waitNanos, 0);
+        waitBuckets[bucketIndex(nanos)].increment();
+        borrowCount.increment();
+        maxWaitNanos.accumulate(nanos);
+    }
+
+    /**
+     * 记录借出连接超时
+     */
+    public void recordTimeout() {
+        timeoutCount.increment();
+    }
+
+    /**
+     * 记录驱逐连接
+     */
+    public void recordEviction() {
+        evictionCount.increment();
+    }
+
+    /**
+     * 记录创建连接的耗时
+     *
+     * @param creationNanos 创建连接的耗时（纳秒）
+     */
+    public void recordCreation(long creationNanos) {
+        creationCount.increment();
+        totalCreationNanos.add(creationNanos);
+        maxCreationNanos.accumulate(creationNanos);
+    }
+
+    /**
+     * 记录语句缓存命中
+     */
+    public void recordStatementCacheHit() {
+        statementCacheHitCount.increment();
+    }
+
+    /**
+     * 记录语句缓存未命中
+     */
+    public void recordStatementCacheMiss() {
+        statementCacheMissCount.increment();
+    }
+
+    /**
+     * 生成指标快照
+     *
+     * @param dataSource 数据源
+     * @return 指标快照
+     */
+    public PoolMetrics snapshot(PooledDataSource dataSource) {
+        long[] counts = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = waitBuckets[i].sum();
+        }
+
+        long maxWait = maxWaitNanos.get();
+        long creations = creationCount.sum();
+        return new PoolMetrics(
+                dataSource.getTotalConnections(),
+                dataSource.getActiveConnections(),
+                dataSource.getIdleConnections(),
+                dataSource.getPendingThreads(),
+                borrowCount.sum(),
+                percentile(counts, 0.50, maxWait),
+                percentile(counts, 0.95, maxWait),
+                percentile(counts, 0.99, maxWait),
+                maxWait,
+                timeoutCount.sum(),
+                evictionCount.sum(),
+                creations,
+                creations == 0 ? 0 : totalCreationNanos.sum() / creations,
+                maxCreationNanos.get(),
+                statementCacheHitCount.sum(),
+                statementCacheMissCount.sum());
+    }
+
+    /**
+     * 计算百分位
+     *
+     * @param counts   各个桶的计数
+     * @param quantile 分位
+     * @param max      最大值
+     * @return 百分位
+     */
+    private static long percentile(long[] counts, double quantile, long max) {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = (long) Math.ceil(total * quantile);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                long upperBound = i == 0 ? 0 : (i >= Long.SIZE - 1 ? Long.MAX_VALUE : (1L << i) - 1);
+                return Math.min(upperBound, max);
+            }
+        }
+
+        return max;
+    }
+
+    /**
+     * 计算桶的下标
+     *
+     * @param nanos 纳秒
+     * @return 桶的下标
+     */
+    private static int bucketIndex(long nanos) {
+        return Math.min(Long.SIZE - Long.numberOfLeadingZeros(nanos), BUCKET_COUNT - 1);
+    }
+}
@@ -0,0 +1,314 @@
+package com.pcz.mybatis.core.datasource.pooled;
+
+import com.pcz.mybatis.core.reflection.ExceptionUtil;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 池化的连接
+ * 持有物理连接，每次借出时生成新的代理连接，调用代理连接的 close 方法时归还到连接池
+ *
+ * @author picongzhi
+ */
+public class PooledConnection {
+    /**
+     * 空闲
+     */
+    public static final int STATE_NOT_IN_USE = 0;
+
+    /**
+     * 已借出
+     */
+    public static final int STATE_IN_USE = 1;
+
+    /**
+     * 已移除
+     */
+    public static final int STATE_REMOVED = -1;
+
+    /**
+     * 已预留
+     */
+    public static final int STATE_RESERVED = -2;
+
+    /**
+     * 关闭方法名
+     */
+    private static final String CLOSE = "close";
+
+    /**
+     * 判断是否关闭方法名
+     */
+    private static final String IS_CLOSED = "isClosed";
+
+    /**
+     * 解包方法名
+     */
+    private static final String UNWRAP = "unwrap";
+
+    /**
+     * 判断是否包装方法名
+     */
+    private static final String IS_WRAPPER_FOR = "isWrapperFor";
+
+    /**
+     * 代理的接口
+     */
+    private static final Class<?>[] IFACES = new Class<?>[]{Connection.class};
+
+    /**
+     * 数据源
+     */
+    private final PooledDataSource dataSource;
+
+    /**
+     * 物理连接
+     */
+    private final Connection realConnection;
+
+    /**
+     * 状态
+     */
+    private final AtomicInteger state;
+
+    /**
+     * 创建时间戳
+     */
+    private final long createdTimestamp;
+
+    /**
+     * 最后使用时间戳
+     */
+    private volatile long lastUsedTimestamp;
+
+    /**
+     * 最后校验时间戳
+     */
+    private volatile long lastValidatedTimestamp;
+
+    /**
+     * 借出时间戳
+     */
+    private volatile long checkoutTimestamp;
+
+    /**
+     * 是否已被驱逐，被驱逐的连接在归还时关闭
+     */
+    private volatile boolean evicted;
+
+    /**
+     * 预编译语句缓存，为 null 表示不缓存
+     */
+    private final StatementCache statementCache;
+
+    public PooledConnection(Connection realConnection, PooledDataSource dataSource, int state) {
+        this(realConnection, dataSource, state, null);
+    }
+
+    public PooledConnection(Connection realConnection,
+                            PooledDataSource dataSource,
+                            int state,
+                            StatementCache statementCache) {
+        this.realConnection = realConnection;
+        this.statementCache = statementCache;
+        this.dataSource = dataSource;
+        this.state = new AtomicInteger(state);
+        this.createdTimestamp = System.currentTimeMillis();
+        this.lastUsedTimestamp = createdTimestamp;
+        this.lastValidatedTimestamp = createdTimestamp;
+    }
+
+    /**
+     * 借出，生成新的代理连接
+     *
+     * @return 代理连接
+     */
+    public Connection checkout() {
+        checkoutTimestamp = System.currentTimeMillis();
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), IFACES, new ProxyConnectionHandler(this));
+    }
+
+    public Connection getRealConnection() {
+        return realConnection;
+    }
+
+    public StatementCache getStatementCache() {
+        return statementCache;
+    }
+
+    public int getState() {
+        return state.get();
+    }
+
+    public void setState(int state) {
+        this.state.set(state);
+    }
+
+    /**
+     * CAS 设置状态
+     *
+     * @param expect 期望的状态
+     * @param update 更新的状态
+     * @return 是否设置成功
+     */
+    public boolean compareAndSetState(int expect, int update) {
+        return state.compareAndSet(expect, update);
+    }
+
+    public long getCreatedTimestamp() {
+        return createdTimestamp;
+    }
+
+    public long getLastUsedTimestamp() {
+        return lastUsedTimestamp;
+    }
+
+    public void setLastUsedTimestamp(long lastUsedTimestamp) {
+        this.lastUsedTimestamp = lastUsedTimestamp;
+    }
+
+    public long getLastValidatedTimestamp() {
+        return lastValidatedTimestamp;
+    }
+
+    public void setLastValidatedTimestamp(long lastValidatedTimestamp) {
+        this.lastValidatedTimestamp = lastValidatedTimestamp;
+    }
+
+    public long getCheckoutTimestamp() {
+        return checkoutTimestamp;
+    }
+
+    public boolean isEvicted() {
+        return evicted;
+    }
+
+    /**
+     * 标记为驱逐
+     */
+    public void markEvicted() {
+        this.evicted = true;
+    }
+
+    /**
+     * 获取借出时长
+     *
+     * @return 借出时长
+     */
+    public long getCheckoutTime() {
+        return System.currentTimeMillis() - checkoutTimestamp;
+    }
+
+    /**
+     * 获取空闲时长
+     *
+     * @return 空闲时长
+     */
+    public long getIdleTime() {
+        return System.currentTimeMillis() - lastUsedTimestamp;
+    }
+
+    /**
+     * 获取距上次校验的时长
+     *
+     * @return 距上次校验的时长
+     */
+    public long getTimeSinceValidated() {
+        return System.currentTimeMillis() - lastValidatedTimestamp;
+    }
+
+    /**
+     * 获取存活时长
+     *
+     * @return 存活时长
+     */
+    public long getAge() {
+        return System.currentTimeMillis() - createdTimestamp;
+    }
+
+    @Override
+    public int hashCode() {
+        return realConnection.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (obj instanceof PooledConnection) {
+            return realConnection == ((PooledConnection) obj).realConnection;
+        }
+
+        return false;
+    }
+
+    /**
+     * 代理连接处理器，每次借出对应一个实例
+     */
+    private static class ProxyConnectionHandler implements InvocationHandler {
+        /**
+         * 池化的连接
+         */
+        private final PooledConnection pooledConnection;
+
+        /**
+         * 是否已关闭
+         */
+        private volatile boolean closed;
+
+        ProxyConnectionHandler(PooledConnection pooledConnection) {
+            this.pooledConnection = pooledConnection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String methodName = method.getName();
+            if (CLOSE.equals(methodName)) {
+                // 归还到连接池，重复关闭忽略
+                if (!closed) {
+                    closed = true;
+                    pooledConnection.dataSource.pushConnection(pooledConnection);
+                }
+                return null;
+            }
+
+            if (IS_CLOSED.equals(methodName) && closed) {
+                return true;
+            }
+
+            if (Object.class.equals(method.getDeclaringClass())) {
+                return method.invoke(this, args);
+            }
+
+            if (closed) {
+                throw new SQLException("Error accessing PooledConnection. Connection is closed.");
+            }
+
+            // 语句缓存挂在池化的连接上，通过 unwrap 暴露给执行器
+            StatementCache statementCache = pooledConnection.statementCache;
+            if (statementCache != null && args != null && StatementCache.class.equals(args[0])) {
+                if (UNWRAP.equals(methodName)) {
+                    return statementCache;
+                }
+
+                if (IS_WRAPPER_FOR.equals(methodName)) {
+                    return true;
+                }
+            }
+
+            try {
+                return method.invoke(pooledConnection.realConnection, args);
+            } catch (Throwable t) {
+                throw ExceptionUtil.unwrapThrowable(t);
+            }
+        }
+    }
+}
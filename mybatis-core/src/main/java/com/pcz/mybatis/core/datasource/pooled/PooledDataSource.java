@@ -0,0 +1,731 @@
+package com.pcz.mybatis.core.datasource.pooled;
+
+import com.pcz.mybatis.core.datasource.unpooled.UnpooledDataSource;
+import com.pcz.mybatis.core.logging.Log;
+import com.pcz.mybatis.core.logging.LogFactory;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * 池化的数据源
+ * 物理连接通过 {@link UnpooledDataSource} 创建，空闲连接通过 {@link ConnectionBag} 交接
+ *
+ * @author picongzhi
+ */
+public class PooledDataSource implements DataSource, Closeable {
+    /**
+     * 日志
+     */
+    private static final Log LOG = LogFactory.getLog(PooledDataSource.class);
+
+    /**
+     * 非池化的数据源，用于创建物理连接
+     */
+    private final UnpooledDataSource dataSource;
+
+    /**
+     * 连接包
+     */
+    private final ConnectionBag connectionBag = new ConnectionBag();
+
+    /**
+     * 连接总数，包括正在创建的连接
+     */
+    private final AtomicInteger totalConnections = new AtomicInteger();
+
+    /**
+     * 指标记录器
+     */
+    private final PoolMetricsTracker metricsTracker = new PoolMetricsTracker();
+
+    /**
+     * 最大连接数
+     */
+    protected int maxPoolSize = 10;
+
+    /**
+     * 最小空闲连接数
+     */
+    protected int minIdle = 0;
+
+    /**
+     * 获取连接的超时时间（毫秒）
+     */
+    protected long connectionTimeout = 30000;
+
+    /**
+     * 空闲超时时间（毫秒），超过该时间的空闲连接在保留 minIdle 个之后被驱逐，0 表示不驱逐
+     */
+    protected long idleTimeout = 600000;
+
+    /**
+     * 连接最大存活时间（毫秒），超过该时间的连接被驱逐，0 表示不限制
+     */
+    protected long maxLifetime = 1800000;
+
+    /**
+     * 空闲连接的校验间隔（毫秒），0 表示不校验
+     */
+    protected long validationInterval = 30000;
+
+    /**
+     * 校验连接的超时时间（秒）
+     */
+    protected int validationTimeout = 5;
+
+    /**
+     * 维护任务的执行间隔（毫秒）
+     */
+    protected long housekeepingPeriod = 30000;
+
+    /**
+     * 每个物理连接缓存的预编译语句数，0 表示不缓存
+     */
+    protected int statementCacheSize = 250;
+
+    /**
+     * 维护线程
+     */
+    private volatile ScheduledExecutorService houseKeeperExecutor;
+
+    /**
+     * 是否已关闭
+     */
+    private volatile boolean closed;
+
+    public PooledDataSource() {
+        dataSource = new UnpooledDataSource();
+    }
+
+    public PooledDataSource(UnpooledDataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public PooledDataSource(String driver, String url, String username, String password) {
+        dataSource = new UnpooledDataSource(driver, url, username, password);
+    }
+
+    public PooledDataSource(String driver, String url, Properties driverProperties) {
+        dataSource = new UnpooledDataSource(driver, url, driverProperties);
+    }
+
+    public PooledDataSource(ClassLoader driverClassLoader, String driver, String url, String username, String password) {
+        dataSource = new UnpooledDataSource(driverClassLoader, driver, url, username, password);
+    }
+
+    public PooledDataSource(ClassLoader driverClassLoader, String driver, String url, Properties driverProperties) {
+        dataSource = new UnpooledDataSource(driverClassLoader, driver, url, driverProperties);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return popConnection().checkout();
+    }
+
+    /**
+     * 获取连接
+     * 用户名和密码与数据源配置不一致时，不走连接池，直接创建物理连接
+     *
+     * @param username 用户名
+     * @param password 密码
+     * @return 连接
+     * @throws SQLException SQL 异常
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (Objects.equals(username, dataSource.getUsername())
+                && Objects.equals(password, dataSource.getPassword())) {
+            return getConnection();
+        }
+
+        return dataSource.getConnection(username, password);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        throw new SQLException(getClass().getName() + " is not a wrapper.");
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return false;
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return dataSource.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter logWriter) throws SQLException {
+        dataSource.setLogWriter(logWriter);
+    }
+
+    @Override
+    public void setLoginTimeout(int loginTimeout) throws SQLException {
+        dataSource.setLoginTimeout(loginTimeout);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return dataSource.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+    }
+
+    public String getDriver() {
+        return dataSource.getDriver();
+    }
+
+    public void setDriver(String driver) {
+        dataSource.setDriver(driver);
+        forceCloseAll();
+    }
+
+    public String getUrl() {
+        return dataSource.getUrl();
+    }
+
+    public void setUrl(String url) {
+        dataSource.setUrl(url);
+        forceCloseAll();
+    }
+
+    public String getUsername() {
+        return dataSource.getUsername();
+    }
+
+    public void setUsername(String username) {
+        dataSource.setUsername(username);
+        forceCloseAll();
+    }
+
+    public String getPassword() {
+        return dataSource.getPassword();
+    }
+
+    public void setPassword(String password) {
+        dataSource.setPassword(password);
+        forceCloseAll();
+    }
+
+    public Properties getDriverProperties() {
+        return dataSource.getDriverProperties();
+    }
+
+    public void setDriverProperties(Properties driverProperties) {
+        dataSource.setDriverProperties(driverProperties);
+        forceCloseAll();
+    }
+
+    public Boolean isAutoCommit() {
+        return dataSource.isAutoCommit();
+    }
+
+    public void setAutoCommit(Boolean autoCommit) {
+        dataSource.setAutoCommit(autoCommit);
+        forceCloseAll();
+    }
+
+    public Integer getDefaultTransactionIsolationLevel() {
+        return dataSource.getDefaultTransactionIsolationLevel();
+    }
+
+    public void setDefaultTransactionIsolationLevel(Integer defaultTransactionIsolationLevel) {
+        dataSource.setDefaultTransactionIsolationLevel(defaultTransactionIsolationLevel);
+        forceCloseAll();
+    }
+
+    public Integer getDefaultNetworkTimeout() {
+        return dataSource.getDefaultNetworkTimeout();
+    }
+
+    public void setDefaultNetworkTimeout(Integer defaultNetworkTimeout) {
+        dataSource.setDefaultNetworkTimeout(defaultNetworkTimeout);
+        forceCloseAll();
+    }
+
+    public int getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    public void setMaxPoolSize(int maxPoolSize) {
+        if (maxPoolSize < 1) {
+            throw new IllegalArgumentException("maxPoolSize cannot be less than 1");
+        }
+
+        this.maxPoolSize = maxPoolSize;
+    }
+
+    public int getMinIdle() {
+        return minIdle;
+    }
+
+    public void setMinIdle(int minIdle) {
+        if (minIdle < 0) {
+            throw new IllegalArgumentException("minIdle cannot be negative");
+        }
+
+        this.minIdle = minIdle;
+    }
+
+    public long getConnectionTimeout() {
+        return connectionTimeout;
+    }
+
+    public void setConnectionTimeout(long connectionTimeout) {
+        this.connectionTimeout = connectionTimeout;
+    }
+
+    public long getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public void setIdleTimeout(long idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    public long getMaxLifetime() {
+        return maxLifetime;
+    }
+
+    public void setMaxLifetime(long maxLifetime) {
+        this.maxLifetime = maxLifetime;
+    }
+
+    public long getValidationInterval() {
+        return validationInterval;
+    }
+
+    public void setValidationInterval(long validationInterval) {
+        this.validationInterval = validationInterval;
+    }
+
+    public int getValidationTimeout() {
+        return validationTimeout;
+    }
+
+    public void setValidationTimeout(int validationTimeout) {
+        this.validationTimeout = validationTimeout;
+    }
+
+    public long getHousekeepingPeriod() {
+        return housekeepingPeriod;
+    }
+
+    public void setHousekeepingPeriod(long housekeepingPeriod) {
+        if (housekeepingPeriod <= 0) {
+            throw new IllegalArgumentException("housekeepingPeriod must be positive");
+        }
+
+        this.housekeepingPeriod = housekeepingPeriod;
+    }
+
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
+    public void setStatementCacheSize(int statementCacheSize) {
+        if (statementCacheSize < 0) {
+            throw new IllegalArgumentException("statementCacheSize must not be negative");
+        }
+
+        this.statementCacheSize = statementCacheSize;
+    }
+
+    /**
+     * 获取连接总数
+     *
+     * @return 连接总数
+     */
+    public int getTotalConnections() {
+        return connectionBag.size();
+    }
+
+    /**
+     * 获取借出的连接数
+     *
+     * @return 借出的连接数
+     */
+    public int getActiveConnections() {
+        return connectionBag.getCount(PooledConnection.STATE_IN_USE);
+    }
+
+    /**
+     * 获取空闲的连接数
+     *
+     * @return 空闲的连接数
+     */
+    public int getIdleConnections() {
+        return connectionBag.getCount(PooledConnection.STATE_NOT_IN_USE);
+    }
+
+    /**
+     * 获取等待连接的线程数
+     *
+     * @return 等待连接的线程数
+     */
+    public int getPendingThreads() {
+        return connectionBag.getWaitingThreadCount();
+    }
+
+    /**
+     * 获取指标快照
+     *
+     * @return 指标快照
+     */
+    public PoolMetrics getMetrics() {
+        return metricsTracker.snapshot(this);
+    }
+
+    /**
+     * 关闭所有连接
+     * 空闲的连接直接关闭，借出的连接在归还时关闭
+     */
+    public void forceCloseAll() {
+        for (PooledConnection connection : connectionBag.values()) {
+            if (connectionBag.reserve(connection)) {
+                closeConnection(connection);
+            } else {
+                connection.markEvicted();
+            }
+        }
+    }
+
+    /**
+     * 启动维护线程
+     * 维护线程立即预热 minIdle 个连接，之后周期性地驱逐超时连接、校验空闲连接并补齐最小空闲连接
+     */
+    public void startHouseKeeper() {
+        if (houseKeeperExecutor != null) {
+            return;
+        }
+
+        synchronized (this) {
+            if (houseKeeperExecutor != null || closed) {
+                return;
+            }
+
+            ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "mybatis-pool-housekeeper");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.scheduleWithFixedDelay(new HouseKeeper(), 0, housekeepingPeriod, TimeUnit.MILLISECONDS);
+            houseKeeperExecutor = executor;
+        }
+    }
+
+    /**
+     * 关闭数据源
+     */
+    @Override
+    public void close() {
+        closed = true;
+        synchronized (this) {
+            if (houseKeeperExecutor != null) {
+                houseKeeperExecutor.shutdownNow();
+            }
+        }
+        connectionBag.close();
+        forceCloseAll();
+    }
+
+    /**
+     * 获取连接
+     * 1. 从连接包中借出空闲连接
+     * 2. 连接数未达到上限时创建新连接
+     * 3. 在超时时间内等待其他线程归还连接
+     *
+     * @return 池化的连接
+     * @throws SQLException SQL 异常
+     */
+    private PooledConnection popConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("PooledDataSource has been closed.");
+        }
+
+        if (houseKeeperExecutor == null) {
+            startHouseKeeper();
+        }
+
+        final long startNanos = System.nanoTime();
+        final long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(connectionTimeout);
+        try {
+            PooledConnection connection = connectionBag.borrow(0, TimeUnit.NANOSECONDS);
+            if (connection == null) {
+                connection = createConnection(PooledConnection.STATE_IN_USE);
+            }
+
+            if (connection == null) {
+                long remainingNanos = timeoutNanos - (System.nanoTime() - startNanos);
+                connection = connectionBag.borrow(remainingNanos, TimeUnit.NANOSECONDS);
+            }
+
+            if (connection == null && closed) {
+                throw new SQLException("PooledDataSource has been closed.");
+            }
+
+            if (connection == null) {
+                metricsTracker.recordTimeout();
+                throw new SQLException("PooledDataSource: Could not get a connection within "
+                        + connectionTimeout + "ms (total=" + getTotalConnections()
+                        + ", active=" + getActiveConnections()
+                        + ", idle=" + getIdleConnections()
+                        + ", waiting=" + getPendingThreads() + ").");
+            }
+
+            metricsTracker.recordBorrow(System.nanoTime() - startNanos);
+            return connection;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("PooledDataSource: Interrupted during connection acquisition", e);
+        }
+    }
+
+    /**
+     * 归还连接
+     *
+     * @param connection 池化的连接
+     */
+    protected void pushConnection(PooledConnection connection) {
+        connection.setLastUsedTimestamp(System.currentTimeMillis());
+        if (closed || connection.isEvicted()) {
+            closeConnection(connection);
+            return;
+        }
+
+        if (maxLifetime > 0 && connection.getAge() > maxLifetime) {
+            metricsTracker.recordEviction();
+            closeConnection(connection);
+            return;
+        }
+
+        Connection realConnection = connection.getRealConnection();
+        try {
+            if (realConnection.isClosed()) {
+                closeConnection(connection);
+                return;
+            }
+
+            // 回滚未提交的事务
+            if (!realConnection.getAutoCommit()) {
+                realConnection.rollback();
+            }
+        } catch (SQLException e) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("A bad connection (" + realConnection + ") was returned to the pool, closing it. Cause: " + e);
+            }
+            closeConnection(connection);
+            return;
+        }
+
+        connectionBag.requite(connection);
+    }
+
+    /**
+     * 创建连接
+     * 连接数达到上限时返回 null
+     *
+     * @param state 初始状态
+     * @return 池化的连接
+     * @throws SQLException SQL 异常
+     */
+    private PooledConnection createConnection(int state) throws SQLException {
+        // 占用连接数
+        while (true) {
+            int total = totalConnections.get();
+            if (total >= maxPoolSize) {
+                return null;
+            }
+
+            if (totalConnections.compareAndSet(total, total + 1)) {
+                break;
+            }
+        }
+
+        try {
+            final long startNanos = System.nanoTime();
+            Connection realConnection = dataSource.getConnection();
+            metricsTracker.recordCreation(System.nanoTime() - startNanos);
+            StatementCache statementCache = statementCacheSize > 0
+                    ? new StatementCache(statementCacheSize, metricsTracker)
+                    : null;
+            PooledConnection connection = new PooledConnection(realConnection, this, state, statementCache);
+            connectionBag.add(connection);
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Created connection " + realConnection + ".");
+            }
+
+            return connection;
+        } catch (SQLException | RuntimeException e) {
+            totalConnections.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * 关闭连接并从连接包中移除
+     *
+     * @param connection 池化的连接
+     */
+    private void closeConnection(PooledConnection connection) {
+        if (!connectionBag.remove(connection)) {
+            return;
+        }
+
+        if (connection.getStatementCache() != null) {
+            connection.getStatementCache().clear();
+        }
+
+        try {
+            connection.getRealConnection().close();
+        } catch (SQLException e) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Failed to close connection " + connection.getRealConnection() + ". Cause: " + e);
+            }
+        }
+
+        // 物理连接关闭后再释放名额，连接数不会低于实际持有的物理连接数
+        totalConnections.decrementAndGet();
+
+        // 释放的名额交给等待的线程，由维护线程创建连接，关闭连接的线程不等待建连
+        if (!closed && connectionBag.getWaitingThreadCount() > 0) {
+            scheduleReplacement();
+        }
+    }
+
+    /**
+     * 在维护线程中为等待的线程创建替代的连接
+     */
+    private void scheduleReplacement() {
+        ScheduledExecutorService executor = houseKeeperExecutor;
+        if (executor == null) {
+            return;
+        }
+
+        try {
+            executor.execute(() -> {
+                if (closed || connectionBag.getWaitingThreadCount() == 0) {
+                    return;
+                }
+
+                try {
+                    createConnection(PooledConnection.STATE_NOT_IN_USE);
+                } catch (SQLException e) {
+                    if (LOG.isDebugEnabled()) {
+                        LOG.debug("Failed to replace closed connection. Cause: " + e);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 数据源已关闭
+        }
+    }
+
+    /**
+     * 补齐最小空闲连接
+     */
+    private void fillPool() {
+        while (!closed && getIdleConnections() < minIdle) {
+            try {
+                if (createConnection(PooledConnection.STATE_NOT_IN_USE) == null) {
+                    break;
+                }
+            } catch (SQLException e) {
+                LOG.warn("Failed to fill pool to minIdle " + minIdle + ". Cause: " + e);
+                break;
+            }
+        }
+    }
+
+    /**
+     * 驱逐超时的空闲连接
+     */
+    private void evictIdleConnections() {
+        List<PooledConnection> idleConnections = connectionBag.values(PooledConnection.STATE_NOT_IN_USE);
+        // 空闲时间长的优先驱逐
+        idleConnections.sort((c1, c2) -> Long.compare(c1.getLastUsedTimestamp(), c2.getLastUsedTimestamp()));
+
+        int removable = idleConnections.size() - minIdle;
+        for (PooledConnection connection : idleConnections) {
+            boolean expired = maxLifetime > 0 && connection.getAge() > maxLifetime;
+            boolean idleTimedOut = idleTimeout > 0 && removable > 0 && connection.getIdleTime() > idleTimeout;
+            if ((expired || idleTimedOut) && connectionBag.reserve(connection)) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Evicting connection " + connection.getRealConnection()
+                            + (expired ? " (maxLifetime)." : " (idleTimeout)."));
+                }
+                metricsTracker.recordEviction();
+                closeConnection(connection);
+                removable--;
+            }
+        }
+    }
+
+    /**
+     * 校验空闲连接
+     * 只校验超过 validationInterval 未校验的连接，校验期间连接处于预留状态，不会被借出
+     */
+    private void validateIdleConnections() {
+        if (validationInterval <= 0) {
+            return;
+        }
+
+        for (PooledConnection connection : connectionBag.values(PooledConnection.STATE_NOT_IN_USE)) {
+            if (connection.getTimeSinceValidated() < validationInterval
+                    || !connectionBag.reserve(connection)) {
+                continue;
+            }
+
+            boolean valid;
+            try {
+                valid = connection.getRealConnection().isValid(validationTimeout);
+            } catch (SQLException e) {
+                valid = false;
+            }
+
+            if (valid) {
+                connection.setLastValidatedTimestamp(System.currentTimeMillis());
+                connectionBag.unreserve(connection);
+            } else {
+                LOG.warn("Connection " + connection.getRealConnection() + " failed validation, closing it.");
+                metricsTracker.recordEviction();
+                closeConnection(connection);
+            }
+        }
+    }
+
+    /**
+     * 连接池维护任务
+     */
+    private class HouseKeeper implements Runnable {
+        @Override
+        public void run() {
+            try {
+                evictIdleConnections();
+                validateIdleConnections();
+                fillPool();
+            } catch (Throwable t) {
+                LOG.error("Unexpected exception in pool housekeeping task.", t);
+            }
+        }
+    }
+}
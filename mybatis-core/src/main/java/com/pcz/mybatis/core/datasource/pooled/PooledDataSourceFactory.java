@@ -0,0 +1,24 @@
+package com.pcz.mybatis.core.datasource.pooled;
+
+import com.pcz.mybatis.core.datasource.unpooled.UnpooledDataSourceFactory;
+
+import java.util.Properties;
+
+/**
+ * 池化的数据源工厂
+ *
+ * @author picongzhi
+ */
+public class PooledDataSourceFactory extends UnpooledDataSourceFactory {
+    public PooledDataSourceFactory() {
+        this.dataSource = new PooledDataSource();
+    }
+
+    @Override
+    public void setProperty(Properties properties) {
+        super.setProperty(properties);
+
+        // 属性设置完成后启动维护线程，预热连接池
+        ((PooledDataSource) dataSource).startHouseKeeper();
+    }
+}
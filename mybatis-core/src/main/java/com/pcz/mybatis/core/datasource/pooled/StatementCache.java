@@ -0,0 +1,186 @@
+package com.pcz.mybatis.core.datasource.pooled;
+
+import com.pcz.mybatis.core.logging.Log;
+import com.pcz.mybatis.core.logging.LogFactory;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 预编译语句缓存
+ * 按 Sql 缓存物理连接上的预编译语句，容量满时关闭最久未使用的语句
+ * 缓存挂在池化的连接上，连接归还后语句仍然保留，下一次借出该连接的会话可以直接复用
+ * 可以通过 {@link java.sql.Connection#unwrap(Class)} 从借出的连接上获取
+ *
+ * @author picongzhi
+ */
+public class StatementCache {
+    /**
+     * 日志
+     */
+    private static final Log LOG = LogFactory.getLog(StatementCache.class);
+
+    /**
+     * 容量
+     */
+    private final int capacity;
+
+    /**
+     * Sql -> 预编译语句，按访问顺序排列
+     */
+    private final Map<String, PreparedStatement> statements;
+
+    /**
+     * 命中次数
+     */
+    private final LongAdder hitCount = new LongAdder();
+
+    /**
+     * 未命中次数
+     */
+    private final LongAdder missCount = new LongAdder();
+
+    /**
+     * 连接池指标记录器，可以为 null
+     */
+    private final PoolMetricsTracker metricsTracker;
+
+    public StatementCache(int capacity) {
+        this(capacity, null);
+    }
+
+    public StatementCache(int capacity, PoolMetricsTracker metricsTracker) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Statement cache capacity must be positive");
+        }
+
+        this.capacity = capacity;
+        this.metricsTracker = metricsTracker;
+        this.statements = new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() > StatementCache.this.capacity) {
+                    closeStatement(eldest.getValue());
+                    return true;
+                }
+
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 获取缓存的语句，已关闭的语句视为未命中并移除
+     *
+     * @param sql Sql
+     * @return 预编译语句，未命中时返回 null
+     */
+    public synchronized PreparedStatement get(String sql) {
+        PreparedStatement statement = statements.get(sql);
+        if (statement != null && isClosed(statement)) {
+            statements.remove(sql);
+            statement = null;
+        }
+
+        if (statement == null) {
+            missCount.increment();
+            if (metricsTracker != null) {
+                metricsTracker.recordStatementCacheMiss();
+            }
+        } else {
+            hitCount.increment();
+            if (metricsTracker != null) {
+                metricsTracker.recordStatementCacheHit();
+            }
+        }
+
+        return statement;
+    }
+
+    /**
+     * 缓存语句，替换的旧语句会被关闭
+     *
+     * @param sql       Sql
+     * @param statement 预编译语句
+     */
+    public synchronized void put(String sql, PreparedStatement statement) {
+        PreparedStatement previous = statements.put(sql, statement);
+        if (previous != null && previous != statement) {
+            closeStatement(previous);
+        }
+    }
+
+    /**
+     * 移除并关闭缓存的语句
+     *
+     * @param sql Sql
+     */
+    public synchronized void remove(String sql) {
+        PreparedStatement statement = statements.remove(sql);
+        if (statement != null) {
+            closeStatement(statement);
+        }
+    }
+
+    /**
+     * 关闭并清空所有缓存的语句
+     */
+    public synchronized void clear() {
+        Iterator<PreparedStatement> iterator = statements.values().iterator();
+        while (iterator.hasNext()) {
+            closeStatement(iterator.next());
+            iterator.remove();
+        }
+    }
+
+    public synchronized int size() {
+        return statements.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * 判断语句是否已关闭
+     *
+     * @param statement 语句
+     * @return 是否已关闭
+     */
+    private static boolean isClosed(PreparedStatement statement) {
+        try {
+            return statement.isClosed();
+        } catch (SQLException e) {
+            return true;
+        }
+    }
+
+    /**
+     * 关闭语句
+     *
+     * @param statement 语句
+     */
+    private static void closeStatement(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Failed to close cached statement. Cause: " + e);
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.pcz.mybatis.core.datasource.routing;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 选择正在使用的连接数最少的从库
+ * 连接数相同时轮询，避免总是落到第一个从库
+ *
+ * @author picongzhi
+ */
+public class LeastInFlightReplicaSelector implements ReplicaSelector {
+    /**
+     * 计数器
+     */
+    private final AtomicInteger counter = new AtomicInteger();
+
+    @Override
+    public Replica select(List<Replica> replicas) {
+        int size = replicas.size();
+        int start = Math.floorMod(counter.getAndIncrement(), size);
+        Replica selected = null;
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (selected == null || replica.getInFlight() < selected.getInFlight()) {
+                selected = replica;
+            }
+        }
+
+        return selected;
+    }
+}
@@ -0,0 +1,137 @@
+package com.pcz.mybatis.core.datasource.routing;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * 读写分离的路由数据源
+ * 获取的连接在第一次执行语句时才获取物理连接：
+ * 1. 自动提交或连接设置为只读时，SELECT 语句路由到从库，SELECT ... FOR UPDATE 等加锁的查询除外
+ * 2. 写语句、读写事务中的语句及强制使用主库的语句路由到主库，连接路由到主库后不再切换
+ *
+ * @author picongzhi
+ */
+public class ReadWriteRoutingDataSource implements DataSource {
+    /**
+     * 主库
+     */
+    private final DataSource primary;
+
+    /**
+     * 从库
+     */
+    private final List<Replica> replicas;
+
+    /**
+     * 从库选择器
+     */
+    private final ReplicaSelector replicaSelector;
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<DataSource> replicaDataSources) {
+        this(primary, replicaDataSources, new RoundRobinReplicaSelector());
+    }
+
+    public ReadWriteRoutingDataSource(DataSource primary,
+                                      List<DataSource> replicaDataSources,
+                                      ReplicaSelector replicaSelector) {
+        if (primary == null) {
+            throw new IllegalArgumentException("Parameter 'primary' must not be null");
+        }
+
+        if (replicaSelector == null) {
+            throw new IllegalArgumentException("Parameter 'replicaSelector' must not be null");
+        }
+
+        List<Replica> replicas = new ArrayList<>();
+        if (replicaDataSources != null) {
+            for (DataSource replicaDataSource : replicaDataSources) {
+                replicas.add(new Replica(replicaDataSource));
+            }
+        }
+
+        this.primary = primary;
+        this.replicas = Collections.unmodifiableList(replicas);
+        this.replicaSelector = replicaSelector;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return RoutingConnection.newInstance(this);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+
+        return primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return primary.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter logWriter) throws SQLException {
+        primary.setLogWriter(logWriter);
+    }
+
+    @Override
+    public void setLoginTimeout(int loginTimeout) throws SQLException {
+        primary.setLoginTimeout(loginTimeout);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return primary.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return primary.getParentLogger();
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    public ReplicaSelector getReplicaSelector() {
+        return replicaSelector;
+    }
+
+    /**
+     * 选择从库，没有从库时返回 null
+     *
+     * @return 从库
+     */
+    Replica selectReplica() {
+        if (replicas.isEmpty()) {
+            return null;
+        }
+
+        return replicaSelector.select(replicas);
+    }
+}
@@ -0,0 +1,47 @@
+package com.pcz.mybatis.core.datasource.routing;
+
+import javax.sql.DataSource;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 从库
+ *
+ * @author picongzhi
+ */
+public class Replica {
+    /**
+     * 数据源
+     */
+    private final DataSource dataSource;
+
+    /**
+     * 正在使用的连接数
+     */
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public Replica(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * 借出连接
+     */
+    void acquire() {
+        inFlight.incrementAndGet();
+    }
+
+    /**
+     * 归还连接
+     */
+    void release() {
+        inFlight.decrementAndGet();
+    }
+}
@@ -0,0 +1,18 @@
+package com.pcz.mybatis.core.datasource.routing;
+
+import java.util.List;
+
+/**
+ * 从库选择器
+ *
+ * @author picongzhi
+ */
+public interface ReplicaSelector {
+    /**
+     * 选择从库
+     *
+     * @param replicas 从库，不为空
+     * @return 选中的从库
+     */
+    Replica select(List<Replica> replicas);
+}
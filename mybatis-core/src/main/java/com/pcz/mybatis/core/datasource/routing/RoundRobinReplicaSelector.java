@@ -0,0 +1,22 @@
+package com.pcz.mybatis.core.datasource.routing;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 轮询的从库选择器
+ *
+ * @author picongzhi
+ */
+public class RoundRobinReplicaSelector implements ReplicaSelector {
+    /**
+     * 计数器
+     */
+    private final AtomicInteger counter = new AtomicInteger();
+
+    @Override
+    public Replica select(List<Replica> replicas) {
+        int index = Math.floorMod(counter.getAndIncrement(), replicas.size());
+        return replicas.get(index);
+    }
+}
@@ -0,0 +1,285 @@
+package com.pcz.mybatis.core.datasource.routing;
+
+import com.pcz.mybatis.core.logging.Log;
+import com.pcz.mybatis.core.logging.LogFactory;
+import com.pcz.mybatis.core.reflection.ExceptionUtil;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.regex.Pattern;
+
+/**
+ * 路由连接
+ * 在创建语句时根据路由上下文获取主库或从库的物理连接，获取物理连接之前的状态设置会在获取后重放
+ *
+ * @author picongzhi
+ */
+public class RoutingConnection implements InvocationHandler {
+    private static final Log LOG = LogFactory.getLog(RoutingConnection.class);
+
+    /**
+     * 代理的接口
+     */
+    private static final Class<?>[] IFACES = new Class<?>[]{Connection.class};
+
+    /**
+     * 加锁的查询
+     */
+    private static final Pattern LOCKING_READ = Pattern.compile(
+            "\\bFOR\\s+(UPDATE|SHARE|NO\\s+KEY\\s+UPDATE|KEY\\s+SHARE)\\b|\\bLOCK\\s+IN\\s+SHARE\\s+MODE\\b",
+            Pattern.CASE_INSENSITIVE);
+
+    /**
+     * 路由数据源
+     */
+    private final ReadWriteRoutingDataSource dataSource;
+
+    /**
+     * 物理连接
+     */
+    private Connection target;
+
+    /**
+     * 物理连接所属的从库，为 null 表示主库
+     */
+    private Replica replica;
+
+    /**
+     * 自动提交
+     */
+    private boolean autoCommit = true;
+
+    /**
+     * 隔离级别
+     */
+    private Integer transactionIsolation;
+
+    /**
+     * 只读
+     */
+    private Boolean readOnly;
+
+    /**
+     * 是否已关闭
+     */
+    private boolean closed;
+
+    private RoutingConnection(ReadWriteRoutingDataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * 创建路由连接
+     *
+     * @param dataSource 路由数据源
+     * @return 路由连接
+     */
+    public static Connection newInstance(ReadWriteRoutingDataSource dataSource) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), IFACES, new RoutingConnection(dataSource));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String methodName = method.getName();
+        if (Object.class.equals(method.getDeclaringClass())) {
+            if ("equals".equals(methodName)) {
+                return proxy == args[0];
+            }
+            if ("hashCode".equals(methodName)) {
+                return System.identityHashCode(proxy);
+            }
+            return "RoutingConnection[" + (target == null ? "unbound" : target) + "]";
+        }
+
+        switch (methodName) {
+            case "close":
+                closed = true;
+                releaseTarget();
+                return null;
+            case "isClosed":
+                return closed || (target != null && target.isClosed());
+            default:
+                break;
+        }
+
+        if (closed) {
+            throw new SQLException("Error accessing RoutingConnection. Connection is closed.");
+        }
+
+        switch (methodName) {
+            case "setAutoCommit":
+                autoCommit = (Boolean) args[0];
+                if (target != null) {
+                    if (replica != null && !isReplicaAllowed()) {
+                        // 开启读写事务，后续语句使用主库
+                        releaseTarget();
+                    } else {
+                        target.setAutoCommit(autoCommit);
+                    }
+                }
+                return null;
+            case "getAutoCommit":
+                return target == null ? autoCommit : target.getAutoCommit();
+            case "setTransactionIsolation":
+                transactionIsolation = (Integer) args[0];
+                if (target == null) {
+                    // 获取物理连接后重放
+                    return null;
+                }
+                break;
+            case "getTransactionIsolation":
+                if (target == null && transactionIsolation != null) {
+                    return transactionIsolation;
+                }
+                break;
+            case "setReadOnly":
+                readOnly = (Boolean) args[0];
+                if (target == null) {
+                    return null;
+                }
+                if (replica != null && !isReplicaAllowed()) {
+                    // 事务不再只读，后续语句使用主库
+                    releaseTarget();
+                    return null;
+                }
+                break;
+            case "isReadOnly":
+                if (target == null && readOnly != null) {
+                    return readOnly;
+                }
+                break;
+            case "commit":
+            case "rollback":
+                if (target == null && (args == null || args.length == 0)) {
+                    // 尚未获取物理连接，没有需要提交或回滚的事务
+                    return null;
+                }
+                break;
+            case "prepareStatement":
+            case "prepareCall":
+                route((String) args[0]);
+                break;
+            case "createStatement":
+            case "unwrap":
+            case "isWrapperFor":
+                // 执行器可能通过 unwrap 获取物理连接上缓存的语句，需要和创建语句一样路由
+                route(null);
+                break;
+            default:
+                break;
+        }
+
+        if (target == null) {
+            route(null);
+        }
+
+        try {
+            return method.invoke(target, args);
+        } catch (Throwable t) {
+            throw ExceptionUtil.unwrapThrowable(t);
+        }
+    }
+
+    /**
+     * 根据路由上下文选择物理连接
+     * 只读语句只在自动提交或连接只读时使用从库，读写事务中的语句和加锁的查询都使用主库
+     *
+     * @param sql Sql，未知时为 null
+     * @throws SQLException SQL 异常
+     */
+    private void route(String sql) throws SQLException {
+        boolean useReplica = RoutingContext.isReadOnlyStatement() && isReplicaAllowed()
+                && (sql == null || !LOCKING_READ.matcher(sql).find());
+        if (target != null) {
+            if (replica == null || useReplica) {
+                // 主库连接不再切换，从库连接继续用于只读语句
+                return;
+            }
+
+            // 从库连接上执行写语句，切换到主库
+            releaseTarget();
+        }
+
+        if (useReplica) {
+            Replica selected = dataSource.selectReplica();
+            if (selected != null) {
+                try {
+                    bind(selected.getDataSource().getConnection(), selected);
+                    return;
+                } catch (SQLException e) {
+                    LOG.warn("Failed to get connection from replica, falling back to primary. Cause: " + e);
+                }
+            }
+        }
+
+        bind(dataSource.getPrimary().getConnection(), null);
+    }
+
+    /**
+     * 判断当前连接状态下是否允许使用从库，读写事务中的读语句需要看到事务内的写入并在主库上加锁
+     *
+     * @return 是否允许使用从库
+     */
+    private boolean isReplicaAllowed() {
+        return autoCommit || Boolean.TRUE.equals(readOnly);
+    }
+
+    /**
+     * 绑定物理连接，并重放状态设置
+     *
+     * @param connection 物理连接
+     * @param replica    所属的从库
+     * @throws SQLException SQL 异常
+     */
+    private void bind(Connection connection, Replica replica) throws SQLException {
+        try {
+            if (connection.getAutoCommit() != autoCommit) {
+                connection.setAutoCommit(autoCommit);
+            }
+
+            if (transactionIsolation != null) {
+                connection.setTransactionIsolation(transactionIsolation);
+            }
+
+            if (readOnly != null) {
+                connection.setReadOnly(readOnly);
+            }
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+
+        if (replica != null) {
+            replica.acquire();
+        }
+        this.target = connection;
+        this.replica = replica;
+    }
+
+    /**
+     * 释放物理连接
+     *
+     * @throws SQLException SQL 异常
+     */
+    private void releaseTarget() throws SQLException {
+        if (target == null) {
+            return;
+        }
+
+        Connection connection = target;
+        Replica bound = replica;
+        target = null;
+        replica = null;
+        try {
+            connection.close();
+        } finally {
+            if (bound != null) {
+                bound.release();
+            }
+        }
+    }
+}
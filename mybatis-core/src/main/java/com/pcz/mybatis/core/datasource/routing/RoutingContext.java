@@ -0,0 +1,89 @@
+package com.pcz.mybatis.core.datasource.routing;
+
+import com.pcz.mybatis.core.mapping.SqlCommandType;
+
+/**
+ * 路由上下文
+ * 执行语句前绑定当前语句的 Sql 命令类型，路由数据源据此选择主库或从库
+ *
+ * @author picongzhi
+ */
+public final class RoutingContext {
+    /**
+     * 当前线程的 Sql 命令类型
+     */
+    private static final ThreadLocal<SqlCommandType> COMMAND_TYPE = new ThreadLocal<>();
+
+    /**
+     * 当前线程是否强制使用主库
+     */
+    private static final ThreadLocal<Boolean> FORCE_PRIMARY = new ThreadLocal<>();
+
+    private RoutingContext() {
+    }
+
+    /**
+     * 绑定 Sql 命令类型
+     *
+     * @param sqlCommandType Sql 命令类型
+     * @return 之前绑定的 Sql 命令类型
+     */
+    public static SqlCommandType bind(SqlCommandType sqlCommandType) {
+        SqlCommandType previous = COMMAND_TYPE.get();
+        if (sqlCommandType == null) {
+            COMMAND_TYPE.remove();
+        } else {
+            COMMAND_TYPE.set(sqlCommandType);
+        }
+
+        return previous;
+    }
+
+    /**
+     * 获取绑定的 Sql 命令类型
+     *
+     * @return Sql 命令类型
+     */
+    public static SqlCommandType getCommandType() {
+        return COMMAND_TYPE.get();
+    }
+
+    /**
+     * 设置是否强制使用主库，用于读取刚写入的数据等场景
+     *
+     * @param forcePrimary 是否强制使用主库
+     */
+    public static void setForcePrimary(boolean forcePrimary) {
+        if (forcePrimary) {
+            FORCE_PRIMARY.set(Boolean.TRUE);
+        } else {
+            FORCE_PRIMARY.remove();
+        }
+    }
+
+    /**
+     * 判断是否强制使用主库
+     *
+     * @return 是否强制使用主库
+     */
+    public static boolean isForcePrimary() {
+        return FORCE_PRIMARY.get() != null;
+    }
+
+    /**
+     * 判断当前语句是否可以路由到从库
+     *
+     * @return 是否可以路由到从库
+     */
+    public static boolean isReadOnlyStatement() {
+        return COMMAND_TYPE.get() == SqlCommandType.SELECT && !isForcePrimary();
+    }
+
+    /**
+     * 清除当前线程的上下文
+     */
+    public static void clear() {
+        COMMAND_TYPE.remove();
+        FORCE_PRIMARY.remove();
+    }
+}
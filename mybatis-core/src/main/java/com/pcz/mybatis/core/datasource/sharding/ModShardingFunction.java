@@ -0,0 +1,19 @@
+package com.pcz.mybatis.core.datasource.sharding;
+
+/**
+ * 取模分片函数
+ * 整数类型的分片键直接取模，其他类型按 hashCode 取模
+ *
+ * @author picongzhi
+ */
+public class ModShardingFunction implements ShardingFunction {
+    @Override
+    public int shard(Object shardKey, int shardCount) {
+        if (shardKey instanceof Long || shardKey instanceof Integer
+                || shardKey instanceof Short || shardKey instanceof Byte) {
+            return (int) Math.floorMod(((Number) shardKey).longValue(), (long) shardCount);
+        }
+
+        return Math.floorMod(shardKey.hashCode(), shardCount);
+    }
+}
@@ -0,0 +1,82 @@
+package com.pcz.mybatis.core.datasource.sharding;
+
+/**
+ * 分片上下文
+ * 执行语句前绑定当前语句的参数对象，分片数据源据此解析分片键；也可以直接指定分片下标
+ *
+ * @author picongzhi
+ */
+public final class ShardContext {
+    /**
+     * 当前线程的参数对象
+     */
+    private static final ThreadLocal<Object> PARAMETER = new ThreadLocal<>();
+
+    /**
+     * 当前线程指定的分片下标
+     */
+    private static final ThreadLocal<Integer> SHARD_INDEX = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * 绑定参数对象
+     *
+     * @param parameter 参数对象
+     * @return 之前绑定的参数对象
+     */
+    public static Object bindParameter(Object parameter) {
+        Object previous = PARAMETER.get();
+        if (parameter == null) {
+            PARAMETER.remove();
+        } else {
+            PARAMETER.set(parameter);
+        }
+
+        return previous;
+    }
+
+    /**
+     * 获取绑定的参数对象
+     *
+     * @return 参数对象
+     */
+    public static Object getParameter() {
+        return PARAMETER.get();
+    }
+
+    /**
+     * 指定分片下标，优先于分片键
+     *
+     * @param shardIndex 分片下标，为 null 时取消指定
+     * @return 之前指定的分片下标
+     */
+    public static Integer setShardIndex(Integer shardIndex) {
+        Integer previous = SHARD_INDEX.get();
+        if (shardIndex == null) {
+            SHARD_INDEX.remove();
+        } else {
+            SHARD_INDEX.set(shardIndex);
+        }
+
+        return previous;
+    }
+
+    /**
+     * 获取指定的分片下标
+     *
+     * @return 分片下标
+     */
+    public static Integer getShardIndex() {
+        return SHARD_INDEX.get();
+    }
+
+    /**
+     * 清除当前线程的上下文
+     */
+    public static void clear() {
+        PARAMETER.remove();
+        SHARD_INDEX.remove();
+    }
+}
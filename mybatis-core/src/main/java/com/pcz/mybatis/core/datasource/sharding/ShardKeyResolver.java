@@ -0,0 +1,87 @@
+package com.pcz.mybatis.core.datasource.sharding;
+
+import com.pcz.mybatis.core.reflection.DefaultReflectorFactory;
+import com.pcz.mybatis.core.reflection.MetaObject;
+import com.pcz.mybatis.core.reflection.ReflectorFactory;
+import com.pcz.mybatis.core.reflection.SystemMetaObject;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * 分片键解析器
+ * 通过 {@link MetaObject} 从参数对象中获取分片键，支持 {@link com.pcz.mybatis.core.reflection.ParamNameResolver}
+ * 生成的命名参数及嵌套属性，多个候选属性用逗号分隔，按顺序取第一个存在的属性
+ *
+ * @author picongzhi
+ */
+public class ShardKeyResolver {
+    /**
+     * 候选的分片键属性
+     */
+    private final String[] keyProperties;
+
+    /**
+     * 反射器工厂
+     */
+    private final ReflectorFactory reflectorFactory = new DefaultReflectorFactory();
+
+    public ShardKeyResolver(String keyProperty) {
+        if (keyProperty == null || keyProperty.trim().isEmpty()) {
+            throw new IllegalArgumentException("Parameter 'keyProperty' must not be empty");
+        }
+
+        this.keyProperties = keyProperty.trim().split("\\s*,\\s*");
+    }
+
+    /**
+     * 解析分片键
+     *
+     * @param parameter 参数对象
+     * @return 分片键，无法解析时返回 null
+     */
+    public Object resolve(Object parameter) {
+        if (parameter == null) {
+            return null;
+        }
+
+        if (isSimpleValue(parameter)) {
+            // 单个简单类型的参数即为分片键
+            return parameter;
+        }
+
+        MetaObject metaObject = MetaObject.forObject(parameter,
+                SystemMetaObject.DEFAULT_OBJECT_FACTORY,
+                SystemMetaObject.DEFAULT_OBJECT_WRAPPER_FACTORY,
+                reflectorFactory);
+        for (String keyProperty : keyProperties) {
+            if (metaObject.hasGetter(keyProperty)) {
+                Object value = metaObject.getValue(keyProperty);
+                if (value != null) {
+                    return value;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    public String[] getKeyProperties() {
+        return keyProperties.clone();
+    }
+
+    /**
+     * 判断是否是简单类型的值
+     *
+     * @param parameter 参数
+     * @return 是否是简单类型的值
+     */
+    private static boolean isSimpleValue(Object parameter) {
+        return parameter instanceof Number
+                || parameter instanceof CharSequence
+                || parameter instanceof Character
+                || parameter instanceof Date
+                || parameter instanceof Enum
+                || parameter instanceof UUID;
+    }
+}
@@ -0,0 +1,228 @@
+package com.pcz.mybatis.core.datasource.sharding;
+
+import com.pcz.mybatis.core.reflection.ExceptionUtil;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 分片连接
+ * 在创建语句时按分片上下文获取对应分片的物理连接，同一分片的连接在关闭前复用
+ * 提交和回滚依次作用于所有已获取的物理连接，不保证跨分片的原子性
+ *
+ * @author picongzhi
+ */
+public class ShardedConnection implements InvocationHandler {
+    /**
+     * 代理的接口
+     */
+    private static final Class<?>[] IFACES = new Class<?>[]{Connection.class};
+
+    /**
+     * 分片数据源
+     */
+    private final ShardedDataSource dataSource;
+
+    /**
+     * 已获取的物理连接
+     */
+    private final Map<Integer, Connection> connections = new LinkedHashMap<>();
+
+    /**
+     * 最近使用的物理连接
+     */
+    private Connection current;
+
+    /**
+     * 自动提交
+     */
+    private boolean autoCommit = true;
+
+    /**
+     * 隔离级别
+     */
+    private Integer transactionIsolation;
+
+    /**
+     * 只读
+     */
+    private Boolean readOnly;
+
+    /**
+     * 是否已关闭
+     */
+    private boolean closed;
+
+    private ShardedConnection(ShardedDataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * 创建分片连接
+     *
+     * @param dataSource 分片数据源
+     * @return 分片连接
+     */
+    public static Connection newInstance(ShardedDataSource dataSource) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), IFACES, new ShardedConnection(dataSource));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String methodName = method.getName();
+        if (Object.class.equals(method.getDeclaringClass())) {
+            if ("equals".equals(methodName)) {
+                return proxy == args[0];
+            }
+            if ("hashCode".equals(methodName)) {
+                return System.identityHashCode(proxy);
+            }
+            return "ShardedConnection" + connections.keySet();
+        }
+
+        switch (methodName) {
+            case "close":
+                if (!closed) {
+                    closed = true;
+                    forEachConnection(Connection::close);
+                    connections.clear();
+                    current = null;
+                }
+                return null;
+            case "isClosed":
+                return closed;
+            default:
+                break;
+        }
+
+        if (closed) {
+            throw new SQLException("Error accessing ShardedConnection. Connection is closed.");
+        }
+
+        switch (methodName) {
+            case "setAutoCommit":
+                autoCommit = (Boolean) args[0];
+                forEachConnection(connection -> connection.setAutoCommit(autoCommit));
+                return null;
+            case "getAutoCommit":
+                return autoCommit;
+            case "setTransactionIsolation":
+                transactionIsolation = (Integer) args[0];
+                forEachConnection(connection -> connection.setTransactionIsolation(transactionIsolation));
+                return null;
+            case "setReadOnly":
+                readOnly = (Boolean) args[0];
+                forEachConnection(connection -> connection.setReadOnly(readOnly));
+                return null;
+            case "commit":
+            case "rollback":
+                if (args == null || args.length == 0) {
+                    forEachConnection(connection -> method.invoke(connection));
+                    return null;
+                }
+                break;
+            case "createStatement":
+            case "prepareStatement":
+            case "prepareCall":
+            case "unwrap":
+            case "isWrapperFor":
+                // 执行器可能通过 unwrap 获取物理连接上缓存的语句，需要和创建语句一样路由
+                current = getShardConnection(dataSource.resolveShard());
+                break;
+            default:
+                break;
+        }
+
+        if (current == null) {
+            current = getShardConnection(dataSource.resolveShard());
+        }
+
+        try {
+            return method.invoke(current, args);
+        } catch (Throwable t) {
+            throw ExceptionUtil.unwrapThrowable(t);
+        }
+    }
+
+    /**
+     * 获取分片的物理连接
+     *
+     * @param shardIndex 分片下标
+     * @return 物理连接
+     * @throws SQLException SQL 异常
+     */
+    private Connection getShardConnection(int shardIndex) throws SQLException {
+        Connection connection = connections.get(shardIndex);
+        if (connection != null) {
+            return connection;
+        }
+
+        connection = dataSource.getDataSource(shardIndex).getConnection();
+        try {
+            if (connection.getAutoCommit() != autoCommit) {
+                connection.setAutoCommit(autoCommit);
+            }
+
+            if (transactionIsolation != null) {
+                connection.setTransactionIsolation(transactionIsolation);
+            }
+
+            if (readOnly != null) {
+                connection.setReadOnly(readOnly);
+            }
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+
+        connections.put(shardIndex, connection);
+        return connection;
+    }
+
+    /**
+     * 对所有已获取的物理连接执行操作，全部执行后抛出第一个异常
+     *
+     * @param action 操作
+     * @throws Throwable 异常
+     */
+    private void forEachConnection(ConnectionAction action) throws Throwable {
+        List<Throwable> errors = new ArrayList<>();
+        for (Connection connection : connections.values()) {
+            try {
+                action.apply(connection);
+            } catch (Throwable t) {
+                errors.add(ExceptionUtil.unwrapThrowable(t));
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            Throwable first = errors.get(0);
+            for (int i = 1; i < errors.size(); i++) {
+                first.addSuppressed(errors.get(i));
+            }
+            throw first;
+        }
+    }
+
+    /**
+     * 作用于物理连接的操作
+     */
+    @FunctionalInterface
+    private interface ConnectionAction {
+        /**
+         * 执行操作
+         *
+         * @param connection 物理连接
+         * @throws Throwable 异常
+         */
+        void apply(Connection connection) throws Throwable;
+    }
+}
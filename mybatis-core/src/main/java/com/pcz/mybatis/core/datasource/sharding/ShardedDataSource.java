@@ -0,0 +1,202 @@
+package com.pcz.mybatis.core.datasource.sharding;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * 分片数据源
+ * 每个分片对应一个独立的数据源（通常是独立的连接池），获取的连接在创建语句时按分片上下文选择分片
+ * 无法解析分片键的语句使用默认数据源，未配置默认数据源时抛出异常
+ *
+ * @author picongzhi
+ */
+public class ShardedDataSource implements DataSource {
+    /**
+     * 默认分片下标，表示默认数据源
+     */
+    public static final int DEFAULT_SHARD = -1;
+
+    /**
+     * 默认数据源，可以为 null
+     */
+    private final DataSource defaultDataSource;
+
+    /**
+     * 分片数据源
+     */
+    private final List<DataSource> shards;
+
+    /**
+     * 分片函数
+     */
+    private final ShardingFunction shardingFunction;
+
+    /**
+     * 分片键解析器
+     */
+    private final ShardKeyResolver shardKeyResolver;
+
+    public ShardedDataSource(List<DataSource> shards,
+                             ShardingFunction shardingFunction,
+                             ShardKeyResolver shardKeyResolver) {
+        this(null, shards, shardingFunction, shardKeyResolver);
+    }
+
+    public ShardedDataSource(DataSource defaultDataSource,
+                             List<DataSource> shards,
+                             ShardingFunction shardingFunction,
+                             ShardKeyResolver shardKeyResolver) {
+        if (shards == null || shards.isEmpty()) {
+            throw new IllegalArgumentException("Parameter 'shards' must not be empty");
+        }
+
+        if (shardingFunction == null) {
+            throw new IllegalArgumentException("Parameter 'shardingFunction' must not be null");
+        }
+
+        if (shardKeyResolver == null) {
+            throw new IllegalArgumentException("Parameter 'shardKeyResolver' must not be null");
+        }
+
+        this.defaultDataSource = defaultDataSource;
+        this.shards = Collections.unmodifiableList(new ArrayList<>(shards));
+        this.shardingFunction = shardingFunction;
+        this.shardKeyResolver = shardKeyResolver;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return ShardedConnection.newInstance(this);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("ShardedDataSource does not support getConnection(username, password)");
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+
+        throw new SQLException("ShardedDataSource is not a wrapper for " + iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this);
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return shards.get(0).getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter logWriter) throws SQLException {
+        for (DataSource shard : shards) {
+            shard.setLogWriter(logWriter);
+        }
+    }
+
+    @Override
+    public void setLoginTimeout(int loginTimeout) throws SQLException {
+        for (DataSource shard : shards) {
+            shard.setLoginTimeout(loginTimeout);
+        }
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return shards.get(0).getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+    }
+
+    public DataSource getDefaultDataSource() {
+        return defaultDataSource;
+    }
+
+    public List<DataSource> getShards() {
+        return shards;
+    }
+
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    public ShardingFunction getShardingFunction() {
+        return shardingFunction;
+    }
+
+    public ShardKeyResolver getShardKeyResolver() {
+        return shardKeyResolver;
+    }
+
+    /**
+     * 根据分片键计算分片下标
+     *
+     * @param shardKey 分片键
+     * @return 分片下标
+     */
+    public int shardFor(Object shardKey) {
+        int shardIndex = shardingFunction.shard(shardKey, shards.size());
+        if (shardIndex < 0 || shardIndex >= shards.size()) {
+            throw new IllegalStateException("Sharding function returned shard " + shardIndex
+                    + " out of range [0, " + shards.size() + ") for key " + shardKey);
+        }
+
+        return shardIndex;
+    }
+
+    /**
+     * 根据分片上下文解析当前语句的分片下标
+     *
+     * @return 分片下标，使用默认数据源时返回 {@link #DEFAULT_SHARD}
+     * @throws SQLException 无法确定分片时抛出
+     */
+    public int resolveShard() throws SQLException {
+        Integer shardIndex = ShardContext.getShardIndex();
+        if (shardIndex != null) {
+            if (shardIndex < 0 || shardIndex >= shards.size()) {
+                throw new SQLException("Shard index " + shardIndex + " out of range [0, " + shards.size() + ")");
+            }
+
+            return shardIndex;
+        }
+
+        Object shardKey = shardKeyResolver.resolve(ShardContext.getParameter());
+        if (shardKey != null) {
+            return shardFor(shardKey);
+        }
+
+        if (defaultDataSource != null) {
+            return DEFAULT_SHARD;
+        }
+
+        throw new SQLException("Could not resolve shard key from parameter " + ShardContext.getParameter()
+                + " using properties " + String.join(",", shardKeyResolver.getKeyProperties())
+                + " and no default datasource is configured.");
+    }
+
+    /**
+     * 获取分片的数据源
+     *
+     * @param shardIndex 分片下标
+     * @return 数据源
+     */
+    public DataSource getDataSource(int shardIndex) {
+        return shardIndex == DEFAULT_SHARD ? defaultDataSource : shards.get(shardIndex);
+    }
+}
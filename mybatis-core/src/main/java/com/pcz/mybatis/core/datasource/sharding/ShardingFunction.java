@@ -0,0 +1,17 @@
+package com.pcz.mybatis.core.datasource.sharding;
+
+/**
+ * 分片函数
+ *
+ * @author picongzhi
+ */
+public interface ShardingFunction {
+    /**
+     * 计算分片下标
+     *
+     * @param shardKey   分片键，不为 null
+     * @param shardCount 分片数
+     * @return 分片下标，取值范围为 [0, shardCount)
+     */
+    int shard(Object shardKey, int shardCount);
+}
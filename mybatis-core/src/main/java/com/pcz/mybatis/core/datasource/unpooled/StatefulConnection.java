@@ -0,0 +1,179 @@
+package com.pcz.mybatis.core.datasource.unpooled;
+
+import com.pcz.mybatis.core.reflection.ExceptionUtil;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.concurrent.Executor;
+
+/**
+ * 缓存状态的连接
+ * 缓存自动提交、隔离级别、只读和网络超时状态，状态未发生变化时跳过对驱动的调用，避免多余的数据库往返
+ *
+ * @author picongzhi
+ */
+public class StatefulConnection implements InvocationHandler {
+    /**
+     * 代理的接口
+     */
+    private static final Class<?>[] IFACES = new Class<?>[]{Connection.class};
+
+    /**
+     * 物理连接
+     */
+    private final Connection connection;
+
+    /**
+     * 自动提交，null 表示未知
+     */
+    private Boolean autoCommit;
+
+    /**
+     * 隔离级别，null 表示未知
+     */
+    private Integer transactionIsolation;
+
+    /**
+     * 只读，null 表示未知
+     */
+    private Boolean readOnly;
+
+    /**
+     * 网络超时时间，null 表示未知
+     */
+    private Integer networkTimeout;
+
+    private StatefulConnection(Connection connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * 包装连接，已包装的连接直接返回
+     *
+     * @param connection 连接
+     * @return 缓存状态的连接
+     */
+    public static Connection wrap(Connection connection) {
+        if (connection == null || isStateful(connection)) {
+            return connection;
+        }
+
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), IFACES, new StatefulConnection(connection));
+    }
+
+    /**
+     * 判断连接是否已包装
+     *
+     * @param connection 连接
+     * @return 是否已包装
+     */
+    public static boolean isStateful(Connection connection) {
+        return Proxy.isProxyClass(connection.getClass())
+                && Proxy.getInvocationHandler(connection) instanceof StatefulConnection;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (Object.class.equals(method.getDeclaringClass())) {
+            if ("equals".equals(method.getName())) {
+                return proxy == args[0];
+            }
+            return invokeOnConnection(method, args);
+        }
+
+        switch (method.getName()) {
+            case "getAutoCommit":
+                if (autoCommit == null) {
+                    autoCommit = connection.getAutoCommit();
+                }
+                return autoCommit;
+            case "setAutoCommit":
+                boolean desiredAutoCommit = (Boolean) args[0];
+                if (autoCommit == null || autoCommit != desiredAutoCommit) {
+                    autoCommit = null;
+                    connection.setAutoCommit(desiredAutoCommit);
+                    autoCommit = desiredAutoCommit;
+                }
+                return null;
+            case "getTransactionIsolation":
+                if (transactionIsolation == null) {
+                    transactionIsolation = connection.getTransactionIsolation();
+                }
+                return transactionIsolation;
+            case "setTransactionIsolation":
+                int desiredLevel = (Integer) args[0];
+                if (transactionIsolation == null || transactionIsolation != desiredLevel) {
+                    transactionIsolation = null;
+                    connection.setTransactionIsolation(desiredLevel);
+                    transactionIsolation = desiredLevel;
+                }
+                return null;
+            case "isReadOnly":
+                if (readOnly == null) {
+                    readOnly = connection.isReadOnly();
+                }
+                return readOnly;
+            case "setReadOnly":
+                boolean desiredReadOnly = (Boolean) args[0];
+                if (readOnly == null || readOnly != desiredReadOnly) {
+                    readOnly = null;
+                    connection.setReadOnly(desiredReadOnly);
+                    readOnly = desiredReadOnly;
+                }
+                return null;
+            case "getNetworkTimeout":
+                if (networkTimeout == null) {
+                    networkTimeout = connection.getNetworkTimeout();
+                }
+                return networkTimeout;
+            case "setNetworkTimeout":
+                int desiredTimeout = (Integer) args[1];
+                if (networkTimeout == null || networkTimeout != desiredTimeout) {
+                    networkTimeout = null;
+                    connection.setNetworkTimeout((Executor) args[0], desiredTimeout);
+                    networkTimeout = desiredTimeout;
+                }
+                return null;
+            default:
+                return invokeOnConnection(method, args);
+        }
+    }
+
+    /**
+     * 在物理连接上调用方法
+     *
+     * @param method 方法
+     * @param args   参数
+     * @return 返回值
+     * @throws Throwable 异常
+     */
+    private Object invokeOnConnection(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(connection, args);
+        } catch (Throwable t) {
+            throw ExceptionUtil.unwrapThrowable(t);
+        }
+    }
+
+    /**
+     * 获取物理连接
+     *
+     * @return 物理连接
+     */
+    public Connection getConnection() {
+        return connection;
+    }
+
+    /**
+     * 清除缓存的状态，在通过 SQL 语句修改连接状态后调用
+     */
+    public void clearState() {
+        autoCommit = null;
+        transactionIsolation = null;
+        readOnly = null;
+        networkTimeout = null;
+    }
+}
@@ -9,6 +9,7 @@ import java.util.Enumeration;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.logging.Logger;
 
@@ -23,6 +24,15 @@ public class UnpooledDataSource implements DataSource {
      */
     private static Map<String, Driver> registeredDrivers = new ConcurrentHashMap<>();
 
+    /**
+     * 设置网络超时时间共用的执行器
+     */
+    private static final ExecutorService NETWORK_TIMEOUT_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "mybatis-network-timeout");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     /**
      * 数据库驱动类加载器
      */
@@ -108,6 +118,14 @@ public class UnpooledDataSource implements DataSource {
         this.driverProperties = driverProperties;
     }
 
+    public Properties getDriverProperties() {
+        return driverProperties;
+    }
+
+    public void setDriverProperties(Properties driverProperties) {
+        this.driverProperties = driverProperties;
+    }
+
     public ClassLoader getDriverClassLoader() {
         return driverClassLoader;
     }
@@ -253,8 +271,8 @@ public class UnpooledDataSource implements DataSource {
         // 初始化数据库驱动
         initializeDriver();
 
-        // 获取连接
-        Connection connection = DriverManager.getConnection(url, properties);
+        // 获取连接，包装为缓存状态的连接
+        Connection connection = StatefulConnection.wrap(DriverManager.getConnection(url, properties));
 
         // 配置连接
         configureConnection(connection);
@@ -300,7 +318,7 @@ public class UnpooledDataSource implements DataSource {
      */
     private void configureConnection(Connection connection) throws SQLException {
         if (defaultNetworkTimeout != null) {
-            connection.setNetworkTimeout(Executors.newSingleThreadExecutor(), defaultNetworkTimeout);
+            connection.setNetworkTimeout(NETWORK_TIMEOUT_EXECUTOR, defaultNetworkTimeout);
         }
 
         if (autoCommit != null && autoCommit != connection.getAutoCommit()) {
@@ -0,0 +1,74 @@
+package com.pcz.mybatis.core.dialect;
+
+/**
+ * 默认的数据库方言
+ *
+ * @author picongzhi
+ */
+public class DefaultDialect implements Dialect {
+    /**
+     * 最大绑定参数个数
+     */
+    private final int maxParameters;
+
+    /**
+     * 是否支持多行 VALUES 的 insert 语句
+     */
+    private final boolean multiRowInsert;
+
+    /**
+     * 分页语法
+     */
+    private final LimitStyle limitStyle;
+
+    /**
+     * 是否支持用分号拼接的多个查询
+     */
+    private final boolean pipelinedStatements;
+
+    public DefaultDialect(int maxParameters, boolean multiRowInsert) {
+        this(maxParameters, multiRowInsert, LimitStyle.NONE);
+    }
+
+    public DefaultDialect(int maxParameters, boolean multiRowInsert, LimitStyle limitStyle) {
+        this(maxParameters, multiRowInsert, limitStyle, false);
+    }
+
+    public DefaultDialect(int maxParameters,
+                          boolean multiRowInsert,
+                          LimitStyle limitStyle,
+                          boolean pipelinedStatements) {
+        if (maxParameters <= 0) {
+            throw new IllegalArgumentException("Parameter 'maxParameters' must be positive");
+        }
+
+        if (limitStyle == null) {
+            throw new IllegalArgumentException("Parameter 'limitStyle' must not be null");
+        }
+
+        this.maxParameters = maxParameters;
+        this.multiRowInsert = multiRowInsert;
+        this.limitStyle = limitStyle;
+        this.pipelinedStatements = pipelinedStatements;
+    }
+
+    @Override
+    public int getMaxParameters() {
+        return maxParameters;
+    }
+
+    @Override
+    public boolean supportsMultiRowInsert() {
+        return multiRowInsert;
+    }
+
+    @Override
+    public LimitStyle getLimitStyle() {
+        return limitStyle;
+    }
+
+    @Override
+    public boolean supportsPipelinedStatements() {
+        return pipelinedStatements;
+    }
+}
@@ -0,0 +1,36 @@
+package com.pcz.mybatis.core.dialect;
+
+/**
+ * 数据库方言，描述与数据库相关的 Sql 能力和限制
+ *
+ * @author picongzhi
+ */
+public interface Dialect {
+    /**
+     * 获取一条语句允许的最大绑定参数个数
+     *
+     * @return 最大绑定参数个数
+     */
+    int getMaxParameters();
+
+    /**
+     * 是否支持多行 VALUES 的 insert 语句
+     *
+     * @return 是否支持
+     */
+    boolean supportsMultiRowInsert();
+
+    /**
+     * 获取分页语法
+     *
+     * @return 分页语法
+     */
+    LimitStyle getLimitStyle();
+
+    /**
+     * 是否支持在一条语句中用分号拼接多个查询，并依次返回各个查询的结果集
+     *
+     * @return 是否支持
+     */
+    boolean supportsPipelinedStatements();
+}
@@ -0,0 +1,76 @@
+package com.pcz.mybatis.core.dialect;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 数据库方言注册器，按 databaseId 查找方言，未注册的 databaseId 使用通用方言
+ * 通用方言不支持分页语法，也不支持用分号拼接的多个查询
+ *
+ * @author picongzhi
+ */
+public class DialectRegistry {
+    /**
+     * databaseId -> 方言 映射
+     */
+    private final Map<String, Dialect> dialects = new HashMap<>();
+
+    /**
+     * 通用方言
+     */
+    private Dialect defaultDialect = new DefaultDialect(1000, true);
+
+    public DialectRegistry() {
+        register("mysql", new DefaultDialect(65535, true, LimitStyle.LIMIT_OFFSET));
+        register("mariadb", new DefaultDialect(65535, true, LimitStyle.LIMIT_OFFSET));
+        register("postgresql", new DefaultDialect(32767, true, LimitStyle.LIMIT_OFFSET, true));
+        register("sqlserver", new DefaultDialect(2000, true, LimitStyle.OFFSET_FETCH, true));
+        register("oracle", new DefaultDialect(65535, false, LimitStyle.ROWNUM));
+        register("db2", new DefaultDialect(32767, true, LimitStyle.OFFSET_FETCH));
+        register("h2", new DefaultDialect(65535, true, LimitStyle.LIMIT_OFFSET));
+        register("hsqldb", new DefaultDialect(65535, true, LimitStyle.LIMIT_OFFSET));
+        register("derby", new DefaultDialect(32767, true, LimitStyle.OFFSET_FETCH));
+        register("sqlite", new DefaultDialect(999, true, LimitStyle.LIMIT_OFFSET));
+    }
+
+    /**
+     * 注册
+     *
+     * @param databaseId 数据库 id
+     * @param dialect    方言
+     */
+    public void register(String databaseId, Dialect dialect) {
+        if (databaseId == null || dialect == null) {
+            throw new IllegalArgumentException("databaseId and dialect must not be null");
+        }
+
+        dialects.put(databaseId.toLowerCase(Locale.ENGLISH), dialect);
+    }
+
+    /**
+     * 获取方言
+     *
+     * @param databaseId 数据库 id
+     * @return 方言
+     */
+    public Dialect getDialect(String databaseId) {
+        if (databaseId == null) {
+            return defaultDialect;
+        }
+
+        return dialects.getOrDefault(databaseId.toLowerCase(Locale.ENGLISH), defaultDialect);
+    }
+
+    public Dialect getDefaultDialect() {
+        return defaultDialect;
+    }
+
+    public void setDefaultDialect(Dialect defaultDialect) {
+        if (defaultDialect == null) {
+            throw new IllegalArgumentException("null is not a valid Dialect");
+        }
+
+        this.defaultDialect = defaultDialect;
+    }
+}
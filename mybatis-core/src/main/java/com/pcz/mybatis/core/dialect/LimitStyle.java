@@ -0,0 +1,28 @@
+package com.pcz.mybatis.core.dialect;
+
+/**
+ * 分页语法
+ *
+ * @author picongzhi
+ */
+public enum LimitStyle {
+    /**
+     * 不支持分页语法，在客户端跳过行
+     */
+    NONE,
+
+    /**
+     * LIMIT ? OFFSET ?
+     */
+    LIMIT_OFFSET,
+
+    /**
+     * OFFSET ? ROWS FETCH NEXT ? ROWS ONLY，要求语句带有 ORDER BY
+     */
+    OFFSET_FETCH,
+
+    /**
+     * 嵌套查询中按 ROWNUM 过滤
+     */
+    ROWNUM
+}
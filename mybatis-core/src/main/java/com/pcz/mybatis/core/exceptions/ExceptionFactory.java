@@ -0,0 +1,24 @@
+package com.pcz.mybatis.core.exceptions;
+
+import com.pcz.mybatis.core.executor.ErrorContext;
+
+/**
+ * 异常工厂
+ *
+ * @author picongzhi
+ */
+public class ExceptionFactory {
+    private ExceptionFactory() {
+    }
+
+    /**
+     * 包装异常，附带错误上下文
+     *
+     * @param message 异常信息
+     * @param e       异常
+     * @return 持久化异常
+     */
+    public static RuntimeException wrapException(String message, Exception e) {
+        return new PersistenceException(ErrorContext.instance().message(message).cause(e).toString(), e);
+    }
+}
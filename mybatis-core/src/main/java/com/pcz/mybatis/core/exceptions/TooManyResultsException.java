@@ -0,0 +1,24 @@
+package com.pcz.mybatis.core.exceptions;
+
+/**
+ * 结果过多异常
+ *
+ * @author picongzhi
+ */
+public class TooManyResultsException extends PersistenceException {
+    public TooManyResultsException() {
+        super();
+    }
+
+    public TooManyResultsException(String msg) {
+        super(msg);
+    }
+
+    public TooManyResultsException(String msg, Throwable cause) {
+        super(msg, cause);
+    }
+
+    public TooManyResultsException(Throwable cause) {
+        super(cause);
+    }
+}
@@ -0,0 +1,324 @@
+package com.pcz.mybatis.core.executor;
+
+import com.pcz.mybatis.core.cursor.Cursor;
+import com.pcz.mybatis.core.datasource.routing.RoutingContext;
+import com.pcz.mybatis.core.datasource.sharding.ShardContext;
+import com.pcz.mybatis.core.executor.statement.StatementHandler;
+import com.pcz.mybatis.core.logging.Log;
+import com.pcz.mybatis.core.logging.LogFactory;
+import com.pcz.mybatis.core.mapping.BoundSql;
+import com.pcz.mybatis.core.mapping.MappedStatement;
+import com.pcz.mybatis.core.mapping.SqlCommandType;
+import com.pcz.mybatis.core.session.Configuration;
+import com.pcz.mybatis.core.session.ResultHandler;
+import com.pcz.mybatis.core.session.RowBounds;
+import com.pcz.mybatis.core.transaction.Transaction;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * 执行器基类
+ * 执行语句期间在当前线程上绑定 Sql 命令类型和参数对象，供读写分离和分片数据源选择连接
+ *
+ * @author picongzhi
+ */
+public abstract class BaseExecutor implements Executor {
+    /**
+     * 日志
+     */
+    private static final Log LOG = LogFactory.getLog(BaseExecutor.class);
+
+    /**
+     * 配置
+     */
+    protected Configuration configuration;
+
+    /**
+     * 事务
+     */
+    protected Transaction transaction;
+
+    /**
+     * 是否已关闭
+     */
+    private boolean closed;
+
+    protected BaseExecutor(Configuration configuration, Transaction transaction) {
+        this.configuration = configuration;
+        this.transaction = transaction;
+    }
+
+    @Override
+    public Transaction getTransaction() {
+        if (closed) {
+            throw new ExecutorException("Executor was closed.");
+        }
+
+        return transaction;
+    }
+
+    @Override
+    public void close(boolean forceRollback) {
+        try {
+            try {
+                rollback(forceRollback);
+            } finally {
+                if (transaction != null) {
+                    transaction.close();
+                }
+            }
+        } catch (SQLException e) {
+            LOG.warn("Unexpected exception on closing transaction.  Cause: " + e);
+        } finally {
+            transaction = null;
+            closed = true;
+        }
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public int update(MappedStatement mappedStatement, Object parameter) throws SQLException {
+        ErrorContext.instance()
+                .resource(mappedStatement.getResource())
+                .activity("executing an update")
+                .object(mappedStatement.getId());
+        if (closed) {
+            throw new ExecutorException("Executor was closed.");
+        }
+
+        SqlCommandType previousCommandType = RoutingContext.bind(mappedStatement.getSqlCommandType());
+        Object previousParameter = ShardContext.bindParameter(parameter);
+        try {
+            List<MappedStatement> multiRowStatements = MultiRowInsertRewriter.rewrite(mappedStatement, parameter);
+            return multiRowStatements == null
+                    ? doUpdate(mappedStatement, parameter)
+                    : doMultiRowUpdate(multiRowStatements);
+        } finally {
+            ShardContext.bindParameter(previousParameter);
+            RoutingContext.bind(previousCommandType);
+        }
+    }
+
+    @Override
+    public <E> List<E> query(MappedStatement mappedStatement,
+                             Object parameter,
+                             RowBounds rowBounds,
+                             ResultHandler resultHandler) throws SQLException {
+        ErrorContext.instance()
+                .resource(mappedStatement.getResource())
+                .activity("executing a query")
+                .object(mappedStatement.getId());
+        if (closed) {
+            throw new ExecutorException("Executor was closed.");
+        }
+
+        BoundSql boundSql = mappedStatement.getBoundSql(parameter);
+        BoundSql limitBoundSql = RowBoundsRewriter.rewrite(mappedStatement, boundSql, rowBounds);
+        if (limitBoundSql != null) {
+            // 行边界已下推到 Sql 中，不再在客户端跳过行
+            boundSql = limitBoundSql;
+            rowBounds = RowBounds.DEFAULT;
+        }
+
+        SqlCommandType previousCommandType = RoutingContext.bind(mappedStatement.getSqlCommandType());
+        Object previousParameter = ShardContext.bindParameter(parameter);
+        try {
+            return doQuery(mappedStatement, parameter, rowBounds, resultHandler, boundSql);
+        } finally {
+            ShardContext.bindParameter(previousParameter);
+            RoutingContext.bind(previousCommandType);
+        }
+    }
+
+    @Override
+    public <E> Cursor<E> queryCursor(MappedStatement mappedStatement,
+                                     Object parameter,
+                                     RowBounds rowBounds) throws SQLException {
+        ErrorContext.instance()
+                .resource(mappedStatement.getResource())
+                .activity("executing a cursor query")
+                .object(mappedStatement.getId());
+        if (closed) {
+            throw new ExecutorException("Executor was closed.");
+        }
+
+        BoundSql boundSql = mappedStatement.getBoundSql(parameter);
+        BoundSql limitBoundSql = RowBoundsRewriter.rewrite(mappedStatement, boundSql, rowBounds);
+        if (limitBoundSql != null) {
+            // 行边界已下推到 Sql 中，不再在客户端跳过行
+            boundSql = limitBoundSql;
+            rowBounds = RowBounds.DEFAULT;
+        }
+
+        SqlCommandType previousCommandType = RoutingContext.bind(mappedStatement.getSqlCommandType());
+        Object previousParameter = ShardContext.bindParameter(parameter);
+        try {
+            return doQueryCursor(mappedStatement, parameter, rowBounds, boundSql);
+        } finally {
+            ShardContext.bindParameter(previousParameter);
+            RoutingContext.bind(previousCommandType);
+        }
+    }
+
+    @Override
+    public List<BatchResult> flushStatements() throws SQLException {
+        return flushStatements(false);
+    }
+
+    /**
+     * 刷新语句
+     *
+     * @param isRollBack 是否回滚
+     * @return 批量结果
+     * @throws SQLException SQL 异常
+     */
+    public List<BatchResult> flushStatements(boolean isRollBack) throws SQLException {
+        if (closed) {
+            throw new ExecutorException("Executor was closed.");
+        }
+
+        return doFlushStatements(isRollBack);
+    }
+
+    @Override
+    public void commit(boolean required) throws SQLException {
+        if (closed) {
+            throw new ExecutorException("Cannot commit, transaction is already closed");
+        }
+
+        flushStatements();
+        if (required) {
+            transaction.commit();
+        }
+    }
+
+    @Override
+    public void rollback(boolean required) throws SQLException {
+        if (!closed) {
+            try {
+                flushStatements(true);
+            } finally {
+                if (required) {
+                    transaction.rollback();
+                }
+            }
+        }
+    }
+
+    /**
+     * 依次执行改写后的多行语句
+     *
+     * @param multiRowStatements 多行语句
+     * @return 影响行数，批量执行时返回批量执行的返回值
+     * @throws SQLException SQL 异常
+     */
+    private int doMultiRowUpdate(List<MappedStatement> multiRowStatements) throws SQLException {
+        int updateCount = 0;
+        for (MappedStatement multiRowStatement : multiRowStatements) {
+            int count = doUpdate(multiRowStatement, null);
+            if (count == BatchExecutor.BATCH_UPDATE_RETURN_VALUE) {
+                updateCount = count;
+            } else if (updateCount != BatchExecutor.BATCH_UPDATE_RETURN_VALUE) {
+                updateCount += count;
+            }
+        }
+
+        return updateCount;
+    }
+
+    /**
+     * 执行更新
+     *
+     * @param mappedStatement 映射的语句
+     * @param parameter       参数对象
+     * @return 影响行数
+     * @throws SQLException SQL 异常
+     */
+    protected abstract int doUpdate(MappedStatement mappedStatement, Object parameter) throws SQLException;
+
+    /**
+     * 刷新语句
+     *
+     * @param isRollback 是否回滚
+     * @return 批量结果
+     * @throws SQLException SQL 异常
+     */
+    protected abstract List<BatchResult> doFlushStatements(boolean isRollback) throws SQLException;
+
+    /**
+     * 执行查询
+     *
+     * @param mappedStatement 映射的语句
+     * @param parameter       参数对象
+     * @param rowBounds       行边界
+     * @param resultHandler   结果处理器
+     * @param boundSql        绑定的 Sql
+     * @param <E>             泛型
+     * @return 结果
+     * @throws SQLException SQL 异常
+     */
+    protected abstract <E> List<E> doQuery(MappedStatement mappedStatement,
+                                           Object parameter,
+                                           RowBounds rowBounds,
+                                           ResultHandler resultHandler,
+                                           BoundSql boundSql) throws SQLException;
+
+    /**
+     * 执行游标查询，语句由游标在关闭时关闭
+     *
+     * @param mappedStatement 映射的语句
+     * @param parameter       参数对象
+     * @param rowBounds       行边界
+     * @param boundSql        绑定的 Sql
+     * @param <E>             泛型
+     * @return 游标
+     * @throws SQLException SQL 异常
+     */
+    protected <E> Cursor<E> doQueryCursor(MappedStatement mappedStatement,
+                                          Object parameter,
+                                          RowBounds rowBounds,
+                                          BoundSql boundSql) throws SQLException {
+        StatementHandler handler = configuration.newStatementHandler(this, mappedStatement, parameter,
+                rowBounds, null, boundSql);
+        Statement statement = handler.prepare(getConnection(), transaction.getTimeout());
+        try {
+            handler.parameterize(statement);
+            return handler.queryCursor(statement);
+        } catch (SQLException | RuntimeException e) {
+            closeStatement(statement);
+            throw e;
+        }
+    }
+
+    /**
+     * 获取连接
+     *
+     * @return 连接
+     * @throws SQLException SQL 异常
+     */
+    protected Connection getConnection() throws SQLException {
+        return transaction.getConnection();
+    }
+
+    /**
+     * 关闭语句
+     *
+     * @param statement 语句
+     */
+    protected void closeStatement(Statement statement) {
+        if (statement != null) {
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                // 忽略
+            }
+        }
+    }
+}
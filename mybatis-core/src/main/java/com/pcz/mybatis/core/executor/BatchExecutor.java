@@ -0,0 +1,295 @@
+package com.pcz.mybatis.core.executor;
+
+import com.pcz.mybatis.core.cursor.Cursor;
+import com.pcz.mybatis.core.executor.statement.StatementHandler;
+import com.pcz.mybatis.core.executor.statement.StatementUtil;
+import com.pcz.mybatis.core.mapping.BoundSql;
+import com.pcz.mybatis.core.mapping.MappedStatement;
+import com.pcz.mybatis.core.mapping.ParameterMapping;
+import com.pcz.mybatis.core.mapping.StatementType;
+import com.pcz.mybatis.core.reflection.MetaObject;
+import com.pcz.mybatis.core.session.Configuration;
+import com.pcz.mybatis.core.session.ResultHandler;
+import com.pcz.mybatis.core.session.RowBounds;
+import com.pcz.mybatis.core.transaction.Transaction;
+import com.pcz.mybatis.core.util.HashedWheelTimer;
+
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 批量执行器
+ * 连续执行的同一个映射的语句合并到同一个 JDBC 语句上批量执行，刷新语句时返回批量结果
+ * 待执行的行数或估算的字节数达到配置的上限时自动刷新，自动刷新的批量结果不会保留，
+ * 下一次 {@link #flushStatements()} 只返回之后添加的批量结果
+ *
+ * @author picongzhi
+ */
+public class BatchExecutor extends BaseExecutor {
+    /**
+     * 批量执行时更新方法的返回值
+     */
+    public static final int BATCH_UPDATE_RETURN_VALUE = Integer.MIN_VALUE + 1002;
+
+    /**
+     * 待执行的语句
+     */
+    private final List<Statement> statementList = new ArrayList<>();
+
+    /**
+     * 待执行的语句对应的批量结果
+     */
+    private final List<BatchResult> batchResultList = new ArrayList<>();
+
+    /**
+     * 自动刷新的行数，不大于 0 表示不限制
+     */
+    private final int flushRows;
+
+    /**
+     * 自动刷新的估算字节数，不大于 0 表示不限制
+     */
+    private final long flushBytes;
+
+    /**
+     * 当前的 Sql
+     */
+    private String currentSql;
+
+    /**
+     * 当前的映射的语句
+     */
+    private MappedStatement currentStatement;
+
+    /**
+     * 待执行的行数
+     */
+    private int pendingRows;
+
+    /**
+     * 待执行的估算字节数
+     */
+    private long pendingBytes;
+
+    public BatchExecutor(Configuration configuration, Transaction transaction) {
+        super(configuration, transaction);
+        this.flushRows = configuration.getBatchFlushRows() == null ? 0 : configuration.getBatchFlushRows();
+        this.flushBytes = configuration.getBatchFlushBytes() == null ? 0 : configuration.getBatchFlushBytes();
+    }
+
+    @Override
+    protected int doUpdate(MappedStatement mappedStatement, Object parameter) throws SQLException {
+        BoundSql boundSql = mappedStatement.getBoundSql(parameter);
+        addBatch(mappedStatement, parameter, boundSql);
+        if (recordPending(mappedStatement, boundSql)) {
+            doFlushStatements(false);
+        }
+
+        return BATCH_UPDATE_RETURN_VALUE;
+    }
+
+    /**
+     * 添加到批量，Sql 和映射的语句与上一次相同时复用上一个语句
+     *
+     * @param mappedStatement 映射的语句
+     * @param parameter       参数对象
+     * @param boundSql        绑定的 Sql
+     * @throws SQLException SQL 异常
+     */
+    protected void addBatch(MappedStatement mappedStatement, Object parameter, BoundSql boundSql) throws SQLException {
+        StatementHandler handler = configuration.newStatementHandler(this, mappedStatement, parameter,
+                RowBounds.DEFAULT, null, boundSql);
+        String sql = boundSql.getSql();
+
+        Statement statement;
+        if (sql.equals(currentSql) && mappedStatement.equals(currentStatement)) {
+            int last = statementList.size() - 1;
+            statement = statementList.get(last);
+            if (!configuration.isTimeoutSchedulerEnabled()) {
+                StatementUtil.applyTransactionTimeout(statement, mappedStatement.getTimeout(), transaction.getTimeout());
+            }
+            handler.parameterize(statement);
+            batchResultList.get(last).addParameterObject(parameter);
+        } else {
+            Connection connection = getConnection();
+            statement = handler.prepare(connection, transaction.getTimeout());
+            handler.parameterize(statement);
+            currentSql = sql;
+            currentStatement = mappedStatement;
+            statementList.add(statement);
+            batchResultList.add(new BatchResult(mappedStatement, sql, parameter));
+        }
+
+        handler.batch(statement);
+    }
+
+    /**
+     * 记录待执行的行
+     *
+     * @param mappedStatement 映射的语句
+     * @param boundSql        绑定的 Sql
+     * @return 是否需要自动刷新
+     */
+    protected boolean recordPending(MappedStatement mappedStatement, BoundSql boundSql) {
+        pendingRows++;
+        if (flushBytes > 0) {
+            pendingBytes += estimateBytes(mappedStatement, boundSql);
+        }
+
+        return (flushRows > 0 && pendingRows >= flushRows) || (flushBytes > 0 && pendingBytes >= flushBytes);
+    }
+
+    @Override
+    protected <E> List<E> doQuery(MappedStatement mappedStatement,
+                                  Object parameter,
+                                  RowBounds rowBounds,
+                                  ResultHandler resultHandler,
+                                  BoundSql boundSql) throws SQLException {
+        Statement statement = null;
+        try {
+            // 查询前先执行待执行的更新，保证能查到更新后的数据
+            flushStatements();
+            StatementHandler handler = configuration.newStatementHandler(this, mappedStatement, parameter,
+                    rowBounds, resultHandler, boundSql);
+            Connection connection = getConnection();
+            statement = handler.prepare(connection, transaction.getTimeout());
+            handler.parameterize(statement);
+            return handler.query(statement, resultHandler);
+        } finally {
+            closeStatement(statement);
+        }
+    }
+
+    @Override
+    protected <E> Cursor<E> doQueryCursor(MappedStatement mappedStatement,
+                                          Object parameter,
+                                          RowBounds rowBounds,
+                                          BoundSql boundSql) throws SQLException {
+        flushStatements();
+        return super.doQueryCursor(mappedStatement, parameter, rowBounds, boundSql);
+    }
+
+    @Override
+    protected List<BatchResult> doFlushStatements(boolean isRollback) throws SQLException {
+        try {
+            List<BatchResult> results = new ArrayList<>();
+            if (isRollback) {
+                return Collections.emptyList();
+            }
+
+            for (int i = 0, n = statementList.size(); i < n; i++) {
+                Statement statement = statementList.get(i);
+                BatchResult batchResult = batchResultList.get(i);
+                HashedWheelTimer.Timeout timeout = null;
+                if (configuration.isTimeoutSchedulerEnabled()) {
+                    timeout = StatementUtil.scheduleCancel(statement,
+                            batchResult.getMappedStatement().getTimeout(), transaction.getTimeout());
+                } else {
+                    StatementUtil.applyTransactionTimeout(statement,
+                            batchResult.getMappedStatement().getTimeout(), transaction.getTimeout());
+                }
+                try {
+                    batchResult.setUpdateCounts(statement.executeBatch());
+                } catch (BatchUpdateException e) {
+                    StringBuilder message = new StringBuilder();
+                    message.append(batchResult.getMappedStatement().getId())
+                            .append(" (batch index #")
+                            .append(i + 1)
+                            .append(")")
+                            .append(" failed.");
+                    if (i > 0) {
+                        message.append(" ")
+                                .append(i)
+                                .append(" prior sub executor(s) completed successfully, but will be rolled back.");
+                    }
+                    throw new BatchExecutorException(message.toString(), e, results, batchResult);
+                } finally {
+                    StatementUtil.cancelTimeout(timeout);
+                }
+                results.add(batchResult);
+            }
+
+            return results;
+        } finally {
+            for (Statement statement : statementList) {
+                closeStatement(statement);
+            }
+            currentSql = null;
+            currentStatement = null;
+            statementList.clear();
+            batchResultList.clear();
+            pendingRows = 0;
+            pendingBytes = 0;
+        }
+    }
+
+    /**
+     * 估算一行数据发送到数据库的字节数
+     * 预编译语句只计算参数值，其他语句计算整条 Sql
+     *
+     * @param mappedStatement 映射的语句
+     * @param boundSql        绑定的 Sql
+     * @return 估算的字节数
+     */
+    private long estimateBytes(MappedStatement mappedStatement, BoundSql boundSql) {
+        if (mappedStatement.getStatementType() != StatementType.PREPARED) {
+            return boundSql.getSql().length();
+        }
+
+        Object parameterObject = boundSql.getParameterObject();
+        long bytes = 0;
+        MetaObject metaObject = null;
+        for (ParameterMapping parameterMapping : boundSql.getParameterMappings()) {
+            String property = parameterMapping.getProperty();
+            Object value;
+            if (boundSql.hasAdditionalParameter(property)) {
+                value = boundSql.getAdditionalParameter(property);
+            } else if (parameterObject == null) {
+                value = null;
+            } else if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameterObject.getClass())) {
+                value = parameterObject;
+            } else {
+                if (metaObject == null) {
+                    metaObject = configuration.newMetaObject(parameterObject);
+                }
+                value = metaObject.getValue(property);
+            }
+
+            bytes += estimateBytes(value);
+        }
+
+        return bytes;
+    }
+
+    /**
+     * 估算参数值的字节数
+     *
+     * @param value 参数值
+     * @return 估算的字节数
+     */
+    private static long estimateBytes(Object value) {
+        if (value == null) {
+            return 1;
+        }
+
+        if (value instanceof CharSequence) {
+            return ((CharSequence) value).length();
+        }
+
+        if (value instanceof byte[]) {
+            return ((byte[]) value).length;
+        }
+
+        if (value instanceof Number || value instanceof Boolean || value instanceof Date) {
+            return 8;
+        }
+
+        return 16;
+    }
+}
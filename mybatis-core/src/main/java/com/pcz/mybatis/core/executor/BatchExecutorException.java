@@ -0,0 +1,53 @@
+package com.pcz.mybatis.core.executor;
+
+import java.sql.BatchUpdateException;
+import java.util.List;
+
+/**
+ * 批量执行异常
+ * 记录失败的批量结果以及同一次刷新中已成功执行的批量结果
+ *
+ * @author picongzhi
+ */
+public class BatchExecutorException extends ExecutorException {
+    /**
+     * 已成功执行的批量结果
+     */
+    private final List<BatchResult> successfulBatchResults;
+
+    /**
+     * 批量更新异常
+     */
+    private final BatchUpdateException batchUpdateException;
+
+    /**
+     * 失败的批量结果
+     */
+    private final BatchResult batchResult;
+
+    public BatchExecutorException(String message,
+                                  BatchUpdateException cause,
+                                  List<BatchResult> successfulBatchResults,
+                                  BatchResult batchResult) {
+        super(message + " Cause: " + cause, cause);
+        this.batchUpdateException = cause;
+        this.successfulBatchResults = successfulBatchResults;
+        this.batchResult = batchResult;
+    }
+
+    public BatchUpdateException getBatchUpdateException() {
+        return batchUpdateException;
+    }
+
+    public List<BatchResult> getSuccessfulBatchResults() {
+        return successfulBatchResults;
+    }
+
+    public String getFailingSqlStatement() {
+        return batchResult.getSql();
+    }
+
+    public String getFailingStatementId() {
+        return batchResult.getMappedStatement().getId();
+    }
+}
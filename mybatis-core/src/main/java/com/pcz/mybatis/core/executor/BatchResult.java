@@ -1,9 +1,74 @@
 package com.pcz.mybatis.core.executor;
 
+import com.pcz.mybatis.core.mapping.MappedStatement;
+
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * 批量结果
+ * 对应一次 {@link java.sql.Statement#executeBatch()}，更新数与参数对象按添加顺序一一对应
  *
  * @author picongzhi
  */
 public class BatchResult {
+    /**
+     * 映射的语句
+     */
+    private final MappedStatement mappedStatement;
+
+    /**
+     * Sql
+     */
+    private final String sql;
+
+    /**
+     * 参数对象
+     */
+    private final List<Object> parameterObjects;
+
+    /**
+     * 更新数
+     */
+    private int[] updateCounts;
+
+    public BatchResult(MappedStatement mappedStatement, String sql) {
+        this.mappedStatement = mappedStatement;
+        this.sql = sql;
+        this.parameterObjects = new ArrayList<>();
+    }
+
+    public BatchResult(MappedStatement mappedStatement, String sql, Object parameterObject) {
+        this(mappedStatement, sql);
+        addParameterObject(parameterObject);
+    }
+
+    public MappedStatement getMappedStatement() {
+        return mappedStatement;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public List<Object> getParameterObjects() {
+        return parameterObjects;
+    }
+
+    public int[] getUpdateCounts() {
+        return updateCounts;
+    }
+
+    public void setUpdateCounts(int[] updateCounts) {
+        this.updateCounts = updateCounts;
+    }
+
+    /**
+     * 添加参数对象
+     *
+     * @param parameterObject 参数对象
+     */
+    public void addParameterObject(Object parameterObject) {
+        this.parameterObjects.add(parameterObject);
+    }
 }
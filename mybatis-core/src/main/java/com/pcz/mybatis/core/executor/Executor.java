@@ -0,0 +1,105 @@
+package com.pcz.mybatis.core.executor;
+
+import com.pcz.mybatis.core.cursor.Cursor;
+import com.pcz.mybatis.core.mapping.MappedStatement;
+import com.pcz.mybatis.core.session.ResultHandler;
+import com.pcz.mybatis.core.session.RowBounds;
+import com.pcz.mybatis.core.transaction.Transaction;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * 执行器
+ *
+ * @author picongzhi
+ */
+public interface Executor {
+    /**
+     * 没有结果处理器
+     */
+    ResultHandler NO_RESULT_HANDLER = null;
+
+    /**
+     * 执行更新
+     *
+     * @param mappedStatement 映射的语句
+     * @param parameter       参数对象
+     * @return 影响行数
+     * @throws SQLException SQL 异常
+     */
+    int update(MappedStatement mappedStatement, Object parameter) throws SQLException;
+
+    /**
+     * 执行查询
+     *
+     * @param mappedStatement 映射的语句
+     * @param parameter       参数对象
+     * @param rowBounds       行边界
+     * @param resultHandler   结果处理器
+     * @param <E>             泛型
+     * @return 结果
+     * @throws SQLException SQL 异常
+     */
+    <E> List<E> query(MappedStatement mappedStatement,
+                      Object parameter,
+                      RowBounds rowBounds,
+                      ResultHandler resultHandler) throws SQLException;
+
+    /**
+     * 执行游标查询
+     *
+     * @param mappedStatement 映射的语句
+     * @param parameter       参数对象
+     * @param rowBounds       行边界
+     * @param <E>             泛型
+     * @return 游标
+     * @throws SQLException SQL 异常
+     */
+    <E> Cursor<E> queryCursor(MappedStatement mappedStatement, Object parameter, RowBounds rowBounds) throws SQLException;
+
+    /**
+     * 刷新语句
+     *
+     * @return 批量结果
+     * @throws SQLException SQL 异常
+     */
+    List<BatchResult> flushStatements() throws SQLException;
+
+    /**
+     * 提交
+     *
+     * @param required 是否需要提交事务
+     * @throws SQLException SQL 异常
+     */
+    void commit(boolean required) throws SQLException;
+
+    /**
+     * 回滚
+     *
+     * @param required 是否需要回滚事务
+     * @throws SQLException SQL 异常
+     */
+    void rollback(boolean required) throws SQLException;
+
+    /**
+     * 获取事务
+     *
+     * @return 事务
+     */
+    Transaction getTransaction();
+
+    /**
+     * 关闭
+     *
+     * @param forceRollback 是否强制回滚
+     */
+    void close(boolean forceRollback);
+
+    /**
+     * 判断是否已关闭
+     *
+     * @return 是否已关闭
+     */
+    boolean isClosed();
+}
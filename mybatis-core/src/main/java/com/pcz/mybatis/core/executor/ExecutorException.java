@@ -0,0 +1,26 @@
+package com.pcz.mybatis.core.executor;
+
+import com.pcz.mybatis.core.exceptions.PersistenceException;
+
+/**
+ * 执行器异常
+ *
+ * @author picongzhi
+ */
+public class ExecutorException extends PersistenceException {
+    public ExecutorException() {
+        super();
+    }
+
+    public ExecutorException(String msg) {
+        super(msg);
+    }
+
+    public ExecutorException(String msg, Throwable cause) {
+        super(msg, cause);
+    }
+
+    public ExecutorException(Throwable cause) {
+        super(cause);
+    }
+}
@@ -0,0 +1,148 @@
+package com.pcz.mybatis.core.executor;
+
+import com.pcz.mybatis.core.mapping.BoundSql;
+import com.pcz.mybatis.core.mapping.MappedStatement;
+import com.pcz.mybatis.core.mapping.ParameterMapping;
+import com.pcz.mybatis.core.mapping.SqlCommandType;
+import com.pcz.mybatis.core.mapping.StatementType;
+import com.pcz.mybatis.core.session.Configuration;
+import com.pcz.mybatis.core.session.KeysetBounds;
+import com.pcz.mybatis.core.type.ObjectTypeHandler;
+import com.pcz.mybatis.core.type.TypeHandler;
+import com.pcz.mybatis.core.type.TypeHandlerRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 键集分页语句构造器
+ * 把原语句作为子查询，追加从上一页最后一行之后开始的查找条件和按键列的排序
+ * 查找条件展开为 (k1 > ?) OR (k1 = ? AND k2 > ?) ... 的形式，支持升降序混合的键列
+ *
+ * @author picongzhi
+ */
+public final class KeysetStatementBuilder {
+    /**
+     * 参数名前缀
+     */
+    private static final String PARAMETER_PREFIX = "__keyset_";
+
+    /**
+     * 子查询别名
+     */
+    private static final String ALIAS = "keyset_";
+
+    /**
+     * 没有注册类型处理器的键值交给驱动转换
+     */
+    private static final TypeHandler<Object> OBJECT_TYPE_HANDLER = new ObjectTypeHandler();
+
+    private KeysetStatementBuilder() {
+    }
+
+    /**
+     * 判断语句是否可以键集分页
+     *
+     * @param mappedStatement 映射的语句
+     * @return 是否可以键集分页
+     */
+    public static boolean canPaginate(MappedStatement mappedStatement) {
+        return mappedStatement.getSqlCommandType() == SqlCommandType.SELECT
+                && mappedStatement.getStatementType() == StatementType.PREPARED
+                && mappedStatement.getResultMaps().size() == 1
+                && !mappedStatement.getResultMaps().get(0).hasNestedResultMaps();
+    }
+
+    /**
+     * 构造键集分页的语句，沿用原语句的 id
+     *
+     * @param mappedStatement 映射的语句
+     * @param parameter       参数对象
+     * @param keysetBounds    键集分页边界
+     * @return 映射的语句
+     */
+    public static MappedStatement build(MappedStatement mappedStatement, Object parameter, KeysetBounds keysetBounds) {
+        if (!canPaginate(mappedStatement)) {
+            throw new ExecutorException("Statement '" + mappedStatement.getId()
+                    + "' cannot be paginated by keyset, only prepared select statements with a single flat result map"
+                    + " are supported");
+        }
+
+        Configuration configuration = mappedStatement.getConfiguration();
+        BoundSql boundSql = mappedStatement.getBoundSql(parameter);
+        List<ParameterMapping> parameterMappings = new ArrayList<>(boundSql.getParameterMappings());
+        List<Object> values = new ArrayList<>();
+        List<KeysetBounds.Key> keys = keysetBounds.getKeys();
+
+        StringBuilder sql = new StringBuilder("SELECT * FROM (")
+                .append(stripTrailingSemicolon(boundSql.getSql()))
+                .append(") ").append(ALIAS);
+        Object[] after = keysetBounds.getAfter();
+        if (after != null) {
+            sql.append(" WHERE ");
+            for (int i = 0; i < keys.size(); i++) {
+                if (i > 0) {
+                    sql.append(" OR ");
+                }
+
+                sql.append('(');
+                for (int j = 0; j < i; j++) {
+                    sql.append(ALIAS).append('.').append(keys.get(j).getColumn()).append(" = ? AND ");
+                    values.add(after[j]);
+                }
+
+                KeysetBounds.Key key = keys.get(i);
+                sql.append(ALIAS).append('.').append(key.getColumn()).append(key.isDescending() ? " < ?" : " > ?");
+                values.add(after[i]);
+                sql.append(')');
+            }
+        }
+
+        sql.append(" ORDER BY ");
+        for (int i = 0; i < keys.size(); i++) {
+            KeysetBounds.Key key = keys.get(i);
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ALIAS).append('.').append(key.getColumn()).append(key.isDescending() ? " DESC" : " ASC");
+        }
+
+        TypeHandlerRegistry typeHandlerRegistry = configuration.getTypeHandlerRegistry();
+        BoundSql keysetBoundSql = new BoundSql(sql.toString(), parameterMappings, boundSql.getParameterObject());
+        boundSql.copyAdditionalParametersTo(keysetBoundSql);
+        for (Object value : values) {
+            String property = PARAMETER_PREFIX + parameterMappings.size();
+            TypeHandler<?> typeHandler = typeHandlerRegistry.hasTypeHandler(value.getClass())
+                    ? typeHandlerRegistry.getTypeHandler(value.getClass())
+                    : OBJECT_TYPE_HANDLER;
+            parameterMappings.add(new ParameterMapping.Builder(configuration, property, typeHandler)
+                    .javaType(value.getClass())
+                    .build());
+            keysetBoundSql.setAdditionalParameter(property, value);
+        }
+
+        return new MappedStatement.Builder(configuration, mappedStatement.getId(),
+                parameterObject -> keysetBoundSql, SqlCommandType.SELECT)
+                .resource(mappedStatement.getResource())
+                .databaseId(mappedStatement.getDatabaseId())
+                .resultMaps(mappedStatement.getResultMaps())
+                .timeout(mappedStatement.getTimeout())
+                .fetchSize(mappedStatement.getFetchSize())
+                .build();
+    }
+
+    /**
+     * 去掉 Sql 末尾的空白和分号
+     *
+     * @param sql Sql
+     * @return Sql
+     */
+    private static String stripTrailingSemicolon(String sql) {
+        int end = sql.length();
+        while (end > 0 && (Character.isWhitespace(sql.charAt(end - 1)) || sql.charAt(end - 1) == ';')) {
+            end--;
+        }
+
+        return sql.substring(0, end).trim();
+    }
+}
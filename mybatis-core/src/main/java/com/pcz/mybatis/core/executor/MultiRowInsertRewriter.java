@@ -0,0 +1,366 @@
+package com.pcz.mybatis.core.executor;
+
+import com.pcz.mybatis.core.binding.MapperMethod;
+import com.pcz.mybatis.core.dialect.Dialect;
+import com.pcz.mybatis.core.executor.parameter.ParameterValues;
+import com.pcz.mybatis.core.mapping.BoundSql;
+import com.pcz.mybatis.core.mapping.MappedStatement;
+import com.pcz.mybatis.core.mapping.ParameterMapping;
+import com.pcz.mybatis.core.mapping.SqlCommandType;
+import com.pcz.mybatis.core.session.Configuration;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 多行 insert 改写器
+ * 以集合为参数执行单行的 insert 语句时，每个元素绑定一行，改写为多行 VALUES 的语句，
+ * 每条语句的行数受方言的最大绑定参数个数限制，元素绑定出的 Sql 不同时另起一条语句
+ * 语句中的参数必须都在 VALUES 的括号内，否则不改写
+ *
+ * @author picongzhi
+ */
+public final class MultiRowInsertRewriter {
+    /**
+     * 参数名前缀
+     */
+    private static final String PARAMETER_PREFIX = "__multirow_";
+
+    /**
+     * 集合参数的名称
+     */
+    private static final String[] COLLECTION_NAMES = {"collection", "list", "array"};
+
+    private MultiRowInsertRewriter() {
+    }
+
+    /**
+     * 改写语句
+     *
+     * @param mappedStatement 映射的语句
+     * @param parameter       参数对象
+     * @return 改写后的语句，不需要或不能改写时返回 null
+     */
+    public static List<MappedStatement> rewrite(MappedStatement mappedStatement, Object parameter) {
+        if (mappedStatement.getSqlCommandType() != SqlCommandType.INSERT || !mappedStatement.isMultiRowInsert()) {
+            return null;
+        }
+
+        Configuration configuration = mappedStatement.getConfiguration();
+        Dialect dialect = configuration.getDialect();
+        List<Object> rows = rowsOf(parameter);
+        if (!dialect.supportsMultiRowInsert() || rows == null) {
+            return null;
+        }
+
+        List<MappedStatement> statements = new ArrayList<>();
+        Chunk chunk = null;
+        for (Object row : rows) {
+            BoundSql boundSql = mappedStatement.getBoundSql(row);
+            if (referencesCollection(boundSql)) {
+                return null;
+            }
+
+            if (chunk == null || !chunk.accepts(boundSql)) {
+                if (chunk != null) {
+                    statements.add(chunk.build());
+                }
+
+                chunk = Chunk.of(mappedStatement, boundSql, dialect.getMaxParameters());
+                if (chunk == null) {
+                    return null;
+                }
+            }
+
+            chunk.add(ParameterValues.resolve(configuration, boundSql));
+        }
+
+        if (chunk != null) {
+            statements.add(chunk.build());
+        }
+
+        return statements;
+    }
+
+    /**
+     * 获取集合参数的元素
+     *
+     * @param parameter 参数对象
+     * @return 元素，参数不是集合时返回 null
+     */
+    private static List<Object> rowsOf(Object parameter) {
+        if (!(parameter instanceof MapperMethod.ParamMap)) {
+            return null;
+        }
+
+        MapperMethod.ParamMap<?> paramMap = (MapperMethod.ParamMap<?>) parameter;
+        if (paramMap.containsKey("collection")) {
+            return new ArrayList<>((Collection<?>) paramMap.get("collection"));
+        }
+
+        if (paramMap.containsKey("array")) {
+            Object array = paramMap.get("array");
+            int length = Array.getLength(array);
+            List<Object> rows = new ArrayList<>(length);
+            for (int i = 0; i < length; i++) {
+                rows.add(Array.get(array, i));
+            }
+            return rows;
+        }
+
+        return null;
+    }
+
+    /**
+     * 判断语句是否引用了集合参数，例如已经用 foreach 写好的多行语句
+     *
+     * @param boundSql 绑定的 Sql
+     * @return 是否引用了集合参数
+     */
+    private static boolean referencesCollection(BoundSql boundSql) {
+        for (ParameterMapping parameterMapping : boundSql.getParameterMappings()) {
+            String property = parameterMapping.getProperty();
+            for (String name : COLLECTION_NAMES) {
+                if (property.equals(name) || property.startsWith(name + ".") || property.startsWith(name + "[")) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * 查找 VALUES 后括号的位置，忽略引号内的内容
+     *
+     * @param sql Sql
+     * @return 左括号和右括号的位置，找不到时返回 null
+     */
+    private static int[] findValuesGroup(String sql) {
+        String lowerSql = sql.toLowerCase(Locale.ENGLISH);
+        char quote = 0;
+        int open = -1;
+        int depth = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"' || c == '`') {
+                quote = c;
+            } else if (open < 0) {
+                if (lowerSql.startsWith("values", i) && isWordBoundary(sql, i - 1)
+                        && isWordBoundary(sql, i + "values".length())) {
+                    int j = i + "values".length();
+                    while (j < sql.length() && Character.isWhitespace(sql.charAt(j))) {
+                        j++;
+                    }
+                    if (j < sql.length() && sql.charAt(j) == '(') {
+                        open = j;
+                        depth = 1;
+                        i = j;
+                    }
+                }
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+                if (depth == 0) {
+                    return new int[]{open, i};
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * 判断位置是否是单词边界
+     *
+     * @param sql   Sql
+     * @param index 位置
+     * @return 是否是单词边界
+     */
+    private static boolean isWordBoundary(String sql, int index) {
+        return index < 0 || index >= sql.length() || !Character.isLetterOrDigit(sql.charAt(index)) && sql.charAt(index) != '_';
+    }
+
+    /**
+     * 统计引号外的占位符个数
+     *
+     * @param sql Sql 片段
+     * @return 占位符个数
+     */
+    private static int countPlaceholders(String sql) {
+        char quote = 0;
+        int count = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"' || c == '`') {
+                quote = c;
+            } else if (c == '?') {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * 一条多行 insert 语句
+     */
+    private static class Chunk {
+        /**
+         * 原始的映射的语句
+         */
+        private final MappedStatement mappedStatement;
+
+        /**
+         * 单行的 Sql
+         */
+        private final String rowSql;
+
+        /**
+         * VALUES 括号之前的部分
+         */
+        private final String prefix;
+
+        /**
+         * VALUES 括号
+         */
+        private final String group;
+
+        /**
+         * VALUES 括号之后的部分
+         */
+        private final String suffix;
+
+        /**
+         * 单行的参数映射
+         */
+        private final List<ParameterMapping> rowParameterMappings;
+
+        /**
+         * 最大行数
+         */
+        private final int maxRows;
+
+        /**
+         * 各行的参数值
+         */
+        private final List<Object> values = new ArrayList<>();
+
+        /**
+         * 行数
+         */
+        private int rows;
+
+        private Chunk(MappedStatement mappedStatement,
+                      String rowSql,
+                      int[] groupRange,
+                      List<ParameterMapping> rowParameterMappings,
+                      int maxRows) {
+            this.mappedStatement = mappedStatement;
+            this.rowSql = rowSql;
+            this.prefix = rowSql.substring(0, groupRange[0]);
+            this.group = rowSql.substring(groupRange[0], groupRange[1] + 1);
+            this.suffix = rowSql.substring(groupRange[1] + 1);
+            this.rowParameterMappings = rowParameterMappings;
+            this.maxRows = maxRows;
+        }
+
+        /**
+         * 创建多行语句，单行的 Sql 不能改写时返回 null
+         *
+         * @param mappedStatement 映射的语句
+         * @param boundSql        第一行绑定的 Sql
+         * @param maxParameters   最大绑定参数个数
+         * @return 多行语句
+         */
+        static Chunk of(MappedStatement mappedStatement, BoundSql boundSql, int maxParameters) {
+            String sql = boundSql.getSql().trim();
+            int[] groupRange = findValuesGroup(sql);
+            if (groupRange == null) {
+                return null;
+            }
+
+            String outside = sql.substring(0, groupRange[0]) + sql.substring(groupRange[1] + 1);
+            if (countPlaceholders(outside) > 0 || sql.substring(groupRange[1] + 1).trim().startsWith(",")) {
+                return null;
+            }
+
+            int parametersPerRow = Math.max(boundSql.getParameterMappings().size(), 1);
+            int maxRows = Math.max(maxParameters / parametersPerRow, 1);
+            return new Chunk(mappedStatement, sql, groupRange, boundSql.getParameterMappings(), maxRows);
+        }
+
+        /**
+         * 判断是否可以追加一行
+         *
+         * @param boundSql 该行绑定的 Sql
+         * @return 是否可以追加
+         */
+        boolean accepts(BoundSql boundSql) {
+            return rows < maxRows && rowSql.equals(boundSql.getSql().trim());
+        }
+
+        /**
+         * 追加一行
+         *
+         * @param rowValues 该行的参数值
+         */
+        void add(List<Object> rowValues) {
+            values.addAll(rowValues);
+            rows++;
+        }
+
+        /**
+         * 构造多行的映射的语句，沿用原语句的 id
+         *
+         * @return 映射的语句
+         */
+        MappedStatement build() {
+            Configuration configuration = mappedStatement.getConfiguration();
+            StringBuilder sql = new StringBuilder(prefix.length() + (group.length() + 2) * rows + suffix.length());
+            sql.append(prefix);
+            List<ParameterMapping> parameterMappings = new ArrayList<>(values.size());
+            for (int row = 0; row < rows; row++) {
+                if (row > 0) {
+                    sql.append(", ");
+                }
+                sql.append(group);
+
+                for (ParameterMapping parameterMapping : rowParameterMappings) {
+                    parameterMappings.add(new ParameterMapping.Builder(configuration,
+                            PARAMETER_PREFIX + parameterMappings.size(), parameterMapping.getTypeHandler())
+                            .javaType(parameterMapping.getJavaType())
+                            .jdbcType(parameterMapping.getJdbcType())
+                            .mode(parameterMapping.getMode())
+                            .build());
+                }
+            }
+            sql.append(suffix);
+
+            BoundSql boundSql = new BoundSql(sql.toString(), parameterMappings, null);
+            for (int i = 0; i < values.size(); i++) {
+                boundSql.setAdditionalParameter(PARAMETER_PREFIX + i, values.get(i));
+            }
+
+            return new MappedStatement.Builder(configuration, mappedStatement.getId(),
+                    parameterObject -> boundSql, SqlCommandType.INSERT)
+                    .resource(mappedStatement.getResource())
+                    .databaseId(mappedStatement.getDatabaseId())
+                    .timeout(mappedStatement.getTimeout())
+                    .batchDependencies(mappedStatement.getBatchDependencies().toArray(new String[0]))
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.pcz.mybatis.core.executor;
+
+import com.pcz.mybatis.core.mapping.BoundSql;
+import com.pcz.mybatis.core.mapping.MappedStatement;
+import com.pcz.mybatis.core.mapping.ParameterMapping;
+import com.pcz.mybatis.core.mapping.ResultMap;
+import com.pcz.mybatis.core.mapping.ResultMapping;
+import com.pcz.mybatis.core.mapping.SqlCommandType;
+import com.pcz.mybatis.core.mapping.StatementType;
+import com.pcz.mybatis.core.reflection.MetaClass;
+import com.pcz.mybatis.core.session.AutoMappingBehavior;
+import com.pcz.mybatis.core.session.Configuration;
+import com.pcz.mybatis.core.type.TypeHandler;
+import com.pcz.mybatis.core.type.TypeHandlerRegistry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 嵌套查询的批量语句构造器
+ * 嵌套查询只有一个 column = ? 形式的参数时，把该条件改写为 column IN (?, ?, ...)，一次查询多个父对象的子对象
+ * 子对象按映射到该列的属性分配回父对象，无法改写或找不到该属性时不批量加载，
+ * 查询结果中子对象的该属性为 null 时（例如查询的列中没有外键列），调用方应改为逐个加载
+ * 语句中有限制行数或分组的子句时，改写后会作用于整批父对象而不是单个父对象，此时也不批量加载
+ *
+ * @author picongzhi
+ */
+public final class NestedSelectBatchBuilder {
+    /**
+     * 参数名前缀
+     */
+    private static final String PARAMETER_PREFIX = "__batch_";
+
+    /**
+     * 外键条件
+     */
+    private static final Pattern KEY_PREDICATE = Pattern.compile("([\\w.]+)\\s*=\\s*\\?");
+
+    /**
+     * 限制行数或按单个外键聚合的子句，批量查询中会作用于整批父对象
+     */
+    private static final Pattern PER_KEY_CLAUSE = Pattern.compile(
+            "\\b(LIMIT|FETCH|ROWNUM|TOP|OFFSET|GROUP\\s+BY)\\b", Pattern.CASE_INSENSITIVE);
+
+    /**
+     * 嵌套查询的语句
+     */
+    private final MappedStatement nestedStatement;
+
+    /**
+     * 外键条件之前的 Sql
+     */
+    private final String sqlPrefix;
+
+    /**
+     * 外键条件之后的 Sql
+     */
+    private final String sqlSuffix;
+
+    /**
+     * 外键列的表达式
+     */
+    private final String keyColumn;
+
+    /**
+     * 子对象中映射外键列的属性
+     */
+    private final String keyProperty;
+
+    /**
+     * 外键参数的映射
+     */
+    private final ParameterMapping keyParameterMapping;
+
+    private NestedSelectBatchBuilder(MappedStatement nestedStatement,
+                                     String sqlPrefix,
+                                     String sqlSuffix,
+                                     String keyColumn,
+                                     String keyProperty,
+                                     ParameterMapping keyParameterMapping) {
+        this.nestedStatement = nestedStatement;
+        this.sqlPrefix = sqlPrefix;
+        this.sqlSuffix = sqlSuffix;
+        this.keyColumn = keyColumn;
+        this.keyProperty = keyProperty;
+        this.keyParameterMapping = keyParameterMapping;
+    }
+
+    /**
+     * 创建批量语句构造器
+     *
+     * @param nestedStatement 嵌套查询的语句
+     * @param sampleKey       外键值的样例，用于生成 Sql
+     * @return 批量语句构造器，语句不能批量加载时返回 null
+     */
+    public static NestedSelectBatchBuilder of(MappedStatement nestedStatement, Object sampleKey) {
+        if (nestedStatement.getSqlCommandType() != SqlCommandType.SELECT
+                || nestedStatement.getStatementType() != StatementType.PREPARED
+                || nestedStatement.getResultMaps().size() != 1
+                || nestedStatement.getResultMaps().get(0).hasNestedResultMaps()) {
+            return null;
+        }
+
+        BoundSql boundSql = nestedStatement.getBoundSql(sampleKey);
+        List<ParameterMapping> parameterMappings = boundSql.getParameterMappings();
+        String sql = boundSql.getSql();
+        if (parameterMappings == null || parameterMappings.size() != 1 || sql.indexOf('?') != sql.lastIndexOf('?')) {
+            return null;
+        }
+
+        Matcher matcher = KEY_PREDICATE.matcher(sql);
+        if (!matcher.find()) {
+            return null;
+        }
+
+        String sqlSuffix = sql.substring(matcher.end());
+        if (PER_KEY_CLAUSE.matcher(sql).find()) {
+            return null;
+        }
+
+        String keyColumn = matcher.group(1);
+        String keyProperty = resolveKeyProperty(nestedStatement, keyColumn.substring(keyColumn.lastIndexOf('.') + 1));
+        if (keyProperty == null) {
+            return null;
+        }
+
+        return new NestedSelectBatchBuilder(nestedStatement, sql.substring(0, matcher.start()),
+                sqlSuffix, keyColumn, keyProperty, parameterMappings.get(0));
+    }
+
+    /**
+     * 解析子对象中映射外键列的属性，先查找结果映射，再按自动映射的规则查找
+     * 自动映射时外键列还需要出现在查询的列中，这一点只能在查询后由调用方检查
+     *
+     * @param nestedStatement 嵌套查询的语句
+     * @param column          外键列
+     * @return 属性，找不到时返回 null
+     */
+    private static String resolveKeyProperty(MappedStatement nestedStatement, String column) {
+        ResultMap resultMap = nestedStatement.getResultMaps().get(0);
+        for (ResultMapping resultMapping : resultMap.getResultMappings()) {
+            if (column.equalsIgnoreCase(resultMapping.getColumn()) && resultMapping.getProperty() != null
+                    && resultMapping.getNestedQueryId() == null) {
+                return resultMapping.getProperty();
+            }
+        }
+
+        Configuration configuration = nestedStatement.getConfiguration();
+        Class<?> type = resultMap.getType();
+        boolean autoMapping = resultMap.getAutoMapping() != null
+                ? resultMap.getAutoMapping() : configuration.getAutoMappingBehavior() != AutoMappingBehavior.NONE;
+        if (Map.class.isAssignableFrom(type) || !autoMapping) {
+            return null;
+        }
+
+        MetaClass metaClass = MetaClass.forClass(type, configuration.getReflectorFactory());
+        String property = metaClass.findProperty(column, configuration.isMapUnderscoreToCamelCase());
+        return property != null && metaClass.hasGetter(property) && metaClass.hasSetter(property) ? property : null;
+    }
+
+    /**
+     * 获取子对象中映射外键列的属性
+     *
+     * @return 属性
+     */
+    public String getKeyProperty() {
+        return keyProperty;
+    }
+
+    /**
+     * 构造查询一批外键的语句，沿用嵌套查询的 id
+     *
+     * @param keys 外键值
+     * @return 映射的语句
+     */
+    public MappedStatement build(List<Object> keys) {
+        if (keys.isEmpty()) {
+            throw new ExecutorException("Nested select batch for statement '" + nestedStatement.getId()
+                    + "' must contain at least one key");
+        }
+
+        Configuration configuration = nestedStatement.getConfiguration();
+        TypeHandlerRegistry typeHandlerRegistry = configuration.getTypeHandlerRegistry();
+        StringBuilder sql = new StringBuilder(sqlPrefix).append(keyColumn).append(" IN (");
+        List<ParameterMapping> parameterMappings = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            Object key = keys.get(i);
+            sql.append(i == 0 ? "?" : ", ?");
+            TypeHandler<?> typeHandler = typeHandlerRegistry.hasTypeHandler(key.getClass())
+                    ? typeHandlerRegistry.getTypeHandler(key.getClass())
+                    : keyParameterMapping.getTypeHandler();
+            parameterMappings.add(new ParameterMapping.Builder(configuration, PARAMETER_PREFIX + i, typeHandler)
+                    .javaType(key.getClass())
+                    .jdbcType(keyParameterMapping.getJdbcType())
+                    .build());
+        }
+        sql.append(')').append(sqlSuffix);
+
+        BoundSql batchBoundSql = new BoundSql(sql.toString(), Collections.unmodifiableList(parameterMappings), null);
+        for (int i = 0; i < keys.size(); i++) {
+            batchBoundSql.setAdditionalParameter(PARAMETER_PREFIX + i, keys.get(i));
+        }
+
+        return new MappedStatement.Builder(configuration, nestedStatement.getId(),
+                parameterObject -> batchBoundSql, SqlCommandType.SELECT)
+                .resource(nestedStatement.getResource())
+                .databaseId(nestedStatement.getDatabaseId())
+                .resultMaps(nestedStatement.getResultMaps())
+                .timeout(nestedStatement.getTimeout())
+                .fetchSize(nestedStatement.getFetchSize())
+                .build();
+    }
+}
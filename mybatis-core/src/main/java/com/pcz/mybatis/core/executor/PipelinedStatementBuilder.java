@@ -0,0 +1,128 @@
+package com.pcz.mybatis.core.executor;
+
+import com.pcz.mybatis.core.executor.parameter.ParameterValues;
+import com.pcz.mybatis.core.mapping.BoundSql;
+import com.pcz.mybatis.core.mapping.MappedStatement;
+import com.pcz.mybatis.core.mapping.ParameterMapping;
+import com.pcz.mybatis.core.mapping.ResultMap;
+import com.pcz.mybatis.core.mapping.SqlCommandType;
+import com.pcz.mybatis.core.mapping.StatementType;
+import com.pcz.mybatis.core.session.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 流水线语句构造器
+ * 将多个 select 语句拼接为一个多结果集的语句，各个语句的参数在构造时求值并按顺序重新编号，
+ * 第 i 个结果集由第 i 个语句的结果 Map 映射
+ *
+ * @author picongzhi
+ */
+public final class PipelinedStatementBuilder {
+    /**
+     * 语句分隔符
+     */
+    private static final String STATEMENT_SEPARATOR = ";\n";
+
+    /**
+     * 参数名前缀
+     */
+    private static final String PARAMETER_PREFIX = "__pipeline_";
+
+    private PipelinedStatementBuilder() {
+    }
+
+    /**
+     * 判断语句是否可以放入流水线
+     *
+     * @param mappedStatement 映射的语句
+     * @return 是否可以放入流水线
+     */
+    public static boolean canPipeline(MappedStatement mappedStatement) {
+        return mappedStatement.getSqlCommandType() == SqlCommandType.SELECT
+                && mappedStatement.getStatementType() != StatementType.CALLABLE
+                && mappedStatement.getResultMaps().size() == 1;
+    }
+
+    /**
+     * 构造流水线语句
+     *
+     * @param configuration    配置
+     * @param mappedStatements 映射的语句
+     * @param parameters       各个语句的参数对象
+     * @return 流水线语句
+     */
+    public static MappedStatement build(Configuration configuration,
+                                        List<MappedStatement> mappedStatements,
+                                        List<Object> parameters) {
+        StringBuilder sql = new StringBuilder();
+        StringBuilder id = new StringBuilder("pipeline[");
+        List<ParameterMapping> parameterMappings = new ArrayList<>();
+        List<Object> values = new ArrayList<>();
+        List<ResultMap> resultMaps = new ArrayList<>(mappedStatements.size());
+        Integer timeout = null;
+        for (int i = 0; i < mappedStatements.size(); i++) {
+            MappedStatement mappedStatement = mappedStatements.get(i);
+            if (!canPipeline(mappedStatement)) {
+                throw new ExecutorException("Statement '" + mappedStatement.getId()
+                        + "' cannot be pipelined, only select statements with a single result map are supported");
+            }
+
+            Object parameter = parameters.get(i);
+            BoundSql boundSql = mappedStatement.getBoundSql(parameter);
+            if (i > 0) {
+                sql.append(STATEMENT_SEPARATOR);
+                id.append(',');
+            }
+            sql.append(stripTrailingSemicolon(boundSql.getSql()));
+            id.append(mappedStatement.getId());
+
+            values.addAll(ParameterValues.resolve(configuration, boundSql));
+            for (ParameterMapping parameterMapping : boundSql.getParameterMappings()) {
+                parameterMappings.add(new ParameterMapping.Builder(configuration,
+                        PARAMETER_PREFIX + parameterMappings.size(), parameterMapping.getTypeHandler())
+                        .javaType(parameterMapping.getJavaType())
+                        .jdbcType(parameterMapping.getJdbcType())
+                        .mode(parameterMapping.getMode())
+                        .build());
+            }
+
+            resultMaps.add(mappedStatement.getResultMaps().get(0));
+            if (mappedStatement.getTimeout() != null) {
+                timeout = timeout == null ? mappedStatement.getTimeout() : Math.max(timeout, mappedStatement.getTimeout());
+            }
+        }
+        id.append(']');
+
+        BoundSql pipelinedBoundSql = new BoundSql(sql.toString(), parameterMappings, null);
+        for (int i = 0; i < values.size(); i++) {
+            pipelinedBoundSql.setAdditionalParameter(PARAMETER_PREFIX + i, values.get(i));
+        }
+
+        MappedStatement first = mappedStatements.get(0);
+        return new MappedStatement.Builder(configuration, id.toString(),
+                parameterObject -> pipelinedBoundSql, SqlCommandType.SELECT)
+                .resource(first.getResource())
+                .databaseId(first.getDatabaseId())
+                .resultMaps(resultMaps)
+                .timeout(timeout)
+                .prefetchDepth(null)
+                .build();
+    }
+
+    /**
+     * 去除末尾的分号
+     *
+     * @param sql Sql
+     * @return 去除末尾分号的 Sql
+     */
+    private static String stripTrailingSemicolon(String sql) {
+        String trimmed = sql.trim();
+        while (trimmed.endsWith(";")) {
+            trimmed = trimmed.substring(0, trimmed.length() - 1).trim();
+        }
+
+        return trimmed;
+    }
+}
@@ -0,0 +1,212 @@
+package com.pcz.mybatis.core.executor;
+
+import com.pcz.mybatis.core.datasource.routing.RoutingContext;
+import com.pcz.mybatis.core.datasource.sharding.ShardContext;
+import com.pcz.mybatis.core.executor.parameter.ParameterValues;
+import com.pcz.mybatis.core.mapping.BoundSql;
+import com.pcz.mybatis.core.mapping.MappedStatement;
+import com.pcz.mybatis.core.mapping.ParameterMapping;
+import com.pcz.mybatis.core.mapping.SqlCommandType;
+import com.pcz.mybatis.core.session.Configuration;
+import com.pcz.mybatis.core.transaction.Transaction;
+
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 重排的批量执行器
+ * 更新先缓存在会话中，刷新时按映射的语句 id 分组，交错执行的语句也能合并成大的批量
+ * 分组按首次出现的顺序执行，同一分组内保持添加的顺序，
+ * 通过 {@link MappedStatement#getBatchDependencies()} 声明的依赖（包括间接依赖）总是先执行，例如先插入父表再插入子表
+ * 未声明依赖的语句视为互不影响，可能调整执行顺序
+ * 参数值在缓存时求值，之后修改或复用参数对象不影响已缓存的更新，分片键仍在刷新时从参数对象解析
+ *
+ * @author picongzhi
+ */
+public class ReorderingBatchExecutor extends BatchExecutor {
+    /**
+     * 缓存的参数值的参数名前缀
+     */
+    private static final String PARAMETER_PREFIX = "__buffered_";
+
+    /**
+     * 缓存的更新
+     */
+    private final List<BufferedUpdate> bufferedUpdates = new ArrayList<>();
+
+    public ReorderingBatchExecutor(Configuration configuration, Transaction transaction) {
+        super(configuration, transaction);
+    }
+
+    @Override
+    protected int doUpdate(MappedStatement mappedStatement, Object parameter) throws SQLException {
+        BoundSql boundSql = snapshot(mappedStatement.getBoundSql(parameter));
+        bufferedUpdates.add(new BufferedUpdate(mappedStatement, parameter, boundSql));
+        if (recordPending(mappedStatement, boundSql)) {
+            doFlushStatements(false);
+        }
+
+        return BATCH_UPDATE_RETURN_VALUE;
+    }
+
+    @Override
+    protected List<BatchResult> doFlushStatements(boolean isRollback) throws SQLException {
+        List<BufferedUpdate> updates = new ArrayList<>(bufferedUpdates);
+        bufferedUpdates.clear();
+        if (isRollback || updates.isEmpty()) {
+            return super.doFlushStatements(isRollback);
+        }
+
+        boolean added = false;
+        try {
+            for (BufferedUpdate update : reorder(updates)) {
+                // 执行时已离开 update 方法，重新绑定读写分离和分片使用的上下文
+                SqlCommandType previousCommandType = RoutingContext.bind(update.mappedStatement.getSqlCommandType());
+                Object previousParameter = ShardContext.bindParameter(update.parameter);
+                try {
+                    addBatch(update.mappedStatement, update.parameter, update.boundSql);
+                } finally {
+                    ShardContext.bindParameter(previousParameter);
+                    RoutingContext.bind(previousCommandType);
+                }
+            }
+            added = true;
+        } finally {
+            if (!added) {
+                super.doFlushStatements(true);
+            }
+        }
+
+        return super.doFlushStatements(false);
+    }
+
+    /**
+     * 求出绑定的 Sql 当前的参数值，生成以附加参数绑定这些值的 Sql
+     *
+     * @param boundSql 绑定的 Sql
+     * @return 参数值固定的绑定的 Sql
+     */
+    private BoundSql snapshot(BoundSql boundSql) {
+        List<ParameterMapping> parameterMappings = boundSql.getParameterMappings();
+        List<Object> values = ParameterValues.resolve(configuration, boundSql);
+        List<ParameterMapping> snapshotMappings = new ArrayList<>(parameterMappings.size());
+        for (int i = 0; i < parameterMappings.size(); i++) {
+            ParameterMapping parameterMapping = parameterMappings.get(i);
+            snapshotMappings.add(new ParameterMapping.Builder(configuration,
+                    PARAMETER_PREFIX + i, parameterMapping.getTypeHandler())
+                    .javaType(parameterMapping.getJavaType())
+                    .jdbcType(parameterMapping.getJdbcType())
+                    .mode(parameterMapping.getMode())
+                    .build());
+        }
+
+        BoundSql snapshot = new BoundSql(boundSql.getSql(), snapshotMappings, boundSql.getParameterObject());
+        for (int i = 0; i < values.size(); i++) {
+            snapshot.setAdditionalParameter(PARAMETER_PREFIX + i, values.get(i));
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * 按映射的语句 id 分组并排序
+     *
+     * @param updates 缓存的更新
+     * @return 排序后的更新
+     */
+    private List<BufferedUpdate> reorder(List<BufferedUpdate> updates) {
+        Map<String, List<BufferedUpdate>> groups = new LinkedHashMap<>();
+        for (BufferedUpdate update : updates) {
+            groups.computeIfAbsent(update.mappedStatement.getId(), id -> new ArrayList<>()).add(update);
+        }
+
+        Map<String, Set<String>> dependencies = new LinkedHashMap<>();
+        for (Map.Entry<String, List<BufferedUpdate>> entry : groups.entrySet()) {
+            Set<String> ancestors = collectDependencies(entry.getValue().get(0).mappedStatement);
+            ancestors.retainAll(groups.keySet());
+            ancestors.remove(entry.getKey());
+            dependencies.put(entry.getKey(), ancestors);
+        }
+
+        List<BufferedUpdate> result = new ArrayList<>(updates.size());
+        Set<String> executed = new HashSet<>();
+        while (!dependencies.isEmpty()) {
+            String ready = null;
+            Iterator<Map.Entry<String, Set<String>>> iterator = dependencies.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<String, Set<String>> entry = iterator.next();
+                if (executed.containsAll(entry.getValue())) {
+                    ready = entry.getKey();
+                    iterator.remove();
+                    break;
+                }
+            }
+
+            if (ready == null) {
+                throw new ExecutorException("Cyclic batch dependencies among statements " + dependencies.keySet());
+            }
+
+            executed.add(ready);
+            result.addAll(groups.get(ready));
+        }
+
+        return result;
+    }
+
+    /**
+     * 收集映射的语句直接和间接依赖的语句 id
+     *
+     * @param mappedStatement 映射的语句
+     * @return 依赖的语句 id
+     */
+    private Set<String> collectDependencies(MappedStatement mappedStatement) {
+        Set<String> collected = new HashSet<>();
+        Deque<String> pending = new ArrayDeque<>(mappedStatement.getBatchDependencies());
+        while (!pending.isEmpty()) {
+            String id = pending.pop();
+            if (!collected.add(id)) {
+                continue;
+            }
+
+            if (configuration.hasMappedStatement(id, false)) {
+                pending.addAll(configuration.getMappedStatement(id, false).getBatchDependencies());
+            }
+        }
+
+        return collected;
+    }
+
+    /**
+     * 缓存的更新
+     */
+    private static class BufferedUpdate {
+        /**
+         * 映射的语句
+         */
+        private final MappedStatement mappedStatement;
+
+        /**
+         * 参数对象
+         */
+        private final Object parameter;
+
+        /**
+         * 绑定的 Sql
+         */
+        private final BoundSql boundSql;
+
+        BufferedUpdate(MappedStatement mappedStatement, Object parameter, BoundSql boundSql) {
+            this.mappedStatement = mappedStatement;
+            this.parameter = parameter;
+            this.boundSql = boundSql;
+        }
+    }
+}
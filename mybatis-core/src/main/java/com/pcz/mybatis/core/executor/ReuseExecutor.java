@@ -0,0 +1,160 @@
+package com.pcz.mybatis.core.executor;
+
+import com.pcz.mybatis.core.datasource.pooled.StatementCache;
+import com.pcz.mybatis.core.executor.statement.StatementHandler;
+import com.pcz.mybatis.core.executor.statement.StatementUtil;
+import com.pcz.mybatis.core.mapping.BoundSql;
+import com.pcz.mybatis.core.mapping.MappedStatement;
+import com.pcz.mybatis.core.mapping.StatementType;
+import com.pcz.mybatis.core.session.Configuration;
+import com.pcz.mybatis.core.session.ResultHandler;
+import com.pcz.mybatis.core.session.RowBounds;
+import com.pcz.mybatis.core.transaction.Transaction;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 重用执行器，按 Sql 重用语句
+ * 连接来自池化数据源时，预编译语句缓存在物理连接的 {@link StatementCache} 中，会话关闭后仍然保留，
+ * 否则缓存在执行器中，刷新语句或会话关闭时关闭
+ * 游标查询会长时间占用语句，不参与重用
+ *
+ * @author picongzhi
+ */
+public class ReuseExecutor extends BaseExecutor {
+    /**
+     * 执行器本地缓存的语句
+     */
+    private final Map<String, Statement> statementMap = new HashMap<>();
+
+    public ReuseExecutor(Configuration configuration, Transaction transaction) {
+        super(configuration, transaction);
+    }
+
+    @Override
+    protected int doUpdate(MappedStatement mappedStatement, Object parameter) throws SQLException {
+        StatementHandler handler = configuration.newStatementHandler(this, mappedStatement, parameter,
+                RowBounds.DEFAULT, null, null);
+        Statement statement = prepareStatement(handler, mappedStatement);
+        return handler.update(statement);
+    }
+
+    @Override
+    protected <E> List<E> doQuery(MappedStatement mappedStatement,
+                                  Object parameter,
+                                  RowBounds rowBounds,
+                                  ResultHandler resultHandler,
+                                  BoundSql boundSql) throws SQLException {
+        StatementHandler handler = configuration.newStatementHandler(this, mappedStatement, parameter,
+                rowBounds, resultHandler, boundSql);
+        Statement statement = prepareStatement(handler, mappedStatement);
+        return handler.query(statement, resultHandler);
+    }
+
+    @Override
+    protected List<BatchResult> doFlushStatements(boolean isRollback) {
+        for (Statement statement : statementMap.values()) {
+            closeStatement(statement);
+        }
+        statementMap.clear();
+
+        return Collections.emptyList();
+    }
+
+    /**
+     * 获取或创建语句，并设置参数
+     *
+     * @param handler         语句处理器
+     * @param mappedStatement 映射的语句
+     * @return 语句
+     * @throws SQLException SQL 异常
+     */
+    private Statement prepareStatement(StatementHandler handler, MappedStatement mappedStatement) throws SQLException {
+        String sql = handler.getBoundSql().getSql();
+        Connection connection = getConnection();
+
+        Statement statement;
+        StatementCache statementCache = mappedStatement.getStatementType() == StatementType.PREPARED
+                ? getStatementCache(connection)
+                : null;
+        if (statementCache != null) {
+            statement = statementCache.get(sql);
+            if (statement != null) {
+                applyStatementSettings(statement, mappedStatement);
+            } else {
+                statement = handler.prepare(connection, transaction.getTimeout());
+                statementCache.put(sql, (PreparedStatement) statement);
+            }
+        } else if (hasStatementFor(sql)) {
+            statement = statementMap.get(sql);
+            applyStatementSettings(statement, mappedStatement);
+        } else {
+            statement = handler.prepare(connection, transaction.getTimeout());
+            statementMap.put(sql, statement);
+        }
+
+        handler.parameterize(statement);
+        return statement;
+    }
+
+    /**
+     * 获取连接上的语句缓存
+     *
+     * @param connection 连接
+     * @return 语句缓存，连接不支持时返回 null
+     */
+    private StatementCache getStatementCache(Connection connection) {
+        try {
+            if (connection.isWrapperFor(StatementCache.class)) {
+                return connection.unwrap(StatementCache.class);
+            }
+        } catch (SQLException e) {
+            // 驱动不支持，使用本地缓存
+        }
+
+        return null;
+    }
+
+    /**
+     * 判断本地是否缓存了可用的语句
+     *
+     * @param sql Sql
+     * @return 是否缓存了可用的语句
+     */
+    private boolean hasStatementFor(String sql) {
+        try {
+            Statement statement = statementMap.get(sql);
+            return statement != null && !statement.isClosed();
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 复用语句时重新应用映射的语句的超时时间和每次获取的行数
+     * 缓存按 Sql 共享，未设置的值重置为驱动默认的 0，避免沿用上一个映射的语句的设置
+     *
+     * @param statement       语句
+     * @param mappedStatement 映射的语句
+     * @throws SQLException SQL 异常
+     */
+    private void applyStatementSettings(Statement statement, MappedStatement mappedStatement) throws SQLException {
+        if (!configuration.isTimeoutSchedulerEnabled()) {
+            Integer queryTimeout = mappedStatement.getTimeout();
+            statement.setQueryTimeout(queryTimeout == null ? 0 : queryTimeout);
+            StatementUtil.applyTransactionTimeout(statement, queryTimeout, transaction.getTimeout());
+        }
+
+        Integer fetchSize = mappedStatement.getFetchSize() != null
+                ? mappedStatement.getFetchSize()
+                : configuration.getDefaultFetchSize();
+        statement.setFetchSize(fetchSize == null ? 0 : fetchSize);
+    }
+}
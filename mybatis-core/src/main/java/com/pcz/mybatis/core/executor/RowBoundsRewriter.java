@@ -0,0 +1,167 @@
+package com.pcz.mybatis.core.executor;
+
+import com.pcz.mybatis.core.dialect.LimitStyle;
+import com.pcz.mybatis.core.mapping.BoundSql;
+import com.pcz.mybatis.core.mapping.MappedStatement;
+import com.pcz.mybatis.core.mapping.ParameterMapping;
+import com.pcz.mybatis.core.mapping.ResultMap;
+import com.pcz.mybatis.core.mapping.SqlCommandType;
+import com.pcz.mybatis.core.mapping.StatementType;
+import com.pcz.mybatis.core.session.Configuration;
+import com.pcz.mybatis.core.session.RowBounds;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * 行边界改写器
+ * 按当前 databaseId 对应方言的分页语法，把行边界改写为 Sql 中的分页子句，偏移和行数以参数绑定
+ * 不能改写时返回 null，由结果集处理器在客户端跳过行
+ *
+ * @author picongzhi
+ */
+public final class RowBoundsRewriter {
+    /**
+     * 参数名前缀
+     */
+    private static final String PARAMETER_PREFIX = "__limit_";
+
+    /**
+     * ROWNUM 分页的行号列名
+     */
+    private static final String ROW_NUMBER_COLUMN = "mybatis_rn_";
+
+    /**
+     * 已经分页或加锁的语句，不再改写
+     */
+    private static final Pattern NOT_REWRITABLE = Pattern.compile(
+            "\\b(limit|offset|fetch|rownum|for\\s+update)\\b");
+
+    /**
+     * ORDER BY 子句
+     */
+    private static final Pattern ORDER_BY = Pattern.compile("\\border\\s+by\\b");
+
+    private RowBoundsRewriter() {
+    }
+
+    /**
+     * 改写绑定的 Sql
+     *
+     * @param mappedStatement 映射的语句
+     * @param boundSql        绑定的 Sql
+     * @param rowBounds       行边界
+     * @return 改写后的绑定的 Sql，不需要或不能改写时返回 null
+     */
+    public static BoundSql rewrite(MappedStatement mappedStatement, BoundSql boundSql, RowBounds rowBounds) {
+        if (rowBounds == null
+                || rowBounds.getOffset() == RowBounds.NO_ROW_OFFSET && rowBounds.getLimit() == RowBounds.NO_ROW_LIMIT) {
+            return null;
+        }
+
+        Configuration configuration = mappedStatement.getConfiguration();
+        LimitStyle limitStyle = configuration.getDialect().getLimitStyle();
+        if (!configuration.isRowBoundsPushdownEnabled() || limitStyle == LimitStyle.NONE
+                || !isRewritable(mappedStatement)) {
+            return null;
+        }
+
+        String sql = trimSql(boundSql.getSql());
+        String lowerSql = sql.toLowerCase(Locale.ENGLISH);
+        if (NOT_REWRITABLE.matcher(lowerSql).find()
+                || limitStyle == LimitStyle.OFFSET_FETCH && !ORDER_BY.matcher(lowerSql).find()) {
+            return null;
+        }
+
+        long offset = rowBounds.getOffset();
+        long rows = rowBounds.getLimit();
+        boolean hasOffset = offset > RowBounds.NO_ROW_OFFSET;
+        boolean hasLimit = rows != RowBounds.NO_ROW_LIMIT;
+        List<ParameterMapping> parameterMappings = new ArrayList<>(boundSql.getParameterMappings());
+        List<Long> values = new ArrayList<>(2);
+        StringBuilder limitSql = new StringBuilder(sql.length() + 64);
+        switch (limitStyle) {
+            case LIMIT_OFFSET:
+                limitSql.append(sql).append(" LIMIT ?");
+                values.add(rows);
+                if (hasOffset) {
+                    limitSql.append(" OFFSET ?");
+                    values.add(offset);
+                }
+                break;
+            case OFFSET_FETCH:
+                limitSql.append(sql).append(" OFFSET ? ROWS");
+                values.add(offset);
+                if (hasLimit) {
+                    limitSql.append(" FETCH NEXT ? ROWS ONLY");
+                    values.add(rows);
+                }
+                break;
+            case ROWNUM:
+                if (!hasOffset) {
+                    limitSql.append("SELECT * FROM (").append(sql).append(") WHERE ROWNUM <= ?");
+                    values.add(rows);
+                } else {
+                    limitSql.append("SELECT * FROM (SELECT t_.*, ROWNUM ").append(ROW_NUMBER_COLUMN)
+                            .append(" FROM (").append(sql).append(") t_");
+                    if (hasLimit) {
+                        limitSql.append(" WHERE ROWNUM <= ?");
+                        values.add(offset + rows);
+                    }
+                    limitSql.append(") WHERE ").append(ROW_NUMBER_COLUMN).append(" > ?");
+                    values.add(offset);
+                }
+                break;
+            default:
+                return null;
+        }
+
+        BoundSql limitBoundSql = new BoundSql(limitSql.toString(), parameterMappings, boundSql.getParameterObject());
+        boundSql.copyAdditionalParametersTo(limitBoundSql);
+        for (Long value : values) {
+            String property = PARAMETER_PREFIX + parameterMappings.size();
+            parameterMappings.add(new ParameterMapping.Builder(configuration, property, Long.class).build());
+            limitBoundSql.setAdditionalParameter(property, value);
+        }
+
+        return limitBoundSql;
+    }
+
+    /**
+     * 判断语句是否可以改写，只改写预编译的、不含嵌套结果映射的查询语句
+     *
+     * @param mappedStatement 映射的语句
+     * @return 是否可以改写
+     */
+    private static boolean isRewritable(MappedStatement mappedStatement) {
+        if (mappedStatement.getSqlCommandType() != SqlCommandType.SELECT
+                || mappedStatement.getStatementType() != StatementType.PREPARED) {
+            return false;
+        }
+
+        for (ResultMap resultMap : mappedStatement.getResultMaps()) {
+            if (resultMap.hasNestedResultMaps()) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * 去掉 Sql 末尾的空白和分号
+     *
+     * @param sql Sql
+     * @return Sql
+     */
+    private static String trimSql(String sql) {
+        int end = sql.length();
+        while (end > 0 && (Character.isWhitespace(sql.charAt(end - 1)) || sql.charAt(end - 1) == ';')) {
+            end--;
+        }
+
+        return sql.substring(0, end).trim();
+    }
+}
@@ -0,0 +1,75 @@
+package com.pcz.mybatis.core.executor;
+
+import com.pcz.mybatis.core.executor.statement.StatementHandler;
+import com.pcz.mybatis.core.mapping.BoundSql;
+import com.pcz.mybatis.core.mapping.MappedStatement;
+import com.pcz.mybatis.core.session.Configuration;
+import com.pcz.mybatis.core.session.ResultHandler;
+import com.pcz.mybatis.core.session.RowBounds;
+import com.pcz.mybatis.core.transaction.Transaction;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 简单执行器，每次执行都创建新的语句，执行完成后关闭
+ *
+ * @author picongzhi
+ */
+public class SimpleExecutor extends BaseExecutor {
+    public SimpleExecutor(Configuration configuration, Transaction transaction) {
+        super(configuration, transaction);
+    }
+
+    @Override
+    protected int doUpdate(MappedStatement mappedStatement, Object parameter) throws SQLException {
+        Statement statement = null;
+        try {
+            StatementHandler handler = configuration.newStatementHandler(this, mappedStatement, parameter,
+                    RowBounds.DEFAULT, null, null);
+            statement = prepareStatement(handler);
+            return handler.update(statement);
+        } finally {
+            closeStatement(statement);
+        }
+    }
+
+    @Override
+    protected <E> List<E> doQuery(MappedStatement mappedStatement,
+                                  Object parameter,
+                                  RowBounds rowBounds,
+                                  ResultHandler resultHandler,
+                                  BoundSql boundSql) throws SQLException {
+        Statement statement = null;
+        try {
+            StatementHandler handler = configuration.newStatementHandler(this, mappedStatement, parameter,
+                    rowBounds, resultHandler, boundSql);
+            statement = prepareStatement(handler);
+            return handler.query(statement, resultHandler);
+        } finally {
+            closeStatement(statement);
+        }
+    }
+
+    @Override
+    protected List<BatchResult> doFlushStatements(boolean isRollback) {
+        return Collections.emptyList();
+    }
+
+    /**
+     * 创建语句并设置参数
+     *
+     * @param handler 语句处理器
+     * @return 语句
+     * @throws SQLException SQL 异常
+     */
+    private Statement prepareStatement(StatementHandler handler) throws SQLException {
+        Connection connection = getConnection();
+        Statement statement = handler.prepare(connection, transaction.getTimeout());
+        handler.parameterize(statement);
+        return statement;
+    }
+}
@@ -0,0 +1,26 @@
+package com.pcz.mybatis.core.executor.parameter;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * 参数处理器
+ *
+ * @author picongzhi
+ */
+public interface ParameterHandler {
+    /**
+     * 获取参数对象
+     *
+     * @return 参数对象
+     */
+    Object getParameterObject();
+
+    /**
+     * 设置参数
+     *
+     * @param preparedStatement 预编译语句
+     * @throws SQLException SQL 异常
+     */
+    void setParameters(PreparedStatement preparedStatement) throws SQLException;
+}
@@ -0,0 +1,50 @@
+package com.pcz.mybatis.core.executor.parameter;
+
+import com.pcz.mybatis.core.mapping.BoundSql;
+import com.pcz.mybatis.core.mapping.ParameterMapping;
+import com.pcz.mybatis.core.reflection.MetaObject;
+import com.pcz.mybatis.core.session.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 参数值求值工具，取值规则与设置参数时一致
+ *
+ * @author picongzhi
+ */
+public final class ParameterValues {
+    private ParameterValues() {
+    }
+
+    /**
+     * 按参数映射的顺序求出绑定的 Sql 的参数值
+     *
+     * @param configuration 配置
+     * @param boundSql      绑定的 Sql
+     * @return 参数值
+     */
+    public static List<Object> resolve(Configuration configuration, BoundSql boundSql) {
+        Object parameterObject = boundSql.getParameterObject();
+        List<ParameterMapping> parameterMappings = boundSql.getParameterMappings();
+        List<Object> values = new ArrayList<>(parameterMappings.size());
+        MetaObject metaObject = null;
+        for (ParameterMapping parameterMapping : parameterMappings) {
+            String property = parameterMapping.getProperty();
+            if (boundSql.hasAdditionalParameter(property)) {
+                values.add(boundSql.getAdditionalParameter(property));
+            } else if (parameterObject == null) {
+                values.add(null);
+            } else if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameterObject.getClass())) {
+                values.add(parameterObject);
+            } else {
+                if (metaObject == null) {
+                    metaObject = configuration.newMetaObject(parameterObject);
+                }
+                values.add(metaObject.getValue(property));
+            }
+        }
+
+        return values;
+    }
+}
@@ -0,0 +1,62 @@
+package com.pcz.mybatis.core.executor.result;
+
+import com.pcz.mybatis.core.session.ResultContext;
+
+/**
+ * 默认的结果上下文
+ *
+ * @param <T> 泛型
+ * @author picongzhi
+ */
+public class DefaultResultContext<T> implements ResultContext<T> {
+    /**
+     * 结果对象
+     */
+    private T resultObject;
+
+    /**
+     * 结果数
+     */
+    private int resultCount;
+
+    /**
+     * 是否已停止
+     */
+    private boolean stopped;
+
+    public DefaultResultContext() {
+        resultObject = null;
+        resultCount = 0;
+        stopped = false;
+    }
+
+    @Override
+    public T getResultObject() {
+        return resultObject;
+    }
+
+    @Override
+    public int getResultCount() {
+        return resultCount;
+    }
+
+    @Override
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    /**
+     * 设置下一个结果对象
+     *
+     * @param resultObject 结果对象
+     */
+    public void nextResultObject(T resultObject) {
+        resultCount++;
+        this.resultObject = resultObject;
+    }
+
+    @Override
+    public void stop() {
+        this.stopped = true;
+    }
+}
@@ -0,0 +1,38 @@
+package com.pcz.mybatis.core.executor.result;
+
+import com.pcz.mybatis.core.reflection.factory.ObjectFactory;
+import com.pcz.mybatis.core.session.ResultContext;
+import com.pcz.mybatis.core.session.ResultHandler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 默认的结果处理器，将结果收集到 List 中
+ *
+ * @author picongzhi
+ */
+public class DefaultResultHandler implements ResultHandler<Object> {
+    /**
+     * 结果
+     */
+    private final List<Object> list;
+
+    public DefaultResultHandler() {
+        list = new ArrayList<>();
+    }
+
+    @SuppressWarnings("unchecked")
+    public DefaultResultHandler(ObjectFactory objectFactory) {
+        list = objectFactory.create(List.class);
+    }
+
+    @Override
+    public void handleResult(ResultContext<?> resultContext) {
+        list.add(resultContext.getResultObject());
+    }
+
+    public List<Object> getResultList() {
+        return list;
+    }
+}
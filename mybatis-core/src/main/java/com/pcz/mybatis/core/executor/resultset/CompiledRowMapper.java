@@ -0,0 +1,59 @@
+package com.pcz.mybatis.core.executor.resultset;
+
+import com.pcz.mybatis.core.reflection.factory.ObjectFactory;
+import com.pcz.mybatis.core.session.Configuration;
+import com.pcz.mybatis.core.type.TypeHandler;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * 编译的行映射器，由 {@link RowMapperCompiler} 生成子类
+ * 子类按列下标通过类型处理器读取列值，直接调用 setter 赋值
+ *
+ * @author picongzhi
+ */
+public abstract class CompiledRowMapper {
+    /**
+     * 配置
+     */
+    protected Configuration configuration;
+
+    /**
+     * 对象工厂
+     */
+    protected ObjectFactory objectFactory;
+
+    /**
+     * 结果类型
+     */
+    protected Class<?> type;
+
+    /**
+     * 各个列的类型处理器
+     */
+    protected TypeHandler<?>[] typeHandlers;
+
+    /**
+     * 初始化
+     *
+     * @param configuration 配置
+     * @param type          结果类型
+     * @param typeHandlers  各个列的类型处理器
+     */
+    void initialize(Configuration configuration, Class<?> type, TypeHandler<?>[] typeHandlers) {
+        this.configuration = configuration;
+        this.objectFactory = configuration.getObjectFactory();
+        this.type = type;
+        this.typeHandlers = typeHandlers;
+    }
+
+    /**
+     * 映射当前行
+     *
+     * @param resultSet 结果集
+     * @return 结果对象，没有映射到值且不要求返回空对象时返回 null
+     * @throws SQLException SQL 异常
+     */
+    public abstract Object map(ResultSet resultSet) throws SQLException;
+}
@@ -0,0 +1,1318 @@
+package com.pcz.mybatis.core.executor.resultset;
+
+import com.pcz.mybatis.core.cursor.Cursor;
+import com.pcz.mybatis.core.cursor.defaults.DefaultCursor;
+import com.pcz.mybatis.core.cursor.defaults.PrefetchingCursor;
+import com.pcz.mybatis.core.executor.ErrorContext;
+import com.pcz.mybatis.core.executor.Executor;
+import com.pcz.mybatis.core.executor.ExecutorException;
+import com.pcz.mybatis.core.executor.NestedSelectBatchBuilder;
+import com.pcz.mybatis.core.executor.parameter.ParameterHandler;
+import com.pcz.mybatis.core.executor.result.DefaultResultContext;
+import com.pcz.mybatis.core.executor.result.DefaultResultHandler;
+import com.pcz.mybatis.core.mapping.BoundSql;
+import com.pcz.mybatis.core.mapping.MappedStatement;
+import com.pcz.mybatis.core.mapping.ResultMap;
+import com.pcz.mybatis.core.mapping.ResultMapping;
+import com.pcz.mybatis.core.reflection.ExceptionUtil;
+import com.pcz.mybatis.core.reflection.MetaClass;
+import com.pcz.mybatis.core.reflection.MetaObject;
+import com.pcz.mybatis.core.reflection.ReflectionException;
+import com.pcz.mybatis.core.reflection.factory.ObjectFactory;
+import com.pcz.mybatis.core.reflection.invoker.Invoker;
+import com.pcz.mybatis.core.session.AutoMappingBehavior;
+import com.pcz.mybatis.core.session.Configuration;
+import com.pcz.mybatis.core.session.ResultHandler;
+import com.pcz.mybatis.core.session.RowBounds;
+import com.pcz.mybatis.core.type.TypeHandler;
+import com.pcz.mybatis.core.type.TypeHandlerRegistry;
+
+import java.lang.reflect.Modifier;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 默认的结果集处理器
+ *
+ * @author picongzhi
+ */
+public class DefaultResultSetHandler implements ResultSetHandler {
+    /**
+     * 执行器
+     */
+    private final Executor executor;
+
+    /**
+     * 配置
+     */
+    private final Configuration configuration;
+
+    /**
+     * 映射的语句
+     */
+    private final MappedStatement mappedStatement;
+
+    /**
+     * 行边界
+     */
+    private final RowBounds rowBounds;
+
+    /**
+     * 参数处理器
+     */
+    private final ParameterHandler parameterHandler;
+
+    /**
+     * 结果处理器
+     */
+    private final ResultHandler<?> resultHandler;
+
+    /**
+     * 绑定的 Sql
+     */
+    private final BoundSql boundSql;
+
+    /**
+     * 类型处理器注册器
+     */
+    private final TypeHandlerRegistry typeHandlerRegistry;
+
+    /**
+     * 对象工厂
+     */
+    private final ObjectFactory objectFactory;
+
+    /**
+     * 嵌套结果映射中部分构建的对象，按行 key 索引
+     */
+    private final Map<RowKey, Object> nestedResultObjects = new HashMap<>();
+
+    /**
+     * 嵌套结果映射中正在构建的祖先对象，按结果 Map 的 id 索引，用于处理循环引用
+     */
+    private final Map<String, Object> ancestorObjects = new HashMap<>();
+
+    /**
+     * 有序的嵌套结果映射中上次处理未完成的对象，游标分多次处理时使用
+     */
+    private Object previousRowValue;
+
+    /**
+     * 等待批量加载的嵌套查询，只在把结果收集为列表时不为 null
+     */
+    private List<PendingNestedSelect> pendingNestedSelects;
+
+    public DefaultResultSetHandler(Executor executor,
+                                   MappedStatement mappedStatement,
+                                   ParameterHandler parameterHandler,
+                                   ResultHandler<?> resultHandler,
+                                   BoundSql boundSql,
+                                   RowBounds rowBounds) {
+        this.executor = executor;
+        this.configuration = mappedStatement.getConfiguration();
+        this.mappedStatement = mappedStatement;
+        this.rowBounds = rowBounds;
+        this.parameterHandler = parameterHandler;
+        this.boundSql = boundSql;
+        this.typeHandlerRegistry = configuration.getTypeHandlerRegistry();
+        this.objectFactory = configuration.getObjectFactory();
+        this.resultHandler = resultHandler;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Object> handleResultSets(Statement statement) throws SQLException {
+        ErrorContext.instance()
+                .activity("handling results")
+                .object(mappedStatement.getId());
+
+        final List<Object> multipleResults = new ArrayList<>();
+        int resultSetCount = 0;
+        ResultSetWrapper resultSetWrapper = getFirstResultSet(statement);
+
+        List<ResultMap> resultMaps = mappedStatement.getResultMaps();
+        int resultMapCount = resultMaps.size();
+        validateResultMapsCount(resultSetWrapper, resultMapCount);
+        while (resultSetWrapper != null && resultMapCount > resultSetCount) {
+            ResultMap resultMap = resultMaps.get(resultSetCount);
+            boolean stopped = handleResultSet(resultSetWrapper, resultMap, multipleResults);
+            resultSetCount++;
+            // 结果处理器停止处理后不再获取后面的结果集
+            if (stopped) {
+                break;
+            }
+            // 只有还有未处理的结果 Map 时才获取下一个结果集
+            resultSetWrapper = resultMapCount > resultSetCount ? getNextResultSet(statement, resultSetCount) : null;
+        }
+
+        return collapseSingleResultList(multipleResults);
+    }
+
+    @Override
+    public <E> Cursor<E> handleCursorResultSets(Statement statement) throws SQLException {
+        ErrorContext.instance()
+                .activity("handling cursor results")
+                .object(mappedStatement.getId());
+
+        ResultSetWrapper resultSetWrapper = getFirstResultSet(statement);
+        List<ResultMap> resultMaps = mappedStatement.getResultMaps();
+        int resultMapCount = resultMaps.size();
+        validateResultMapsCount(resultSetWrapper, resultMapCount);
+        if (resultMapCount != 1) {
+            throw new ExecutorException("Cursor results cannot be mapped to multiple resultMaps");
+        }
+
+        if (resultSetWrapper == null) {
+            throw new ExecutorException("Statement '" + mappedStatement.getId() + "' returned no result set for cursor");
+        }
+
+        if (resultMaps.get(0).hasNestedResultMaps()
+                && configuration.isSafeResultHandlerEnabled()
+                && !mappedStatement.isResultOrdered()) {
+            throw new ExecutorException("Mapped Statements with nested result mappings cannot be safely used with a cursor. "
+                    + "Use safeResultHandlerEnabled=false setting to bypass this check "
+                    + "or ensure your statement returns ordered data and set resultOrdered=true on it.");
+        }
+
+        Integer prefetchDepth = mappedStatement.getPrefetchDepth() != null
+                ? mappedStatement.getPrefetchDepth()
+                : configuration.getDefaultPrefetchDepth();
+        if (prefetchDepth != null && prefetchDepth > 0) {
+            return new PrefetchingCursor<>(this, resultMaps.get(0), resultSetWrapper, rowBounds, prefetchDepth);
+        }
+
+        return new DefaultCursor<>(this, resultMaps.get(0), resultSetWrapper, rowBounds);
+    }
+
+    /**
+     * 获取第一个结果集，跳过前面的更新计数
+     *
+     * @param statement 语句
+     * @return 结果集包装器
+     * @throws SQLException SQL 异常
+     */
+    private ResultSetWrapper getFirstResultSet(Statement statement) throws SQLException {
+        ResultSet resultSet = statement.getResultSet();
+        while (resultSet == null) {
+            if (statement.getMoreResults()) {
+                resultSet = statement.getResultSet();
+            } else if (statement.getUpdateCount() == -1) {
+                break;
+            }
+        }
+
+        return resultSet != null ? wrapResultSet(resultSet, 0) : null;
+    }
+
+    /**
+     * 获取下一个结果集
+     *
+     * @param statement      语句
+     * @param resultSetIndex 结果集下标
+     * @return 结果集包装器
+     */
+    private ResultSetWrapper getNextResultSet(Statement statement, int resultSetIndex) {
+        try {
+            if (configuration.isMultipleResultSetsEnabled()
+                    && statement.getConnection().getMetaData().supportsMultipleResultSets()) {
+                if (!(!statement.getMoreResults() && statement.getUpdateCount() == -1)) {
+                    ResultSet resultSet = statement.getResultSet();
+                    if (resultSet == null) {
+                        return getNextResultSet(statement, resultSetIndex);
+                    }
+
+                    return wrapResultSet(resultSet, resultSetIndex);
+                }
+            }
+        } catch (Exception e) {
+            // 忽略
+        }
+
+        return null;
+    }
+
+    /**
+     * 包装结果集，复用映射的语句缓存的列结构，列结构变化时更新缓存
+     *
+     * @param resultSet      结果集
+     * @param resultSetIndex 结果集下标
+     * @return 结果集包装器
+     * @throws SQLException SQL 异常
+     */
+    private ResultSetWrapper wrapResultSet(ResultSet resultSet, int resultSetIndex) throws SQLException {
+        ResultSetSchema cachedSchema = mappedStatement.getResultSetSchema(resultSetIndex);
+        ResultSetWrapper resultSetWrapper = new ResultSetWrapper(resultSet, configuration, cachedSchema);
+        if (resultSetWrapper.getSchema() != cachedSchema) {
+            mappedStatement.putResultSetSchema(resultSetIndex, resultSetWrapper.getSchema());
+        }
+
+        return resultSetWrapper;
+    }
+
+    /**
+     * 校验结果 Map 的数量
+     *
+     * @param resultSetWrapper 结果集包装器
+     * @param resultMapCount   结果 Map 的数量
+     */
+    private void validateResultMapsCount(ResultSetWrapper resultSetWrapper, int resultMapCount) {
+        if (resultSetWrapper != null && resultMapCount < 1) {
+            throw new ExecutorException("A query was run and no Result Maps were found for the Mapped Statement '"
+                    + mappedStatement.getId() + "'. It's likely that neither a Result Type nor a Result Map was specified.");
+        }
+    }
+
+    /**
+     * 处理结果集
+     *
+     * @param resultSetWrapper 结果集包装器
+     * @param resultMap        结果 Map
+     * @param multipleResults  多个结果集的结果
+     * @return 结果处理器是否停止了处理
+     * @throws SQLException SQL 异常
+     */
+    private boolean handleResultSet(ResultSetWrapper resultSetWrapper,
+                                    ResultMap resultMap,
+                                    List<Object> multipleResults) throws SQLException {
+        try {
+            if (resultHandler == null) {
+                DefaultResultHandler defaultResultHandler = new DefaultResultHandler(objectFactory);
+                // 结果收集完成后才交给调用方，嵌套查询可以等所有行映射完成后批量加载
+                pendingNestedSelects = new ArrayList<>();
+                try {
+                    handleRowValues(resultSetWrapper, resultMap, defaultResultHandler, rowBounds);
+                    loadPendingNestedSelects();
+                } finally {
+                    pendingNestedSelects = null;
+                }
+                multipleResults.add(defaultResultHandler.getResultList());
+                return false;
+            }
+
+            boolean stopped = handleRowValues(resultSetWrapper, resultMap, resultHandler, rowBounds);
+            if (stopped) {
+                // 取消语句，避免关闭结果集时驱动继续读取剩余的行
+                cancelStatement(resultSetWrapper.getResultSet());
+            }
+            return stopped;
+        } finally {
+            closeResultSet(resultSetWrapper.getResultSet());
+        }
+    }
+
+    /**
+     * 只有一个结果集时，直接返回该结果集的结果
+     *
+     * @param multipleResults 多个结果集的结果
+     * @return 结果
+     */
+    @SuppressWarnings("unchecked")
+    private List<Object> collapseSingleResultList(List<Object> multipleResults) {
+        return multipleResults.size() == 1 ? (List<Object>) multipleResults.get(0) : multipleResults;
+    }
+
+    /**
+     * 处理行
+     *
+     * @param resultSetWrapper 结果集包装器
+     * @param resultMap        结果 Map
+     * @param resultHandler    结果处理器
+     * @param rowBounds        行边界
+     * @return 结果处理器是否停止了处理
+     * @throws SQLException SQL 异常
+     */
+    public boolean handleRowValues(ResultSetWrapper resultSetWrapper,
+                                   ResultMap resultMap,
+                                   ResultHandler<?> resultHandler,
+                                   RowBounds rowBounds) throws SQLException {
+        if (resultMap.hasNestedResultMaps()) {
+            ensureNoRowBounds(rowBounds);
+            checkResultHandler();
+            return handleRowValuesForNestedResultMap(resultSetWrapper, resultMap, resultHandler, rowBounds);
+        }
+
+        DefaultResultContext<Object> resultContext = new DefaultResultContext<>();
+        ResultSet resultSet = resultSetWrapper.getResultSet();
+        skipRows(resultSet, rowBounds);
+        while (shouldProcessMoreRows(resultContext, rowBounds) && !resultSet.isClosed() && resultSet.next()) {
+            Object rowValue = getRowValue(resultSetWrapper, resultMap, null);
+            storeObject(resultHandler, resultContext, rowValue);
+        }
+
+        return resultContext.isStopped();
+    }
+
+    /**
+     * 处理有嵌套结果 Map 的行，连接查询中父对象的行会重复出现，按 id 列合并为同一个对象
+     * 结果有序时，父对象的 id 变化说明上一个父对象已经完整，立即交给结果处理器并释放中间对象
+     *
+     * @param resultSetWrapper 结果集包装器
+     * @param resultMap        结果 Map
+     * @param resultHandler    结果处理器
+     * @param rowBounds        行边界
+     * @return 结果处理器是否停止了处理
+     * @throws SQLException SQL 异常
+     */
+    private boolean handleRowValuesForNestedResultMap(ResultSetWrapper resultSetWrapper,
+                                                      ResultMap resultMap,
+                                                      ResultHandler<?> resultHandler,
+                                                      RowBounds rowBounds) throws SQLException {
+        final DefaultResultContext<Object> resultContext = new DefaultResultContext<>();
+        ResultSet resultSet = resultSetWrapper.getResultSet();
+        skipRows(resultSet, rowBounds);
+        Object rowValue = previousRowValue;
+        while (shouldProcessMoreRows(resultContext, rowBounds) && !resultSet.isClosed() && resultSet.next()) {
+            final RowKey rowKey = createRowKey(resultSetWrapper, resultMap, null, null);
+            Object partialObject = rowKey == null ? null : nestedResultObjects.get(rowKey);
+            if (mappedStatement.isResultOrdered()) {
+                if (partialObject == null && rowValue != null) {
+                    nestedResultObjects.clear();
+                    storeObject(resultHandler, resultContext, rowValue);
+                }
+                rowValue = getRowValue(resultSetWrapper, resultMap, rowKey, null, partialObject);
+            } else {
+                rowValue = getRowValue(resultSetWrapper, resultMap, rowKey, null, partialObject);
+                if (partialObject == null) {
+                    storeObject(resultHandler, resultContext, rowValue);
+                }
+            }
+        }
+
+        if (rowValue != null && mappedStatement.isResultOrdered() && shouldProcessMoreRows(resultContext, rowBounds)) {
+            storeObject(resultHandler, resultContext, rowValue);
+            previousRowValue = null;
+        } else if (rowValue != null) {
+            previousRowValue = rowValue;
+        }
+
+        return resultContext.isStopped();
+    }
+
+    /**
+     * 校验嵌套结果映射没有使用行边界，行边界按行计数，而一个对象可能由多行组成
+     *
+     * @param rowBounds 行边界
+     */
+    private void ensureNoRowBounds(RowBounds rowBounds) {
+        if (configuration.isSafeRowBoundsEnabled() && rowBounds != null
+                && (rowBounds.getLimit() < RowBounds.NO_ROW_LIMIT || rowBounds.getOffset() > RowBounds.NO_ROW_OFFSET)) {
+            throw new ExecutorException("Mapped Statements with nested result mappings cannot be safely constrained by RowBounds. "
+                    + "Use safeRowBoundsEnabled=false setting to bypass this check.");
+        }
+    }
+
+    /**
+     * 校验嵌套结果映射使用自定义结果处理器时结果有序，否则结果处理器会收到未构建完成的对象
+     */
+    private void checkResultHandler() {
+        if (resultHandler != null && configuration.isSafeResultHandlerEnabled() && !mappedStatement.isResultOrdered()) {
+            throw new ExecutorException("Mapped Statements with nested result mappings cannot be safely used with a custom ResultHandler. "
+                    + "Use safeResultHandlerEnabled=false setting to bypass this check "
+                    + "or ensure your statement returns ordered data and set resultOrdered=true on it.");
+        }
+    }
+
+    /**
+     * 保存结果对象
+     *
+     * @param resultHandler 结果处理器
+     * @param resultContext 结果上下文
+     * @param rowValue      结果对象
+     */
+    @SuppressWarnings("unchecked")
+    private void storeObject(ResultHandler<?> resultHandler,
+                             DefaultResultContext<Object> resultContext,
+                             Object rowValue) {
+        resultContext.nextResultObject(rowValue);
+        ((ResultHandler<Object>) resultHandler).handleResult(resultContext);
+    }
+
+    /**
+     * 判断是否需要继续处理
+     *
+     * @param context   结果上下文
+     * @param rowBounds 行边界
+     * @return 是否需要继续处理
+     */
+    private boolean shouldProcessMoreRows(DefaultResultContext<?> context, RowBounds rowBounds) {
+        return !context.isStopped() && context.getResultCount() < rowBounds.getLimit();
+    }
+
+    /**
+     * 跳过偏移的行
+     *
+     * @param resultSet 结果集
+     * @param rowBounds 行边界
+     * @throws SQLException SQL 异常
+     */
+    private void skipRows(ResultSet resultSet, RowBounds rowBounds) throws SQLException {
+        if (resultSet.getType() != ResultSet.TYPE_FORWARD_ONLY) {
+            if (rowBounds.getOffset() != RowBounds.NO_ROW_OFFSET) {
+                resultSet.absolute(rowBounds.getOffset());
+            }
+        } else {
+            for (int i = 0; i < rowBounds.getOffset(); i++) {
+                if (!resultSet.next()) {
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * 映射一行记录
+     *
+     * @param resultSetWrapper 结果集包装器
+     * @param resultMap        结果 Map
+     * @param columnPrefix     列名前缀
+     * @return 结果对象
+     * @throws SQLException SQL 异常
+     */
+    private Object getRowValue(ResultSetWrapper resultSetWrapper,
+                               ResultMap resultMap,
+                               String columnPrefix) throws SQLException {
+        if (columnPrefix == null && configuration.isCompiledRowMappersEnabled()) {
+            CompiledRowMapper rowMapper = configuration.getRowMapperCompiler().getRowMapper(
+                    resultMap, resultSetWrapper.getColumnSignature(), () -> resolveColumnMappings(resultSetWrapper, resultMap));
+            if (rowMapper != null) {
+                return rowMapper.map(resultSetWrapper.getResultSet());
+            }
+        }
+
+        Object rowValue = createResultObject(resultSetWrapper, resultMap, columnPrefix);
+        if (rowValue != null && !hasTypeHandlerForResultObject(resultSetWrapper, resultMap.getType())) {
+            final MetaObject metaObject = configuration.newMetaObject(rowValue);
+            boolean foundValues = false;
+            if (shouldApplyAutomaticMappings(resultMap, false)) {
+                foundValues = applyAutomaticMappings(resultSetWrapper, resultMap, metaObject, columnPrefix);
+            }
+
+            foundValues = applyPropertyMappings(resultSetWrapper, resultMap, metaObject, columnPrefix) || foundValues;
+            foundValues = applyNestedQueryMappings(resultSetWrapper, resultMap, metaObject, columnPrefix) || foundValues;
+            rowValue = foundValues || configuration.isReturnInstanceForEmptyRow() ? rowValue : null;
+        }
+
+        return rowValue;
+    }
+
+    /**
+     * 映射有嵌套结果 Map 的一行记录
+     * 部分构建的对象已存在时只合并嵌套的对象，否则创建新对象并按行 key 保存
+     *
+     * @param resultSetWrapper 结果集包装器
+     * @param resultMap        结果 Map
+     * @param combinedKey      行 key，为 null 时不保存
+     * @param columnPrefix     列名前缀
+     * @param partialObject    部分构建的对象
+     * @return 结果对象
+     * @throws SQLException SQL 异常
+     */
+    private Object getRowValue(ResultSetWrapper resultSetWrapper,
+                               ResultMap resultMap,
+                               RowKey combinedKey,
+                               String columnPrefix,
+                               Object partialObject) throws SQLException {
+        final String resultMapId = resultMap.getId();
+        Object rowValue = partialObject;
+        if (rowValue != null) {
+            final MetaObject metaObject = configuration.newMetaObject(rowValue);
+            ancestorObjects.put(resultMapId, rowValue);
+            applyNestedResultMappings(resultSetWrapper, resultMap, metaObject, columnPrefix, combinedKey, false);
+            ancestorObjects.remove(resultMapId);
+            return rowValue;
+        }
+
+        rowValue = createResultObject(resultSetWrapper, resultMap, columnPrefix);
+        if (rowValue != null && !hasTypeHandlerForResultObject(resultSetWrapper, resultMap.getType())) {
+            final MetaObject metaObject = configuration.newMetaObject(rowValue);
+            boolean foundValues = false;
+            if (shouldApplyAutomaticMappings(resultMap, true)) {
+                foundValues = applyAutomaticMappings(resultSetWrapper, resultMap, metaObject, columnPrefix);
+            }
+
+            foundValues = applyPropertyMappings(resultSetWrapper, resultMap, metaObject, columnPrefix) || foundValues;
+            foundValues = applyNestedQueryMappings(resultSetWrapper, resultMap, metaObject, columnPrefix) || foundValues;
+            ancestorObjects.put(resultMapId, rowValue);
+            foundValues = applyNestedResultMappings(resultSetWrapper, resultMap, metaObject, columnPrefix, combinedKey, true)
+                    || foundValues;
+            ancestorObjects.remove(resultMapId);
+            rowValue = foundValues || configuration.isReturnInstanceForEmptyRow() ? rowValue : null;
+        }
+
+        if (combinedKey != null && rowValue != null) {
+            nestedResultObjects.put(combinedKey, rowValue);
+        }
+
+        return rowValue;
+    }
+
+    /**
+     * 应用嵌套结果映射
+     *
+     * @param resultSetWrapper 结果集包装器
+     * @param resultMap        结果 Map
+     * @param metaObject       结果对象的元对象
+     * @param parentPrefix     父对象的列名前缀
+     * @param parentRowKey     父对象的行 key
+     * @param newObject        结果对象是否为新创建的
+     * @return 是否映射到新的嵌套对象
+     */
+    private boolean applyNestedResultMappings(ResultSetWrapper resultSetWrapper,
+                                              ResultMap resultMap,
+                                              MetaObject metaObject,
+                                              String parentPrefix,
+                                              RowKey parentRowKey,
+                                              boolean newObject) {
+        boolean foundValues = false;
+        for (ResultMapping resultMapping : resultMap.getPropertyResultMappings()) {
+            final String nestedResultMapId = resultMapping.getNestedResultMapId();
+            if (nestedResultMapId == null) {
+                continue;
+            }
+
+            try {
+                final String columnPrefix = getColumnPrefix(parentPrefix, resultMapping);
+                final ResultMap nestedResultMap = configuration.getResultMap(nestedResultMapId);
+                if (resultMapping.getColumnPrefix() == null) {
+                    // 循环引用时关联正在构建的祖先对象
+                    Object ancestorObject = ancestorObjects.get(nestedResultMapId);
+                    if (ancestorObject != null) {
+                        if (newObject) {
+                            linkObjects(metaObject, resultMapping, ancestorObject);
+                        }
+                        continue;
+                    }
+                }
+
+                instantiateCollectionPropertyIfAppropriate(resultMapping, metaObject);
+                final RowKey rowKey = createRowKey(resultSetWrapper, nestedResultMap, columnPrefix, parentRowKey);
+                if (rowKey == null) {
+                    // id 列都为 null，例如外连接没有匹配的行
+                    continue;
+                }
+
+                // 父对象没有行 key 时每行都是新的父对象，嵌套对象不能合并
+                final RowKey combinedKey = parentRowKey == null ? null : rowKey;
+                Object rowValue = combinedKey == null ? null : nestedResultObjects.get(combinedKey);
+                final boolean knownValue = rowValue != null;
+                rowValue = getRowValue(resultSetWrapper, nestedResultMap, combinedKey, columnPrefix, rowValue);
+                if (rowValue != null && !knownValue) {
+                    linkObjects(metaObject, resultMapping, rowValue);
+                    foundValues = true;
+                }
+            } catch (SQLException e) {
+                throw new ExecutorException("Error getting nested result map values for '"
+                        + resultMapping.getProperty() + "'.  Cause: " + e, e);
+            }
+        }
+
+        return foundValues;
+    }
+
+    /**
+     * 创建行 key，读取计划按结果 Map 和列名前缀缓存在结果集的列结构中
+     *
+     * @param resultSetWrapper 结果集包装器
+     * @param resultMap        结果 Map
+     * @param columnPrefix     列名前缀
+     * @param parentRowKey     父对象的行 key
+     * @return 行 key，id 列都为 null 时返回 null
+     * @throws SQLException SQL 异常
+     */
+    private RowKey createRowKey(ResultSetWrapper resultSetWrapper,
+                                ResultMap resultMap,
+                                String columnPrefix,
+                                RowKey parentRowKey) throws SQLException {
+        ResultSetSchema schema = resultSetWrapper.getSchema();
+        RowKey.Plan plan = schema.getRowKeyPlan(resultMap, columnPrefix);
+        if (plan == null) {
+            plan = RowKey.Plan.create(resultSetWrapper, resultMap, columnPrefix);
+            schema.putRowKeyPlan(resultMap, columnPrefix, plan);
+        }
+
+        return plan.read(resultSetWrapper.getResultSet(), parentRowKey);
+    }
+
+    /**
+     * 获取嵌套结果映射的列名前缀
+     *
+     * @param parentPrefix  父对象的列名前缀
+     * @param resultMapping 结果映射
+     * @return 列名前缀
+     */
+    private String getColumnPrefix(String parentPrefix, ResultMapping resultMapping) {
+        final StringBuilder columnPrefixBuilder = new StringBuilder();
+        if (parentPrefix != null) {
+            columnPrefixBuilder.append(parentPrefix);
+        }
+
+        if (resultMapping.getColumnPrefix() != null) {
+            columnPrefixBuilder.append(resultMapping.getColumnPrefix());
+        }
+
+        return columnPrefixBuilder.length() == 0 ? null : columnPrefixBuilder.toString();
+    }
+
+    /**
+     * 属性是集合且为 null 时创建集合
+     *
+     * @param resultMapping 结果映射
+     * @param metaObject    结果对象的元对象
+     * @return 集合，属性不是集合时返回 null
+     */
+    private Object instantiateCollectionPropertyIfAppropriate(ResultMapping resultMapping, MetaObject metaObject) {
+        final String propertyName = resultMapping.getProperty();
+        Object propertyValue = metaObject.getValue(propertyName);
+        if (propertyValue == null) {
+            Class<?> type = metaObject.getSetterType(propertyName);
+            if (objectFactory.isCollection(type)) {
+                propertyValue = objectFactory.create(type);
+                metaObject.setValue(propertyName, propertyValue);
+                return propertyValue;
+            }
+        } else if (objectFactory.isCollection(propertyValue.getClass())) {
+            return propertyValue;
+        }
+
+        return null;
+    }
+
+    /**
+     * 关联嵌套对象，集合属性添加到集合中，否则直接设置
+     *
+     * @param metaObject    结果对象的元对象
+     * @param resultMapping 结果映射
+     * @param rowValue      嵌套对象
+     */
+    private void linkObjects(MetaObject metaObject, ResultMapping resultMapping, Object rowValue) {
+        final Object collectionProperty = instantiateCollectionPropertyIfAppropriate(resultMapping, metaObject);
+        if (collectionProperty != null) {
+            configuration.newMetaObject(collectionProperty).add(rowValue);
+        } else {
+            metaObject.setValue(resultMapping.getProperty(), rowValue);
+        }
+    }
+
+    /**
+     * 解析编译行映射器使用的列映射，顺序与反射映射时一致：先自动映射，再属性映射
+     *
+     * @param resultSetWrapper 结果集包装器
+     * @param resultMap        结果 Map
+     * @return 列映射，结果类型不能编译时返回 null
+     */
+    private List<RowMapperCompiler.ColumnMapping> resolveColumnMappings(ResultSetWrapper resultSetWrapper,
+                                                                        ResultMap resultMap) {
+        Class<?> resultType = resultMap.getType();
+        if (hasTypeHandlerForResultObject(resultSetWrapper, resultType)
+                || resultMap.hasNestedQueries()
+                || Map.class.isAssignableFrom(resultType)
+                || resultType.isInterface()
+                || Modifier.isAbstract(resultType.getModifiers())) {
+            return null;
+        }
+
+        MetaObject metaObject = configuration.newMetaObject(objectFactory.create(resultType));
+        List<RowMapperCompiler.ColumnMapping> columnMappings = new ArrayList<>();
+        if (shouldApplyAutomaticMappings(resultMap, false)) {
+            for (UnMappedColumnAutoMapping mapping : createAutomaticMappings(resultSetWrapper, resultMap, metaObject, null)) {
+                columnMappings.add(new RowMapperCompiler.ColumnMapping(resultSetWrapper.getColumnIndex(mapping.column),
+                        mapping.property, metaObject.getSetterType(mapping.property), mapping.typeHandler));
+            }
+        }
+
+        List<String> mappedColumnNames = resultSetWrapper.getMappedColumnNames(resultMap, null);
+        for (ResultMapping propertyMapping : resultMap.getPropertyResultMappings()) {
+            if (propertyMapping.getNestedResultMapId() != null || propertyMapping.getNestedQueryId() != null) {
+                continue;
+            }
+
+            String column = propertyMapping.getColumn();
+            String property = propertyMapping.getProperty();
+            if (column == null || property == null
+                    || !mappedColumnNames.contains(column.toUpperCase(Locale.ENGLISH))) {
+                continue;
+            }
+
+            if (!metaObject.hasSetter(property)) {
+                return null;
+            }
+
+            Class<?> propertyType = metaObject.getSetterType(property);
+            TypeHandler<?> typeHandler = propertyMapping.getTypeHandler();
+            if (typeHandler == null) {
+                typeHandler = resultSetWrapper.getTypeHandler(propertyType, column);
+            }
+
+            int columnIndex = resultSetWrapper.getColumnIndex(column);
+            if (columnIndex < 0) {
+                return null;
+            }
+
+            columnMappings.add(new RowMapperCompiler.ColumnMapping(columnIndex, property, propertyType, typeHandler));
+        }
+
+        return columnMappings;
+    }
+
+    /**
+     * 判断是否需要自动映射
+     *
+     * @param resultMap 结果 Map
+     * @param isNested  是否嵌套
+     * @return 是否需要自动映射
+     */
+    private boolean shouldApplyAutomaticMappings(ResultMap resultMap, boolean isNested) {
+        if (resultMap.getAutoMapping() != null) {
+            return resultMap.getAutoMapping();
+        }
+
+        if (isNested) {
+            return AutoMappingBehavior.FULL == configuration.getAutoMappingBehavior();
+        }
+
+        return AutoMappingBehavior.NONE != configuration.getAutoMappingBehavior();
+    }
+
+    /**
+     * 应用属性映射
+     *
+     * @param resultSetWrapper 结果集包装器
+     * @param resultMap        结果 Map
+     * @param metaObject       结果对象的元对象
+     * @param columnPrefix     列名前缀
+     * @return 是否映射到值
+     * @throws SQLException SQL 异常
+     */
+    private boolean applyPropertyMappings(ResultSetWrapper resultSetWrapper,
+                                          ResultMap resultMap,
+                                          MetaObject metaObject,
+                                          String columnPrefix) throws SQLException {
+        final List<String> mappedColumnNames = resultSetWrapper.getMappedColumnNames(resultMap, columnPrefix);
+        boolean foundValues = false;
+        for (ResultMapping propertyMapping : resultMap.getPropertyResultMappings()) {
+            if (propertyMapping.getNestedResultMapId() != null || propertyMapping.getNestedQueryId() != null) {
+                continue;
+            }
+
+            String column = prependPrefix(propertyMapping.getColumn(), columnPrefix);
+            String property = propertyMapping.getProperty();
+            if (column == null || property == null
+                    || !mappedColumnNames.contains(column.toUpperCase(Locale.ENGLISH))) {
+                continue;
+            }
+
+            TypeHandler<?> typeHandler = propertyMapping.getTypeHandler();
+            if (typeHandler == null) {
+                typeHandler = resultSetWrapper.getTypeHandler(metaObject.getSetterType(property), column);
+            }
+
+            Object value = typeHandler.getResult(resultSetWrapper.getResultSet(), column);
+            if (value != null) {
+                foundValues = true;
+            }
+
+            if (value != null || (configuration.isCallSetterOnNulls() && !metaObject.getSetterType(property).isPrimitive())) {
+                metaObject.setValue(property, value);
+            }
+        }
+
+        return foundValues;
+    }
+
+    /**
+     * 应用嵌套查询映射
+     * 批量加载时只记录外键，等所有行映射完成后统一加载，否则逐行执行嵌套查询
+     *
+     * @param resultSetWrapper 结果集包装器
+     * @param resultMap        结果 Map
+     * @param metaObject       结果对象的元对象
+     * @param columnPrefix     列名前缀
+     * @return 是否映射到值
+     * @throws SQLException SQL 异常
+     */
+    private boolean applyNestedQueryMappings(ResultSetWrapper resultSetWrapper,
+                                             ResultMap resultMap,
+                                             MetaObject metaObject,
+                                             String columnPrefix) throws SQLException {
+        if (!resultMap.hasNestedQueries()) {
+            return false;
+        }
+
+        boolean foundValues = false;
+        for (ResultMapping propertyMapping : resultMap.getPropertyResultMappings()) {
+            final String nestedQueryId = propertyMapping.getNestedQueryId();
+            if (nestedQueryId == null) {
+                continue;
+            }
+
+            final String column = prependPrefix(propertyMapping.getColumn(), columnPrefix);
+            if (column == null || resultSetWrapper.getColumnIndex(column) < 0) {
+                continue;
+            }
+
+            final Object key = resultSetWrapper.getTypeHandler(Object.class, column)
+                    .getResult(resultSetWrapper.getResultSet(), column);
+            if (key == null) {
+                continue;
+            }
+
+            final MappedStatement nestedStatement = configuration.getMappedStatement(nestedQueryId);
+            final PendingNestedSelect nestedSelect = new PendingNestedSelect(metaObject, propertyMapping, key,
+                    objectFactory.isCollection(metaObject.getSetterType(propertyMapping.getProperty())));
+            if (pendingNestedSelects != null && resolveBatchSize(propertyMapping) > 0) {
+                pendingNestedSelects.add(nestedSelect);
+            } else {
+                nestedSelect.setValue(executor.query(nestedStatement, key, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER));
+            }
+            foundValues = true;
+        }
+
+        return foundValues;
+    }
+
+    /**
+     * 获取嵌套查询的批量加载大小，映射未指定时使用全局配置
+     *
+     * @param propertyMapping 属性映射
+     * @return 批量加载大小，0 表示逐行加载
+     */
+    private int resolveBatchSize(ResultMapping propertyMapping) {
+        Integer batchSize = propertyMapping.getBatchSize() != null
+                ? propertyMapping.getBatchSize()
+                : configuration.getDefaultNestedSelectBatchSize();
+        return batchSize == null ? 0 : batchSize;
+    }
+
+    /**
+     * 批量加载等待中的嵌套查询
+     * 按嵌套查询和批量大小分组，去重后的外键按批量大小分块，每块执行一次 IN 查询，子对象按外键属性分配回父对象，
+     * 子对象的外键属性为 null 时说明外键列没有映射，改为逐个执行嵌套查询
+     *
+     * @throws SQLException SQL 异常
+     */
+    private void loadPendingNestedSelects() throws SQLException {
+        if (pendingNestedSelects.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<PendingNestedSelect>> groups = new LinkedHashMap<>();
+        for (PendingNestedSelect nestedSelect : pendingNestedSelects) {
+            ResultMapping propertyMapping = nestedSelect.propertyMapping;
+            String groupKey = propertyMapping.getNestedQueryId() + ":" + resolveBatchSize(propertyMapping);
+            groups.computeIfAbsent(groupKey, k -> new ArrayList<>()).add(nestedSelect);
+        }
+        pendingNestedSelects.clear();
+
+        for (List<PendingNestedSelect> nestedSelects : groups.values()) {
+            ResultMapping propertyMapping = nestedSelects.get(0).propertyMapping;
+            MappedStatement nestedStatement = configuration.getMappedStatement(propertyMapping.getNestedQueryId());
+            NestedSelectBatchBuilder batchBuilder = NestedSelectBatchBuilder.of(nestedStatement, nestedSelects.get(0).key);
+            if (batchBuilder == null) {
+                loadNestedSelectsPerRow(nestedStatement, nestedSelects);
+                continue;
+            }
+
+            Map<Object, Object> keys = new LinkedHashMap<>();
+            for (PendingNestedSelect nestedSelect : nestedSelects) {
+                keys.putIfAbsent(normalizeKey(nestedSelect.key), nestedSelect.key);
+            }
+
+            Map<Object, List<Object>> children = new HashMap<>();
+            List<Object> distinctKeys = new ArrayList<>(keys.values());
+            int batchSize = resolveBatchSize(propertyMapping);
+            boolean keyed = true;
+            for (int from = 0; keyed && from < distinctKeys.size(); from += batchSize) {
+                List<Object> chunk = distinctKeys.subList(from, Math.min(from + batchSize, distinctKeys.size()));
+                List<Object> results = executor.query(batchBuilder.build(chunk), null,
+                        RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+                for (Object child : results) {
+                    Object childKey = child == null
+                            ? null : configuration.newMetaObject(child).getValue(batchBuilder.getKeyProperty());
+                    if (childKey == null) {
+                        // 外键列没有映射到子对象，无法分配回父对象
+                        keyed = false;
+                        break;
+                    }
+                    children.computeIfAbsent(normalizeKey(childKey), k -> new ArrayList<>()).add(child);
+                }
+            }
+
+            if (!keyed) {
+                loadNestedSelectsPerRow(nestedStatement, nestedSelects);
+                continue;
+            }
+
+            for (PendingNestedSelect nestedSelect : nestedSelects) {
+                nestedSelect.setValue(children.getOrDefault(normalizeKey(nestedSelect.key), Collections.emptyList()));
+            }
+        }
+    }
+
+    /**
+     * 逐个执行嵌套查询
+     *
+     * @param nestedStatement 嵌套查询的语句
+     * @param nestedSelects   待加载的嵌套查询
+     * @throws SQLException SQL 异常
+     */
+    private void loadNestedSelectsPerRow(MappedStatement nestedStatement,
+                                         List<PendingNestedSelect> nestedSelects) throws SQLException {
+        for (PendingNestedSelect nestedSelect : nestedSelects) {
+            nestedSelect.setValue(executor.query(nestedStatement, nestedSelect.key,
+                    RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER));
+        }
+    }
+
+    /**
+     * 统一外键值的类型，父对象的列和子对象的属性可能是不同宽度的整数
+     *
+     * @param key 外键值
+     * @return 统一类型后的外键值
+     */
+    private static Object normalizeKey(Object key) {
+        if (key instanceof Integer || key instanceof Long || key instanceof Short || key instanceof Byte) {
+            return ((Number) key).longValue();
+        }
+
+        return key;
+    }
+
+    /**
+     * 应用自动映射
+     *
+     * @param resultSetWrapper 结果集包装器
+     * @param resultMap        结果 Map
+     * @param metaObject       结果对象的元对象
+     * @param columnPrefix     列名前缀
+     * @return 是否映射到值
+     * @throws SQLException SQL 异常
+     */
+    private boolean applyAutomaticMappings(ResultSetWrapper resultSetWrapper,
+                                           ResultMap resultMap,
+                                           MetaObject metaObject,
+                                           String columnPrefix) throws SQLException {
+        List<UnMappedColumnAutoMapping> autoMappings = createAutomaticMappings(
+                resultSetWrapper, resultMap, metaObject, columnPrefix);
+        boolean foundValues = false;
+        for (UnMappedColumnAutoMapping mapping : autoMappings) {
+            final Object value = mapping.typeHandler.getResult(resultSetWrapper.getResultSet(), mapping.columnIndex);
+            if (value != null) {
+                foundValues = true;
+            }
+
+            if (value != null || (configuration.isCallSetterOnNulls() && !mapping.primitive)) {
+                mapping.setValue(metaObject, value);
+            }
+        }
+
+        return foundValues;
+    }
+
+    /**
+     * 创建未映射列的自动映射，按结果 Map 和列名前缀缓存在结果集的列结构中，同一语句的后续执行直接复用
+     * 未知列的处理只在创建时执行一次，不在逐行映射的路径上
+     *
+     * @param resultSetWrapper 结果集包装器
+     * @param resultMap        结果 Map
+     * @param metaObject       结果对象的元对象
+     * @param columnPrefix     列名前缀
+     * @return 自动映射
+     */
+    private List<UnMappedColumnAutoMapping> createAutomaticMappings(ResultSetWrapper resultSetWrapper,
+                                                                    ResultMap resultMap,
+                                                                    MetaObject metaObject,
+                                                                    String columnPrefix) {
+        ResultSetSchema schema = resultSetWrapper.getSchema();
+        List<UnMappedColumnAutoMapping> autoMappings = schema.getAutoMappings(resultMap, columnPrefix);
+        if (autoMappings != null) {
+            return autoMappings;
+        }
+
+        final Object originalObject = metaObject.getOriginalObject();
+        final MetaClass metaClass = originalObject instanceof Map
+                ? null : MetaClass.forClass(originalObject.getClass(), configuration.getReflectorFactory());
+
+        autoMappings = new ArrayList<>();
+        final List<String> unmappedColumnNames = resultSetWrapper.getUnmappedColumnNames(resultMap, columnPrefix);
+        for (String columnName : unmappedColumnNames) {
+            String propertyName = columnName;
+            if (columnPrefix != null && !columnPrefix.isEmpty()) {
+                if (!columnName.toUpperCase(Locale.ENGLISH).startsWith(columnPrefix.toUpperCase(Locale.ENGLISH))) {
+                    continue;
+                }
+                propertyName = columnName.substring(columnPrefix.length());
+            }
+
+            final String property = metaObject.findProperty(propertyName, configuration.isMapUnderscoreToCamelCase());
+            if (property != null && metaObject.hasSetter(property)) {
+                if (resultMap.getMappedProperties().contains(property)) {
+                    continue;
+                }
+
+                final Class<?> propertyType = metaObject.getSetterType(property);
+                if (typeHandlerRegistry.hasTypeHandler(propertyType, resultSetWrapper.getJdbcType(columnName))) {
+                    final TypeHandler<?> typeHandler = resultSetWrapper.getTypeHandler(propertyType, columnName);
+                    final Invoker setter = metaClass != null && property.indexOf('.') < 0 && property.indexOf('[') < 0
+                            ? metaClass.getSetInvoker(property) : null;
+                    autoMappings.add(new UnMappedColumnAutoMapping(columnName, resultSetWrapper.getColumnIndex(columnName),
+                            property, setter, typeHandler, propertyType.isPrimitive()));
+                } else {
+                    configuration.getAutoMappingUnknownColumnBehavior()
+                            .doAction(mappedStatement, columnName, property, propertyType);
+                }
+            } else {
+                configuration.getAutoMappingUnknownColumnBehavior()
+                        .doAction(mappedStatement, columnName, property != null ? property : propertyName, null);
+            }
+        }
+
+        autoMappings = Collections.unmodifiableList(autoMappings);
+        schema.putAutoMappings(resultMap, columnPrefix, autoMappings);
+        return autoMappings;
+    }
+
+    /**
+     * 创建结果对象
+     *
+     * @param resultSetWrapper 结果集包装器
+     * @param resultMap        结果 Map
+     * @param columnPrefix     列名前缀
+     * @return 结果对象
+     * @throws SQLException SQL 异常
+     */
+    private Object createResultObject(ResultSetWrapper resultSetWrapper,
+                                      ResultMap resultMap,
+                                      String columnPrefix) throws SQLException {
+        final Class<?> resultType = resultMap.getType();
+        if (hasTypeHandlerForResultObject(resultSetWrapper, resultType)) {
+            return createPrimitiveResultObject(resultSetWrapper, resultMap, columnPrefix);
+        }
+
+        return objectFactory.create(resultType);
+    }
+
+    /**
+     * 创建简单类型的结果对象
+     *
+     * @param resultSetWrapper 结果集包装器
+     * @param resultMap        结果 Map
+     * @param columnPrefix     列名前缀
+     * @return 结果对象
+     * @throws SQLException SQL 异常
+     */
+    private Object createPrimitiveResultObject(ResultSetWrapper resultSetWrapper,
+                                               ResultMap resultMap,
+                                               String columnPrefix) throws SQLException {
+        final Class<?> resultType = resultMap.getType();
+        final String columnName;
+        if (!resultMap.getResultMappings().isEmpty()) {
+            columnName = prependPrefix(resultMap.getResultMappings().get(0).getColumn(), columnPrefix);
+        } else {
+            columnName = resultSetWrapper.getColumnNames().get(0);
+        }
+
+        final TypeHandler<?> typeHandler = resultSetWrapper.getTypeHandler(resultType, columnName);
+        return typeHandler.getResult(resultSetWrapper.getResultSet(), columnName);
+    }
+
+    /**
+     * 判断结果类型是否为单列的简单类型
+     *
+     * @param resultSetWrapper 结果集包装器
+     * @param resultType       结果类型
+     * @return 是否为单列的简单类型
+     */
+    private boolean hasTypeHandlerForResultObject(ResultSetWrapper resultSetWrapper, Class<?> resultType) {
+        if (resultSetWrapper.getColumnNames().size() == 1) {
+            return typeHandlerRegistry.hasTypeHandler(resultType, resultSetWrapper.getJdbcType(
+                    resultSetWrapper.getColumnNames().get(0)));
+        }
+
+        return typeHandlerRegistry.hasTypeHandler(resultType);
+    }
+
+    /**
+     * 添加列名前缀
+     *
+     * @param columnName 列名
+     * @param prefix     前缀
+     * @return 添加前缀后的列名
+     */
+    private String prependPrefix(String columnName, String prefix) {
+        if (columnName == null || columnName.isEmpty() || prefix == null || prefix.isEmpty()) {
+            return columnName;
+        }
+
+        return prefix + columnName;
+    }
+
+    /**
+     * 取消结果集所属的语句，数据库停止发送剩余的行
+     *
+     * @param resultSet 结果集
+     */
+    private void cancelStatement(ResultSet resultSet) {
+        try {
+            Statement statement = resultSet.getStatement();
+            if (statement != null) {
+                statement.cancel();
+            }
+        } catch (SQLException e) {
+            // 驱动不支持时忽略
+        }
+    }
+
+    /**
+     * 关闭结果集
+     *
+     * @param resultSet 结果集
+     */
+    private void closeResultSet(ResultSet resultSet) {
+        try {
+            if (resultSet != null) {
+                resultSet.close();
+            }
+        } catch (SQLException e) {
+            // 忽略
+        }
+    }
+
+    /**
+     * 等待加载的嵌套查询
+     */
+    private class PendingNestedSelect {
+        /**
+         * 父对象的元对象
+         */
+        private final MetaObject metaObject;
+
+        /**
+         * 属性映射
+         */
+        private final ResultMapping propertyMapping;
+
+        /**
+         * 外键值
+         */
+        private final Object key;
+
+        /**
+         * 属性是否为集合
+         */
+        private final boolean collection;
+
+        PendingNestedSelect(MetaObject metaObject, ResultMapping propertyMapping, Object key, boolean collection) {
+            this.metaObject = metaObject;
+            this.propertyMapping = propertyMapping;
+            this.key = key;
+            this.collection = collection;
+        }
+
+        /**
+         * 把嵌套查询的结果设置到父对象的属性上
+         *
+         * @param results 嵌套查询的结果
+         */
+        void setValue(List<Object> results) {
+            final String property = propertyMapping.getProperty();
+            if (collection) {
+                Object collectionValue = objectFactory.create(metaObject.getSetterType(property));
+                configuration.newMetaObject(collectionValue).addAll(results);
+                metaObject.setValue(property, collectionValue);
+                return;
+            }
+
+            if (results.size() > 1) {
+                throw new ExecutorException("Statement '" + propertyMapping.getNestedQueryId()
+                        + "' returned more than one row for property '" + property
+                        + "', where no more than one was expected.");
+            }
+
+            if (!results.isEmpty()) {
+                metaObject.setValue(property, results.get(0));
+            }
+        }
+    }
+
+    /**
+     * 未映射列的自动映射
+     */
+    static class UnMappedColumnAutoMapping {
+        /**
+         * 列名
+         */
+        private final String column;
+
+        /**
+         * 列的下标，从 1 开始
+         */
+        private final int columnIndex;
+
+        /**
+         * 属性
+         */
+        private final String property;
+
+        /**
+         * 属性的 setter，结果对象是 Map 或属性是嵌套属性时为 null
+         */
+        private final Invoker setter;
+
+        /**
+         * 类型处理器
+         */
+        private final TypeHandler<?> typeHandler;
+
+        /**
+         * 属性是否为基本类型
+         */
+        private final boolean primitive;
+
+        UnMappedColumnAutoMapping(String column,
+                                  int columnIndex,
+                                  String property,
+                                  Invoker setter,
+                                  TypeHandler<?> typeHandler,
+                                  boolean primitive) {
+            this.column = column;
+            this.columnIndex = columnIndex;
+            this.property = property;
+            this.setter = setter;
+            this.typeHandler = typeHandler;
+            this.primitive = primitive;
+        }
+
+        /**
+         * 设置属性值，有 setter 时直接调用，否则通过元对象设置
+         *
+         * @param metaObject 结果对象的元对象
+         * @param value      属性值
+         */
+        void setValue(MetaObject metaObject, Object value) {
+            if (setter == null) {
+                metaObject.setValue(property, value);
+                return;
+            }
+
+            Object object = metaObject.getOriginalObject();
+            try {
+                try {
+                    setter.invoke(object, new Object[]{value});
+                } catch (Throwable t) {
+                    throw ExceptionUtil.unwrapThrowable(t);
+                }
+            } catch (Throwable t) {
+                throw new ReflectionException("Could not set property '" + property + "' of '" + object.getClass()
+                        + "' with value '" + value + "' Cause: " + t.toString(), t);
+            }
+        }
+    }
+}
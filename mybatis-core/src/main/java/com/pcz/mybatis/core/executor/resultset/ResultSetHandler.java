@@ -0,0 +1,34 @@
+package com.pcz.mybatis.core.executor.resultset;
+
+import com.pcz.mybatis.core.cursor.Cursor;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * 结果集处理器
+ *
+ * @author picongzhi
+ */
+public interface ResultSetHandler {
+    /**
+     * 处理结果集
+     *
+     * @param statement 语句
+     * @param <E>       泛型
+     * @return 结果
+     * @throws SQLException SQL 异常
+     */
+    <E> List<E> handleResultSets(Statement statement) throws SQLException;
+
+    /**
+     * 处理游标结果集，只处理第一个结果集
+     *
+     * @param statement 语句
+     * @param <E>       泛型
+     * @return 游标
+     * @throws SQLException SQL 异常
+     */
+    <E> Cursor<E> handleCursorResultSets(Statement statement) throws SQLException;
+}
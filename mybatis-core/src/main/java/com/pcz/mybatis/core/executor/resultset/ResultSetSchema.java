@@ -0,0 +1,389 @@
+package com.pcz.mybatis.core.executor.resultset;
+
+import com.pcz.mybatis.core.io.Resources;
+import com.pcz.mybatis.core.mapping.ResultMap;
+import com.pcz.mybatis.core.type.JdbcType;
+import com.pcz.mybatis.core.type.ObjectTypeHandler;
+import com.pcz.mybatis.core.type.TypeHandler;
+import com.pcz.mybatis.core.type.TypeHandlerRegistry;
+import com.pcz.mybatis.core.type.UnknownTypeHandler;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 结果集的列结构
+ * 保存列名、列的 Jdbc 类型和 Java 类名，以及解析出的类型处理器和列与结果 Map 的映射关系
+ * 由映射的语句按结果集下标缓存，列数和列名都相同时在后续执行中复用，可以被多个线程共享
+ *
+ * @author picongzhi
+ */
+public class ResultSetSchema {
+    /**
+     * 类型处理器注册器
+     */
+    private final TypeHandlerRegistry typeHandlerRegistry;
+
+    /**
+     * 列名
+     */
+    private final String[] labels;
+
+    /**
+     * 列名的哈希值
+     */
+    private final int labelHash;
+
+    /**
+     * 是否使用列标签
+     */
+    private final boolean useColumnLabel;
+
+    /**
+     * 列名
+     */
+    private final List<String> columnNames;
+
+    /**
+     * 列的 Java 类名
+     */
+    private final List<String> classNames;
+
+    /**
+     * 列的 Jdbc 类型
+     */
+    private final List<JdbcType> jdbcTypes;
+
+    /**
+     * 大写列名 -> 列的下标，从 0 开始
+     */
+    private final Map<String, Integer> columnIndexes;
+
+    /**
+     * 列签名
+     */
+    private final String columnSignature;
+
+    /**
+     * 列名 -> (Java 类型 -> 类型处理器)
+     */
+    private final Map<String, Map<Class<?>, TypeHandler<?>>> typeHandlerMap = new ConcurrentHashMap<>();
+
+    /**
+     * 结果 Map 映射的列名
+     */
+    private final Map<String, List<String>> mappedColumnNamesMap = new ConcurrentHashMap<>();
+
+    /**
+     * 结果 Map 未映射的列名
+     */
+    private final Map<String, List<String>> unMappedColumnNamesMap = new ConcurrentHashMap<>();
+
+    /**
+     * 结果 Map 的自动映射
+     */
+    private final Map<String, List<DefaultResultSetHandler.UnMappedColumnAutoMapping>> autoMappingsMap =
+            new ConcurrentHashMap<>();
+
+    /**
+     * 结果 Map 的行 key 读取计划
+     */
+    private final Map<String, RowKey.Plan> rowKeyPlanMap = new ConcurrentHashMap<>();
+
+    private ResultSetSchema(TypeHandlerRegistry typeHandlerRegistry,
+                            String[] labels,
+                            int labelHash,
+                            boolean useColumnLabel,
+                            ResultSetMetaData metaData) throws SQLException {
+        this.typeHandlerRegistry = typeHandlerRegistry;
+        this.labels = labels;
+        this.labelHash = labelHash;
+        this.useColumnLabel = useColumnLabel;
+
+        List<String> classNameList = new ArrayList<>(labels.length);
+        List<JdbcType> jdbcTypeList = new ArrayList<>(labels.length);
+        Map<String, Integer> indexes = new HashMap<>();
+        StringBuilder signature = new StringBuilder();
+        for (int i = 0; i < labels.length; i++) {
+            JdbcType jdbcType = JdbcType.forCode(metaData.getColumnType(i + 1));
+            String className = metaData.getColumnClassName(i + 1);
+            jdbcTypeList.add(jdbcType);
+            classNameList.add(className);
+            indexes.putIfAbsent(labels[i].toUpperCase(Locale.ENGLISH), i);
+            signature.append(labels[i]).append(':').append(jdbcType).append(':').append(className).append(';');
+        }
+
+        this.columnNames = Collections.unmodifiableList(Arrays.asList(labels));
+        this.classNames = Collections.unmodifiableList(classNameList);
+        this.jdbcTypes = Collections.unmodifiableList(jdbcTypeList);
+        this.columnIndexes = indexes;
+        this.columnSignature = signature.toString();
+    }
+
+    /**
+     * 读取结果集的列结构，列数和列名都与缓存的列结构相同时直接复用
+     *
+     * @param metaData            结果集元数据
+     * @param typeHandlerRegistry 类型处理器注册器
+     * @param useColumnLabel      是否使用列标签
+     * @param cached              缓存的列结构，可以为 null
+     * @return 列结构
+     * @throws SQLException SQL 异常
+     */
+    public static ResultSetSchema of(ResultSetMetaData metaData,
+                                     TypeHandlerRegistry typeHandlerRegistry,
+                                     boolean useColumnLabel,
+                                     ResultSetSchema cached) throws SQLException {
+        int columnCount = metaData.getColumnCount();
+        String[] labels = new String[columnCount];
+        int labelHash = 1;
+        for (int i = 0; i < columnCount; i++) {
+            labels[i] = useColumnLabel ? metaData.getColumnLabel(i + 1) : metaData.getColumnName(i + 1);
+            labelHash = 31 * labelHash + (labels[i] == null ? 0 : labels[i].hashCode());
+        }
+
+        if (cached != null && cached.matches(labels, labelHash, useColumnLabel, typeHandlerRegistry)) {
+            return cached;
+        }
+
+        return new ResultSetSchema(typeHandlerRegistry, labels, labelHash, useColumnLabel, metaData);
+    }
+
+    /**
+     * 判断列结构是否相同
+     *
+     * @param otherLabels         列名
+     * @param otherLabelHash      列名的哈希值
+     * @param otherUseColumnLabel 是否使用列标签
+     * @param otherRegistry       类型处理器注册器
+     * @return 是否相同
+     */
+    private boolean matches(String[] otherLabels,
+                            int otherLabelHash,
+                            boolean otherUseColumnLabel,
+                            TypeHandlerRegistry otherRegistry) {
+        return labels.length == otherLabels.length
+                && labelHash == otherLabelHash
+                && useColumnLabel == otherUseColumnLabel
+                && typeHandlerRegistry == otherRegistry
+                && Arrays.equals(labels, otherLabels);
+    }
+
+    public List<String> getColumnNames() {
+        return columnNames;
+    }
+
+    public List<String> getClassNames() {
+        return classNames;
+    }
+
+    public List<JdbcType> getJdbcTypes() {
+        return jdbcTypes;
+    }
+
+    public String getColumnSignature() {
+        return columnSignature;
+    }
+
+    /**
+     * 获取列的下标
+     *
+     * @param columnName 列名
+     * @return 列的下标，从 1 开始，找不到时返回 -1
+     */
+    public int getColumnIndex(String columnName) {
+        Integer index = columnName == null ? null : columnIndexes.get(columnName.toUpperCase(Locale.ENGLISH));
+        return index == null ? -1 : index + 1;
+    }
+
+    /**
+     * 获取列的 Jdbc 类型
+     *
+     * @param columnName 列名
+     * @return Jdbc 类型
+     */
+    public JdbcType getJdbcType(String columnName) {
+        int index = getColumnIndex(columnName);
+        return index < 0 ? null : jdbcTypes.get(index - 1);
+    }
+
+    /**
+     * 获取读取列使用的类型处理器
+     * 先根据属性类型和列的 Jdbc 类型查找，找不到时根据列的 Java 类型查找，最后使用对象类型处理器
+     *
+     * @param propertyType 属性类型
+     * @param columnName   列名
+     * @return 类型处理器
+     */
+    public TypeHandler<?> getTypeHandler(Class<?> propertyType, String columnName) {
+        Map<Class<?>, TypeHandler<?>> columnHandlers = typeHandlerMap.computeIfAbsent(
+                columnName, k -> new ConcurrentHashMap<>());
+        TypeHandler<?> handler = columnHandlers.get(propertyType);
+        if (handler != null) {
+            return handler;
+        }
+
+        JdbcType jdbcType = getJdbcType(columnName);
+        handler = typeHandlerRegistry.getTypeHandler(propertyType, jdbcType);
+        if (handler == null || handler instanceof UnknownTypeHandler) {
+            final int index = columnNames.indexOf(columnName);
+            final Class<?> javaType = index < 0 ? null : resolveClass(classNames.get(index));
+            if (javaType != null) {
+                handler = typeHandlerRegistry.getTypeHandler(javaType, jdbcType);
+            }
+        }
+
+        if (handler == null || handler instanceof UnknownTypeHandler) {
+            handler = new ObjectTypeHandler();
+        }
+
+        columnHandlers.put(propertyType, handler);
+        return handler;
+    }
+
+    /**
+     * 获取结果 Map 映射的列名
+     *
+     * @param resultMap    结果 Map
+     * @param columnPrefix 列名前缀
+     * @return 映射的列名，大写
+     */
+    public List<String> getMappedColumnNames(ResultMap resultMap, String columnPrefix) {
+        List<String> mappedColumnNames = mappedColumnNamesMap.get(getMapKey(resultMap, columnPrefix));
+        if (mappedColumnNames == null) {
+            loadMappedAndUnmappedColumnNames(resultMap, columnPrefix);
+            mappedColumnNames = mappedColumnNamesMap.get(getMapKey(resultMap, columnPrefix));
+        }
+
+        return mappedColumnNames;
+    }
+
+    /**
+     * 获取结果 Map 未映射的列名
+     *
+     * @param resultMap    结果 Map
+     * @param columnPrefix 列名前缀
+     * @return 未映射的列名
+     */
+    public List<String> getUnmappedColumnNames(ResultMap resultMap, String columnPrefix) {
+        List<String> unMappedColumnNames = unMappedColumnNamesMap.get(getMapKey(resultMap, columnPrefix));
+        if (unMappedColumnNames == null) {
+            loadMappedAndUnmappedColumnNames(resultMap, columnPrefix);
+            unMappedColumnNames = unMappedColumnNamesMap.get(getMapKey(resultMap, columnPrefix));
+        }
+
+        return unMappedColumnNames;
+    }
+
+    /**
+     * 获取缓存的自动映射
+     *
+     * @param resultMap    结果 Map
+     * @param columnPrefix 列名前缀
+     * @return 自动映射，未缓存时返回 null
+     */
+    List<DefaultResultSetHandler.UnMappedColumnAutoMapping> getAutoMappings(ResultMap resultMap, String columnPrefix) {
+        return autoMappingsMap.get(getMapKey(resultMap, columnPrefix));
+    }
+
+    /**
+     * 缓存自动映射
+     *
+     * @param resultMap    结果 Map
+     * @param columnPrefix 列名前缀
+     * @param autoMappings 自动映射
+     */
+    void putAutoMappings(ResultMap resultMap,
+                         String columnPrefix,
+                         List<DefaultResultSetHandler.UnMappedColumnAutoMapping> autoMappings) {
+        autoMappingsMap.put(getMapKey(resultMap, columnPrefix), autoMappings);
+    }
+
+    /**
+     * 获取缓存的行 key 读取计划
+     *
+     * @param resultMap    结果 Map
+     * @param columnPrefix 列名前缀
+     * @return 行 key 读取计划，未缓存时返回 null
+     */
+    RowKey.Plan getRowKeyPlan(ResultMap resultMap, String columnPrefix) {
+        return rowKeyPlanMap.get(getMapKey(resultMap, columnPrefix));
+    }
+
+    /**
+     * 缓存行 key 读取计划
+     *
+     * @param resultMap    结果 Map
+     * @param columnPrefix 列名前缀
+     * @param rowKeyPlan   行 key 读取计划
+     */
+    void putRowKeyPlan(ResultMap resultMap, String columnPrefix, RowKey.Plan rowKeyPlan) {
+        rowKeyPlanMap.put(getMapKey(resultMap, columnPrefix), rowKeyPlan);
+    }
+
+    /**
+     * 加载结果 Map 映射和未映射的列名
+     *
+     * @param resultMap    结果 Map
+     * @param columnPrefix 列名前缀
+     */
+    private void loadMappedAndUnmappedColumnNames(ResultMap resultMap, String columnPrefix) {
+        List<String> mappedColumnNames = new ArrayList<>();
+        List<String> unmappedColumnNames = new ArrayList<>();
+        final String upperColumnPrefix = columnPrefix == null ? null : columnPrefix.toUpperCase(Locale.ENGLISH);
+        final Set<String> mappedColumns = resultMap.getMappedColumns();
+        for (String columnName : columnNames) {
+            final String upperColumnName = columnName.toUpperCase(Locale.ENGLISH);
+            boolean mapped = upperColumnPrefix == null
+                    ? mappedColumns.contains(upperColumnName)
+                    : upperColumnName.startsWith(upperColumnPrefix)
+                    && mappedColumns.contains(upperColumnName.substring(upperColumnPrefix.length()));
+            if (mapped) {
+                mappedColumnNames.add(upperColumnName);
+            } else {
+                unmappedColumnNames.add(columnName);
+            }
+        }
+
+        mappedColumnNamesMap.put(getMapKey(resultMap, columnPrefix), Collections.unmodifiableList(mappedColumnNames));
+        unMappedColumnNamesMap.put(getMapKey(resultMap, columnPrefix), Collections.unmodifiableList(unmappedColumnNames));
+    }
+
+    /**
+     * 获取结果 Map 的 key
+     *
+     * @param resultMap    结果 Map
+     * @param columnPrefix 列名前缀
+     * @return key
+     */
+    private String getMapKey(ResultMap resultMap, String columnPrefix) {
+        return resultMap.getId() + ":" + columnPrefix;
+    }
+
+    /**
+     * 解析类
+     *
+     * @param className 类名
+     * @return Class 实例，解析失败时返回 null
+     */
+    private Class<?> resolveClass(String className) {
+        if (className == null) {
+            return null;
+        }
+
+        try {
+            return Resources.classForName(className);
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.pcz.mybatis.core.executor.resultset;
+
+import com.pcz.mybatis.core.mapping.ResultMap;
+import com.pcz.mybatis.core.session.Configuration;
+import com.pcz.mybatis.core.type.JdbcType;
+import com.pcz.mybatis.core.type.TypeHandler;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * 结果集包装器
+ * 持有结果集和它的列结构，列信息以及列与结果 Map 的映射关系由 {@link ResultSetSchema} 缓存
+ *
+ * @author picongzhi
+ */
+public class ResultSetWrapper {
+    /**
+     * 结果集
+     */
+    private final ResultSet resultSet;
+
+    /**
+     * 列结构
+     */
+    private final ResultSetSchema schema;
+
+    public ResultSetWrapper(ResultSet resultSet, Configuration configuration) throws SQLException {
+        this(resultSet, configuration, null);
+    }
+
+    public ResultSetWrapper(ResultSet resultSet,
+                            Configuration configuration,
+                            ResultSetSchema cachedSchema) throws SQLException {
+        this.resultSet = resultSet;
+        this.schema = ResultSetSchema.of(resultSet.getMetaData(), configuration.getTypeHandlerRegistry(),
+                configuration.isUseColumnLabel(), cachedSchema);
+    }
+
+    public ResultSet getResultSet() {
+        return resultSet;
+    }
+
+    public ResultSetSchema getSchema() {
+        return schema;
+    }
+
+    public List<String> getColumnNames() {
+        return schema.getColumnNames();
+    }
+
+    public List<String> getClassNames() {
+        return schema.getClassNames();
+    }
+
+    public List<JdbcType> getJdbcTypes() {
+        return schema.getJdbcTypes();
+    }
+
+    /**
+     * 获取列的下标
+     *
+     * @param columnName 列名
+     * @return 列的下标，从 1 开始，找不到时返回 -1
+     */
+    public int getColumnIndex(String columnName) {
+        return schema.getColumnIndex(columnName);
+    }
+
+    /**
+     * 获取列签名，由列名、列的 Jdbc 类型和 Java 类型组成
+     *
+     * @return 列签名
+     */
+    public String getColumnSignature() {
+        return schema.getColumnSignature();
+    }
+
+    /**
+     * 获取列的 Jdbc 类型
+     *
+     * @param columnName 列名
+     * @return Jdbc 类型
+     */
+    public JdbcType getJdbcType(String columnName) {
+        return schema.getJdbcType(columnName);
+    }
+
+    /**
+     * 获取读取列使用的类型处理器
+     *
+     * @param propertyType 属性类型
+     * @param columnName   列名
+     * @return 类型处理器
+     */
+    public TypeHandler<?> getTypeHandler(Class<?> propertyType, String columnName) {
+        return schema.getTypeHandler(propertyType, columnName);
+    }
+
+    /**
+     * 获取结果 Map 映射的列名
+     *
+     * @param resultMap    结果 Map
+     * @param columnPrefix 列名前缀
+     * @return 映射的列名，大写
+     */
+    public List<String> getMappedColumnNames(ResultMap resultMap, String columnPrefix) {
+        return schema.getMappedColumnNames(resultMap, columnPrefix);
+    }
+
+    /**
+     * 获取结果 Map 未映射的列名
+     *
+     * @param resultMap    结果 Map
+     * @param columnPrefix 列名前缀
+     * @return 未映射的列名
+     */
+    public List<String> getUnmappedColumnNames(ResultMap resultMap, String columnPrefix) {
+        return schema.getUnmappedColumnNames(resultMap, columnPrefix);
+    }
+}
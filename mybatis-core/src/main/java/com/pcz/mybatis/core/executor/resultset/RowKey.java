@@ -0,0 +1,269 @@
+package com.pcz.mybatis.core.executor.resultset;
+
+import com.pcz.mybatis.core.mapping.ResultMap;
+import com.pcz.mybatis.core.mapping.ResultMapping;
+import com.pcz.mybatis.core.type.ByteTypeHandler;
+import com.pcz.mybatis.core.type.IntegerTypeHandler;
+import com.pcz.mybatis.core.type.JdbcType;
+import com.pcz.mybatis.core.type.LongTypeHandler;
+import com.pcz.mybatis.core.type.ShortTypeHandler;
+import com.pcz.mybatis.core.type.TypeHandler;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 嵌套结果映射中标识对象的行 key
+ * 由结果 Map、父对象的 key 和 id 列的值组成，整数列的值保存为 long，其他列的值保存为对象
+ *
+ * @author picongzhi
+ */
+final class RowKey {
+    /**
+     * 空的 long 数组
+     */
+    private static final long[] EMPTY_LONGS = new long[0];
+
+    /**
+     * 结果 Map
+     */
+    private final ResultMap resultMap;
+
+    /**
+     * 父对象的 key
+     */
+    private final RowKey parent;
+
+    /**
+     * 整数列的值
+     */
+    private final long[] longValues;
+
+    /**
+     * 值为 null 的整数列，第 i 位对应第 i 个整数列
+     */
+    private final long nullMask;
+
+    /**
+     * 其他列的值，没有其他列时为 null
+     */
+    private final Object[] objectValues;
+
+    /**
+     * 哈希值
+     */
+    private final int hashCode;
+
+    private RowKey(ResultMap resultMap, RowKey parent, long[] longValues, long nullMask, Object[] objectValues) {
+        this.resultMap = resultMap;
+        this.parent = parent;
+        this.longValues = longValues;
+        this.nullMask = nullMask;
+        this.objectValues = objectValues;
+
+        int hash = System.identityHashCode(resultMap);
+        hash = 31 * hash + (parent == null ? 0 : parent.hashCode);
+        hash = 31 * hash + Arrays.hashCode(longValues);
+        hash = 31 * hash + Long.hashCode(nullMask);
+        hash = 31 * hash + Arrays.hashCode(objectValues);
+        this.hashCode = hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (!(o instanceof RowKey)) {
+            return false;
+        }
+
+        RowKey rowKey = (RowKey) o;
+        return hashCode == rowKey.hashCode
+                && resultMap == rowKey.resultMap
+                && nullMask == rowKey.nullMask
+                && Arrays.equals(longValues, rowKey.longValues)
+                && Arrays.equals(objectValues, rowKey.objectValues)
+                && (parent == null ? rowKey.parent == null : parent.equals(rowKey.parent));
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return "RowKey{" +
+                "resultMap=" + resultMap.getId() +
+                ", longValues=" + Arrays.toString(longValues) +
+                ", nullMask=" + nullMask +
+                ", objectValues=" + Arrays.toString(objectValues) +
+                ", parent=" + parent +
+                '}';
+    }
+
+    /**
+     * 读取行 key 的计划，按结果集的列结构缓存
+     */
+    static final class Plan {
+        /**
+         * 结果 Map
+         */
+        private final ResultMap resultMap;
+
+        /**
+         * 整数列的下标
+         */
+        private final int[] longColumnIndexes;
+
+        /**
+         * 其他列的下标
+         */
+        private final int[] objectColumnIndexes;
+
+        /**
+         * 其他列的类型处理器
+         */
+        private final TypeHandler<?>[] objectTypeHandlers;
+
+        private Plan(ResultMap resultMap,
+                     int[] longColumnIndexes,
+                     int[] objectColumnIndexes,
+                     TypeHandler<?>[] objectTypeHandlers) {
+            this.resultMap = resultMap;
+            this.longColumnIndexes = longColumnIndexes;
+            this.objectColumnIndexes = objectColumnIndexes;
+            this.objectTypeHandlers = objectTypeHandlers;
+        }
+
+        /**
+         * 创建读取计划
+         * 使用结果集中存在的 id 列，没有时使用所有带前缀的列
+         *
+         * @param resultSetWrapper 结果集包装器
+         * @param resultMap        结果 Map
+         * @param columnPrefix     列名前缀
+         * @return 读取计划
+         */
+        static Plan create(ResultSetWrapper resultSetWrapper, ResultMap resultMap, String columnPrefix) {
+            List<String> columns = new ArrayList<>();
+            List<TypeHandler<?>> typeHandlers = new ArrayList<>();
+            for (ResultMapping resultMapping : resultMap.getIdResultMappings()) {
+                if (resultMapping.getNestedResultMapId() != null
+                        || resultMapping.getNestedQueryId() != null
+                        || resultMapping.getColumn() == null) {
+                    continue;
+                }
+
+                String column = columnPrefix == null ? resultMapping.getColumn() : columnPrefix + resultMapping.getColumn();
+                if (resultSetWrapper.getColumnIndex(column) > 0) {
+                    columns.add(column);
+                    typeHandlers.add(resultMapping.getTypeHandler());
+                }
+            }
+
+            if (columns.isEmpty()) {
+                String upperColumnPrefix = columnPrefix == null ? null : columnPrefix.toUpperCase(Locale.ENGLISH);
+                for (String column : resultSetWrapper.getColumnNames()) {
+                    if (upperColumnPrefix == null || column.toUpperCase(Locale.ENGLISH).startsWith(upperColumnPrefix)) {
+                        columns.add(column);
+                        typeHandlers.add(null);
+                    }
+                }
+            }
+
+            List<Integer> longColumns = new ArrayList<>();
+            List<Integer> objectColumns = new ArrayList<>();
+            List<TypeHandler<?>> objectTypeHandlers = new ArrayList<>();
+            for (int i = 0; i < columns.size(); i++) {
+                String column = columns.get(i);
+                int columnIndex = resultSetWrapper.getColumnIndex(column);
+                TypeHandler<?> typeHandler = typeHandlers.get(i);
+                if (longColumns.size() < Long.SIZE && (isIntegral(typeHandler)
+                        || typeHandler == null && isIntegral(resultSetWrapper.getJdbcType(column)))) {
+                    longColumns.add(columnIndex);
+                } else {
+                    objectColumns.add(columnIndex);
+                    objectTypeHandlers.add(typeHandler != null
+                            ? typeHandler : resultSetWrapper.getTypeHandler(Object.class, column));
+                }
+            }
+
+            return new Plan(resultMap,
+                    longColumns.stream().mapToInt(Integer::intValue).toArray(),
+                    objectColumns.stream().mapToInt(Integer::intValue).toArray(),
+                    objectTypeHandlers.toArray(new TypeHandler<?>[0]));
+        }
+
+        /**
+         * 读取当前行的 key
+         *
+         * @param resultSet 结果集
+         * @param parent    父对象的 key
+         * @return 行 key，所有列的值都为 null 时返回 null
+         * @throws SQLException SQL 异常
+         */
+        RowKey read(ResultSet resultSet, RowKey parent) throws SQLException {
+            boolean found = false;
+            long[] longValues = longColumnIndexes.length == 0 ? EMPTY_LONGS : new long[longColumnIndexes.length];
+            long nullMask = 0;
+            for (int i = 0; i < longColumnIndexes.length; i++) {
+                long value = resultSet.getLong(longColumnIndexes[i]);
+                if (resultSet.wasNull()) {
+                    nullMask |= 1L << i;
+                } else {
+                    longValues[i] = value;
+                    found = true;
+                }
+            }
+
+            Object[] objectValues = null;
+            if (objectColumnIndexes.length > 0) {
+                objectValues = new Object[objectColumnIndexes.length];
+                for (int i = 0; i < objectColumnIndexes.length; i++) {
+                    objectValues[i] = objectTypeHandlers[i].getResult(resultSet, objectColumnIndexes[i]);
+                    found = found || objectValues[i] != null;
+                }
+            }
+
+            return found ? new RowKey(resultMap, parent, longValues, nullMask, objectValues) : null;
+        }
+
+        /**
+         * 判断类型处理器是否为内置的整数类型处理器，这些处理器读取的值和 getLong 一一对应
+         *
+         * @param typeHandler 类型处理器
+         * @return 是否为整数类型处理器
+         */
+        private static boolean isIntegral(TypeHandler<?> typeHandler) {
+            if (typeHandler == null) {
+                return false;
+            }
+
+            Class<?> type = typeHandler.getClass();
+            return type == ByteTypeHandler.class
+                    || type == ShortTypeHandler.class
+                    || type == IntegerTypeHandler.class
+                    || type == LongTypeHandler.class;
+        }
+
+        /**
+         * 判断 Jdbc 类型是否为整数
+         *
+         * @param jdbcType Jdbc 类型
+         * @return 是否为整数
+         */
+        private static boolean isIntegral(JdbcType jdbcType) {
+            return jdbcType == JdbcType.TINYINT
+                    || jdbcType == JdbcType.SMALLINT
+                    || jdbcType == JdbcType.INTEGER
+                    || jdbcType == JdbcType.BIGINT;
+        }
+    }
+}
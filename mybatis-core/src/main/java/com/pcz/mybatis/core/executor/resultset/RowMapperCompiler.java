@@ -0,0 +1,343 @@
+package com.pcz.mybatis.core.executor.resultset;
+
+import com.pcz.mybatis.core.logging.Log;
+import com.pcz.mybatis.core.logging.LogFactory;
+import com.pcz.mybatis.core.mapping.ResultMap;
+import com.pcz.mybatis.core.session.Configuration;
+import com.pcz.mybatis.core.type.TypeHandler;
+import javassist.ClassClassPath;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtNewMethod;
+import javassist.LoaderClassPath;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 行映射器编译器
+ * 第一次以某种列结构映射结果 Map 时，用 Javassist 生成专用的行映射器，按 (结果 Map, 列签名) 缓存
+ * 结果类型和 setter 不是 public 或者属性不是简单属性时不编译，仍使用反射映射
+ *
+ * @author picongzhi
+ */
+public class RowMapperCompiler {
+    private static final Log LOG = LogFactory.getLog(RowMapperCompiler.class);
+
+    /**
+     * 生成的类名前缀
+     */
+    private static final String CLASS_NAME_PREFIX = RowMapperCompiler.class.getPackage().getName() + ".RowMapper$";
+
+    /**
+     * 生成的类的序号
+     */
+    private static final AtomicInteger CLASS_COUNTER = new AtomicInteger();
+
+    /**
+     * 配置
+     */
+    private final Configuration configuration;
+
+    /**
+     * (结果 Map, 列签名) -> 行映射器，不能编译时为空
+     */
+    private final Map<Key, Optional<CompiledRowMapper>> rowMappers = new ConcurrentHashMap<>();
+
+    public RowMapperCompiler(Configuration configuration) {
+        this.configuration = configuration;
+    }
+
+    /**
+     * 获取行映射器，第一次获取时编译
+     *
+     * @param resultMap       结果 Map
+     * @param columnSignature 列签名
+     * @param columnMappings  列映射，不能编译时返回 null
+     * @return 行映射器，不能编译时返回 null
+     */
+    public CompiledRowMapper getRowMapper(ResultMap resultMap,
+                                          String columnSignature,
+                                          Supplier<List<ColumnMapping>> columnMappings) {
+        return rowMappers.computeIfAbsent(new Key(resultMap, columnSignature), key -> {
+            List<ColumnMapping> mappings = columnMappings.get();
+            return Optional.ofNullable(mappings == null ? null : compile(resultMap.getType(), mappings));
+        }).orElse(null);
+    }
+
+    /**
+     * 获取缓存的行映射器个数
+     *
+     * @return 个数
+     */
+    public int size() {
+        int size = 0;
+        for (Optional<CompiledRowMapper> rowMapper : rowMappers.values()) {
+            if (rowMapper.isPresent()) {
+                size++;
+            }
+        }
+
+        return size;
+    }
+
+    /**
+     * 编译行映射器
+     *
+     * @param type           结果类型
+     * @param columnMappings 列映射
+     * @return 行映射器，不能编译时返回 null
+     */
+    private CompiledRowMapper compile(Class<?> type, List<ColumnMapping> columnMappings) {
+        if (!isAccessible(type) || Modifier.isAbstract(type.getModifiers())) {
+            return null;
+        }
+
+        String typeName = sourceName(type);
+        StringBuilder body = new StringBuilder("public Object map(java.sql.ResultSet rs) throws java.sql.SQLException {\n")
+                .append(typeName).append(" o = (").append(typeName).append(") this.objectFactory.create(this.type);\n")
+                .append("boolean found = false;\n")
+                .append("Object v;\n");
+        TypeHandler<?>[] typeHandlers = new TypeHandler<?>[columnMappings.size()];
+        for (int i = 0; i < columnMappings.size(); i++) {
+            ColumnMapping columnMapping = columnMappings.get(i);
+            Method setter = findSetter(type, columnMapping.property, columnMapping.propertyType);
+            if (setter == null) {
+                return null;
+            }
+
+            typeHandlers[i] = columnMapping.typeHandler;
+            Class<?> parameterType = setter.getParameterTypes()[0];
+            body.append("v = this.typeHandlers[").append(i).append("].getResult(rs, ")
+                    .append(columnMapping.columnIndex).append(");\n")
+                    .append("if (v != null) {\n")
+                    .append("found = true;\n")
+                    .append("o.").append(setter.getName()).append('(').append(unbox(parameterType, "v")).append(");\n")
+                    .append('}');
+            if (configuration.isCallSetterOnNulls() && !parameterType.isPrimitive()) {
+                body.append(" else {\n")
+                        .append("o.").append(setter.getName()).append("((").append(sourceName(parameterType))
+                        .append(") null);\n")
+                        .append('}');
+            }
+            body.append('\n');
+        }
+        body.append("if (found || this.configuration.isReturnInstanceForEmptyRow()) {\n")
+                .append("return o;\n")
+                .append("}\n")
+                .append("return null;\n")
+                .append('}');
+
+        try {
+            ClassPool classPool = new ClassPool(true);
+            classPool.insertClassPath(new ClassClassPath(CompiledRowMapper.class));
+            ClassLoader classLoader = type.getClassLoader() != null
+                    ? type.getClassLoader() : RowMapperCompiler.class.getClassLoader();
+            classPool.insertClassPath(new LoaderClassPath(classLoader));
+
+            String className = CLASS_NAME_PREFIX + CLASS_COUNTER.incrementAndGet();
+            CtClass ctClass = classPool.makeClass(className, classPool.get(CompiledRowMapper.class.getName()));
+            ctClass.addMethod(CtNewMethod.make(body.toString(), ctClass));
+            byte[] bytecode = ctClass.toBytecode();
+            ctClass.detach();
+
+            Class<?> mapperClass = new RowMapperClassLoader(parentLoader(classLoader)).define(className, bytecode);
+            CompiledRowMapper rowMapper = (CompiledRowMapper) mapperClass.getDeclaredConstructor().newInstance();
+            rowMapper.initialize(configuration, type, typeHandlers);
+            return rowMapper;
+        } catch (Exception e) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Cannot compile row mapper for " + type.getName() + ", falling back to reflection. Cause: " + e);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * 选择生成类的父类加载器，须同时能看到结果类型和行映射器基类
+     *
+     * @param classLoader 结果类型的类加载器
+     * @return 父类加载器
+     * @throws ClassNotFoundException 看不到行映射器基类
+     */
+    private static ClassLoader parentLoader(ClassLoader classLoader) throws ClassNotFoundException {
+        if (classLoader.loadClass(CompiledRowMapper.class.getName()) != CompiledRowMapper.class) {
+            throw new ClassNotFoundException(CompiledRowMapper.class.getName() + " is not visible from " + classLoader);
+        }
+
+        return classLoader;
+    }
+
+    /**
+     * 查找 public 的 setter
+     *
+     * @param type         结果类型
+     * @param property     属性
+     * @param propertyType 属性类型
+     * @return setter，找不到时返回 null
+     */
+    private static Method findSetter(Class<?> type, String property, Class<?> propertyType) {
+        if (property.isEmpty() || property.indexOf('.') >= 0 || property.indexOf('[') >= 0) {
+            return null;
+        }
+
+        String name = "set" + Character.toUpperCase(property.charAt(0)) + property.substring(1);
+        Method candidate = null;
+        for (Method method : type.getMethods()) {
+            if (!method.getName().equals(name) || method.getParameterCount() != 1
+                    || Modifier.isStatic(method.getModifiers()) || !isAccessible(method.getDeclaringClass())) {
+                continue;
+            }
+
+            Class<?> parameterType = method.getParameterTypes()[0];
+            if (parameterType.equals(propertyType)) {
+                return method;
+            }
+
+            if (parameterType.isAssignableFrom(propertyType)) {
+                candidate = method;
+            }
+        }
+
+        return candidate;
+    }
+
+    /**
+     * 判断类及其外部类是否都是 public
+     *
+     * @param type 类
+     * @return 是否是 public
+     */
+    private static boolean isAccessible(Class<?> type) {
+        for (Class<?> current = type; current != null; current = current.getEnclosingClass()) {
+            if (!Modifier.isPublic(current.getModifiers())) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * 生成把列值转换为参数类型的表达式
+     *
+     * @param parameterType 参数类型
+     * @param variable      变量
+     * @return 表达式
+     */
+    private static String unbox(Class<?> parameterType, String variable) {
+        if (parameterType == boolean.class) {
+            return "((Boolean) " + variable + ").booleanValue()";
+        }
+
+        if (parameterType == char.class) {
+            return "((Character) " + variable + ").charValue()";
+        }
+
+        if (parameterType.isPrimitive()) {
+            return "((Number) " + variable + ")." + parameterType.getName() + "Value()";
+        }
+
+        return "(" + sourceName(parameterType) + ") " + variable;
+    }
+
+    /**
+     * 获取类在生成的源码中的名称
+     *
+     * @param type 类
+     * @return 名称
+     */
+    private static String sourceName(Class<?> type) {
+        return type.isArray() ? sourceName(type.getComponentType()) + "[]" : type.getName();
+    }
+
+    /**
+     * 列映射
+     */
+    public static class ColumnMapping {
+        /**
+         * 列下标，从 1 开始
+         */
+        private final int columnIndex;
+
+        /**
+         * 属性
+         */
+        private final String property;
+
+        /**
+         * 属性类型
+         */
+        private final Class<?> propertyType;
+
+        /**
+         * 类型处理器
+         */
+        private final TypeHandler<?> typeHandler;
+
+        public ColumnMapping(int columnIndex, String property, Class<?> propertyType, TypeHandler<?> typeHandler) {
+            this.columnIndex = columnIndex;
+            this.property = property;
+            this.propertyType = propertyType;
+            this.typeHandler = typeHandler;
+        }
+    }
+
+    /**
+     * 缓存的 key，结果 Map 按引用比较
+     */
+    private static class Key {
+        /**
+         * 结果 Map
+         */
+        private final ResultMap resultMap;
+
+        /**
+         * 列签名
+         */
+        private final String columnSignature;
+
+        Key(ResultMap resultMap, String columnSignature) {
+            this.resultMap = resultMap;
+            this.columnSignature = columnSignature;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (!(o instanceof Key)) {
+                return false;
+            }
+
+            Key key = (Key) o;
+            return resultMap == key.resultMap && columnSignature.equals(key.columnSignature);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(resultMap) + columnSignature.hashCode();
+        }
+    }
+
+    /**
+     * 定义生成的类的类加载器
+     */
+    private static class RowMapperClassLoader extends ClassLoader {
+        RowMapperClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        Class<?> define(String name, byte[] bytecode) {
+            return defineClass(name, bytecode, 0, bytecode.length);
+        }
+    }
+}
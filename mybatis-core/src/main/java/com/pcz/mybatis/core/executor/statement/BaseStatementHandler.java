@@ -0,0 +1,171 @@
+package com.pcz.mybatis.core.executor.statement;
+
+import com.pcz.mybatis.core.executor.ErrorContext;
+import com.pcz.mybatis.core.executor.Executor;
+import com.pcz.mybatis.core.executor.ExecutorException;
+import com.pcz.mybatis.core.executor.parameter.ParameterHandler;
+import com.pcz.mybatis.core.executor.resultset.ResultSetHandler;
+import com.pcz.mybatis.core.mapping.BoundSql;
+import com.pcz.mybatis.core.mapping.MappedStatement;
+import com.pcz.mybatis.core.session.Configuration;
+import com.pcz.mybatis.core.session.ResultHandler;
+import com.pcz.mybatis.core.session.RowBounds;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * 语句处理器基类
+ *
+ * @author picongzhi
+ */
+public abstract class BaseStatementHandler implements StatementHandler {
+    /**
+     * 配置
+     */
+    protected final Configuration configuration;
+
+    /**
+     * 结果集处理器
+     */
+    protected final ResultSetHandler resultSetHandler;
+
+    /**
+     * 参数处理器
+     */
+    protected final ParameterHandler parameterHandler;
+
+    /**
+     * 执行器
+     */
+    protected final Executor executor;
+
+    /**
+     * 映射的语句
+     */
+    protected final MappedStatement mappedStatement;
+
+    /**
+     * 行边界
+     */
+    protected final RowBounds rowBounds;
+
+    /**
+     * 绑定的 Sql
+     */
+    protected BoundSql boundSql;
+
+    protected BaseStatementHandler(Executor executor,
+                                   MappedStatement mappedStatement,
+                                   Object parameterObject,
+                                   RowBounds rowBounds,
+                                   ResultHandler resultHandler,
+                                   BoundSql boundSql) {
+        this.configuration = mappedStatement.getConfiguration();
+        this.executor = executor;
+        this.mappedStatement = mappedStatement;
+        this.rowBounds = rowBounds;
+
+        if (boundSql == null) {
+            boundSql = mappedStatement.getBoundSql(parameterObject);
+        }
+        this.boundSql = boundSql;
+
+        this.parameterHandler = configuration.newParameterHandler(mappedStatement, parameterObject, boundSql);
+        this.resultSetHandler = configuration.newResultSetHandler(executor, mappedStatement, rowBounds,
+                parameterHandler, resultHandler, boundSql);
+    }
+
+    @Override
+    public BoundSql getBoundSql() {
+        return boundSql;
+    }
+
+    @Override
+    public ParameterHandler getParameterHandler() {
+        return parameterHandler;
+    }
+
+    @Override
+    public Statement prepare(Connection connection, Integer transactionTimeout) throws SQLException {
+        ErrorContext.instance().sql(boundSql.getSql());
+        Statement statement = null;
+        try {
+            statement = instantiateStatement(connection);
+            setStatementTimeout(statement, transactionTimeout);
+            setFetchSize(statement);
+            return statement;
+        } catch (SQLException e) {
+            closeStatement(statement);
+            throw e;
+        } catch (Exception e) {
+            closeStatement(statement);
+            throw new ExecutorException("Error preparing statement.  Cause: " + e, e);
+        }
+    }
+
+    /**
+     * 创建语句
+     *
+     * @param connection 连接
+     * @return 语句
+     * @throws SQLException SQL 异常
+     */
+    protected abstract Statement instantiateStatement(Connection connection) throws SQLException;
+
+    /**
+     * 设置超时时间，启用超时调度器时不设置驱动的查询超时
+     *
+     * @param statement          语句
+     * @param transactionTimeout 事务超时时间（秒）
+     * @throws SQLException SQL 异常
+     */
+    protected void setStatementTimeout(Statement statement, Integer transactionTimeout) throws SQLException {
+        if (configuration.isTimeoutSchedulerEnabled()) {
+            // 由超时调度器取消语句
+            return;
+        }
+
+        Integer queryTimeout = mappedStatement.getTimeout();
+        if (queryTimeout != null) {
+            statement.setQueryTimeout(queryTimeout);
+        }
+
+        StatementUtil.applyTransactionTimeout(statement, queryTimeout, transactionTimeout);
+    }
+
+    /**
+     * 设置每次获取的行数
+     *
+     * @param statement 语句
+     * @throws SQLException SQL 异常
+     */
+    protected void setFetchSize(Statement statement) throws SQLException {
+        Integer fetchSize = mappedStatement.getFetchSize();
+        if (fetchSize != null) {
+            statement.setFetchSize(fetchSize);
+            return;
+        }
+
+        Integer defaultFetchSize = configuration.getDefaultFetchSize();
+        if (defaultFetchSize != null) {
+            statement.setFetchSize(defaultFetchSize);
+        }
+    }
+
+    /**
+     * 关闭语句
+     *
+     * @param statement 语句
+     */
+    protected void closeStatement(Statement statement) {
+        try {
+            if (statement != null) {
+                statement.close();
+            }
+        } catch (SQLException e) {
+            // 忽略
+        }
+    }
+}
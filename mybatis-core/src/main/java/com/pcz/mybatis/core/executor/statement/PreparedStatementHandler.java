@@ -0,0 +1,74 @@
+package com.pcz.mybatis.core.executor.statement;
+
+import com.pcz.mybatis.core.cursor.Cursor;
+import com.pcz.mybatis.core.executor.Executor;
+import com.pcz.mybatis.core.mapping.BoundSql;
+import com.pcz.mybatis.core.mapping.MappedStatement;
+import com.pcz.mybatis.core.mapping.ResultSetType;
+import com.pcz.mybatis.core.session.ResultHandler;
+import com.pcz.mybatis.core.session.RowBounds;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * 预编译语句处理器
+ *
+ * @author picongzhi
+ */
+public class PreparedStatementHandler extends BaseStatementHandler {
+    public PreparedStatementHandler(Executor executor,
+                                    MappedStatement mappedStatement,
+                                    Object parameterObject,
+                                    RowBounds rowBounds,
+                                    ResultHandler resultHandler,
+                                    BoundSql boundSql) {
+        super(executor, mappedStatement, parameterObject, rowBounds, resultHandler, boundSql);
+    }
+
+    @Override
+    protected Statement instantiateStatement(Connection connection) throws SQLException {
+        String sql = boundSql.getSql();
+        if (mappedStatement.getResultSetType() == ResultSetType.DEFAULT) {
+            return connection.prepareStatement(sql);
+        }
+
+        return connection.prepareStatement(sql,
+                mappedStatement.getResultSetType().getValue(), ResultSet.CONCUR_READ_ONLY);
+    }
+
+    @Override
+    public void parameterize(Statement statement) throws SQLException {
+        parameterHandler.setParameters((PreparedStatement) statement);
+    }
+
+    @Override
+    public void batch(Statement statement) throws SQLException {
+        ((PreparedStatement) statement).addBatch();
+    }
+
+    @Override
+    public int update(Statement statement) throws SQLException {
+        PreparedStatement preparedStatement = (PreparedStatement) statement;
+        preparedStatement.execute();
+        return preparedStatement.getUpdateCount();
+    }
+
+    @Override
+    public <E> List<E> query(Statement statement, ResultHandler resultHandler) throws SQLException {
+        PreparedStatement preparedStatement = (PreparedStatement) statement;
+        preparedStatement.execute();
+        return resultSetHandler.handleResultSets(preparedStatement);
+    }
+
+    @Override
+    public <E> Cursor<E> queryCursor(Statement statement) throws SQLException {
+        PreparedStatement preparedStatement = (PreparedStatement) statement;
+        preparedStatement.execute();
+        return resultSetHandler.handleCursorResultSets(preparedStatement);
+    }
+}
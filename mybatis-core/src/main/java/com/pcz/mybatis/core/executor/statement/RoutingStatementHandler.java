@@ -0,0 +1,131 @@
+package com.pcz.mybatis.core.executor.statement;
+
+import com.pcz.mybatis.core.cursor.Cursor;
+import com.pcz.mybatis.core.executor.Executor;
+import com.pcz.mybatis.core.executor.ExecutorException;
+import com.pcz.mybatis.core.executor.parameter.ParameterHandler;
+import com.pcz.mybatis.core.mapping.BoundSql;
+import com.pcz.mybatis.core.mapping.MappedStatement;
+import com.pcz.mybatis.core.session.ResultHandler;
+import com.pcz.mybatis.core.session.RowBounds;
+import com.pcz.mybatis.core.util.HashedWheelTimer;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * 路由的语句处理器，根据语句类型委派给对应的语句处理器
+ *
+ * @author picongzhi
+ */
+public class RoutingStatementHandler implements StatementHandler {
+    /**
+     * 委派的语句处理器
+     */
+    private final StatementHandler delegate;
+
+    /**
+     * 执行器
+     */
+    private final Executor executor;
+
+    /**
+     * 映射的语句
+     */
+    private final MappedStatement mappedStatement;
+
+    public RoutingStatementHandler(Executor executor,
+                                   MappedStatement mappedStatement,
+                                   Object parameterObject,
+                                   RowBounds rowBounds,
+                                   ResultHandler resultHandler,
+                                   BoundSql boundSql) {
+        this.executor = executor;
+        this.mappedStatement = mappedStatement;
+        switch (mappedStatement.getStatementType()) {
+            case STATEMENT:
+                delegate = new SimpleStatementHandler(executor, mappedStatement, parameterObject,
+                        rowBounds, resultHandler, boundSql);
+                break;
+            case PREPARED:
+                delegate = new PreparedStatementHandler(executor, mappedStatement, parameterObject,
+                        rowBounds, resultHandler, boundSql);
+                break;
+            default:
+                throw new ExecutorException("Unsupported statement type: " + mappedStatement.getStatementType());
+        }
+    }
+
+    @Override
+    public Statement prepare(Connection connection, Integer transactionTimeout) throws SQLException {
+        return delegate.prepare(connection, transactionTimeout);
+    }
+
+    @Override
+    public void parameterize(Statement statement) throws SQLException {
+        delegate.parameterize(statement);
+    }
+
+    @Override
+    public void batch(Statement statement) throws SQLException {
+        delegate.batch(statement);
+    }
+
+    @Override
+    public int update(Statement statement) throws SQLException {
+        HashedWheelTimer.Timeout timeout = scheduleTimeout(statement);
+        try {
+            return delegate.update(statement);
+        } finally {
+            StatementUtil.cancelTimeout(timeout);
+        }
+    }
+
+    @Override
+    public <E> List<E> query(Statement statement, ResultHandler resultHandler) throws SQLException {
+        HashedWheelTimer.Timeout timeout = scheduleTimeout(statement);
+        try {
+            return delegate.query(statement, resultHandler);
+        } finally {
+            StatementUtil.cancelTimeout(timeout);
+        }
+    }
+
+    @Override
+    public <E> Cursor<E> queryCursor(Statement statement) throws SQLException {
+        HashedWheelTimer.Timeout timeout = scheduleTimeout(statement);
+        try {
+            return delegate.queryCursor(statement);
+        } finally {
+            StatementUtil.cancelTimeout(timeout);
+        }
+    }
+
+    @Override
+    public BoundSql getBoundSql() {
+        return delegate.getBoundSql();
+    }
+
+    @Override
+    public ParameterHandler getParameterHandler() {
+        return delegate.getParameterHandler();
+    }
+
+    /**
+     * 启用超时调度器时，为语句的执行安排超时取消
+     *
+     * @param statement 语句
+     * @return 定时任务
+     * @throws SQLException SQL 异常
+     */
+    private HashedWheelTimer.Timeout scheduleTimeout(Statement statement) throws SQLException {
+        if (!mappedStatement.getConfiguration().isTimeoutSchedulerEnabled()) {
+            return null;
+        }
+
+        return StatementUtil.scheduleCancel(statement, mappedStatement.getTimeout(),
+                executor.getTransaction().getTimeout());
+    }
+}
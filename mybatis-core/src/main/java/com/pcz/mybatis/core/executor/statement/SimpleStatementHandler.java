@@ -0,0 +1,69 @@
+package com.pcz.mybatis.core.executor.statement;
+
+import com.pcz.mybatis.core.cursor.Cursor;
+import com.pcz.mybatis.core.executor.Executor;
+import com.pcz.mybatis.core.mapping.BoundSql;
+import com.pcz.mybatis.core.mapping.MappedStatement;
+import com.pcz.mybatis.core.mapping.ResultSetType;
+import com.pcz.mybatis.core.session.ResultHandler;
+import com.pcz.mybatis.core.session.RowBounds;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * 简单语句处理器
+ *
+ * @author picongzhi
+ */
+public class SimpleStatementHandler extends BaseStatementHandler {
+    public SimpleStatementHandler(Executor executor,
+                                  MappedStatement mappedStatement,
+                                  Object parameterObject,
+                                  RowBounds rowBounds,
+                                  ResultHandler resultHandler,
+                                  BoundSql boundSql) {
+        super(executor, mappedStatement, parameterObject, rowBounds, resultHandler, boundSql);
+    }
+
+    @Override
+    protected Statement instantiateStatement(Connection connection) throws SQLException {
+        if (mappedStatement.getResultSetType() == ResultSetType.DEFAULT) {
+            return connection.createStatement();
+        }
+
+        return connection.createStatement(
+                mappedStatement.getResultSetType().getValue(), ResultSet.CONCUR_READ_ONLY);
+    }
+
+    @Override
+    public void parameterize(Statement statement) {
+        // 没有参数
+    }
+
+    @Override
+    public void batch(Statement statement) throws SQLException {
+        statement.addBatch(boundSql.getSql());
+    }
+
+    @Override
+    public int update(Statement statement) throws SQLException {
+        statement.execute(boundSql.getSql());
+        return statement.getUpdateCount();
+    }
+
+    @Override
+    public <E> List<E> query(Statement statement, ResultHandler resultHandler) throws SQLException {
+        statement.execute(boundSql.getSql());
+        return resultSetHandler.handleResultSets(statement);
+    }
+
+    @Override
+    public <E> Cursor<E> queryCursor(Statement statement) throws SQLException {
+        statement.execute(boundSql.getSql());
+        return resultSetHandler.handleCursorResultSets(statement);
+    }
+}
@@ -0,0 +1,88 @@
+package com.pcz.mybatis.core.executor.statement;
+
+import com.pcz.mybatis.core.cursor.Cursor;
+import com.pcz.mybatis.core.executor.parameter.ParameterHandler;
+import com.pcz.mybatis.core.mapping.BoundSql;
+import com.pcz.mybatis.core.session.ResultHandler;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * 语句处理器
+ *
+ * @author picongzhi
+ */
+public interface StatementHandler {
+    /**
+     * 创建语句
+     *
+     * @param connection         连接
+     * @param transactionTimeout 事务超时时间（秒）
+     * @return 语句
+     * @throws SQLException SQL 异常
+     */
+    Statement prepare(Connection connection, Integer transactionTimeout) throws SQLException;
+
+    /**
+     * 设置参数
+     *
+     * @param statement 语句
+     * @throws SQLException SQL 异常
+     */
+    void parameterize(Statement statement) throws SQLException;
+
+    /**
+     * 添加到批量
+     *
+     * @param statement 语句
+     * @throws SQLException SQL 异常
+     */
+    void batch(Statement statement) throws SQLException;
+
+    /**
+     * 执行更新
+     *
+     * @param statement 语句
+     * @return 影响行数
+     * @throws SQLException SQL 异常
+     */
+    int update(Statement statement) throws SQLException;
+
+    /**
+     * 执行查询
+     *
+     * @param statement     语句
+     * @param resultHandler 结果处理器
+     * @param <E>           泛型
+     * @return 结果
+     * @throws SQLException SQL 异常
+     */
+    <E> List<E> query(Statement statement, ResultHandler resultHandler) throws SQLException;
+
+    /**
+     * 执行游标查询
+     *
+     * @param statement 语句
+     * @param <E>       泛型
+     * @return 游标
+     * @throws SQLException SQL 异常
+     */
+    <E> Cursor<E> queryCursor(Statement statement) throws SQLException;
+
+    /**
+     * 获取绑定的 Sql
+     *
+     * @return 绑定的 Sql
+     */
+    BoundSql getBoundSql();
+
+    /**
+     * 获取参数处理器
+     *
+     * @return 参数处理器
+     */
+    ParameterHandler getParameterHandler();
+}
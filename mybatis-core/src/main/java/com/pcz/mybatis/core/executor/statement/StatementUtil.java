@@ -0,0 +1,83 @@
+package com.pcz.mybatis.core.executor.statement;
+
+import com.pcz.mybatis.core.util.HashedWheelTimer;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 语句工具类
+ *
+ * @author picongzhi
+ */
+public class StatementUtil {
+    /**
+     * 取消超时语句的定时器，所有会话共享一个线程
+     */
+    private static final HashedWheelTimer TIMEOUT_TIMER = new HashedWheelTimer(
+            "mybatis-statement-timeout", 100, TimeUnit.MILLISECONDS, 512);
+
+    private StatementUtil() {
+    }
+
+    /**
+     * 应用事务超时时间，语句的超时时间不超过事务剩余的超时时间
+     *
+     * @param statement          语句
+     * @param queryTimeout       语句的超时时间（秒）
+     * @param transactionTimeout 事务超时时间（秒）
+     * @throws SQLException SQL 异常
+     */
+    public static void applyTransactionTimeout(Statement statement,
+                                               Integer queryTimeout,
+                                               Integer transactionTimeout) throws SQLException {
+        if (transactionTimeout == null) {
+            return;
+        }
+
+        if (queryTimeout == null || queryTimeout == 0 || transactionTimeout < queryTimeout) {
+            statement.setQueryTimeout(transactionTimeout);
+        }
+    }
+
+    /**
+     * 在语句的超时时间和事务剩余的超时时间中较早的时刻到达时取消语句，不依赖驱动的查询超时实现
+     *
+     * @param statement          语句
+     * @param queryTimeout       语句的超时时间（秒）
+     * @param transactionTimeout 事务剩余的超时时间（秒）
+     * @return 定时任务，语句执行完成后需要取消，没有超时时间时返回 null
+     */
+    public static HashedWheelTimer.Timeout scheduleCancel(Statement statement,
+                                                          Integer queryTimeout,
+                                                          Integer transactionTimeout) {
+        Integer timeout = queryTimeout == null || queryTimeout <= 0 ? null : queryTimeout;
+        if (transactionTimeout != null && (timeout == null || transactionTimeout < timeout)) {
+            timeout = transactionTimeout;
+        }
+
+        if (timeout == null) {
+            return null;
+        }
+
+        return TIMEOUT_TIMER.newTimeout(() -> {
+            try {
+                statement.cancel();
+            } catch (SQLException e) {
+                // 语句已关闭或驱动不支持
+            }
+        }, timeout, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 取消定时任务
+     *
+     * @param timeout 定时任务
+     */
+    public static void cancelTimeout(HashedWheelTimer.Timeout timeout) {
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.pcz.mybatis.core.mapping;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 绑定的 Sql
+ * 持有处理完动态内容后的 Sql、参数映射和参数对象
+ *
+ * @author picongzhi
+ */
+public class BoundSql {
+    /**
+     * Sql
+     */
+    private final String sql;
+
+    /**
+     * 参数映射
+     */
+    private final List<ParameterMapping> parameterMappings;
+
+    /**
+     * 参数对象
+     */
+    private final Object parameterObject;
+
+    /**
+     * 附加参数
+     */
+    private final Map<String, Object> additionalParameters;
+
+    public BoundSql(String sql, List<ParameterMapping> parameterMappings, Object parameterObject) {
+        this.sql = sql;
+        this.parameterMappings = parameterMappings;
+        this.parameterObject = parameterObject;
+        this.additionalParameters = new HashMap<>();
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public List<ParameterMapping> getParameterMappings() {
+        return parameterMappings;
+    }
+
+    public Object getParameterObject() {
+        return parameterObject;
+    }
+
+    /**
+     * 判断是否有附加参数
+     *
+     * @param name 参数名
+     * @return 是否有附加参数
+     */
+    public boolean hasAdditionalParameter(String name) {
+        return additionalParameters.containsKey(name);
+    }
+
+    /**
+     * 设置附加参数
+     *
+     * @param name  参数名
+     * @param value 参数值
+     */
+    public void setAdditionalParameter(String name, Object value) {
+        additionalParameters.put(name, value);
+    }
+
+    /**
+     * 获取附加参数
+     *
+     * @param name 参数名
+     * @return 参数值
+     */
+    public Object getAdditionalParameter(String name) {
+        return additionalParameters.get(name);
+    }
+
+    /**
+     * 复制附加参数到另一个绑定的 Sql
+     *
+     * @param target 目标绑定的 Sql
+     */
+    public void copyAdditionalParametersTo(BoundSql target) {
+        target.additionalParameters.putAll(additionalParameters);
+    }
+}
@@ -1,8 +1,19 @@
 package com.pcz.mybatis.core.mapping;
 
+import com.pcz.mybatis.core.datasource.routing.ReadWriteRoutingDataSource;
+import com.pcz.mybatis.core.datasource.routing.Replica;
+import com.pcz.mybatis.core.datasource.routing.ReplicaSelector;
+import com.pcz.mybatis.core.datasource.routing.RoundRobinReplicaSelector;
+import com.pcz.mybatis.core.datasource.sharding.ModShardingFunction;
+import com.pcz.mybatis.core.datasource.sharding.ShardKeyResolver;
+import com.pcz.mybatis.core.datasource.sharding.ShardedDataSource;
+import com.pcz.mybatis.core.datasource.sharding.ShardingFunction;
 import com.pcz.mybatis.core.transaction.TransactionFactory;
 
 import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * 环境
@@ -55,6 +66,54 @@ public class Environment {
         return dataSource;
     }
 
+    /**
+     * 获取主库数据源
+     *
+     * @return 主库数据源
+     */
+    public DataSource getPrimaryDataSource() {
+        if (dataSource instanceof ShardedDataSource) {
+            return ((ShardedDataSource) dataSource).getDefaultDataSource();
+        }
+
+        if (dataSource instanceof ReadWriteRoutingDataSource) {
+            return ((ReadWriteRoutingDataSource) dataSource).getPrimary();
+        }
+
+        return dataSource;
+    }
+
+    /**
+     * 获取分片数据源
+     *
+     * @return 分片数据源
+     */
+    public List<DataSource> getShardDataSources() {
+        if (dataSource instanceof ShardedDataSource) {
+            return ((ShardedDataSource) dataSource).getShards();
+        }
+
+        return Collections.emptyList();
+    }
+
+    /**
+     * 获取从库数据源
+     *
+     * @return 从库数据源
+     */
+    public List<DataSource> getReplicaDataSources() {
+        if (!(dataSource instanceof ReadWriteRoutingDataSource)) {
+            return Collections.emptyList();
+        }
+
+        List<DataSource> replicaDataSources = new ArrayList<>();
+        for (Replica replica : ((ReadWriteRoutingDataSource) dataSource).getReplicas()) {
+            replicaDataSources.add(replica.getDataSource());
+        }
+
+        return replicaDataSources;
+    }
+
     /**
      * 环境构造器
      */
@@ -74,6 +133,31 @@ public class Environment {
          */
         private DataSource dataSource;
 
+        /**
+         * 从库数据源
+         */
+        private final List<DataSource> replicaDataSources = new ArrayList<>();
+
+        /**
+         * 从库选择器
+         */
+        private ReplicaSelector replicaSelector;
+
+        /**
+         * 分片数据源
+         */
+        private final List<DataSource> shardDataSources = new ArrayList<>();
+
+        /**
+         * 分片函数
+         */
+        private ShardingFunction shardingFunction;
+
+        /**
+         * 分片键属性
+         */
+        private String shardKeyProperty;
+
         public Builder(String id) {
             this.id = id;
         }
@@ -88,12 +172,53 @@ public class Environment {
             return this;
         }
 
+        public Builder replica(DataSource replicaDataSource) {
+            this.replicaDataSources.add(replicaDataSource);
+            return this;
+        }
+
+        public Builder replicaSelector(ReplicaSelector replicaSelector) {
+            this.replicaSelector = replicaSelector;
+            return this;
+        }
+
+        public Builder shard(DataSource shardDataSource) {
+            this.shardDataSources.add(shardDataSource);
+            return this;
+        }
+
+        public Builder shardingFunction(ShardingFunction shardingFunction) {
+            this.shardingFunction = shardingFunction;
+            return this;
+        }
+
+        public Builder shardKeyProperty(String shardKeyProperty) {
+            this.shardKeyProperty = shardKeyProperty;
+            return this;
+        }
+
         public String id() {
             return id;
         }
 
         public Environment build() {
-            return new Environment(id, transactionFactory, dataSource);
+            DataSource environmentDataSource = dataSource;
+            if (!shardDataSources.isEmpty()) {
+                if (!replicaDataSources.isEmpty()) {
+                    throw new IllegalArgumentException("Environment '" + id + "' cannot declare both shards and replicas");
+                }
+
+                // 配置了分片，使用分片数据源，datasource 作为无分片键语句的默认数据源
+                environmentDataSource = new ShardedDataSource(dataSource, shardDataSources,
+                        shardingFunction == null ? new ModShardingFunction() : shardingFunction,
+                        new ShardKeyResolver(shardKeyProperty));
+            } else if (dataSource != null && !replicaDataSources.isEmpty()) {
+                // 配置了从库，使用读写分离的路由数据源
+                environmentDataSource = new ReadWriteRoutingDataSource(dataSource, replicaDataSources,
+                        replicaSelector == null ? new RoundRobinReplicaSelector() : replicaSelector);
+            }
+
+            return new Environment(id, transactionFactory, environmentDataSource);
         }
     }
 }
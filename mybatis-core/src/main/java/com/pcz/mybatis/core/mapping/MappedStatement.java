@@ -1,6 +1,16 @@
 package com.pcz.mybatis.core.mapping;
 
+import com.pcz.mybatis.core.executor.resultset.ResultSetSchema;
+import com.pcz.mybatis.core.session.Configuration;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 映射的语句
@@ -8,6 +18,11 @@ import java.util.List;
  * @author picongzhi
  */
 public class MappedStatement {
+    /**
+     * 配置
+     */
+    private Configuration configuration;
+
     /**
      * id
      */
@@ -28,11 +43,68 @@ public class MappedStatement {
      */
     private SqlCommandType sqlCommandType;
 
+    /**
+     * Sql 源
+     */
+    private SqlSource sqlSource;
+
     /**
      * 结果 Map
      */
     private List<ResultMap> resultMaps;
 
+    /**
+     * 每次获取的行数
+     */
+    private Integer fetchSize;
+
+    /**
+     * 超时时间（秒）
+     */
+    private Integer timeout;
+
+    /**
+     * 游标预取深度
+     */
+    private Integer prefetchDepth;
+
+    /**
+     * 以集合为参数时是否改写为多行 VALUES 的语句
+     */
+    private boolean multiRowInsert;
+
+    /**
+     * 结果集类型
+     */
+    private ResultSetType resultSetType;
+
+    /**
+     * 数据库 id
+     */
+    private String databaseId;
+
+    /**
+     * 结果是否按 id 有序
+     */
+    private boolean resultOrdered;
+
+    /**
+     * 批量重排时必须先执行的语句 id
+     */
+    private Set<String> batchDependencies;
+
+    /**
+     * 结果集下标 -> 缓存的列结构
+     */
+    private final Map<Integer, ResultSetSchema> resultSetSchemas = new ConcurrentHashMap<>();
+
+    private MappedStatement() {
+    }
+
+    public Configuration getConfiguration() {
+        return configuration;
+    }
+
     public String getId() {
         return id;
     }
@@ -49,7 +121,180 @@ public class MappedStatement {
         return sqlCommandType;
     }
 
+    public SqlSource getSqlSource() {
+        return sqlSource;
+    }
+
     public List<ResultMap> getResultMaps() {
         return resultMaps;
     }
+
+    public Integer getFetchSize() {
+        return fetchSize;
+    }
+
+    public Integer getTimeout() {
+        return timeout;
+    }
+
+    public Integer getPrefetchDepth() {
+        return prefetchDepth;
+    }
+
+    public boolean isMultiRowInsert() {
+        return multiRowInsert;
+    }
+
+    public ResultSetType getResultSetType() {
+        return resultSetType;
+    }
+
+    public String getDatabaseId() {
+        return databaseId;
+    }
+
+    public boolean isResultOrdered() {
+        return resultOrdered;
+    }
+
+    public Set<String> getBatchDependencies() {
+        return batchDependencies;
+    }
+
+    /**
+     * 获取绑定的 Sql
+     *
+     * @param parameterObject 参数对象
+     * @return 绑定的 Sql
+     */
+    public BoundSql getBoundSql(Object parameterObject) {
+        return sqlSource.getBoundSql(parameterObject);
+    }
+
+    /**
+     * 获取缓存的结果集列结构
+     *
+     * @param resultSetIndex 结果集下标
+     * @return 列结构，未缓存时返回 null
+     */
+    public ResultSetSchema getResultSetSchema(int resultSetIndex) {
+        return resultSetSchemas.get(resultSetIndex);
+    }
+
+    /**
+     * 缓存结果集列结构
+     *
+     * @param resultSetIndex 结果集下标
+     * @param schema         列结构
+     */
+    public void putResultSetSchema(int resultSetIndex, ResultSetSchema schema) {
+        resultSetSchemas.put(resultSetIndex, schema);
+    }
+
+    /**
+     * 映射的语句构造器
+     */
+    public static class Builder {
+        /**
+         * 映射的语句
+         */
+        private final MappedStatement mappedStatement = new MappedStatement();
+
+        public Builder(Configuration configuration, String id, SqlSource sqlSource, SqlCommandType sqlCommandType) {
+            mappedStatement.configuration = configuration;
+            mappedStatement.id = id;
+            mappedStatement.sqlSource = sqlSource;
+            mappedStatement.sqlCommandType = sqlCommandType;
+            mappedStatement.statementType = StatementType.PREPARED;
+            mappedStatement.resultSetType = ResultSetType.DEFAULT;
+            mappedStatement.resultMaps = new ArrayList<>();
+            mappedStatement.batchDependencies = new LinkedHashSet<>();
+            mappedStatement.fetchSize = configuration.getDefaultFetchSize();
+            mappedStatement.timeout = configuration.getDefaultStatementTimeout();
+            mappedStatement.prefetchDepth = configuration.getDefaultPrefetchDepth();
+            mappedStatement.multiRowInsert = configuration.isMultiRowInsertEnabled();
+        }
+
+        public Builder resource(String resource) {
+            mappedStatement.resource = resource;
+            return this;
+        }
+
+        public String id() {
+            return mappedStatement.id;
+        }
+
+        public Builder statementType(StatementType statementType) {
+            mappedStatement.statementType = statementType;
+            return this;
+        }
+
+        public Builder resultMaps(List<ResultMap> resultMaps) {
+            mappedStatement.resultMaps = resultMaps;
+            return this;
+        }
+
+        public Builder fetchSize(Integer fetchSize) {
+            mappedStatement.fetchSize = fetchSize;
+            return this;
+        }
+
+        public Builder timeout(Integer timeout) {
+            mappedStatement.timeout = timeout;
+            return this;
+        }
+
+        public Builder prefetchDepth(Integer prefetchDepth) {
+            mappedStatement.prefetchDepth = prefetchDepth;
+            return this;
+        }
+
+        public Builder multiRowInsert(boolean multiRowInsert) {
+            mappedStatement.multiRowInsert = multiRowInsert;
+            return this;
+        }
+
+        public Builder resultSetType(ResultSetType resultSetType) {
+            mappedStatement.resultSetType = resultSetType == null ? ResultSetType.DEFAULT : resultSetType;
+            return this;
+        }
+
+        public Builder databaseId(String databaseId) {
+            mappedStatement.databaseId = databaseId;
+            return this;
+        }
+
+        public Builder resultOrdered(boolean resultOrdered) {
+            mappedStatement.resultOrdered = resultOrdered;
+            return this;
+        }
+
+        public Builder batchDependencies(String... statementIds) {
+            mappedStatement.batchDependencies.addAll(Arrays.asList(statementIds));
+            return this;
+        }
+
+        /**
+         * 构造映射的语句
+         *
+         * @return 映射的语句
+         */
+        public MappedStatement build() {
+            if (mappedStatement.configuration == null) {
+                throw new IllegalArgumentException("Configuration must not be null");
+            }
+
+            if (mappedStatement.id == null) {
+                throw new IllegalArgumentException("MappedStatements must have an id");
+            }
+
+            if (mappedStatement.sqlSource == null) {
+                throw new IllegalArgumentException("MappedStatement '" + mappedStatement.id + "' must have a sqlSource");
+            }
+
+            mappedStatement.resultMaps = Collections.unmodifiableList(mappedStatement.resultMaps);
+            mappedStatement.batchDependencies = Collections.unmodifiableSet(mappedStatement.batchDependencies);
+            return mappedStatement;
+        }
+    }
 }
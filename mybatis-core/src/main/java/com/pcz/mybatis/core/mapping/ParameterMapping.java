@@ -1,9 +1,141 @@
 package com.pcz.mybatis.core.mapping;
 
+import com.pcz.mybatis.core.session.Configuration;
+import com.pcz.mybatis.core.type.JdbcType;
+import com.pcz.mybatis.core.type.TypeHandler;
+import com.pcz.mybatis.core.type.TypeHandlerRegistry;
+
 /**
  * 参数映射
  *
  * @author picongzhi
  */
 public class ParameterMapping {
+    /**
+     * 配置
+     */
+    private Configuration configuration;
+
+    /**
+     * 属性
+     */
+    private String property;
+
+    /**
+     * 参数模式
+     */
+    private ParameterMode mode;
+
+    /**
+     * Java 类型
+     */
+    private Class<?> javaType = Object.class;
+
+    /**
+     * Jdbc 类型
+     */
+    private JdbcType jdbcType;
+
+    /**
+     * 类型处理器
+     */
+    private TypeHandler<?> typeHandler;
+
+    private ParameterMapping() {
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public ParameterMode getMode() {
+        return mode;
+    }
+
+    public Class<?> getJavaType() {
+        return javaType;
+    }
+
+    public JdbcType getJdbcType() {
+        return jdbcType;
+    }
+
+    public TypeHandler<?> getTypeHandler() {
+        return typeHandler;
+    }
+
+    @Override
+    public String toString() {
+        return "ParameterMapping{" +
+                "property='" + property + '\'' +
+                ", mode=" + mode +
+                ", javaType=" + javaType +
+                ", jdbcType=" + jdbcType +
+                '}';
+    }
+
+    /**
+     * 参数映射构造器
+     */
+    public static class Builder {
+        /**
+         * 参数映射
+         */
+        private final ParameterMapping parameterMapping = new ParameterMapping();
+
+        public Builder(Configuration configuration, String property, TypeHandler<?> typeHandler) {
+            parameterMapping.configuration = configuration;
+            parameterMapping.property = property;
+            parameterMapping.typeHandler = typeHandler;
+            parameterMapping.mode = ParameterMode.IN;
+        }
+
+        public Builder(Configuration configuration, String property, Class<?> javaType) {
+            parameterMapping.configuration = configuration;
+            parameterMapping.property = property;
+            parameterMapping.javaType = javaType;
+            parameterMapping.mode = ParameterMode.IN;
+        }
+
+        public Builder mode(ParameterMode mode) {
+            parameterMapping.mode = mode;
+            return this;
+        }
+
+        public Builder javaType(Class<?> javaType) {
+            parameterMapping.javaType = javaType;
+            return this;
+        }
+
+        public Builder jdbcType(JdbcType jdbcType) {
+            parameterMapping.jdbcType = jdbcType;
+            return this;
+        }
+
+        public Builder typeHandler(TypeHandler<?> typeHandler) {
+            parameterMapping.typeHandler = typeHandler;
+            return this;
+        }
+
+        /**
+         * 构造参数映射，未指定类型处理器时根据 Java 类型和 Jdbc 类型解析
+         *
+         * @return 参数映射
+         */
+        public ParameterMapping build() {
+            if (parameterMapping.typeHandler == null && parameterMapping.javaType != null) {
+                TypeHandlerRegistry typeHandlerRegistry = parameterMapping.configuration.getTypeHandlerRegistry();
+                parameterMapping.typeHandler = typeHandlerRegistry.getTypeHandler(
+                        parameterMapping.javaType, parameterMapping.jdbcType);
+            }
+
+            if (parameterMapping.typeHandler == null) {
+                throw new IllegalStateException("Type handler was null on parameter mapping for property '"
+                        + parameterMapping.property + "'. It was either not specified and/or could not be found for the javaType ("
+                        + parameterMapping.javaType.getName() + ") : jdbcType (" + parameterMapping.jdbcType + ") combination.");
+            }
+
+            return parameterMapping;
+        }
+    }
 }
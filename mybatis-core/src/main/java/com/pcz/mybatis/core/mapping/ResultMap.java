@@ -2,7 +2,11 @@ package com.pcz.mybatis.core.mapping;
 
 import com.pcz.mybatis.core.session.Configuration;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Set;
 
 /**
@@ -87,6 +91,46 @@ public class ResultMap {
         return type;
     }
 
+    public List<ResultMapping> getResultMappings() {
+        return resultMappings;
+    }
+
+    public List<ResultMapping> getIdResultMappings() {
+        return idResultMappings;
+    }
+
+    public List<ResultMapping> getConstructorResultMappings() {
+        return constructorResultMappings;
+    }
+
+    public List<ResultMapping> getPropertyResultMappings() {
+        return propertyResultMappings;
+    }
+
+    public Set<String> getMappedColumns() {
+        return mappedColumns;
+    }
+
+    public Set<String> getMappedProperties() {
+        return mappedProperties;
+    }
+
+    public Discriminator getDiscriminator() {
+        return discriminator;
+    }
+
+    public boolean hasNestedResultMaps() {
+        return hasNestedResultMaps;
+    }
+
+    public boolean hasNestedQueries() {
+        return hasNestedQueries;
+    }
+
+    public Boolean getAutoMapping() {
+        return autoMapping;
+    }
+
     public static class Builder {
         /**
          * ResultMap
@@ -111,5 +155,70 @@ public class ResultMap {
             resultMap.resultMappings = resultMappings;
             resultMap.autoMapping = autoMapping;
         }
+
+        public Builder discriminator(Discriminator discriminator) {
+            resultMap.discriminator = discriminator;
+            return this;
+        }
+
+        public Class<?> type() {
+            return resultMap.type;
+        }
+
+        /**
+         * 构造 ResultMap，按标记对结果映射分类，并收集映射的列和属性
+         *
+         * @return ResultMap
+         */
+        public ResultMap build() {
+            if (resultMap.id == null) {
+                throw new IllegalArgumentException("ResultMaps must have an id");
+            }
+
+            resultMap.mappedColumns = new HashSet<>();
+            resultMap.mappedProperties = new HashSet<>();
+            resultMap.idResultMappings = new ArrayList<>();
+            resultMap.constructorResultMappings = new ArrayList<>();
+            resultMap.propertyResultMappings = new ArrayList<>();
+
+            for (ResultMapping resultMapping : resultMap.resultMappings) {
+                resultMap.hasNestedQueries = resultMap.hasNestedQueries
+                        || resultMapping.getNestedQueryId() != null;
+                resultMap.hasNestedResultMaps = resultMap.hasNestedResultMaps
+                        || resultMapping.getNestedResultMapId() != null;
+
+                String column = resultMapping.getColumn();
+                if (column != null) {
+                    resultMap.mappedColumns.add(column.toUpperCase(Locale.ENGLISH));
+                }
+
+                if (resultMapping.getProperty() != null) {
+                    resultMap.mappedProperties.add(resultMapping.getProperty());
+                }
+
+                if (resultMapping.getFlags().contains(ResultFlag.CONSTRUCTOR)) {
+                    resultMap.constructorResultMappings.add(resultMapping);
+                } else {
+                    resultMap.propertyResultMappings.add(resultMapping);
+                }
+
+                if (resultMapping.getFlags().contains(ResultFlag.ID)) {
+                    resultMap.idResultMappings.add(resultMapping);
+                }
+            }
+
+            if (resultMap.idResultMappings.isEmpty()) {
+                resultMap.idResultMappings.addAll(resultMap.resultMappings);
+            }
+
+            resultMap.resultMappings = Collections.unmodifiableList(resultMap.resultMappings);
+            resultMap.idResultMappings = Collections.unmodifiableList(resultMap.idResultMappings);
+            resultMap.constructorResultMappings = Collections.unmodifiableList(resultMap.constructorResultMappings);
+            resultMap.propertyResultMappings = Collections.unmodifiableList(resultMap.propertyResultMappings);
+            resultMap.mappedColumns = Collections.unmodifiableSet(resultMap.mappedColumns);
+            resultMap.mappedProperties = Collections.unmodifiableSet(resultMap.mappedProperties);
+
+            return resultMap;
+        }
     }
 }
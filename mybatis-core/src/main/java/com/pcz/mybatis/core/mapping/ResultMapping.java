@@ -1,9 +1,269 @@
 package com.pcz.mybatis.core.mapping;
 
+import com.pcz.mybatis.core.session.Configuration;
+import com.pcz.mybatis.core.type.JdbcType;
+import com.pcz.mybatis.core.type.TypeHandler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 /**
  * 结果映射
  *
  * @author picongzhi
  */
 public class ResultMapping {
+    /**
+     * 配置
+     */
+    private Configuration configuration;
+
+    /**
+     * 属性
+     */
+    private String property;
+
+    /**
+     * 列名
+     */
+    private String column;
+
+    /**
+     * Java 类型
+     */
+    private Class<?> javaType;
+
+    /**
+     * Jdbc 类型
+     */
+    private JdbcType jdbcType;
+
+    /**
+     * 类型处理器
+     */
+    private TypeHandler<?> typeHandler;
+
+    /**
+     * 嵌套的结果 Map id
+     */
+    private String nestedResultMapId;
+
+    /**
+     * 嵌套查询的语句 id
+     */
+    private String nestedQueryId;
+
+    /**
+     * 标记
+     */
+    private List<ResultFlag> flags;
+
+    /**
+     * 列名前缀
+     */
+    private String columnPrefix;
+
+    /**
+     * 是否懒加载
+     */
+    private boolean lazy;
+
+    /**
+     * 嵌套查询的批量加载大小，null 表示使用全局配置，0 表示逐行加载
+     */
+    private Integer batchSize;
+
+    private ResultMapping() {
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public Class<?> getJavaType() {
+        return javaType;
+    }
+
+    public JdbcType getJdbcType() {
+        return jdbcType;
+    }
+
+    public TypeHandler<?> getTypeHandler() {
+        return typeHandler;
+    }
+
+    public String getNestedResultMapId() {
+        return nestedResultMapId;
+    }
+
+    public String getNestedQueryId() {
+        return nestedQueryId;
+    }
+
+    public List<ResultFlag> getFlags() {
+        return flags;
+    }
+
+    public String getColumnPrefix() {
+        return columnPrefix;
+    }
+
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    public Integer getBatchSize() {
+        return batchSize;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        ResultMapping that = (ResultMapping) o;
+        return property != null && property.equals(that.property);
+    }
+
+    @Override
+    public int hashCode() {
+        if (property != null) {
+            return property.hashCode();
+        }
+
+        return column != null ? column.hashCode() : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "ResultMapping{" +
+                "property='" + property + '\'' +
+                ", column='" + column + '\'' +
+                ", javaType=" + javaType +
+                ", jdbcType=" + jdbcType +
+                ", nestedResultMapId='" + nestedResultMapId + '\'' +
+                ", nestedQueryId='" + nestedQueryId + '\'' +
+                ", flags=" + flags +
+                ", columnPrefix='" + columnPrefix + '\'' +
+                ", lazy=" + lazy +
+                ", batchSize=" + batchSize +
+                '}';
+    }
+
+    /**
+     * 结果映射构造器
+     */
+    public static class Builder {
+        /**
+         * 结果映射
+         */
+        private final ResultMapping resultMapping = new ResultMapping();
+
+        public Builder(Configuration configuration, String property, String column, TypeHandler<?> typeHandler) {
+            this(configuration, property);
+            resultMapping.column = column;
+            resultMapping.typeHandler = typeHandler;
+        }
+
+        public Builder(Configuration configuration, String property, String column, Class<?> javaType) {
+            this(configuration, property);
+            resultMapping.column = column;
+            resultMapping.javaType = javaType;
+        }
+
+        public Builder(Configuration configuration, String property) {
+            resultMapping.configuration = configuration;
+            resultMapping.property = property;
+            resultMapping.flags = new ArrayList<>();
+            resultMapping.lazy = configuration.isLazyLoadingEnabled();
+        }
+
+        public Builder column(String column) {
+            resultMapping.column = column;
+            return this;
+        }
+
+        public Builder javaType(Class<?> javaType) {
+            resultMapping.javaType = javaType;
+            return this;
+        }
+
+        public Builder jdbcType(JdbcType jdbcType) {
+            resultMapping.jdbcType = jdbcType;
+            return this;
+        }
+
+        public Builder typeHandler(TypeHandler<?> typeHandler) {
+            resultMapping.typeHandler = typeHandler;
+            return this;
+        }
+
+        public Builder nestedResultMapId(String nestedResultMapId) {
+            resultMapping.nestedResultMapId = nestedResultMapId;
+            return this;
+        }
+
+        public Builder nestedQueryId(String nestedQueryId) {
+            resultMapping.nestedQueryId = nestedQueryId;
+            return this;
+        }
+
+        public Builder flags(List<ResultFlag> flags) {
+            resultMapping.flags = flags;
+            return this;
+        }
+
+        public Builder columnPrefix(String columnPrefix) {
+            resultMapping.columnPrefix = columnPrefix;
+            return this;
+        }
+
+        public Builder lazy(boolean lazy) {
+            resultMapping.lazy = lazy;
+            return this;
+        }
+
+        public Builder batchSize(Integer batchSize) {
+            resultMapping.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * 构造结果映射
+         * 未指定类型处理器且指定了 Java 类型时根据 Java 类型和 Jdbc 类型解析，否则在映射时根据属性类型解析
+         *
+         * @return 结果映射
+         */
+        public ResultMapping build() {
+            resultMapping.flags = Collections.unmodifiableList(resultMapping.flags);
+            if (resultMapping.typeHandler == null
+                    && resultMapping.javaType != null
+                    && resultMapping.nestedResultMapId == null) {
+                resultMapping.typeHandler = resultMapping.configuration.getTypeHandlerRegistry()
+                        .getTypeHandler(resultMapping.javaType, resultMapping.jdbcType);
+            }
+
+            if (resultMapping.batchSize != null && resultMapping.batchSize < 0) {
+                throw new IllegalStateException("Batch size of property " + resultMapping.property
+                        + " must not be negative");
+            }
+
+            if (resultMapping.nestedQueryId != null && resultMapping.nestedResultMapId != null) {
+                throw new IllegalStateException("Cannot define both nestedQueryId and nestedResultMapId in property "
+                        + resultMapping.property);
+            }
+
+            return resultMapping;
+        }
+    }
 }
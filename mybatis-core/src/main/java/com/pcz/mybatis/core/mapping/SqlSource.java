@@ -0,0 +1,16 @@
+package com.pcz.mybatis.core.mapping;
+
+/**
+ * Sql 源
+ *
+ * @author picongzhi
+ */
+public interface SqlSource {
+    /**
+     * 获取绑定的 Sql
+     *
+     * @param parameterObject 参数对象
+     * @return 绑定的 Sql
+     */
+    BoundSql getBoundSql(Object parameterObject);
+}
@@ -1,5 +1,6 @@
 package com.pcz.mybatis.core.plugins;
 
+import com.pcz.mybatis.core.reflection.ExceptionUtil;
 import com.pcz.mybatis.core.util.MapUtil;
 
 import java.lang.reflect.InvocationHandler;
@@ -60,7 +61,16 @@ public class Plugin implements InvocationHandler {
 
     @Override
     public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-        return null;
+        try {
+            Set<Method> methods = signatureMap.get(method.getDeclaringClass());
+            if (methods != null && methods.contains(method)) {
+                return interceptor.intercept(new Invocation(target, method, args));
+            }
+
+            return method.invoke(target, args);
+        } catch (Exception e) {
+            throw ExceptionUtil.unwrapThrowable(e);
+        }
     }
 
     /**
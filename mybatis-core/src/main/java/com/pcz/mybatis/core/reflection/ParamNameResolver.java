@@ -3,6 +3,7 @@ package com.pcz.mybatis.core.reflection;
 import com.pcz.mybatis.core.annotations.Param;
 import com.pcz.mybatis.core.binding.MapperMethod;
 import com.pcz.mybatis.core.session.Configuration;
+import com.pcz.mybatis.core.session.KeysetBounds;
 import com.pcz.mybatis.core.session.ResultHandler;
 import com.pcz.mybatis.core.session.RowBounds;
 
@@ -142,13 +143,14 @@ public class ParamNameResolver {
 
     /**
      * 判断是否是特殊参数
-     * {@link RowBounds} 或 {@link ResultHandler}
+     * {@link RowBounds}、{@link KeysetBounds} 或 {@link ResultHandler}
      *
      * @param cls Class 实例
      * @return 是否是特殊参数
      */
     private static boolean isSpecialParameter(Class<?> cls) {
         return RowBounds.class.isAssignableFrom(cls)
+                || KeysetBounds.class.isAssignableFrom(cls)
                 || ResultHandler.class.isAssignableFrom(cls);
     }
 
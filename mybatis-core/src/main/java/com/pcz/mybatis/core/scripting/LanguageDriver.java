@@ -1,9 +1,34 @@
 package com.pcz.mybatis.core.scripting;
 
+import com.pcz.mybatis.core.executor.parameter.ParameterHandler;
+import com.pcz.mybatis.core.mapping.BoundSql;
+import com.pcz.mybatis.core.mapping.MappedStatement;
+import com.pcz.mybatis.core.mapping.SqlSource;
+import com.pcz.mybatis.core.session.Configuration;
+
 /**
  * 语言驱动
  *
  * @author picongzhi
  */
 public interface LanguageDriver {
+    /**
+     * 创建参数处理器
+     *
+     * @param mappedStatement 映射的语句
+     * @param parameterObject 参数对象
+     * @param boundSql        绑定的 Sql
+     * @return 参数处理器
+     */
+    ParameterHandler createParameterHandler(MappedStatement mappedStatement, Object parameterObject, BoundSql boundSql);
+
+    /**
+     * 根据脚本创建 Sql 源
+     *
+     * @param configuration 配置
+     * @param script        脚本
+     * @param parameterType 参数类型
+     * @return Sql 源
+     */
+    SqlSource createSqlSource(Configuration configuration, String script, Class<?> parameterType);
 }
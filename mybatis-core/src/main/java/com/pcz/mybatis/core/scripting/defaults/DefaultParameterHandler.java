@@ -0,0 +1,110 @@
+package com.pcz.mybatis.core.scripting.defaults;
+
+import com.pcz.mybatis.core.executor.ErrorContext;
+import com.pcz.mybatis.core.executor.parameter.ParameterHandler;
+import com.pcz.mybatis.core.mapping.BoundSql;
+import com.pcz.mybatis.core.mapping.MappedStatement;
+import com.pcz.mybatis.core.mapping.ParameterMapping;
+import com.pcz.mybatis.core.mapping.ParameterMode;
+import com.pcz.mybatis.core.reflection.MetaObject;
+import com.pcz.mybatis.core.session.Configuration;
+import com.pcz.mybatis.core.type.JdbcType;
+import com.pcz.mybatis.core.type.TypeException;
+import com.pcz.mybatis.core.type.TypeHandler;
+import com.pcz.mybatis.core.type.TypeHandlerRegistry;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * 默认的参数处理器
+ *
+ * @author picongzhi
+ */
+public class DefaultParameterHandler implements ParameterHandler {
+    /**
+     * 类型处理器注册器
+     */
+    private final TypeHandlerRegistry typeHandlerRegistry;
+
+    /**
+     * 映射的语句
+     */
+    private final MappedStatement mappedStatement;
+
+    /**
+     * 参数对象
+     */
+    private final Object parameterObject;
+
+    /**
+     * 绑定的 Sql
+     */
+    private final BoundSql boundSql;
+
+    /**
+     * 配置
+     */
+    private final Configuration configuration;
+
+    public DefaultParameterHandler(MappedStatement mappedStatement, Object parameterObject, BoundSql boundSql) {
+        this.mappedStatement = mappedStatement;
+        this.configuration = mappedStatement.getConfiguration();
+        this.typeHandlerRegistry = configuration.getTypeHandlerRegistry();
+        this.parameterObject = parameterObject;
+        this.boundSql = boundSql;
+    }
+
+    @Override
+    public Object getParameterObject() {
+        return parameterObject;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void setParameters(PreparedStatement preparedStatement) throws SQLException {
+        ErrorContext.instance()
+                .activity("setting parameters")
+                .object(mappedStatement.getId());
+        List<ParameterMapping> parameterMappings = boundSql.getParameterMappings();
+        if (parameterMappings == null) {
+            return;
+        }
+
+        MetaObject metaObject = null;
+        for (int i = 0; i < parameterMappings.size(); i++) {
+            ParameterMapping parameterMapping = parameterMappings.get(i);
+            if (parameterMapping.getMode() == ParameterMode.OUT) {
+                continue;
+            }
+
+            Object value;
+            String property = parameterMapping.getProperty();
+            if (boundSql.hasAdditionalParameter(property)) {
+                value = boundSql.getAdditionalParameter(property);
+            } else if (parameterObject == null) {
+                value = null;
+            } else if (typeHandlerRegistry.hasTypeHandler(parameterObject.getClass())) {
+                value = parameterObject;
+            } else {
+                if (metaObject == null) {
+                    metaObject = configuration.newMetaObject(parameterObject);
+                }
+                value = metaObject.getValue(property);
+            }
+
+            TypeHandler<Object> typeHandler = (TypeHandler<Object>) parameterMapping.getTypeHandler();
+            JdbcType jdbcType = parameterMapping.getJdbcType();
+            if (value == null && jdbcType == null) {
+                jdbcType = configuration.getJdbcTypeForNull();
+            }
+
+            try {
+                typeHandler.setParameter(preparedStatement, i + 1, value, jdbcType);
+            } catch (TypeException | SQLException e) {
+                throw new TypeException("Could not set parameters for mapping: " + parameterMapping + ". Cause: " + e, e);
+            }
+        }
+    }
+}
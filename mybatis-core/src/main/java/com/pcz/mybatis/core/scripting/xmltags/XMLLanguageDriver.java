@@ -1,6 +1,13 @@
 package com.pcz.mybatis.core.scripting.xmltags;
 
+import com.pcz.mybatis.core.builder.SqlSourceBuilder;
+import com.pcz.mybatis.core.executor.parameter.ParameterHandler;
+import com.pcz.mybatis.core.mapping.BoundSql;
+import com.pcz.mybatis.core.mapping.MappedStatement;
+import com.pcz.mybatis.core.mapping.SqlSource;
 import com.pcz.mybatis.core.scripting.LanguageDriver;
+import com.pcz.mybatis.core.scripting.defaults.DefaultParameterHandler;
+import com.pcz.mybatis.core.session.Configuration;
 
 /**
  * XML 语言驱动
@@ -8,4 +15,24 @@ import com.pcz.mybatis.core.scripting.LanguageDriver;
  * @author picongzhi
  */
 public class XMLLanguageDriver implements LanguageDriver {
+    @Override
+    public ParameterHandler createParameterHandler(MappedStatement mappedStatement,
+                                                   Object parameterObject,
+                                                   BoundSql boundSql) {
+        return new DefaultParameterHandler(mappedStatement, parameterObject, boundSql);
+    }
+
+    /**
+     * 创建 Sql 源
+     * 脚本按静态 Sql 解析，只替换 #{} 参数占位符，不处理 if、where、foreach 等动态 Sql 标签
+     *
+     * @param configuration 配置
+     * @param script        脚本
+     * @param parameterType 参数类型
+     * @return Sql 源
+     */
+    @Override
+    public SqlSource createSqlSource(Configuration configuration, String script, Class<?> parameterType) {
+        return new SqlSourceBuilder(configuration).parse(script, parameterType);
+    }
 }
@@ -0,0 +1,274 @@
+package com.pcz.mybatis.core.session;
+
+import com.pcz.mybatis.core.binding.MapperMethod;
+import com.pcz.mybatis.core.datasource.pooled.PooledDataSource;
+import com.pcz.mybatis.core.mapping.Environment;
+
+import java.io.Closeable;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 异步会话
+ * 每次调用在工作线程上开启独立的会话执行，成功后提交，返回 CompletableFuture，多个互不依赖的查询可以并发执行
+ * 同时访问数据库的调用数由信号量限制，默认等于连接池的最大连接数，避免工作线程在连接池上排队
+ * 默认的工作线程：运行时支持虚拟线程时每个调用一个虚拟线程，否则使用与并发数相同大小的线程池
+ *
+ * @author picongzhi
+ */
+public class AsyncSqlSession implements Closeable {
+    /**
+     * 非池化数据源的默认并发数
+     */
+    private static final int DEFAULT_MAX_CONCURRENCY = 10;
+
+    /**
+     * 会话工厂
+     */
+    private final SqlSessionFactory sqlSessionFactory;
+
+    /**
+     * 工作线程池
+     */
+    private final Executor executor;
+
+    /**
+     * 是否需要在关闭时关闭工作线程池
+     */
+    private final boolean ownsExecutor;
+
+    /**
+     * 限制并发数的信号量
+     */
+    private final Semaphore semaphore;
+
+    /**
+     * 最大并发数
+     */
+    private final int maxConcurrency;
+
+    /**
+     * Mapper 方法缓存
+     */
+    private final Map<Method, MapperMethod> methodCache = new ConcurrentHashMap<>();
+
+    public AsyncSqlSession(SqlSessionFactory sqlSessionFactory) {
+        this(sqlSessionFactory, defaultMaxConcurrency(sqlSessionFactory.getConfiguration()));
+    }
+
+    public AsyncSqlSession(SqlSessionFactory sqlSessionFactory, int maxConcurrency) {
+        this(sqlSessionFactory, newDefaultExecutor(maxConcurrency), maxConcurrency, true);
+    }
+
+    public AsyncSqlSession(SqlSessionFactory sqlSessionFactory, Executor executor, int maxConcurrency) {
+        this(sqlSessionFactory, executor, maxConcurrency, false);
+    }
+
+    private AsyncSqlSession(SqlSessionFactory sqlSessionFactory,
+                            Executor executor,
+                            int maxConcurrency,
+                            boolean ownsExecutor) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Parameter 'maxConcurrency' must be positive");
+        }
+
+        this.sqlSessionFactory = sqlSessionFactory;
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+        this.maxConcurrency = maxConcurrency;
+        this.semaphore = new Semaphore(maxConcurrency, true);
+    }
+
+    public <T> CompletableFuture<T> selectOne(String statement, Object parameter) {
+        return submit(sqlSession -> sqlSession.selectOne(statement, parameter));
+    }
+
+    public <E> CompletableFuture<List<E>> selectList(String statement, Object parameter) {
+        return submit(sqlSession -> sqlSession.selectList(statement, parameter));
+    }
+
+    public <E> CompletableFuture<List<E>> selectList(String statement, Object parameter, RowBounds rowBounds) {
+        return submit(sqlSession -> sqlSession.selectList(statement, parameter, rowBounds));
+    }
+
+    public <K, V> CompletableFuture<Map<K, V>> selectMap(String statement, Object parameter, String mapKey) {
+        return submit(sqlSession -> sqlSession.selectMap(statement, parameter, mapKey));
+    }
+
+    public CompletableFuture<Integer> insert(String statement, Object parameter) {
+        return submit(sqlSession -> sqlSession.insert(statement, parameter));
+    }
+
+    public CompletableFuture<Integer> update(String statement, Object parameter) {
+        return submit(sqlSession -> sqlSession.update(statement, parameter));
+    }
+
+    public CompletableFuture<Integer> delete(String statement, Object parameter) {
+        return submit(sqlSession -> sqlSession.delete(statement, parameter));
+    }
+
+    /**
+     * 在独立的会话中异步执行
+     *
+     * @param action 执行的操作
+     * @param <T>    结果泛型
+     * @return 结果
+     */
+    public <T> CompletableFuture<T> submit(Function<SqlSession, T> action) {
+        return CompletableFuture.supplyAsync(() -> execute(action), executor);
+    }
+
+    /**
+     * 获取 Mapper，返回 CompletableFuture 的方法在工作线程上异步执行，其他方法在调用线程上同步执行，
+     * 每次调用都在独立的会话中执行，会话在调用结束时关闭，因此不支持返回游标的方法
+     *
+     * @param type Mapper 类型
+     * @param <T>  Mapper 泛型
+     * @return Mapper
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getMapper(Class<T> type) {
+        Configuration configuration = sqlSessionFactory.getConfiguration();
+        if (!configuration.hasMapper(type)) {
+            throw new SqlSessionException("Type " + type + " is not known to the MapperRegistry.");
+        }
+
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (Object.class.equals(method.getDeclaringClass())) {
+                return invokeObjectMethod(proxy, method, args, type);
+            }
+
+            MapperMethod mapperMethod = methodCache.computeIfAbsent(method,
+                    key -> new MapperMethod(type, key, configuration));
+            if (mapperMethod.returnsCursor()) {
+                throw new SqlSessionException("Mapper method '" + type.getName() + "." + method.getName()
+                        + "' returns a Cursor, which is not supported by AsyncSqlSession because each call "
+                        + "runs in its own session that is closed when the call completes");
+            }
+
+            if (mapperMethod.returnsFuture()) {
+                return submit(sqlSession -> mapperMethod.execute(sqlSession, args))
+                        .thenCompose(result -> (CompletableFuture<Object>) result);
+            }
+
+            return execute(sqlSession -> mapperMethod.execute(sqlSession, args));
+        });
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * 获取正在访问数据库的调用数
+     *
+     * @return 正在访问数据库的调用数
+     */
+    public int getActiveCount() {
+        return maxConcurrency - semaphore.availablePermits();
+    }
+
+    @Override
+    public void close() {
+        if (ownsExecutor && executor instanceof ExecutorService) {
+            ((ExecutorService) executor).shutdown();
+        }
+    }
+
+    /**
+     * 在当前线程上开启独立的会话执行，成功后提交
+     *
+     * @param action 执行的操作
+     * @param <T>    结果泛型
+     * @return 结果
+     */
+    private <T> T execute(Function<SqlSession, T> action) {
+        acquire();
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            T result = action.apply(sqlSession);
+            sqlSession.commit();
+            return result;
+        } finally {
+            semaphore.release();
+        }
+    }
+
+    /**
+     * 获取信号量许可
+     */
+    private void acquire() {
+        try {
+            semaphore.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SqlSessionException("Interrupted while waiting for a database permit", e);
+        }
+    }
+
+    /**
+     * 调用 Object 的方法
+     *
+     * @param proxy  代理对象
+     * @param method 方法
+     * @param args   参数
+     * @param type   Mapper 类型
+     * @return 结果
+     */
+    private static Object invokeObjectMethod(Object proxy, Method method, Object[] args, Class<?> type) {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            default:
+                return "AsyncMapper[" + type.getName() + "]";
+        }
+    }
+
+    /**
+     * 计算默认的并发数，池化数据源取最大连接数
+     *
+     * @param configuration 配置
+     * @return 默认的并发数
+     */
+    private static int defaultMaxConcurrency(Configuration configuration) {
+        Environment environment = configuration.getEnvironment();
+        if (environment != null && environment.getDataSource() instanceof PooledDataSource) {
+            return ((PooledDataSource) environment.getDataSource()).getMaxPoolSize();
+        }
+
+        return DEFAULT_MAX_CONCURRENCY;
+    }
+
+    /**
+     * 创建默认的工作线程池，运行时支持虚拟线程时使用虚拟线程
+     *
+     * @param poolSize 线程池大小
+     * @return 工作线程池
+     */
+    private static ExecutorService newDefaultExecutor(int poolSize) {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            // Java 21 之前没有虚拟线程
+        }
+
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(poolSize, runnable -> {
+            Thread thread = new Thread(runnable, "mybatis-async-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -1,5 +1,7 @@
 package com.pcz.mybatis.core.session;
 
+import com.pcz.mybatis.core.logging.Log;
+import com.pcz.mybatis.core.logging.LogFactory;
 import com.pcz.mybatis.core.mapping.MappedStatement;
 
 /**
@@ -18,12 +20,12 @@ public enum AutoMappingUnknownColumnBehavior {
         }
     },
     /**
-     * 输出警告的日志
+     * 输出警告的日志，自动映射按语句和列结构缓存，同一列结构只在创建自动映射时输出一次
      */
     WARNING {
         @Override
         public void doAction(MappedStatement mappedStatement, String columnName, String propertyName, Class<?> propertyType) {
-            // TODO: 打印警告日志
+            LogHolder.LOG.warn(buildMessage(mappedStatement, columnName, propertyName, propertyType));
         }
     },
     /**
@@ -66,4 +68,14 @@ public enum AutoMappingUnknownColumnBehavior {
                 .append("]")
                 .toString();
     }
+
+    /**
+     * 日志，枚举常量不能在构造期间访问自身的静态字段
+     */
+    private static class LogHolder {
+        /**
+         * 日志
+         */
+        private static final Log LOG = LogFactory.getLog(AutoMappingUnknownColumnBehavior.class);
+    }
 }
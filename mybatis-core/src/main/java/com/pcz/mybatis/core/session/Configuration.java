@@ -7,16 +7,35 @@ import com.pcz.mybatis.core.builder.xml.XMLStatementBuilder;
 import com.pcz.mybatis.core.cache.Cache;
 import com.pcz.mybatis.core.cache.decorators.LruCache;
 import com.pcz.mybatis.core.cache.impl.PerpetualCache;
+import com.pcz.mybatis.core.datasource.pooled.PooledDataSourceFactory;
+import com.pcz.mybatis.core.datasource.routing.LeastInFlightReplicaSelector;
+import com.pcz.mybatis.core.datasource.routing.RoundRobinReplicaSelector;
+import com.pcz.mybatis.core.datasource.sharding.ModShardingFunction;
 import com.pcz.mybatis.core.datasource.unpooled.UnpooledDataSourceFactory;
+import com.pcz.mybatis.core.dialect.Dialect;
+import com.pcz.mybatis.core.dialect.DialectRegistry;
+import com.pcz.mybatis.core.executor.BatchExecutor;
+import com.pcz.mybatis.core.executor.Executor;
+import com.pcz.mybatis.core.executor.ReorderingBatchExecutor;
+import com.pcz.mybatis.core.executor.ReuseExecutor;
+import com.pcz.mybatis.core.executor.SimpleExecutor;
 import com.pcz.mybatis.core.executor.loader.ProxyFactory;
 import com.pcz.mybatis.core.executor.loader.cglib.CglibProxyFactory;
 import com.pcz.mybatis.core.executor.loader.javassist.JavassistProxyFactory;
+import com.pcz.mybatis.core.executor.parameter.ParameterHandler;
+import com.pcz.mybatis.core.executor.resultset.DefaultResultSetHandler;
+import com.pcz.mybatis.core.executor.resultset.ResultSetHandler;
+import com.pcz.mybatis.core.executor.resultset.RowMapperCompiler;
+import com.pcz.mybatis.core.executor.statement.RoutingStatementHandler;
+import com.pcz.mybatis.core.executor.statement.StatementHandler;
 import com.pcz.mybatis.core.io.VFS;
 import com.pcz.mybatis.core.logging.Log;
 import com.pcz.mybatis.core.logging.LogFactory;
 import com.pcz.mybatis.core.logging.slf4j.Slf4jImpl;
+import com.pcz.mybatis.core.mapping.BoundSql;
 import com.pcz.mybatis.core.mapping.Environment;
 import com.pcz.mybatis.core.mapping.MappedStatement;
+import com.pcz.mybatis.core.mapping.ResultMap;
 import com.pcz.mybatis.core.mapping.ResultSetType;
 import com.pcz.mybatis.core.mapping.VendorDatabaseIdProvider;
 import com.pcz.mybatis.core.parsing.XNode;
@@ -33,6 +52,7 @@ import com.pcz.mybatis.core.scripting.LanguageDriver;
 import com.pcz.mybatis.core.scripting.LanguageDriverRegistry;
 import com.pcz.mybatis.core.scripting.defaults.RawLanguageDriver;
 import com.pcz.mybatis.core.scripting.xmltags.XMLLanguageDriver;
+import com.pcz.mybatis.core.transaction.Transaction;
 import com.pcz.mybatis.core.transaction.jdbc.JdbcTransactionFactory;
 import com.pcz.mybatis.core.type.JdbcType;
 import com.pcz.mybatis.core.type.TypeAliasRegistry;
@@ -144,6 +164,51 @@ public class Configuration {
      */
     protected Integer defaultFetchSize;
 
+    /**
+     * 默认的游标预取深度，null 表示不预取
+     */
+    protected Integer defaultPrefetchDepth;
+
+    /**
+     * 嵌套查询默认的批量加载大小，null 或 0 表示逐行加载
+     */
+    protected Integer defaultNestedSelectBatchSize;
+
+    /**
+     * 批量执行时自动刷新的行数，null 表示不限制
+     */
+    protected Integer batchFlushRows;
+
+    /**
+     * 批量执行时自动刷新的估算字节数，null 表示不限制
+     */
+    protected Long batchFlushBytes;
+
+    /**
+     * 批量执行时是否在刷新时按映射的语句重排
+     */
+    protected boolean batchReorderingEnabled;
+
+    /**
+     * 以集合为参数的 insert 语句是否改写为多行 VALUES 的语句
+     */
+    protected boolean multiRowInsertEnabled;
+
+    /**
+     * 是否按方言把行边界改写为 Sql 中的分页子句
+     */
+    protected boolean rowBoundsPushdownEnabled = true;
+
+    /**
+     * 是否为结果 Map 生成编译的行映射器
+     */
+    protected boolean compiledRowMappersEnabled = true;
+
+    /**
+     * 是否由共享的超时调度器取消超时的语句，启用后不再设置驱动的查询超时
+     */
+    protected boolean timeoutSchedulerEnabled;
+
     /**
      * 默认的结果集类型
      */
@@ -250,6 +315,16 @@ public class Configuration {
      */
     protected final TypeHandlerRegistry typeHandlerRegistry = new TypeHandlerRegistry(this);
 
+    /**
+     * 数据库方言注册器
+     */
+    protected final DialectRegistry dialectRegistry = new DialectRegistry();
+
+    /**
+     * 行映射器编译器
+     */
+    protected final RowMapperCompiler rowMapperCompiler = new RowMapperCompiler(this);
+
     /**
      * Mapper 注册器
      */
@@ -268,6 +343,11 @@ public class Configuration {
      */
     private final Map<String, Cache> caches = new StrictMap<>("Cache collection");
 
+    /**
+     * 结果 Map
+     */
+    protected final Map<String, ResultMap> resultMaps = new StrictMap<>("Result Maps collection");
+
     /**
      * SQL 片段
      */
@@ -303,6 +383,11 @@ public class Configuration {
         // 数据源
         typeAliasRegistry.registerAlias("JDBC", JdbcTransactionFactory.class);
         typeAliasRegistry.registerAlias("UNPOOLED", UnpooledDataSourceFactory.class);
+        typeAliasRegistry.registerAlias("POOLED", PooledDataSourceFactory.class);
+
+        typeAliasRegistry.registerAlias("ROUND_ROBIN", RoundRobinReplicaSelector.class);
+        typeAliasRegistry.registerAlias("LEAST_IN_FLIGHT", LeastInFlightReplicaSelector.class);
+        typeAliasRegistry.registerAlias("MOD", ModShardingFunction.class);
 
         // 缓存
         typeAliasRegistry.registerAlias("PERPETUAL", PerpetualCache.class);
@@ -482,6 +567,82 @@ public class Configuration {
         this.defaultFetchSize = defaultFetchSize;
     }
 
+    public Integer getDefaultPrefetchDepth() {
+        return defaultPrefetchDepth;
+    }
+
+    public void setDefaultPrefetchDepth(Integer defaultPrefetchDepth) {
+        this.defaultPrefetchDepth = defaultPrefetchDepth;
+    }
+
+    public Integer getDefaultNestedSelectBatchSize() {
+        return defaultNestedSelectBatchSize;
+    }
+
+    public void setDefaultNestedSelectBatchSize(Integer defaultNestedSelectBatchSize) {
+        this.defaultNestedSelectBatchSize = defaultNestedSelectBatchSize;
+    }
+
+    public Integer getBatchFlushRows() {
+        return batchFlushRows;
+    }
+
+    public void setBatchFlushRows(Integer batchFlushRows) {
+        this.batchFlushRows = batchFlushRows;
+    }
+
+    public Long getBatchFlushBytes() {
+        return batchFlushBytes;
+    }
+
+    public void setBatchFlushBytes(Long batchFlushBytes) {
+        this.batchFlushBytes = batchFlushBytes;
+    }
+
+    public boolean isBatchReorderingEnabled() {
+        return batchReorderingEnabled;
+    }
+
+    public void setBatchReorderingEnabled(boolean batchReorderingEnabled) {
+        this.batchReorderingEnabled = batchReorderingEnabled;
+    }
+
+    public boolean isMultiRowInsertEnabled() {
+        return multiRowInsertEnabled;
+    }
+
+    public void setMultiRowInsertEnabled(boolean multiRowInsertEnabled) {
+        this.multiRowInsertEnabled = multiRowInsertEnabled;
+    }
+
+    public boolean isRowBoundsPushdownEnabled() {
+        return rowBoundsPushdownEnabled;
+    }
+
+    public void setRowBoundsPushdownEnabled(boolean rowBoundsPushdownEnabled) {
+        this.rowBoundsPushdownEnabled = rowBoundsPushdownEnabled;
+    }
+
+    public boolean isCompiledRowMappersEnabled() {
+        return compiledRowMappersEnabled;
+    }
+
+    public void setCompiledRowMappersEnabled(boolean compiledRowMappersEnabled) {
+        this.compiledRowMappersEnabled = compiledRowMappersEnabled;
+    }
+
+    public RowMapperCompiler getRowMapperCompiler() {
+        return rowMapperCompiler;
+    }
+
+    public boolean isTimeoutSchedulerEnabled() {
+        return timeoutSchedulerEnabled;
+    }
+
+    public void setTimeoutSchedulerEnabled(boolean timeoutSchedulerEnabled) {
+        this.timeoutSchedulerEnabled = timeoutSchedulerEnabled;
+    }
+
     public ResultSetType getDefaultResultSetType() {
         return defaultResultSetType;
     }
@@ -630,6 +791,19 @@ public class Configuration {
         this.databaseId = databaseId;
     }
 
+    public DialectRegistry getDialectRegistry() {
+        return dialectRegistry;
+    }
+
+    /**
+     * 获取当前 databaseId 对应的方言
+     *
+     * @return 方言
+     */
+    public Dialect getDialect() {
+        return dialectRegistry.getDialect(databaseId);
+    }
+
     public Class<?> getConfigurationFactory() {
         return configurationFactory;
     }
@@ -731,6 +905,26 @@ public class Configuration {
         return caches.containsKey(id);
     }
 
+    public void addResultMap(ResultMap resultMap) {
+        resultMaps.put(resultMap.getId(), resultMap);
+    }
+
+    public Collection<String> getResultMapNames() {
+        return resultMaps.keySet();
+    }
+
+    public Collection<ResultMap> getResultMaps() {
+        return resultMaps.values();
+    }
+
+    public ResultMap getResultMap(String id) {
+        return resultMaps.get(id);
+    }
+
+    public boolean hasResultMap(String id) {
+        return resultMaps.containsKey(id);
+    }
+
     public void setDefaultEnumTypeHandler(Class<? extends TypeHandler> typeHandler) {
         if (typeHandler != null) {
             getTypeHandlerRegistry().setDefaultEnumTypeHandler(typeHandler);
@@ -781,6 +975,101 @@ public class Configuration {
         return MetaObject.forObject(object, objectFactory, objectWrapperFactory, reflectorFactory);
     }
 
+    /**
+     * 创建参数处理器
+     *
+     * @param mappedStatement 映射的语句
+     * @param parameterObject 参数对象
+     * @param boundSql        绑定的 Sql
+     * @return 参数处理器
+     */
+    public ParameterHandler newParameterHandler(MappedStatement mappedStatement,
+                                                Object parameterObject,
+                                                BoundSql boundSql) {
+        ParameterHandler parameterHandler = getDefaultScriptingLanguageInstance()
+                .createParameterHandler(mappedStatement, parameterObject, boundSql);
+        return (ParameterHandler) interceptorChain.pluginAll(parameterHandler);
+    }
+
+    /**
+     * 创建结果集处理器
+     *
+     * @param executor         执行器
+     * @param mappedStatement  映射的语句
+     * @param rowBounds        行边界
+     * @param parameterHandler 参数处理器
+     * @param resultHandler    结果处理器
+     * @param boundSql         绑定的 Sql
+     * @return 结果集处理器
+     */
+    public ResultSetHandler newResultSetHandler(Executor executor,
+                                                MappedStatement mappedStatement,
+                                                RowBounds rowBounds,
+                                                ParameterHandler parameterHandler,
+                                                ResultHandler resultHandler,
+                                                BoundSql boundSql) {
+        ResultSetHandler resultSetHandler = new DefaultResultSetHandler(executor, mappedStatement,
+                parameterHandler, resultHandler, boundSql, rowBounds);
+        return (ResultSetHandler) interceptorChain.pluginAll(resultSetHandler);
+    }
+
+    /**
+     * 创建语句处理器
+     *
+     * @param executor        执行器
+     * @param mappedStatement 映射的语句
+     * @param parameterObject 参数对象
+     * @param rowBounds       行边界
+     * @param resultHandler   结果处理器
+     * @param boundSql        绑定的 Sql
+     * @return 语句处理器
+     */
+    public StatementHandler newStatementHandler(Executor executor,
+                                                MappedStatement mappedStatement,
+                                                Object parameterObject,
+                                                RowBounds rowBounds,
+                                                ResultHandler resultHandler,
+                                                BoundSql boundSql) {
+        StatementHandler statementHandler = new RoutingStatementHandler(executor, mappedStatement,
+                parameterObject, rowBounds, resultHandler, boundSql);
+        return (StatementHandler) interceptorChain.pluginAll(statementHandler);
+    }
+
+    /**
+     * 创建默认类型的执行器
+     *
+     * @param transaction 事务
+     * @return 执行器
+     */
+    public Executor newExecutor(Transaction transaction) {
+        return newExecutor(transaction, defaultExecutorType);
+    }
+
+    /**
+     * 创建执行器
+     *
+     * @param transaction  事务
+     * @param executorType 执行器类型
+     * @return 执行器
+     */
+    public Executor newExecutor(Transaction transaction, ExecutorType executorType) {
+        executorType = executorType == null ? defaultExecutorType : executorType;
+        executorType = executorType == null ? ExecutorType.SIMPLE : executorType;
+
+        Executor executor;
+        if (ExecutorType.BATCH == executorType) {
+            executor = batchReorderingEnabled
+                    ? new ReorderingBatchExecutor(this, transaction)
+                    : new BatchExecutor(this, transaction);
+        } else if (ExecutorType.REUSE == executorType) {
+            executor = new ReuseExecutor(this, transaction);
+        } else {
+            executor = new SimpleExecutor(this, transaction);
+        }
+
+        return (Executor) interceptorChain.pluginAll(executor);
+    }
+
     /**
      * 严格的 Map
      *
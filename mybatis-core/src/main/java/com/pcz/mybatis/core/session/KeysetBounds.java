@@ -0,0 +1,379 @@
+package com.pcz.mybatis.core.session;
+
+import com.pcz.mybatis.core.reflection.MetaObject;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * 键集分页边界，与 {@link RowBounds} 并列
+ * 按声明的键列排序，从上一页最后一行的键值之后开始查询，分页深度不影响每页的查询代价
+ * 键列是查询结果中的列名，键列的组合须唯一且不为 null
+ *
+ * @author picongzhi
+ */
+public class KeysetBounds {
+    /**
+     * 合法的列名
+     */
+    private static final Pattern COLUMN_PATTERN = Pattern.compile("[A-Za-z_][A-Za-z0-9_$]*|\"[^\"]+\"|`[^`]+`");
+
+    /**
+     * 键列
+     */
+    private final List<Key> keys;
+
+    /**
+     * 上一页最后一行的键值，null 表示第一页
+     */
+    private final Object[] after;
+
+    /**
+     * 每页的行数
+     */
+    private final int limit;
+
+    private KeysetBounds(List<Key> keys, Object[] after, int limit) {
+        this.keys = keys;
+        this.after = after;
+        this.limit = limit;
+    }
+
+    public List<Key> getKeys() {
+        return keys;
+    }
+
+    public Object[] getAfter() {
+        return after == null ? null : after.clone();
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * 是否是第一页
+     *
+     * @return 是否是第一页
+     */
+    public boolean isFirstPage() {
+        return after == null;
+    }
+
+    /**
+     * 根据本页最后一行生成下一页的令牌
+     *
+     * @param metaObject 最后一行的元对象
+     * @return 下一页的令牌
+     */
+    public String nextToken(MetaObject metaObject) {
+        Object[] values = new Object[keys.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = metaObject.getValue(keys.get(i).getProperty());
+        }
+
+        return encode(values);
+    }
+
+    /**
+     * 编码键值，只支持常见的标量类型，不使用 Java 序列化，令牌可以安全地交给客户端
+     *
+     * @param values 键值
+     * @return 令牌
+     */
+    static String encode(Object[] values) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(values.length);
+            for (Object value : values) {
+                writeValue(out, value);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Error encoding keyset token. Cause: " + e, e);
+        }
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * 解码键值
+     *
+     * @param token 令牌
+     * @return 键值
+     */
+    static Object[] decode(String token) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+            Object[] values = new Object[in.readUnsignedByte()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = readValue(in);
+            }
+
+            if (in.available() > 0) {
+                throw new IOException("Unexpected trailing bytes");
+            }
+
+            return values;
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid keyset token: " + token, e);
+        }
+    }
+
+    /**
+     * 写入键值
+     *
+     * @param out   输出流
+     * @param value 键值
+     * @throws IOException 异常
+     */
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            throw new IllegalArgumentException("Keyset values must not be null");
+        }
+
+        if (value instanceof String) {
+            out.writeByte('s');
+            out.writeUTF((String) value);
+        } else if (value instanceof Integer) {
+            out.writeByte('i');
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte('l');
+            out.writeLong((Long) value);
+        } else if (value instanceof Short) {
+            out.writeByte('h');
+            out.writeShort((Short) value);
+        } else if (value instanceof Double) {
+            out.writeByte('f');
+            out.writeDouble((Double) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte('b');
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof BigDecimal) {
+            out.writeByte('d');
+            out.writeUTF(value.toString());
+        } else if (value instanceof BigInteger) {
+            out.writeByte('n');
+            out.writeUTF(value.toString());
+        } else if (value instanceof Timestamp) {
+            out.writeByte('t');
+            out.writeLong(((Timestamp) value).getTime());
+            out.writeInt(((Timestamp) value).getNanos());
+        } else if (value instanceof java.sql.Date) {
+            out.writeByte('D');
+            out.writeUTF(value.toString());
+        } else if (value instanceof Date) {
+            out.writeByte('T');
+            out.writeLong(((Date) value).getTime());
+        } else if (value instanceof LocalDateTime) {
+            out.writeByte('L');
+            out.writeUTF(value.toString());
+        } else if (value instanceof LocalDate) {
+            out.writeByte('E');
+            out.writeUTF(value.toString());
+        } else if (value instanceof Instant) {
+            out.writeByte('I');
+            out.writeUTF(value.toString());
+        } else {
+            throw new IllegalArgumentException("Unsupported keyset value type: " + value.getClass().getName());
+        }
+    }
+
+    /**
+     * 读取键值
+     *
+     * @param in 输入流
+     * @return 键值
+     * @throws IOException 异常
+     */
+    private static Object readValue(DataInputStream in) throws IOException {
+        int type = in.readUnsignedByte();
+        switch (type) {
+            case 's':
+                return in.readUTF();
+            case 'i':
+                return in.readInt();
+            case 'l':
+                return in.readLong();
+            case 'h':
+                return in.readShort();
+            case 'f':
+                return in.readDouble();
+            case 'b':
+                return in.readBoolean();
+            case 'd':
+                return new BigDecimal(in.readUTF());
+            case 'n':
+                return new BigInteger(in.readUTF());
+            case 't':
+                Timestamp timestamp = new Timestamp(in.readLong());
+                timestamp.setNanos(in.readInt());
+                return timestamp;
+            case 'D':
+                return java.sql.Date.valueOf(in.readUTF());
+            case 'T':
+                return new Date(in.readLong());
+            case 'L':
+                return LocalDateTime.parse(in.readUTF());
+            case 'E':
+                return LocalDate.parse(in.readUTF());
+            case 'I':
+                return Instant.parse(in.readUTF());
+            default:
+                throw new IllegalArgumentException("Unknown keyset value type: " + type);
+        }
+    }
+
+    /**
+     * 键列
+     */
+    public static class Key {
+        /**
+         * 列名
+         */
+        private final String column;
+
+        /**
+         * 结果对象中对应的属性
+         */
+        private final String property;
+
+        /**
+         * 是否降序
+         */
+        private final boolean descending;
+
+        Key(String column, String property, boolean descending) {
+            this.column = column;
+            this.property = property;
+            this.descending = descending;
+        }
+
+        public String getColumn() {
+            return column;
+        }
+
+        public String getProperty() {
+            return property;
+        }
+
+        public boolean isDescending() {
+            return descending;
+        }
+    }
+
+    /**
+     * 构造器
+     */
+    public static class Builder {
+        /**
+         * 键列
+         */
+        private final List<Key> keys = new ArrayList<>();
+
+        /**
+         * 每页的行数
+         */
+        private final int limit;
+
+        /**
+         * 上一页最后一行的键值
+         */
+        private Object[] after;
+
+        public Builder(int limit) {
+            if (limit <= 0) {
+                throw new IllegalArgumentException("Parameter 'limit' must be positive");
+            }
+
+            this.limit = limit;
+        }
+
+        /**
+         * 添加升序的键列，属性名与列名相同
+         *
+         * @param column 列名
+         * @return 构造器
+         */
+        public Builder key(String column) {
+            return key(column, column, false);
+        }
+
+        /**
+         * 添加键列
+         *
+         * @param column     列名
+         * @param property   结果对象中对应的属性
+         * @param descending 是否降序
+         * @return 构造器
+         */
+        public Builder key(String column, String property, boolean descending) {
+            if (column == null || !COLUMN_PATTERN.matcher(column).matches()) {
+                throw new IllegalArgumentException("Invalid keyset column: " + column);
+            }
+
+            if (property == null) {
+                throw new IllegalArgumentException("Parameter 'property' must not be null");
+            }
+
+            keys.add(new Key(column, property, descending));
+            return this;
+        }
+
+        /**
+         * 从令牌指定的位置之后开始，令牌为 null 时查询第一页
+         *
+         * @param token 上一页返回的令牌
+         * @return 构造器
+         */
+        public Builder after(String token) {
+            this.after = token == null ? null : decode(token);
+            return this;
+        }
+
+        /**
+         * 从指定的键值之后开始
+         *
+         * @param values 键值，与键列一一对应
+         * @return 构造器
+         */
+        public Builder afterValues(Object... values) {
+            this.after = values == null ? null : values.clone();
+            return this;
+        }
+
+        public KeysetBounds build() {
+            if (keys.isEmpty()) {
+                throw new IllegalArgumentException("At least one keyset column is required");
+            }
+
+            if (after != null) {
+                if (after.length != keys.size()) {
+                    throw new IllegalArgumentException("Expected " + keys.size()
+                            + " keyset values but got " + after.length);
+                }
+
+                if (Arrays.asList(after).contains(null)) {
+                    throw new IllegalArgumentException("Keyset values must not be null");
+                }
+            }
+
+            return new KeysetBounds(Collections.unmodifiableList(new ArrayList<>(keys)), after, limit);
+        }
+    }
+}
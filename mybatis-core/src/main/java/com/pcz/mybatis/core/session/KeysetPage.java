@@ -0,0 +1,48 @@
+package com.pcz.mybatis.core.session;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 键集分页的一页结果
+ *
+ * @param <E> 映射的对象泛型
+ * @author picongzhi
+ */
+public class KeysetPage<E> {
+    /**
+     * 本页的结果
+     */
+    private final List<E> items;
+
+    /**
+     * 下一页的令牌，没有下一页时为 null
+     */
+    private final String nextToken;
+
+    public KeysetPage(List<E> items, String nextToken) {
+        this.items = Collections.unmodifiableList(items);
+        this.nextToken = nextToken;
+    }
+
+    public List<E> getItems() {
+        return items;
+    }
+
+    public String getNextToken() {
+        return nextToken;
+    }
+
+    /**
+     * 是否有下一页
+     *
+     * @return 是否有下一页
+     */
+    public boolean hasNext() {
+        return nextToken != null;
+    }
+
+    public int size() {
+        return items.size();
+    }
+}
@@ -0,0 +1,69 @@
+package com.pcz.mybatis.core.session;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 流水线查询
+ * 多个互不依赖的 select 语句作为一个整体提交，数据库方言支持拼接多个查询时合并为一次执行，只需一次网络往返
+ *
+ * @author picongzhi
+ */
+public class Pipeline {
+    /**
+     * 语句
+     */
+    private final List<String> statements = new ArrayList<>();
+
+    /**
+     * 参数对象
+     */
+    private final List<Object> parameters = new ArrayList<>();
+
+    /**
+     * 添加查询
+     *
+     * @param statement 语句
+     * @param parameter 参数对象
+     * @param <E>       映射的对象泛型
+     * @return 获取该查询结果的 key
+     */
+    public <E> Key<E> add(String statement, Object parameter) {
+        statements.add(statement);
+        parameters.add(parameter);
+        return new Key<>(statements.size() - 1);
+    }
+
+    public List<String> getStatements() {
+        return Collections.unmodifiableList(statements);
+    }
+
+    public List<Object> getParameters() {
+        return Collections.unmodifiableList(parameters);
+    }
+
+    public int size() {
+        return statements.size();
+    }
+
+    /**
+     * 查询结果的 key
+     *
+     * @param <E> 映射的对象泛型
+     */
+    public static final class Key<E> {
+        /**
+         * 查询的下标
+         */
+        private final int index;
+
+        private Key(int index) {
+            this.index = index;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.pcz.mybatis.core.session;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 流水线查询的结果，按查询添加的顺序保存各个查询的结果
+ *
+ * @author picongzhi
+ */
+public class PipelineResult {
+    /**
+     * 各个查询的结果
+     */
+    private final List<List<Object>> results;
+
+    /**
+     * 是否在一次执行中完成
+     */
+    private final boolean pipelined;
+
+    public PipelineResult(List<List<Object>> results, boolean pipelined) {
+        this.results = Collections.unmodifiableList(results);
+        this.pipelined = pipelined;
+    }
+
+    /**
+     * 获取查询的结果
+     *
+     * @param key 查询的 key
+     * @param <E> 映射的对象泛型
+     * @return 查询的结果
+     */
+    @SuppressWarnings("unchecked")
+    public <E> List<E> get(Pipeline.Key<E> key) {
+        return (List<E>) results.get(key.getIndex());
+    }
+
+    /**
+     * 获取查询的结果
+     *
+     * @param index 查询的下标
+     * @return 查询的结果
+     */
+    public List<Object> get(int index) {
+        return results.get(index);
+    }
+
+    public int size() {
+        return results.size();
+    }
+
+    public boolean isPipelined() {
+        return pipelined;
+    }
+}
@@ -0,0 +1,322 @@
+package com.pcz.mybatis.core.session;
+
+import com.pcz.mybatis.core.cursor.Cursor;
+import com.pcz.mybatis.core.cursor.defaults.MergingCursor;
+import com.pcz.mybatis.core.datasource.sharding.ShardContext;
+import com.pcz.mybatis.core.datasource.sharding.ShardedDataSource;
+import com.pcz.mybatis.core.reflection.DefaultReflectorFactory;
+import com.pcz.mybatis.core.reflection.ExceptionUtil;
+import com.pcz.mybatis.core.reflection.MetaObject;
+import com.pcz.mybatis.core.reflection.ReflectorFactory;
+import com.pcz.mybatis.core.reflection.SystemMetaObject;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+
+/**
+ * 分散聚合会话
+ * 在所有分片上并发执行同一个语句，总耗时取决于最慢的分片，结果流式合并后再应用行边界
+ * 每个分片的查询在独立的会话中执行，执行期间在工作线程上通过 {@link ShardContext} 指定分片
+ *
+ * @author picongzhi
+ */
+public class ScatterGatherSession {
+    /**
+     * 默认的工作线程池
+     */
+    private static final ExecutorService DEFAULT_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "mybatis-scatter-gather");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 比较属性值使用的反射器工厂
+     */
+    private static final ReflectorFactory REFLECTOR_FACTORY = new DefaultReflectorFactory();
+
+    /**
+     * 会话工厂
+     */
+    private final SqlSessionFactory sqlSessionFactory;
+
+    /**
+     * 分片数
+     */
+    private final int shardCount;
+
+    /**
+     * 工作线程池
+     */
+    private final ExecutorService executor;
+
+    public ScatterGatherSession(SqlSessionFactory sqlSessionFactory, ShardedDataSource dataSource) {
+        this(sqlSessionFactory, dataSource.getShardCount(), DEFAULT_EXECUTOR);
+    }
+
+    public ScatterGatherSession(SqlSessionFactory sqlSessionFactory, int shardCount, ExecutorService executor) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Parameter 'shardCount' must be positive");
+        }
+
+        this.sqlSessionFactory = sqlSessionFactory;
+        this.shardCount = shardCount;
+        this.executor = executor;
+    }
+
+    /**
+     * 在所有分片上查询，拼接结果
+     *
+     * @param statement 语句
+     * @param parameter 参数对象
+     * @param <E>       泛型
+     * @return 结果
+     */
+    public <E> List<E> selectList(String statement, Object parameter) {
+        return selectList(statement, parameter, RowBounds.DEFAULT, null);
+    }
+
+    /**
+     * 在所有分片上查询，合并结果
+     *
+     * @param statement  语句
+     * @param parameter  参数对象
+     * @param rowBounds  合并后应用的行边界
+     * @param comparator 比较器，各分片的结果须按该比较器有序，为 null 时拼接
+     * @param <E>        泛型
+     * @return 结果
+     */
+    public <E> List<E> selectList(String statement,
+                                  Object parameter,
+                                  RowBounds rowBounds,
+                                  Comparator<? super E> comparator) {
+        RowBounds shardRowBounds = shardRowBounds(rowBounds);
+        List<ShardResult<List<E>>> results = scatter((sqlSession, shard) ->
+                sqlSession.selectList(statement, parameter, shardRowBounds), true);
+
+        List<Iterator<E>> sources = new ArrayList<>(results.size());
+        for (ShardResult<List<E>> result : results) {
+            sources.add(result.value.iterator());
+        }
+
+        List<E> list = new ArrayList<>();
+        try (MergingCursor<E> cursor = new MergingCursor<>(sources, comparator, rowBounds, Collections.emptyList())) {
+            cursor.forEachRemaining(list::add);
+        }
+
+        return list;
+    }
+
+    /**
+     * 在所有分片上查询，返回流式合并的游标
+     *
+     * @param statement  语句
+     * @param parameter  参数对象
+     * @param rowBounds  合并后应用的行边界
+     * @param comparator 比较器，各分片的结果须按该比较器有序，为 null 时拼接
+     * @param <E>        泛型
+     * @return 游标，关闭时关闭所有分片的会话
+     */
+    public <E> Cursor<E> selectCursor(String statement,
+                                      Object parameter,
+                                      RowBounds rowBounds,
+                                      Comparator<? super E> comparator) {
+        RowBounds shardRowBounds = shardRowBounds(rowBounds);
+        List<ShardResult<Cursor<E>>> results = scatter((sqlSession, shard) ->
+                sqlSession.selectCursor(statement, parameter, shardRowBounds), false);
+
+        List<Iterator<E>> sources = new ArrayList<>(results.size());
+        List<Closeable> resources = new ArrayList<>(results.size() * 2);
+        for (ShardResult<Cursor<E>> result : results) {
+            sources.add(result.value);
+            resources.add(result.value);
+            resources.add(result.sqlSession);
+        }
+
+        return new MergingCursor<>(sources, comparator, rowBounds, resources);
+    }
+
+    /**
+     * 创建按属性排序的比较器，各个属性可以带 asc 或 desc 后缀，null 值排在最前
+     * 例如 "createTime desc, id"
+     *
+     * @param orderBy 排序属性
+     * @param <E>     泛型
+     * @return 比较器
+     */
+    public static <E> Comparator<E> orderBy(String orderBy) {
+        Comparator<E> comparator = null;
+        for (String item : orderBy.trim().split("\\s*,\\s*")) {
+            String[] parts = item.split("\\s+");
+            String property = parts[0];
+            boolean descending = parts.length > 1 && "desc".equalsIgnoreCase(parts[1]);
+
+            Comparator<E> propertyComparator = (e1, e2) -> compareValues(
+                    propertyValue(e1, property), propertyValue(e2, property));
+            if (descending) {
+                propertyComparator = propertyComparator.reversed();
+            }
+
+            comparator = comparator == null ? propertyComparator : comparator.thenComparing(propertyComparator);
+        }
+
+        return comparator;
+    }
+
+    /**
+     * 计算每个分片的行边界，每个分片最多需要 offset + limit 行
+     *
+     * @param rowBounds 合并后应用的行边界
+     * @return 分片的行边界
+     */
+    private static RowBounds shardRowBounds(RowBounds rowBounds) {
+        if (rowBounds == null || rowBounds.getLimit() == RowBounds.NO_ROW_LIMIT) {
+            return RowBounds.DEFAULT;
+        }
+
+        long limit = (long) rowBounds.getOffset() + rowBounds.getLimit();
+        return new RowBounds(RowBounds.NO_ROW_OFFSET, (int) Math.min(limit, RowBounds.NO_ROW_LIMIT));
+    }
+
+    /**
+     * 在所有分片上并发执行
+     *
+     * @param action      执行的操作
+     * @param closeOnDone 执行完成后是否关闭会话
+     * @param <R>         结果泛型
+     * @return 各分片的结果，按分片顺序排列
+     */
+    private <R> List<ShardResult<R>> scatter(BiFunction<SqlSession, Integer, R> action, boolean closeOnDone) {
+        List<Future<ShardResult<R>>> futures = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            final int shard = i;
+            futures.add(executor.submit(() -> executeOnShard(shard, action, closeOnDone)));
+        }
+
+        List<ShardResult<R>> results = new ArrayList<>(shardCount);
+        Throwable error = null;
+        for (Future<ShardResult<R>> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                error = error == null ? e : error;
+            } catch (ExecutionException e) {
+                error = error == null ? ExceptionUtil.unwrapThrowable(e.getCause()) : error;
+            }
+        }
+
+        if (error != null) {
+            // 关闭已成功的分片的会话
+            if (!closeOnDone) {
+                for (ShardResult<R> result : results) {
+                    result.sqlSession.close();
+                }
+            }
+            throw new SqlSessionException("Error executing scatter-gather query. Cause: " + error, error);
+        }
+
+        return results;
+    }
+
+    /**
+     * 在分片上执行
+     *
+     * @param shard       分片下标
+     * @param action      执行的操作
+     * @param closeOnDone 执行完成后是否关闭会话
+     * @param <R>         结果泛型
+     * @return 分片的结果
+     */
+    private <R> ShardResult<R> executeOnShard(int shard,
+                                              BiFunction<SqlSession, Integer, R> action,
+                                              boolean closeOnDone) {
+        Integer previous = ShardContext.setShardIndex(shard);
+        SqlSession sqlSession = sqlSessionFactory.openSession();
+        boolean success = false;
+        try {
+            R value = action.apply(sqlSession, shard);
+            success = true;
+            return new ShardResult<>(sqlSession, value);
+        } finally {
+            ShardContext.setShardIndex(previous);
+            if (closeOnDone || !success) {
+                sqlSession.close();
+            }
+        }
+    }
+
+    /**
+     * 获取属性值
+     *
+     * @param object   对象
+     * @param property 属性
+     * @return 属性值
+     */
+    private static Object propertyValue(Object object, String property) {
+        if (object == null) {
+            return null;
+        }
+
+        MetaObject metaObject = MetaObject.forObject(object,
+                SystemMetaObject.DEFAULT_OBJECT_FACTORY,
+                SystemMetaObject.DEFAULT_OBJECT_WRAPPER_FACTORY,
+                REFLECTOR_FACTORY);
+        return metaObject.getValue(property);
+    }
+
+    /**
+     * 比较属性值
+     *
+     * @param v1 值1
+     * @param v2 值2
+     * @return 比较结果
+     */
+    @SuppressWarnings("unchecked")
+    private static int compareValues(Object v1, Object v2) {
+        if (v1 == v2) {
+            return 0;
+        }
+
+        if (v1 == null) {
+            return -1;
+        }
+
+        if (v2 == null) {
+            return 1;
+        }
+
+        return ((Comparable<Object>) v1).compareTo(v2);
+    }
+
+    /**
+     * 分片的结果
+     *
+     * @param <R> 结果泛型
+     */
+    private static class ShardResult<R> {
+        /**
+         * 会话
+         */
+        private final SqlSession sqlSession;
+
+        /**
+         * 结果
+         */
+        private final R value;
+
+        ShardResult(SqlSession sqlSession, R value) {
+            this.sqlSession = sqlSession;
+            this.value = value;
+        }
+    }
+}
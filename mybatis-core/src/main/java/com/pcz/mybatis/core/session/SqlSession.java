@@ -1,8 +1,10 @@
 package com.pcz.mybatis.core.session;
 
 import com.pcz.mybatis.core.cursor.Cursor;
+import com.pcz.mybatis.core.cursor.Flow;
 import com.pcz.mybatis.core.executor.BatchResult;
 
+import java.io.Closeable;
 import java.util.List;
 import java.util.Map;
 
@@ -11,7 +13,7 @@ import java.util.Map;
  *
  * @author picongzhi
  */
-public interface SqlSession {
+public interface SqlSession extends Closeable {
     /**
      * 获取 Mapper
      *
@@ -133,6 +135,46 @@ public interface SqlSession {
      */
     <T> Cursor<T> selectCursor(String statement, Object parameter, RowBounds rowBounds);
 
+    /**
+     * 将结果集转成按需发送的发布者，在第一次请求元素时执行查询，会话关闭前有效
+     *
+     * @param statement 语句
+     * @param parameter 参数
+     * @param <T>       泛型
+     * @return 发布者
+     */
+    <T> Flow.Publisher<T> selectPublisher(String statement, Object parameter);
+
+    /**
+     * 将结果集转成按需发送的发布者，在第一次请求元素时执行查询，会话关闭前有效
+     *
+     * @param statement 语句
+     * @param parameter 参数
+     * @param rowBounds 行边界
+     * @param <T>       泛型
+     * @return 发布者
+     */
+    <T> Flow.Publisher<T> selectPublisher(String statement, Object parameter, RowBounds rowBounds);
+
+    /**
+     * 键集分页查询，返回的页中带有下一页的令牌
+     *
+     * @param statement    语句
+     * @param parameter    参数
+     * @param keysetBounds 键集分页边界
+     * @param <E>          泛型
+     * @return 一页结果
+     */
+    <E> KeysetPage<E> selectKeysetPage(String statement, Object parameter, KeysetBounds keysetBounds);
+
+    /**
+     * 执行流水线查询，数据库方言支持拼接多个查询时在一次执行中完成，否则在同一个连接上依次执行
+     *
+     * @param pipeline 流水线查询
+     * @return 各个查询的结果
+     */
+    PipelineResult selectPipeline(Pipeline pipeline);
+
     /**
      * 取出映射的单行记录
      *
@@ -152,10 +194,40 @@ public interface SqlSession {
      */
     void select(String statement, Object parameter, RowBounds rowBounds, ResultHandler resultHandler);
 
+    /**
+     * 提交事务，没有执行过更新时不提交
+     */
+    void commit();
+
+    /**
+     * 提交事务
+     *
+     * @param force 是否强制提交
+     */
+    void commit(boolean force);
+
+    /**
+     * 回滚事务，没有执行过更新时不回滚
+     */
+    void rollback();
+
+    /**
+     * 回滚事务
+     *
+     * @param force 是否强制回滚
+     */
+    void rollback(boolean force);
+
     /**
      * 批量刷新语句
      *
      * @return 批量更新结果
      */
     List<BatchResult> flushStatements();
+
+    /**
+     * 关闭会话
+     */
+    @Override
+    void close();
 }
@@ -12,4 +12,36 @@ public interface SqlSessionFactory {
      * @return SqlSession
      */
     SqlSession openSession();
+
+    /**
+     * 开启会话
+     *
+     * @param autoCommit 是否自动提交
+     * @return SqlSession
+     */
+    SqlSession openSession(boolean autoCommit);
+
+    /**
+     * 开启会话
+     *
+     * @param executorType 执行器类型
+     * @return SqlSession
+     */
+    SqlSession openSession(ExecutorType executorType);
+
+    /**
+     * 开启会话
+     *
+     * @param executorType 执行器类型
+     * @param autoCommit   是否自动提交
+     * @return SqlSession
+     */
+    SqlSession openSession(ExecutorType executorType, boolean autoCommit);
+
+    /**
+     * 获取配置
+     *
+     * @return 配置
+     */
+    Configuration getConfiguration();
 }
@@ -1,6 +1,7 @@
 package com.pcz.mybatis.core.session;
 
 import com.pcz.mybatis.core.builder.xml.XMLConfigBuilder;
+import com.pcz.mybatis.core.session.defaults.DefaultSqlSessionFactory;
 
 import java.io.Reader;
 
@@ -31,6 +32,6 @@ public class SqlSessionFactoryBuilder {
      * @return SqlSessionFactory
      */
     public SqlSessionFactory build(Configuration configuration) {
-        return null;
+        return new DefaultSqlSessionFactory(configuration);
     }
 }
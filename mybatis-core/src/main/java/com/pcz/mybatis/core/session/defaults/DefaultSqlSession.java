@@ -0,0 +1,451 @@
+package com.pcz.mybatis.core.session.defaults;
+
+import com.pcz.mybatis.core.cursor.Cursor;
+import com.pcz.mybatis.core.cursor.Flow;
+import com.pcz.mybatis.core.cursor.defaults.CursorPublisher;
+import com.pcz.mybatis.core.exceptions.ExceptionFactory;
+import com.pcz.mybatis.core.exceptions.TooManyResultsException;
+import com.pcz.mybatis.core.executor.BatchResult;
+import com.pcz.mybatis.core.executor.ErrorContext;
+import com.pcz.mybatis.core.executor.Executor;
+import com.pcz.mybatis.core.executor.ExecutorException;
+import com.pcz.mybatis.core.executor.KeysetStatementBuilder;
+import com.pcz.mybatis.core.executor.PipelinedStatementBuilder;
+import com.pcz.mybatis.core.mapping.MappedStatement;
+import com.pcz.mybatis.core.reflection.MetaObject;
+import com.pcz.mybatis.core.reflection.ParamNameResolver;
+import com.pcz.mybatis.core.session.Configuration;
+import com.pcz.mybatis.core.session.KeysetBounds;
+import com.pcz.mybatis.core.session.KeysetPage;
+import com.pcz.mybatis.core.session.Pipeline;
+import com.pcz.mybatis.core.session.PipelineResult;
+import com.pcz.mybatis.core.session.ResultHandler;
+import com.pcz.mybatis.core.session.RowBounds;
+import com.pcz.mybatis.core.session.SqlSession;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 默认的 Sql 会话，非线程安全
+ *
+ * @author picongzhi
+ */
+public class DefaultSqlSession implements SqlSession {
+    /**
+     * 配置
+     */
+    private final Configuration configuration;
+
+    /**
+     * 执行器
+     */
+    private final Executor executor;
+
+    /**
+     * 是否自动提交
+     */
+    private final boolean autoCommit;
+
+    /**
+     * 是否执行过更新
+     */
+    private boolean dirty;
+
+    /**
+     * 打开的游标
+     */
+    private List<Cursor<?>> cursorList;
+
+    public DefaultSqlSession(Configuration configuration, Executor executor, boolean autoCommit) {
+        this.configuration = configuration;
+        this.executor = executor;
+        this.autoCommit = autoCommit;
+        this.dirty = false;
+    }
+
+    public DefaultSqlSession(Configuration configuration, Executor executor) {
+        this(configuration, executor, false);
+    }
+
+    @Override
+    public <T> T getMapper(Class<T> cls) {
+        return configuration.getMapper(cls, this);
+    }
+
+    @Override
+    public Configuration getConfiguration() {
+        return configuration;
+    }
+
+    @Override
+    public int insert(String statement, Object parameter) {
+        return update(statement, parameter);
+    }
+
+    @Override
+    public int update(String statement, Object parameter) {
+        try {
+            dirty = true;
+            MappedStatement mappedStatement = configuration.getMappedStatement(statement);
+            return executor.update(mappedStatement, wrapCollection(parameter));
+        } catch (Exception e) {
+            throw ExceptionFactory.wrapException("Error updating database.  Cause: " + e, e);
+        } finally {
+            ErrorContext.instance().reset();
+        }
+    }
+
+    @Override
+    public int delete(String statement, Object parameter) {
+        return update(statement, parameter);
+    }
+
+    @Override
+    public <T> T selectOne(String statement, Object parameter) {
+        List<T> list = selectList(statement, parameter);
+        if (list.size() == 1) {
+            return list.get(0);
+        }
+
+        if (list.size() > 1) {
+            throw new TooManyResultsException("Expected one result (or null) to be returned by selectOne(), but found: "
+                    + list.size());
+        }
+
+        return null;
+    }
+
+    @Override
+    public <E> List<E> selectList(String statement, Object parameter) {
+        return selectList(statement, parameter, RowBounds.DEFAULT);
+    }
+
+    @Override
+    public <E> List<E> selectList(String statement, Object parameter, RowBounds rowBounds) {
+        try {
+            MappedStatement mappedStatement = configuration.getMappedStatement(statement);
+            return executor.query(mappedStatement, wrapCollection(parameter), rowBounds, Executor.NO_RESULT_HANDLER);
+        } catch (Exception e) {
+            throw ExceptionFactory.wrapException("Error querying database.  Cause: " + e, e);
+        } finally {
+            ErrorContext.instance().reset();
+        }
+    }
+
+    @Override
+    public <K, V> Map<K, V> selectMap(String statement, Object parameter, String mapKey) {
+        return selectMap(statement, parameter, mapKey, RowBounds.DEFAULT);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <K, V> Map<K, V> selectMap(String statement, Object parameter, String mapKey, RowBounds rowBounds) {
+        final List<? extends V> list = selectList(statement, parameter, rowBounds);
+        final Map<K, V> map = new HashMap<>();
+        for (V value : list) {
+            MetaObject metaObject = configuration.newMetaObject(value);
+            map.put((K) metaObject.getValue(mapKey), value);
+        }
+
+        return map;
+    }
+
+    @Override
+    public <T> Cursor<T> selectCursor(String statement, Object parameter) {
+        return selectCursor(statement, parameter, RowBounds.DEFAULT);
+    }
+
+    @Override
+    public <T> Cursor<T> selectCursor(String statement, Object parameter, RowBounds rowBounds) {
+        return selectCursor(statement, parameter, rowBounds, false);
+    }
+
+    @Override
+    public <T> Flow.Publisher<T> selectPublisher(String statement, Object parameter) {
+        return selectPublisher(statement, parameter, RowBounds.DEFAULT);
+    }
+
+    @Override
+    public <T> Flow.Publisher<T> selectPublisher(String statement, Object parameter, RowBounds rowBounds) {
+        // 预取的游标会超出请求数读取，发布者按请求数从不预取的游标取行
+        return new CursorPublisher<>(() -> selectCursor(statement, parameter, rowBounds, true));
+    }
+
+    @Override
+    public <E> KeysetPage<E> selectKeysetPage(String statement, Object parameter, KeysetBounds keysetBounds) {
+        try {
+            MappedStatement mappedStatement = configuration.getMappedStatement(statement);
+            Object wrappedParameter = wrapCollection(parameter);
+            MappedStatement keysetStatement = KeysetStatementBuilder.build(mappedStatement, wrappedParameter, keysetBounds);
+
+            // 多取一行判断是否有下一页
+            int limit = keysetBounds.getLimit();
+            RowBounds rowBounds = new RowBounds(RowBounds.NO_ROW_OFFSET, limit == RowBounds.NO_ROW_LIMIT ? limit : limit + 1);
+            List<E> list = executor.query(keysetStatement, wrappedParameter, rowBounds, Executor.NO_RESULT_HANDLER);
+            if (list.size() <= limit) {
+                return new KeysetPage<>(list, null);
+            }
+
+            List<E> items = new ArrayList<>(list.subList(0, limit));
+            String nextToken = keysetBounds.nextToken(configuration.newMetaObject(items.get(limit - 1)));
+            return new KeysetPage<>(items, nextToken);
+        } catch (Exception e) {
+            throw ExceptionFactory.wrapException("Error querying database.  Cause: " + e, e);
+        } finally {
+            ErrorContext.instance().reset();
+        }
+    }
+
+    @Override
+    public PipelineResult selectPipeline(Pipeline pipeline) {
+        try {
+            List<MappedStatement> mappedStatements = new ArrayList<>(pipeline.size());
+            List<Object> parameters = new ArrayList<>(pipeline.size());
+            boolean pipelined = pipeline.size() > 1 && configuration.isMultipleResultSetsEnabled()
+                    && configuration.getDialect().supportsPipelinedStatements();
+            for (int i = 0; i < pipeline.size(); i++) {
+                MappedStatement mappedStatement = configuration.getMappedStatement(pipeline.getStatements().get(i));
+                mappedStatements.add(mappedStatement);
+                parameters.add(wrapCollection(pipeline.getParameters().get(i)));
+                pipelined = pipelined && PipelinedStatementBuilder.canPipeline(mappedStatement);
+            }
+
+            List<List<Object>> results = pipelined
+                    ? queryPipelined(mappedStatements, parameters)
+                    : querySequentially(mappedStatements, parameters);
+            return new PipelineResult(results, pipelined);
+        } catch (Exception e) {
+            throw ExceptionFactory.wrapException("Error querying database.  Cause: " + e, e);
+        } finally {
+            ErrorContext.instance().reset();
+        }
+    }
+
+    @Override
+    public void select(String statement, Object parameter, ResultHandler resultHandler) {
+        select(statement, parameter, RowBounds.DEFAULT, resultHandler);
+    }
+
+    @Override
+    public void select(String statement, Object parameter, RowBounds rowBounds, ResultHandler resultHandler) {
+        try {
+            MappedStatement mappedStatement = configuration.getMappedStatement(statement);
+            executor.query(mappedStatement, wrapCollection(parameter), rowBounds, resultHandler);
+        } catch (Exception e) {
+            throw ExceptionFactory.wrapException("Error querying database.  Cause: " + e, e);
+        } finally {
+            ErrorContext.instance().reset();
+        }
+    }
+
+    @Override
+    public void commit() {
+        commit(false);
+    }
+
+    @Override
+    public void commit(boolean force) {
+        try {
+            executor.commit(isCommitOrRollbackRequired(force));
+            dirty = false;
+        } catch (Exception e) {
+            throw ExceptionFactory.wrapException("Error committing transaction.  Cause: " + e, e);
+        } finally {
+            ErrorContext.instance().reset();
+        }
+    }
+
+    @Override
+    public void rollback() {
+        rollback(false);
+    }
+
+    @Override
+    public void rollback(boolean force) {
+        try {
+            executor.rollback(isCommitOrRollbackRequired(force));
+            dirty = false;
+        } catch (Exception e) {
+            throw ExceptionFactory.wrapException("Error rolling back transaction.  Cause: " + e, e);
+        } finally {
+            ErrorContext.instance().reset();
+        }
+    }
+
+    @Override
+    public List<BatchResult> flushStatements() {
+        try {
+            return executor.flushStatements();
+        } catch (Exception e) {
+            throw ExceptionFactory.wrapException("Error flushing statements.  Cause: " + e, e);
+        } finally {
+            ErrorContext.instance().reset();
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            closeCursors();
+            executor.close(isCommitOrRollbackRequired(false));
+            dirty = false;
+        } finally {
+            ErrorContext.instance().reset();
+        }
+    }
+
+    /**
+     * 查询游标
+     *
+     * @param statement       语句
+     * @param parameter       参数
+     * @param rowBounds       行边界
+     * @param disablePrefetch 是否禁用预取
+     * @param <T>             泛型
+     * @return 游标
+     */
+    private <T> Cursor<T> selectCursor(String statement, Object parameter, RowBounds rowBounds, boolean disablePrefetch) {
+        try {
+            MappedStatement mappedStatement = configuration.getMappedStatement(statement);
+            if (disablePrefetch) {
+                mappedStatement = withoutPrefetch(mappedStatement);
+            }
+            Cursor<T> cursor = executor.queryCursor(mappedStatement, wrapCollection(parameter), rowBounds);
+            registerCursor(cursor);
+            return cursor;
+        } catch (Exception e) {
+            throw ExceptionFactory.wrapException("Error querying database.  Cause: " + e, e);
+        } finally {
+            ErrorContext.instance().reset();
+        }
+    }
+
+    /**
+     * 生成禁用游标预取的映射的语句，未启用预取时返回原语句
+     *
+     * @param mappedStatement 映射的语句
+     * @return 映射的语句
+     */
+    private MappedStatement withoutPrefetch(MappedStatement mappedStatement) {
+        Integer prefetchDepth = mappedStatement.getPrefetchDepth() != null
+                ? mappedStatement.getPrefetchDepth()
+                : configuration.getDefaultPrefetchDepth();
+        if (prefetchDepth == null || prefetchDepth <= 0) {
+            return mappedStatement;
+        }
+
+        return new MappedStatement.Builder(configuration, mappedStatement.getId(),
+                mappedStatement.getSqlSource(), mappedStatement.getSqlCommandType())
+                .resource(mappedStatement.getResource())
+                .statementType(mappedStatement.getStatementType())
+                .resultMaps(mappedStatement.getResultMaps())
+                .fetchSize(mappedStatement.getFetchSize())
+                .timeout(mappedStatement.getTimeout())
+                .resultSetType(mappedStatement.getResultSetType())
+                .databaseId(mappedStatement.getDatabaseId())
+                .resultOrdered(mappedStatement.isResultOrdered())
+                .prefetchDepth(0)
+                .build();
+    }
+
+    /**
+     * 关闭打开的游标
+     */
+    private void closeCursors() {
+        if (cursorList != null && !cursorList.isEmpty()) {
+            for (Cursor<?> cursor : cursorList) {
+                try {
+                    cursor.close();
+                } catch (IOException e) {
+                    throw ExceptionFactory.wrapException("Error closing cursor.  Cause: " + e, e);
+                }
+            }
+            cursorList.clear();
+        }
+    }
+
+    /**
+     * 登记游标，会话关闭时关闭
+     *
+     * @param cursor 游标
+     */
+    private void registerCursor(Cursor<?> cursor) {
+        if (cursorList == null) {
+            cursorList = new ArrayList<>();
+        }
+
+        cursorList.add(cursor);
+    }
+
+    /**
+     * 判断是否需要提交或回滚
+     *
+     * @param force 是否强制
+     * @return 是否需要提交或回滚
+     */
+    private boolean isCommitOrRollbackRequired(boolean force) {
+        return (!autoCommit && dirty) || force;
+    }
+
+    /**
+     * 将多个语句合并为一次执行
+     *
+     * @param mappedStatements 映射的语句
+     * @param parameters       参数对象
+     * @return 各个语句的结果
+     * @throws SQLException SQL 异常
+     */
+    @SuppressWarnings("unchecked")
+    private List<List<Object>> queryPipelined(List<MappedStatement> mappedStatements,
+                                              List<Object> parameters) throws SQLException {
+        MappedStatement pipelinedStatement = PipelinedStatementBuilder.build(configuration, mappedStatements, parameters);
+        List<Object> multipleResults = executor.query(pipelinedStatement, null, RowBounds.DEFAULT,
+                Executor.NO_RESULT_HANDLER);
+        if (multipleResults.size() != mappedStatements.size()
+                || !multipleResults.stream().allMatch(result -> result instanceof List)) {
+            throw new ExecutorException("Pipelined statement '" + pipelinedStatement.getId() + "' expected "
+                    + mappedStatements.size() + " result sets but the driver returned a different number");
+        }
+
+        List<List<Object>> results = new ArrayList<>(multipleResults.size());
+        for (Object result : multipleResults) {
+            results.add((List<Object>) result);
+        }
+
+        return results;
+    }
+
+    /**
+     * 在同一个连接上依次执行
+     *
+     * @param mappedStatements 映射的语句
+     * @param parameters       参数对象
+     * @return 各个语句的结果
+     * @throws SQLException SQL 异常
+     */
+    private List<List<Object>> querySequentially(List<MappedStatement> mappedStatements,
+                                                 List<Object> parameters) throws SQLException {
+        List<List<Object>> results = new ArrayList<>(mappedStatements.size());
+        for (int i = 0; i < mappedStatements.size(); i++) {
+            results.add(executor.query(mappedStatements.get(i), parameters.get(i), RowBounds.DEFAULT,
+                    Executor.NO_RESULT_HANDLER));
+        }
+
+        return results;
+    }
+
+    /**
+     * 集合参数包装成 Map
+     *
+     * @param object 参数对象
+     * @return 包装后的参数对象
+     */
+    private Object wrapCollection(final Object object) {
+        return ParamNameResolver.wrapToMapIfCollection(object, null);
+    }
+}
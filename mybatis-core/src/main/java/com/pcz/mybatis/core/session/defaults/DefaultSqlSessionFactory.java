@@ -0,0 +1,108 @@
+package com.pcz.mybatis.core.session.defaults;
+
+import com.pcz.mybatis.core.exceptions.ExceptionFactory;
+import com.pcz.mybatis.core.executor.ErrorContext;
+import com.pcz.mybatis.core.executor.Executor;
+import com.pcz.mybatis.core.mapping.Environment;
+import com.pcz.mybatis.core.session.Configuration;
+import com.pcz.mybatis.core.session.ExecutorType;
+import com.pcz.mybatis.core.session.SqlSession;
+import com.pcz.mybatis.core.session.SqlSessionFactory;
+import com.pcz.mybatis.core.transaction.Transaction;
+import com.pcz.mybatis.core.transaction.TransactionFactory;
+import com.pcz.mybatis.core.transaction.jdbc.JdbcTransactionFactory;
+
+import java.sql.SQLException;
+
+/**
+ * 默认的 Sql 会话工厂
+ *
+ * @author picongzhi
+ */
+public class DefaultSqlSessionFactory implements SqlSessionFactory {
+    /**
+     * 配置
+     */
+    private final Configuration configuration;
+
+    public DefaultSqlSessionFactory(Configuration configuration) {
+        this.configuration = configuration;
+    }
+
+    @Override
+    public SqlSession openSession() {
+        return openSessionFromDataSource(configuration.getDefaultExecutorType(), false);
+    }
+
+    @Override
+    public SqlSession openSession(boolean autoCommit) {
+        return openSessionFromDataSource(configuration.getDefaultExecutorType(), autoCommit);
+    }
+
+    @Override
+    public SqlSession openSession(ExecutorType executorType) {
+        return openSessionFromDataSource(executorType, false);
+    }
+
+    @Override
+    public SqlSession openSession(ExecutorType executorType, boolean autoCommit) {
+        return openSessionFromDataSource(executorType, autoCommit);
+    }
+
+    @Override
+    public Configuration getConfiguration() {
+        return configuration;
+    }
+
+    /**
+     * 从数据源开启会话，连接在第一次执行语句时获取
+     *
+     * @param executorType 执行器类型
+     * @param autoCommit   是否自动提交
+     * @return SqlSession
+     */
+    private SqlSession openSessionFromDataSource(ExecutorType executorType, boolean autoCommit) {
+        Transaction transaction = null;
+        try {
+            final Environment environment = configuration.getEnvironment();
+            final TransactionFactory transactionFactory = getTransactionFactoryFromEnvironment(environment);
+            transaction = transactionFactory.newTransaction(environment.getDataSource(), null, autoCommit);
+            final Executor executor = configuration.newExecutor(transaction, executorType);
+            return new DefaultSqlSession(configuration, executor, autoCommit);
+        } catch (Exception e) {
+            closeTransaction(transaction);
+            throw ExceptionFactory.wrapException("Error opening session.  Cause: " + e, e);
+        } finally {
+            ErrorContext.instance().reset();
+        }
+    }
+
+    /**
+     * 获取环境中的事务工厂
+     *
+     * @param environment 环境
+     * @return 事务工厂
+     */
+    private TransactionFactory getTransactionFactoryFromEnvironment(Environment environment) {
+        if (environment == null || environment.getTransactionFactory() == null) {
+            return new JdbcTransactionFactory();
+        }
+
+        return environment.getTransactionFactory();
+    }
+
+    /**
+     * 关闭事务
+     *
+     * @param transaction 事务
+     */
+    private void closeTransaction(Transaction transaction) {
+        if (transaction != null) {
+            try {
+                transaction.close();
+            } catch (SQLException ignore) {
+                // 忽略
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.pcz.mybatis.core.transaction.jdbc;
 
+import com.pcz.mybatis.core.datasource.unpooled.StatefulConnection;
 import com.pcz.mybatis.core.session.TransactionIsolationalLevel;
 import com.pcz.mybatis.core.transaction.Transaction;
 import com.pcz.mybatis.core.transaction.TransactionException;
@@ -7,9 +8,12 @@ import com.pcz.mybatis.core.transaction.TransactionException;
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * JDBC 事务
+ * 连接被包装为缓存状态的连接，提交、回滚及设置自动提交时不再重复查询驱动
  *
  * @author picongzhi
  */
@@ -41,6 +45,16 @@ public class JdbcTransaction implements Transaction {
      */
     protected boolean skipSetAutoCommitOnClose;
 
+    /**
+     * 事务的超时时间（秒），null 表示不限制
+     */
+    protected Integer timeout;
+
+    /**
+     * 当前事务的截止时间（纳秒），null 表示事务还没有执行语句
+     */
+    protected Long deadlineNanos;
+
     public JdbcTransaction(DataSource dataSource,
                            TransactionIsolationalLevel desiredLevel,
                            boolean desiredAutoCommit) {
@@ -51,14 +65,23 @@ public class JdbcTransaction implements Transaction {
                            TransactionIsolationalLevel desiredLevel,
                            boolean desiredAutoCommit,
                            boolean skipSetAutoCommitOnClose) {
+        this(dataSource, desiredLevel, desiredAutoCommit, skipSetAutoCommitOnClose, null);
+    }
+
+    public JdbcTransaction(DataSource dataSource,
+                           TransactionIsolationalLevel desiredLevel,
+                           boolean desiredAutoCommit,
+                           boolean skipSetAutoCommitOnClose,
+                           Integer timeout) {
         this.dataSource = dataSource;
         this.level = desiredLevel;
         this.autoCommit = desiredAutoCommit;
         this.skipSetAutoCommitOnClose = skipSetAutoCommitOnClose;
+        this.timeout = timeout;
     }
 
     public JdbcTransaction(Connection connection) {
-        this.connection = connection;
+        this.connection = StatefulConnection.wrap(connection);
     }
 
     @Override
@@ -76,6 +99,7 @@ public class JdbcTransaction implements Transaction {
             // 连接不为 null 且 不是自动提交
             connection.commit();
         }
+        deadlineNanos = null;
     }
 
     @Override
@@ -84,6 +108,7 @@ public class JdbcTransaction implements Transaction {
             // 连接不为 null 且 不是自动提交
             connection.rollback();
         }
+        deadlineNanos = null;
     }
 
     @Override
@@ -94,11 +119,38 @@ public class JdbcTransaction implements Transaction {
             // 关闭连接
             connection.close();
         }
+        deadlineNanos = null;
     }
 
+    /**
+     * 获取当前事务剩余的超时时间
+     * 截止时间从事务的第一条语句开始计算，提交、回滚或关闭后重新开始；自动提交时每条语句都是一个事务
+     *
+     * @return 剩余的超时时间（秒），null 表示不限制
+     * @throws SQLException 事务已超时
+     */
     @Override
     public Integer getTimeout() throws SQLException {
-        return null;
+        if (timeout == null) {
+            return null;
+        }
+
+        if (autoCommit) {
+            return timeout;
+        }
+
+        if (deadlineNanos == null) {
+            deadlineNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeout);
+        }
+
+        long remainingNanos = deadlineNanos - System.nanoTime();
+        if (remainingNanos <= 0) {
+            throw new SQLTimeoutException("Transaction timed out: deadline of " + timeout + " seconds exceeded");
+        }
+
+        // 向上取整，剩余不足一秒时按一秒计算
+        return (int) Math.min((remainingNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1),
+                Integer.MAX_VALUE);
     }
 
     /**
@@ -107,7 +159,7 @@ public class JdbcTransaction implements Transaction {
      * @throws SQLException SQL 异常
      */
     protected void openConnection() throws SQLException {
-        connection = dataSource.getConnection();
+        connection = StatefulConnection.wrap(dataSource.getConnection());
         if (level != null) {
             // 设置隔离级别
             connection.setTransactionIsolation(level.getLevel());
@@ -19,6 +19,12 @@ public class JdbcTransactionFactory implements TransactionFactory {
      */
     private boolean skipSetAutoCommitOnClose;
 
+    /**
+     * 事务的超时时间（秒），截止时间从事务的第一条语句开始计算，提交、回滚或关闭后重新开始，
+     * 事务内的语句不会超过该截止时间；自动提交时每条语句都是一个事务，各自拥有完整的超时时间
+     */
+    private Integer timeout;
+
     @Override
     public void setProperties(Properties properties) {
         if (properties == null) {
@@ -29,6 +35,11 @@ public class JdbcTransactionFactory implements TransactionFactory {
         if (value != null) {
             skipSetAutoCommitOnClose = Boolean.parseBoolean(value);
         }
+
+        String timeoutValue = properties.getProperty("timeout");
+        if (timeoutValue != null) {
+            timeout = Integer.valueOf(timeoutValue);
+        }
     }
 
     @Override
@@ -38,6 +49,6 @@ public class JdbcTransactionFactory implements TransactionFactory {
 
     @Override
     public Transaction newTransaction(DataSource dataSource, TransactionIsolationalLevel level, boolean autoCommit) {
-        return new JdbcTransaction(dataSource, level, autoCommit, skipSetAutoCommitOnClose);
+        return new JdbcTransaction(dataSource, level, autoCommit, skipSetAutoCommitOnClose, timeout);
     }
 }
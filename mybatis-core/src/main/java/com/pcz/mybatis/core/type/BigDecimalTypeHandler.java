@@ -0,0 +1,34 @@
+package com.pcz.mybatis.core.type;
+
+import java.math.BigDecimal;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * BigDecimal 类型处理器
+ *
+ * @author picongzhi
+ */
+public class BigDecimalTypeHandler extends BaseTypeHandler<BigDecimal> {
+    @Override
+    public void setNonNullParameter(PreparedStatement preparedStatement, int index, BigDecimal parameter, JdbcType jdbcType) throws SQLException {
+        preparedStatement.setBigDecimal(index, parameter);
+    }
+
+    @Override
+    public BigDecimal getNullableResult(ResultSet resultSet, String columnName) throws SQLException {
+        return resultSet.getBigDecimal(columnName);
+    }
+
+    @Override
+    public BigDecimal getNullableResult(ResultSet resultSet, int columnIndex) throws SQLException {
+        return resultSet.getBigDecimal(columnIndex);
+    }
+
+    @Override
+    public BigDecimal getNullableResult(CallableStatement callableStatement, int columnIndex) throws SQLException {
+        return callableStatement.getBigDecimal(columnIndex);
+    }
+}
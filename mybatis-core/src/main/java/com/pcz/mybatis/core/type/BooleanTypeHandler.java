@@ -0,0 +1,36 @@
+package com.pcz.mybatis.core.type;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Boolean 类型处理器
+ *
+ * @author picongzhi
+ */
+public class BooleanTypeHandler extends BaseTypeHandler<Boolean> {
+    @Override
+    public void setNonNullParameter(PreparedStatement preparedStatement, int index, Boolean parameter, JdbcType jdbcType) throws SQLException {
+        preparedStatement.setBoolean(index, parameter);
+    }
+
+    @Override
+    public Boolean getNullableResult(ResultSet resultSet, String columnName) throws SQLException {
+        boolean result = resultSet.getBoolean(columnName);
+        return !result && resultSet.wasNull() ? null : result;
+    }
+
+    @Override
+    public Boolean getNullableResult(ResultSet resultSet, int columnIndex) throws SQLException {
+        boolean result = resultSet.getBoolean(columnIndex);
+        return !result && resultSet.wasNull() ? null : result;
+    }
+
+    @Override
+    public Boolean getNullableResult(CallableStatement callableStatement, int columnIndex) throws SQLException {
+        boolean result = callableStatement.getBoolean(columnIndex);
+        return !result && callableStatement.wasNull() ? null : result;
+    }
+}
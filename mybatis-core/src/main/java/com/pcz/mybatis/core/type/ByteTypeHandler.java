@@ -0,0 +1,36 @@
+package com.pcz.mybatis.core.type;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Byte 类型处理器
+ *
+ * @author picongzhi
+ */
+public class ByteTypeHandler extends BaseTypeHandler<Byte> {
+    @Override
+    public void setNonNullParameter(PreparedStatement preparedStatement, int index, Byte parameter, JdbcType jdbcType) throws SQLException {
+        preparedStatement.setByte(index, parameter);
+    }
+
+    @Override
+    public Byte getNullableResult(ResultSet resultSet, String columnName) throws SQLException {
+        byte result = resultSet.getByte(columnName);
+        return result == 0 && resultSet.wasNull() ? null : result;
+    }
+
+    @Override
+    public Byte getNullableResult(ResultSet resultSet, int columnIndex) throws SQLException {
+        byte result = resultSet.getByte(columnIndex);
+        return result == 0 && resultSet.wasNull() ? null : result;
+    }
+
+    @Override
+    public Byte getNullableResult(CallableStatement callableStatement, int columnIndex) throws SQLException {
+        byte result = callableStatement.getByte(columnIndex);
+        return result == 0 && callableStatement.wasNull() ? null : result;
+    }
+}
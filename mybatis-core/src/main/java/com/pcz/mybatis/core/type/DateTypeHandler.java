@@ -0,0 +1,45 @@
+package com.pcz.mybatis.core.type;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Date;
+
+/**
+ * Date 类型处理器
+ *
+ * @author picongzhi
+ */
+public class DateTypeHandler extends BaseTypeHandler<Date> {
+    @Override
+    public void setNonNullParameter(PreparedStatement preparedStatement, int index, Date parameter, JdbcType jdbcType) throws SQLException {
+        preparedStatement.setTimestamp(index, new Timestamp(parameter.getTime()));
+    }
+
+    @Override
+    public Date getNullableResult(ResultSet resultSet, String columnName) throws SQLException {
+        return toDate(resultSet.getTimestamp(columnName));
+    }
+
+    @Override
+    public Date getNullableResult(ResultSet resultSet, int columnIndex) throws SQLException {
+        return toDate(resultSet.getTimestamp(columnIndex));
+    }
+
+    @Override
+    public Date getNullableResult(CallableStatement callableStatement, int columnIndex) throws SQLException {
+        return toDate(callableStatement.getTimestamp(columnIndex));
+    }
+
+    /**
+     * Timestamp 转换为 Date
+     *
+     * @param timestamp Timestamp
+     * @return Date
+     */
+    private static Date toDate(Timestamp timestamp) {
+        return timestamp == null ? null : new Date(timestamp.getTime());
+    }
+}
@@ -0,0 +1,36 @@
+package com.pcz.mybatis.core.type;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Double 类型处理器
+ *
+ * @author picongzhi
+ */
+public class DoubleTypeHandler extends BaseTypeHandler<Double> {
+    @Override
+    public void setNonNullParameter(PreparedStatement preparedStatement, int index, Double parameter, JdbcType jdbcType) throws SQLException {
+        preparedStatement.setDouble(index, parameter);
+    }
+
+    @Override
+    public Double getNullableResult(ResultSet resultSet, String columnName) throws SQLException {
+        double result = resultSet.getDouble(columnName);
+        return result == 0 && resultSet.wasNull() ? null : result;
+    }
+
+    @Override
+    public Double getNullableResult(ResultSet resultSet, int columnIndex) throws SQLException {
+        double result = resultSet.getDouble(columnIndex);
+        return result == 0 && resultSet.wasNull() ? null : result;
+    }
+
+    @Override
+    public Double getNullableResult(CallableStatement callableStatement, int columnIndex) throws SQLException {
+        double result = callableStatement.getDouble(columnIndex);
+        return result == 0 && callableStatement.wasNull() ? null : result;
+    }
+}
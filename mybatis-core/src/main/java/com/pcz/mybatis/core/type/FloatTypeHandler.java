@@ -0,0 +1,36 @@
+package com.pcz.mybatis.core.type;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Float 类型处理器
+ *
+ * @author picongzhi
+ */
+public class FloatTypeHandler extends BaseTypeHandler<Float> {
+    @Override
+    public void setNonNullParameter(PreparedStatement preparedStatement, int index, Float parameter, JdbcType jdbcType) throws SQLException {
+        preparedStatement.setFloat(index, parameter);
+    }
+
+    @Override
+    public Float getNullableResult(ResultSet resultSet, String columnName) throws SQLException {
+        float result = resultSet.getFloat(columnName);
+        return result == 0 && resultSet.wasNull() ? null : result;
+    }
+
+    @Override
+    public Float getNullableResult(ResultSet resultSet, int columnIndex) throws SQLException {
+        float result = resultSet.getFloat(columnIndex);
+        return result == 0 && resultSet.wasNull() ? null : result;
+    }
+
+    @Override
+    public Float getNullableResult(CallableStatement callableStatement, int columnIndex) throws SQLException {
+        float result = callableStatement.getFloat(columnIndex);
+        return result == 0 && callableStatement.wasNull() ? null : result;
+    }
+}
@@ -0,0 +1,36 @@
+package com.pcz.mybatis.core.type;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Integer 类型处理器
+ *
+ * @author picongzhi
+ */
+public class IntegerTypeHandler extends BaseTypeHandler<Integer> {
+    @Override
+    public void setNonNullParameter(PreparedStatement preparedStatement, int index, Integer parameter, JdbcType jdbcType) throws SQLException {
+        preparedStatement.setInt(index, parameter);
+    }
+
+    @Override
+    public Integer getNullableResult(ResultSet resultSet, String columnName) throws SQLException {
+        int result = resultSet.getInt(columnName);
+        return result == 0 && resultSet.wasNull() ? null : result;
+    }
+
+    @Override
+    public Integer getNullableResult(ResultSet resultSet, int columnIndex) throws SQLException {
+        int result = resultSet.getInt(columnIndex);
+        return result == 0 && resultSet.wasNull() ? null : result;
+    }
+
+    @Override
+    public Integer getNullableResult(CallableStatement callableStatement, int columnIndex) throws SQLException {
+        int result = callableStatement.getInt(columnIndex);
+        return result == 0 && callableStatement.wasNull() ? null : result;
+    }
+}
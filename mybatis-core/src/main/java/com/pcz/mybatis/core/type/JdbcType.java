@@ -10,10 +10,82 @@ import java.util.Map;
  * @author picongzhi
  */
 public enum JdbcType {
+    /**
+     * BIT
+     */
+    BIT(Types.BIT),
+    /**
+     * TINYINT
+     */
+    TINYINT(Types.TINYINT),
+    /**
+     * SMALLINT
+     */
+    SMALLINT(Types.SMALLINT),
+    /**
+     * INTEGER
+     */
+    INTEGER(Types.INTEGER),
+    /**
+     * BIGINT
+     */
+    BIGINT(Types.BIGINT),
+    /**
+     * FLOAT
+     */
+    FLOAT(Types.FLOAT),
+    /**
+     * REAL
+     */
+    REAL(Types.REAL),
+    /**
+     * DOUBLE
+     */
+    DOUBLE(Types.DOUBLE),
+    /**
+     * NUMERIC
+     */
+    NUMERIC(Types.NUMERIC),
+    /**
+     * DECIMAL
+     */
+    DECIMAL(Types.DECIMAL),
+    /**
+     * CHAR
+     */
+    CHAR(Types.CHAR),
     /**
      * VARCHAR
      */
     VARCHAR(Types.VARCHAR),
+    /**
+     * LONGVARCHAR
+     */
+    LONGVARCHAR(Types.LONGVARCHAR),
+    /**
+     * DATE
+     */
+    DATE(Types.DATE),
+    /**
+     * TIME
+     */
+    TIME(Types.TIME),
+    /**
+     * TIMESTAMP
+     */
+    TIMESTAMP(Types.TIMESTAMP),
+    /**
+     * BLOB
+     */
+    BLOB(Types.BLOB),
+    /**
+     * CLOB
+     */
+    CLOB(Types.CLOB),
+    /**
+     * BOOLEAN
+     */
+    BOOLEAN(Types.BOOLEAN),
     /**
      * 其他
      */
@@ -0,0 +1,36 @@
+package com.pcz.mybatis.core.type;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Long 类型处理器
+ *
+ * @author picongzhi
+ */
+public class LongTypeHandler extends BaseTypeHandler<Long> {
+    @Override
+    public void setNonNullParameter(PreparedStatement preparedStatement, int index, Long parameter, JdbcType jdbcType) throws SQLException {
+        preparedStatement.setLong(index, parameter);
+    }
+
+    @Override
+    public Long getNullableResult(ResultSet resultSet, String columnName) throws SQLException {
+        long result = resultSet.getLong(columnName);
+        return result == 0 && resultSet.wasNull() ? null : result;
+    }
+
+    @Override
+    public Long getNullableResult(ResultSet resultSet, int columnIndex) throws SQLException {
+        long result = resultSet.getLong(columnIndex);
+        return result == 0 && resultSet.wasNull() ? null : result;
+    }
+
+    @Override
+    public Long getNullableResult(CallableStatement callableStatement, int columnIndex) throws SQLException {
+        long result = callableStatement.getLong(columnIndex);
+        return result == 0 && callableStatement.wasNull() ? null : result;
+    }
+}
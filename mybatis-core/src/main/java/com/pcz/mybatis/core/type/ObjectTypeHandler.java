@@ -0,0 +1,33 @@
+package com.pcz.mybatis.core.type;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Object 类型处理器
+ *
+ * @author picongzhi
+ */
+public class ObjectTypeHandler extends BaseTypeHandler<Object> {
+    @Override
+    public void setNonNullParameter(PreparedStatement preparedStatement, int index, Object parameter, JdbcType jdbcType) throws SQLException {
+        preparedStatement.setObject(index, parameter);
+    }
+
+    @Override
+    public Object getNullableResult(ResultSet resultSet, String columnName) throws SQLException {
+        return resultSet.getObject(columnName);
+    }
+
+    @Override
+    public Object getNullableResult(ResultSet resultSet, int columnIndex) throws SQLException {
+        return resultSet.getObject(columnIndex);
+    }
+
+    @Override
+    public Object getNullableResult(CallableStatement callableStatement, int columnIndex) throws SQLException {
+        return callableStatement.getObject(columnIndex);
+    }
+}
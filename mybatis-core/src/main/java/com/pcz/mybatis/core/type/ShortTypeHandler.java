@@ -0,0 +1,36 @@
+package com.pcz.mybatis.core.type;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Short 类型处理器
+ *
+ * @author picongzhi
+ */
+public class ShortTypeHandler extends BaseTypeHandler<Short> {
+    @Override
+    public void setNonNullParameter(PreparedStatement preparedStatement, int index, Short parameter, JdbcType jdbcType) throws SQLException {
+        preparedStatement.setShort(index, parameter);
+    }
+
+    @Override
+    public Short getNullableResult(ResultSet resultSet, String columnName) throws SQLException {
+        short result = resultSet.getShort(columnName);
+        return result == 0 && resultSet.wasNull() ? null : result;
+    }
+
+    @Override
+    public Short getNullableResult(ResultSet resultSet, int columnIndex) throws SQLException {
+        short result = resultSet.getShort(columnIndex);
+        return result == 0 && resultSet.wasNull() ? null : result;
+    }
+
+    @Override
+    public Short getNullableResult(CallableStatement callableStatement, int columnIndex) throws SQLException {
+        short result = callableStatement.getShort(columnIndex);
+        return result == 0 && callableStatement.wasNull() ? null : result;
+    }
+}
@@ -0,0 +1,33 @@
+package com.pcz.mybatis.core.type;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * String 类型处理器
+ *
+ * @author picongzhi
+ */
+public class StringTypeHandler extends BaseTypeHandler<String> {
+    @Override
+    public void setNonNullParameter(PreparedStatement preparedStatement, int index, String parameter, JdbcType jdbcType) throws SQLException {
+        preparedStatement.setString(index, parameter);
+    }
+
+    @Override
+    public String getNullableResult(ResultSet resultSet, String columnName) throws SQLException {
+        return resultSet.getString(columnName);
+    }
+
+    @Override
+    public String getNullableResult(ResultSet resultSet, int columnIndex) throws SQLException {
+        return resultSet.getString(columnIndex);
+    }
+
+    @Override
+    public String getNullableResult(CallableStatement callableStatement, int columnIndex) throws SQLException {
+        return callableStatement.getString(columnIndex);
+    }
+}
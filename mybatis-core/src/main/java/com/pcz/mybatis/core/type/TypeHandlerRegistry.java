@@ -6,7 +6,9 @@ import com.pcz.mybatis.core.session.Configuration;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
+import java.math.BigDecimal;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -40,12 +42,126 @@ public final class TypeHandlerRegistry {
      */
     private Class<? extends TypeHandler> defaultEnumTypeHandler = EnumTypeHandler.class;
 
+    /**
+     * 未知类型处理器
+     */
+    private final TypeHandler<Object> unknownTypeHandler;
+
     public TypeHandlerRegistry() {
         this(new Configuration());
     }
 
     public TypeHandlerRegistry(Configuration configuration) {
+        this.unknownTypeHandler = new UnknownTypeHandler(this);
+
+        register(Boolean.class, new BooleanTypeHandler());
+        register(boolean.class, new BooleanTypeHandler());
+        register(Byte.class, new ByteTypeHandler());
+        register(byte.class, new ByteTypeHandler());
+        register(Short.class, new ShortTypeHandler());
+        register(short.class, new ShortTypeHandler());
+        register(Integer.class, new IntegerTypeHandler());
+        register(int.class, new IntegerTypeHandler());
+        register(Long.class, new LongTypeHandler());
+        register(long.class, new LongTypeHandler());
+        register(Float.class, new FloatTypeHandler());
+        register(float.class, new FloatTypeHandler());
+        register(Double.class, new DoubleTypeHandler());
+        register(double.class, new DoubleTypeHandler());
+        register(String.class, new StringTypeHandler());
+        register(BigDecimal.class, new BigDecimalTypeHandler());
+        register(Date.class, new DateTypeHandler());
+        register(Object.class, unknownTypeHandler);
+    }
+
+    /**
+     * 判断是否有 Java 类型对应的类型处理器
+     *
+     * @param javaType Java 类型
+     * @return 是否有类型处理器
+     */
+    public boolean hasTypeHandler(Class<?> javaType) {
+        return hasTypeHandler(javaType, null);
+    }
+
+    /**
+     * 判断是否有 Java 类型和 Jdbc 类型对应的类型处理器
+     *
+     * @param javaType Java 类型
+     * @param jdbcType Jdbc 类型
+     * @return 是否有类型处理器
+     */
+    public boolean hasTypeHandler(Class<?> javaType, JdbcType jdbcType) {
+        return javaType != null && getTypeHandler((Type) javaType, jdbcType) != null;
+    }
+
+    /**
+     * 获取 Java 类型对应的类型处理器
+     *
+     * @param javaType Java 类型
+     * @param <T>      泛型
+     * @return 类型处理器，没有时返回 null
+     */
+    public <T> TypeHandler<T> getTypeHandler(Class<T> javaType) {
+        return getTypeHandler((Type) javaType, null);
+    }
+
+    /**
+     * 获取 Java 类型和 Jdbc 类型对应的类型处理器
+     *
+     * @param javaType Java 类型
+     * @param jdbcType Jdbc 类型
+     * @param <T>      泛型
+     * @return 类型处理器，没有时返回 null
+     */
+    public <T> TypeHandler<T> getTypeHandler(Class<T> javaType, JdbcType jdbcType) {
+        return getTypeHandler((Type) javaType, jdbcType);
+    }
+
+    /**
+     * 获取未知类型处理器
+     *
+     * @return 未知类型处理器
+     */
+    public TypeHandler<Object> getUnknownTypeHandler() {
+        return unknownTypeHandler;
+    }
+
+    /**
+     * 获取类型处理器
+     * 没有指定 Jdbc 类型的处理器时使用 null 对应的处理器，枚举类型按需注册默认的枚举类型处理器
+     *
+     * @param type     Java 类型
+     * @param jdbcType Jdbc 类型
+     * @param <T>      泛型
+     * @return 类型处理器，没有时返回 null
+     */
+    @SuppressWarnings("unchecked")
+    private <T> TypeHandler<T> getTypeHandler(Type type, JdbcType jdbcType) {
+        if (type == null) {
+            return null;
+        }
+
+        Map<JdbcType, TypeHandler<?>> jdbcTypeHandlers = typeHandlerMap.get(type);
+        if (jdbcTypeHandlers == null && type instanceof Class && Enum.class.isAssignableFrom((Class<?>) type)) {
+            Class<?> enumClass = (Class<?>) type;
+            if (enumClass.isAnonymousClass()) {
+                enumClass = enumClass.getSuperclass();
+            }
+            register(enumClass, getInstance(enumClass, defaultEnumTypeHandler));
+            jdbcTypeHandlers = typeHandlerMap.get(enumClass);
+        }
+
+        if (jdbcTypeHandlers == null || jdbcTypeHandlers == NULL_TYPE_HANDLER_MAP) {
+            return null;
+        }
+
+        TypeHandler<?> handler = jdbcTypeHandlers.get(jdbcType);
+        if (handler == null) {
+            handler = jdbcTypeHandlers.get(null);
+        }
 
+        return (TypeHandler<T>) handler;
     }
 
     /**
@@ -0,0 +1,54 @@
+package com.pcz.mybatis.core.type;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * 未知类型处理器
+ * 设置参数时根据参数的实际类型选择类型处理器，读取结果时直接获取对象
+ *
+ * @author picongzhi
+ */
+public class UnknownTypeHandler extends BaseTypeHandler<Object> {
+    /**
+     * 对象类型处理器
+     */
+    private static final ObjectTypeHandler OBJECT_TYPE_HANDLER = new ObjectTypeHandler();
+
+    /**
+     * 类型处理器注册器
+     */
+    private final TypeHandlerRegistry typeHandlerRegistry;
+
+    public UnknownTypeHandler(TypeHandlerRegistry typeHandlerRegistry) {
+        this.typeHandlerRegistry = typeHandlerRegistry;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void setNonNullParameter(PreparedStatement preparedStatement, int index, Object parameter, JdbcType jdbcType) throws SQLException {
+        TypeHandler<Object> handler = (TypeHandler<Object>) typeHandlerRegistry.getTypeHandler(parameter.getClass(), jdbcType);
+        if (handler == null || handler instanceof UnknownTypeHandler) {
+            handler = OBJECT_TYPE_HANDLER;
+        }
+
+        handler.setParameter(preparedStatement, index, parameter, jdbcType);
+    }
+
+    @Override
+    public Object getNullableResult(ResultSet resultSet, String columnName) throws SQLException {
+        return resultSet.getObject(columnName);
+    }
+
+    @Override
+    public Object getNullableResult(ResultSet resultSet, int columnIndex) throws SQLException {
+        return resultSet.getObject(columnIndex);
+    }
+
+    @Override
+    public Object getNullableResult(CallableStatement callableStatement, int columnIndex) throws SQLException {
+        return callableStatement.getObject(columnIndex);
+    }
+}
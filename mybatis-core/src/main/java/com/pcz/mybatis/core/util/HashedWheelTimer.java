@@ -0,0 +1,417 @@
+package com.pcz.mybatis.core.util;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 哈希时间轮定时器
+ * 所有定时任务由一个工作线程按刻度检查，添加和取消任务都是常数时间，适合大量很快被取消的超时任务
+ * 任务在工作线程上执行，执行时间应尽量短，精度为一个刻度
+ *
+ * @author picongzhi
+ */
+public class HashedWheelTimer {
+    /**
+     * 工作线程名称
+     */
+    private final String threadName;
+
+    /**
+     * 刻度时长（纳秒）
+     */
+    private final long tickNanos;
+
+    /**
+     * 时间轮
+     */
+    private final Bucket[] wheel;
+
+    /**
+     * 计算桶下标的掩码
+     */
+    private final int mask;
+
+    /**
+     * 待加入时间轮的任务
+     */
+    private final Queue<WheelTimeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 已取消待移除的任务
+     */
+    private final Queue<WheelTimeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 是否已启动
+     */
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    /**
+     * 启动时间（纳秒）
+     */
+    private volatile long startTime;
+
+    /**
+     * 是否已停止
+     */
+    private volatile boolean stopped;
+
+    /**
+     * 工作线程
+     */
+    private volatile Thread workerThread;
+
+    public HashedWheelTimer(String threadName, long tickDuration, TimeUnit unit, int ticksPerWheel) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("Parameter 'tickDuration' must be positive");
+        }
+
+        if (ticksPerWheel <= 0) {
+            throw new IllegalArgumentException("Parameter 'ticksPerWheel' must be positive");
+        }
+
+        this.threadName = threadName;
+        this.tickNanos = unit.toNanos(tickDuration);
+        int wheelSize = Integer.highestOneBit(ticksPerWheel - 1) << 1;
+        this.wheel = new Bucket[Math.max(wheelSize, 1)];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = wheel.length - 1;
+    }
+
+    /**
+     * 添加定时任务，第一次添加时启动工作线程
+     *
+     * @param task  任务
+     * @param delay 延迟时间
+     * @param unit  时间单位
+     * @return 定时任务
+     */
+    public Timeout newTimeout(Runnable task, long delay, TimeUnit unit) {
+        if (stopped) {
+            throw new IllegalStateException("Timer '" + threadName + "' has been stopped");
+        }
+
+        start();
+        long deadline = System.nanoTime() - startTime + unit.toNanos(Math.max(delay, 0));
+        WheelTimeout timeout = new WheelTimeout(this, task, deadline);
+        pendingTimeouts.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * 停止工作线程，未执行的任务不再执行
+     */
+    public void stop() {
+        stopped = true;
+        Thread thread = workerThread;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * 启动工作线程
+     */
+    private void start() {
+        if (!started.compareAndSet(false, true)) {
+            while (startTime == 0) {
+                Thread.yield();
+            }
+            return;
+        }
+
+        Thread thread = new Thread(this::work, threadName);
+        thread.setDaemon(true);
+        workerThread = thread;
+        startTime = Math.max(System.nanoTime(), 1);
+        thread.start();
+    }
+
+    /**
+     * 工作线程循环
+     */
+    private void work() {
+        long tick = 0;
+        while (!stopped) {
+            long currentTime = waitForNextTick(tick);
+            if (currentTime < 0) {
+                break;
+            }
+
+            removeCancelledTimeouts();
+            transferPendingTimeouts(tick);
+            wheel[(int) (tick & mask)].expireTimeouts(currentTime);
+            tick++;
+        }
+    }
+
+    /**
+     * 等待下一个刻度
+     *
+     * @param tick 当前刻度
+     * @return 相对启动时间的当前时间，停止时返回 -1
+     */
+    private long waitForNextTick(long tick) {
+        long deadline = tickNanos * (tick + 1);
+        while (true) {
+            long currentTime = System.nanoTime() - startTime;
+            long sleepMillis = (deadline - currentTime + 999_999) / 1_000_000;
+            if (sleepMillis <= 0) {
+                return currentTime;
+            }
+
+            try {
+                Thread.sleep(sleepMillis);
+            } catch (InterruptedException e) {
+                if (stopped) {
+                    return -1;
+                }
+            }
+        }
+    }
+
+    /**
+     * 将待加入的任务放入时间轮
+     *
+     * @param tick 当前刻度
+     */
+    private void transferPendingTimeouts(long tick) {
+        WheelTimeout timeout;
+        while ((timeout = pendingTimeouts.poll()) != null) {
+            if (timeout.state.get() == WheelTimeout.ST_CANCELLED) {
+                continue;
+            }
+
+            long calculated = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (calculated - tick) / wheel.length;
+            long ticks = Math.max(calculated, tick);
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    /**
+     * 从时间轮中移除已取消的任务
+     */
+    private void removeCancelledTimeouts() {
+        WheelTimeout timeout;
+        while ((timeout = cancelledTimeouts.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    /**
+     * 定时任务
+     */
+    public interface Timeout {
+        /**
+         * 取消任务
+         *
+         * @return 是否取消成功，任务已执行或已取消时返回 false
+         */
+        boolean cancel();
+
+        /**
+         * 任务是否已执行
+         *
+         * @return 是否已执行
+         */
+        boolean isExpired();
+
+        /**
+         * 任务是否已取消
+         *
+         * @return 是否已取消
+         */
+        boolean isCancelled();
+    }
+
+    /**
+     * 时间轮中的定时任务
+     */
+    private static class WheelTimeout implements Timeout {
+        /**
+         * 初始状态
+         */
+        private static final int ST_INIT = 0;
+
+        /**
+         * 已取消
+         */
+        private static final int ST_CANCELLED = 1;
+
+        /**
+         * 已执行
+         */
+        private static final int ST_EXPIRED = 2;
+
+        /**
+         * 定时器
+         */
+        private final HashedWheelTimer timer;
+
+        /**
+         * 任务
+         */
+        private final Runnable task;
+
+        /**
+         * 相对启动时间的截止时间（纳秒）
+         */
+        private final long deadline;
+
+        /**
+         * 状态
+         */
+        private final AtomicInteger state = new AtomicInteger(ST_INIT);
+
+        /**
+         * 剩余的轮数，只在工作线程上访问
+         */
+        private long remainingRounds;
+
+        /**
+         * 所在的桶，只在工作线程上访问
+         */
+        private Bucket bucket;
+
+        /**
+         * 前一个任务
+         */
+        private WheelTimeout prev;
+
+        /**
+         * 后一个任务
+         */
+        private WheelTimeout next;
+
+        WheelTimeout(HashedWheelTimer timer, Runnable task, long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (!state.compareAndSet(ST_INIT, ST_CANCELLED)) {
+                return false;
+            }
+
+            timer.cancelledTimeouts.add(this);
+            return true;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return state.get() == ST_EXPIRED;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return state.get() == ST_CANCELLED;
+        }
+
+        /**
+         * 执行任务
+         */
+        void expire() {
+            if (!state.compareAndSet(ST_INIT, ST_EXPIRED)) {
+                return;
+            }
+
+            try {
+                task.run();
+            } catch (Throwable t) {
+                // 任务异常不影响工作线程
+            }
+        }
+    }
+
+    /**
+     * 时间轮的桶，双向链表，只在工作线程上访问
+     */
+    private static class Bucket {
+        /**
+         * 头节点
+         */
+        private WheelTimeout head;
+
+        /**
+         * 尾节点
+         */
+        private WheelTimeout tail;
+
+        /**
+         * 添加任务
+         *
+         * @param timeout 任务
+         */
+        void add(WheelTimeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        /**
+         * 执行到期的任务
+         *
+         * @param currentTime 相对启动时间的当前时间
+         */
+        void expireTimeouts(long currentTime) {
+            WheelTimeout timeout = head;
+            while (timeout != null) {
+                WheelTimeout next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    if (timeout.deadline <= currentTime) {
+                        timeout.expire();
+                    }
+                } else if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        /**
+         * 移除任务
+         *
+         * @param timeout 任务
+         */
+        void remove(WheelTimeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = timeout.next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
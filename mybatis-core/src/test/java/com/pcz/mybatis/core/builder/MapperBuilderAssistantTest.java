@@ -0,0 +1,22 @@
+package com.pcz.mybatis.core.builder;
+
+import com.pcz.mybatis.core.mapping.ResultMapping;
+import com.pcz.mybatis.core.session.Configuration;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+public class MapperBuilderAssistantTest {
+    @Test
+    public void should_build_nested_select_mapping_with_batch_size() {
+        MapperBuilderAssistant assistant = new MapperBuilderAssistant(new Configuration(), "BlogMapper.xml");
+        assistant.setCurrentNamespace("BlogMapper");
+
+        ResultMapping resultMapping = assistant.buildResultMapping(Object.class, "posts", "id", null, null,
+                "selectPostsByBlog", null, null, null, null, Collections.emptyList(), null, null, false, 50);
+
+        Assertions.assertThat(resultMapping.getNestedQueryId()).isEqualTo("BlogMapper.selectPostsByBlog");
+        Assertions.assertThat(resultMapping.getBatchSize()).isEqualTo(50);
+    }
+}
@@ -1,7 +1,12 @@
 package com.pcz.mybatis.core.builder;
 
 import com.pcz.mybatis.core.builder.xml.XMLConfigBuilder;
+import com.pcz.mybatis.core.datasource.pooled.PooledDataSource;
+import com.pcz.mybatis.core.datasource.sharding.ShardedDataSource;
 import com.pcz.mybatis.core.io.Resources;
+import com.pcz.mybatis.core.mapping.Environment;
+import com.pcz.mybatis.core.session.Configuration;
+import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
@@ -19,4 +24,19 @@ public class XmlConfigBuilderTest {
             xmlConfigBuilder.parse();
         }
     }
+
+    @Test
+    public void should_parse_shards() throws IOException {
+        String location = "xml-config-builder-sharding.xml";
+        try (Reader reader = new InputStreamReader(Resources.getResourceAsStream(location))) {
+            Configuration configuration = new XMLConfigBuilder(reader).parse();
+            Environment environment = configuration.getEnvironment();
+
+            Assertions.assertThat(environment.getDataSource()).isInstanceOf(ShardedDataSource.class);
+            Assertions.assertThat(environment.getShardDataSources())
+                    .hasSize(2)
+                    .allMatch(dataSource -> dataSource instanceof PooledDataSource);
+            environment.getShardDataSources().forEach(dataSource -> ((PooledDataSource) dataSource).close());
+        }
+    }
 }
@@ -0,0 +1,196 @@
+package com.pcz.mybatis.core.cursor.defaults;
+
+import com.pcz.mybatis.core.cursor.Flow;
+import com.pcz.mybatis.core.executor.resultset.MockResultSets;
+import com.pcz.mybatis.core.executor.resultset.MockSessions;
+import com.pcz.mybatis.core.session.Configuration;
+import com.pcz.mybatis.core.session.SqlSession;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+public class CursorPublisherTest {
+    private Connection connection;
+
+    private PreparedStatement statement;
+
+    private ResultSet resultSet;
+
+    private Configuration configuration;
+
+    private SqlSession sqlSession;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        statement = Mockito.mock(PreparedStatement.class);
+        resultSet = MockResultSets.of(statement, new String[]{"id", "name"},
+                new Object[]{1, "a"}, new Object[]{2, "b"}, new Object[]{3, "c"});
+        connection = MockSessions.connection(statement);
+        Mockito.when(statement.getResultSet()).thenReturn(resultSet);
+
+        configuration = MockSessions.configuration(connection);
+        configuration.addMappedStatement(MockSessions.select(configuration, "selectUsers", "select id, name from user",
+                DefaultCursorTest.User.class).build());
+        sqlSession = MockSessions.openSession(configuration);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        sqlSession.close();
+    }
+
+    @Test
+    public void should_emit_rows_on_demand() throws SQLException {
+        RecordingSubscriber subscriber = new RecordingSubscriber(null);
+        sqlSession.<DefaultCursorTest.User>selectPublisher("selectUsers", null).subscribe(subscriber);
+        Mockito.verify(connection, Mockito.never()).prepareStatement(Mockito.anyString());
+
+        subscriber.subscription.request(1);
+        Assertions.assertThat(subscriber.ids).containsExactly(1);
+        Mockito.verify(resultSet, Mockito.times(1)).next();
+        Mockito.verify(resultSet).setFetchSize(1);
+
+        subscriber.subscription.request(5);
+        Assertions.assertThat(subscriber.ids).containsExactly(1, 2, 3);
+        Assertions.assertThat(subscriber.completed).isTrue();
+        Mockito.verify(resultSet).setFetchSize(5);
+        Mockito.verify(statement).close();
+    }
+
+    @Test
+    public void should_not_prefetch_beyond_demand() throws SQLException {
+        configuration.setDefaultPrefetchDepth(8);
+        RecordingSubscriber subscriber = new RecordingSubscriber(null);
+        sqlSession.<DefaultCursorTest.User>selectPublisher("selectUsers", null).subscribe(subscriber);
+
+        subscriber.subscription.request(1);
+
+        Assertions.assertThat(subscriber.ids).containsExactly(1);
+        Mockito.verify(resultSet, Mockito.times(1)).next();
+        Mockito.verify(resultSet).setFetchSize(1);
+    }
+
+    @Test
+    public void should_request_more_from_on_next() {
+        RecordingSubscriber subscriber = new RecordingSubscriber(null);
+        subscriber.requestOnNext = true;
+        sqlSession.<DefaultCursorTest.User>selectPublisher("selectUsers", null).subscribe(subscriber);
+
+        subscriber.subscription.request(1);
+
+        Assertions.assertThat(subscriber.ids).containsExactly(1, 2, 3);
+        Assertions.assertThat(subscriber.completed).isTrue();
+    }
+
+    @Test
+    public void should_close_statement_when_cancelled() throws SQLException {
+        RecordingSubscriber subscriber = new RecordingSubscriber(null);
+        subscriber.onNextAction = user -> subscriber.subscription.cancel();
+        sqlSession.<DefaultCursorTest.User>selectPublisher("selectUsers", null).subscribe(subscriber);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        Assertions.assertThat(subscriber.ids).containsExactly(1);
+        Assertions.assertThat(subscriber.completed).isFalse();
+        Mockito.verify(statement).close();
+        Mockito.verify(statement, Mockito.never()).cancel();
+        Mockito.verify(resultSet, Mockito.never()).setFetchSize(Mockito.anyInt());
+    }
+
+    @Test
+    public void should_cancel_running_statement_from_other_thread() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingSubscriber subscriber = new RecordingSubscriber(user -> {
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        sqlSession.<DefaultCursorTest.User>selectPublisher("selectUsers", null).subscribe(subscriber);
+        Thread thread = new Thread(() -> subscriber.subscription.request(3));
+        thread.start();
+
+        Assertions.assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+        subscriber.subscription.cancel();
+        release.countDown();
+        thread.join(5000);
+
+        Mockito.verify(statement).cancel();
+        Mockito.verify(statement).close();
+        Assertions.assertThat(subscriber.ids).containsExactly(1);
+    }
+
+    @Test
+    public void should_signal_error_for_invalid_request() {
+        RecordingSubscriber subscriber = new RecordingSubscriber(null);
+        Flow.Publisher<DefaultCursorTest.User> publisher = sqlSession.selectPublisher("selectUsers", null);
+        publisher.subscribe(subscriber);
+
+        subscriber.subscription.request(0);
+
+        Assertions.assertThat(subscriber.error).isInstanceOf(IllegalArgumentException.class);
+
+        RecordingSubscriber second = new RecordingSubscriber(null);
+        publisher.subscribe(second);
+        Assertions.assertThat(second.error).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static class RecordingSubscriber implements Flow.Subscriber<DefaultCursorTest.User> {
+        private final List<Integer> ids = new ArrayList<>();
+
+        private Flow.Subscription subscription;
+
+        private Consumer<DefaultCursorTest.User> onNextAction;
+
+        private boolean requestOnNext;
+
+        private boolean completed;
+
+        private Throwable error;
+
+        RecordingSubscriber(Consumer<DefaultCursorTest.User> onNextAction) {
+            this.onNextAction = onNextAction;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(DefaultCursorTest.User item) {
+            ids.add(item.getId());
+            if (onNextAction != null) {
+                onNextAction.accept(item);
+            }
+            if (requestOnNext) {
+                subscription.request(1);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            this.error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            this.completed = true;
+        }
+    }
+}
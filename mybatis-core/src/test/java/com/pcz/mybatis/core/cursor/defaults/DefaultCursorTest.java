@@ -0,0 +1,150 @@
+package com.pcz.mybatis.core.cursor.defaults;
+
+import com.pcz.mybatis.core.cursor.Cursor;
+import com.pcz.mybatis.core.executor.resultset.MockResultSets;
+import com.pcz.mybatis.core.executor.resultset.MockSessions;
+import com.pcz.mybatis.core.session.Configuration;
+import com.pcz.mybatis.core.session.RowBounds;
+import com.pcz.mybatis.core.session.SqlSession;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+public class DefaultCursorTest {
+    private Configuration configuration;
+
+    private Connection connection;
+
+    private PreparedStatement statement;
+
+    private ResultSet resultSet;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        statement = Mockito.mock(PreparedStatement.class);
+        resultSet = MockResultSets.of(statement, new String[]{"id", "name"},
+                new Object[]{1, "a"}, new Object[]{2, "b"}, new Object[]{3, "c"});
+        connection = MockSessions.connection(statement);
+        Mockito.when(statement.getResultSet()).thenReturn(resultSet);
+
+        configuration = MockSessions.configuration(connection);
+        configuration.setDefaultFetchSize(100);
+        addSelectStatement("selectUsers", null);
+        addSelectStatement("selectUsersWithFetchSize", 10);
+    }
+
+    @Test
+    public void should_map_rows_lazily() throws IOException, SQLException {
+        try (SqlSession sqlSession = MockSessions.openSession(configuration);
+             Cursor<User> cursor = sqlSession.selectCursor("selectUsers", null)) {
+            Assertions.assertThat(cursor.isOpen()).isFalse();
+            Assertions.assertThat(cursor.getCurrentIndex()).isEqualTo(-1);
+
+            User first = cursor.next();
+            Assertions.assertThat(first.getId()).isEqualTo(1);
+            Assertions.assertThat(first.getName()).isEqualTo("a");
+            Assertions.assertThat(cursor.isOpen()).isTrue();
+            Assertions.assertThat(cursor.getCurrentIndex()).isEqualTo(0);
+            Mockito.verify(resultSet, Mockito.times(1)).next();
+
+            List<Integer> rest = new ArrayList<>();
+            cursor.forEachRemaining(user -> rest.add(user.getId()));
+            Assertions.assertThat(rest).containsExactly(2, 3);
+            Assertions.assertThat(cursor.isConsumed()).isTrue();
+            Assertions.assertThat(cursor.isOpen()).isFalse();
+            Assertions.assertThat(cursor.getCurrentIndex()).isEqualTo(2);
+            Mockito.verify(statement).close();
+            Assertions.assertThatExceptionOfType(NoSuchElementException.class).isThrownBy(cursor::next);
+        }
+    }
+
+    @Test
+    public void should_use_fetch_size() throws SQLException {
+        try (SqlSession sqlSession = MockSessions.openSession(configuration)) {
+            sqlSession.selectCursor("selectUsers", null);
+            Mockito.verify(statement).setFetchSize(100);
+
+            sqlSession.selectCursor("selectUsersWithFetchSize", null);
+            Mockito.verify(statement).setFetchSize(10);
+        }
+    }
+
+    @Test
+    public void should_apply_row_bounds() {
+        try (SqlSession sqlSession = MockSessions.openSession(configuration)) {
+            Cursor<User> cursor = sqlSession.selectCursor("selectUsers", null, new RowBounds(1, 1));
+
+            List<Integer> ids = new ArrayList<>();
+            cursor.forEachRemaining(user -> ids.add(user.getId()));
+            Assertions.assertThat(ids).containsExactly(2);
+            Assertions.assertThat(cursor.isConsumed()).isTrue();
+        }
+    }
+
+    @Test
+    public void should_release_statement_when_closed() throws IOException, SQLException {
+        SqlSession sqlSession = MockSessions.openSession(configuration);
+        Cursor<User> cursor = sqlSession.selectCursor("selectUsers", null);
+        cursor.next();
+
+        cursor.close();
+
+        Assertions.assertThat(cursor.isOpen()).isFalse();
+        Assertions.assertThat(cursor.isConsumed()).isFalse();
+        Assertions.assertThat(cursor.hasNext()).isFalse();
+        Mockito.verify(resultSet).close();
+        Mockito.verify(statement).close();
+        sqlSession.close();
+        Mockito.verify(connection).close();
+    }
+
+    @Test
+    public void should_close_open_cursors_with_session() throws SQLException {
+        SqlSession sqlSession = MockSessions.openSession(configuration);
+        Cursor<User> cursor = sqlSession.selectCursor("selectUsers", null);
+
+        sqlSession.close();
+
+        Assertions.assertThat(cursor.hasNext()).isFalse();
+        Mockito.verify(statement).close();
+        Mockito.verify(connection).close();
+    }
+
+    private void addSelectStatement(String id, Integer fetchSize) {
+        configuration.addMappedStatement(MockSessions.select(configuration, id, "select id, name from user", User.class)
+                .fetchSize(fetchSize)
+                .build());
+    }
+
+    public static class User {
+        private Integer id;
+
+        private String name;
+
+        public Integer getId() {
+            return id;
+        }
+
+        public void setId(Integer id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+}
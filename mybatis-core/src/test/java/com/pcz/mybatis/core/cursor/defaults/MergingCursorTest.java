@@ -0,0 +1,88 @@
+package com.pcz.mybatis.core.cursor.defaults;
+
+import com.pcz.mybatis.core.session.RowBounds;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+public class MergingCursorTest {
+    @Test
+    public void should_concat_sources() {
+        MergingCursor<Integer> cursor = new MergingCursor<>(
+                sources(Arrays.asList(3, 1), Collections.emptyList(), Arrays.asList(2)),
+                null, RowBounds.DEFAULT, null);
+
+        Assertions.assertThat(drain(cursor)).containsExactly(3, 1, 2);
+    }
+
+    @Test
+    public void should_merge_sorted_sources() {
+        MergingCursor<Integer> cursor = new MergingCursor<>(
+                sources(Arrays.asList(1, 4, 7), Arrays.asList(2, 5, 8), Arrays.asList(3, 6, 9)),
+                Comparator.naturalOrder(), RowBounds.DEFAULT, null);
+
+        Assertions.assertThat(drain(cursor)).containsExactly(1, 2, 3, 4, 5, 6, 7, 8, 9);
+    }
+
+    @Test
+    public void should_apply_row_bounds_after_merge() {
+        MergingCursor<Integer> cursor = new MergingCursor<>(
+                sources(Arrays.asList(1, 4, 7), Arrays.asList(2, 5, 8)),
+                Comparator.naturalOrder(), new RowBounds(2, 3), null);
+
+        Assertions.assertThat(drain(cursor)).containsExactly(4, 5, 7);
+    }
+
+    @Test
+    public void should_close_resources_when_consumed() throws IOException {
+        Closeable resource = Mockito.mock(Closeable.class);
+        MergingCursor<Integer> cursor = new MergingCursor<>(
+                sources(Arrays.asList(1, 2)), null, new RowBounds(0, 1), Collections.singletonList(resource));
+
+        Assertions.assertThat(drain(cursor)).containsExactly(1);
+        cursor.close();
+
+        Mockito.verify(resource, Mockito.times(1)).close();
+    }
+
+    @Test
+    public void should_track_index_and_state() {
+        MergingCursor<Integer> cursor = new MergingCursor<>(
+                sources(Arrays.asList(1, 2)), null, RowBounds.DEFAULT, null);
+
+        Assertions.assertThat(cursor.getCurrentIndex()).isEqualTo(-1);
+        cursor.next();
+        Assertions.assertThat(cursor.getCurrentIndex()).isEqualTo(0);
+        Assertions.assertThat(cursor.isOpen()).isTrue();
+        drain(cursor);
+
+        Assertions.assertThat(cursor.getCurrentIndex()).isEqualTo(1);
+        Assertions.assertThat(cursor.isConsumed()).isTrue();
+        Assertions.assertThat(cursor.isOpen()).isFalse();
+    }
+
+    @SafeVarargs
+    private static List<Iterator<Integer>> sources(List<Integer>... lists) {
+        List<Iterator<Integer>> sources = new ArrayList<>();
+        for (List<Integer> list : lists) {
+            sources.add(list.iterator());
+        }
+
+        return sources;
+    }
+
+    private static List<Integer> drain(MergingCursor<Integer> cursor) {
+        List<Integer> result = new ArrayList<>();
+        cursor.forEachRemaining(result::add);
+        return result;
+    }
+}
@@ -0,0 +1,143 @@
+package com.pcz.mybatis.core.cursor.defaults;
+
+import com.pcz.mybatis.core.cursor.Cursor;
+import com.pcz.mybatis.core.executor.resultset.MockResultSets;
+import com.pcz.mybatis.core.executor.resultset.MockSessions;
+import com.pcz.mybatis.core.session.Configuration;
+import com.pcz.mybatis.core.session.SqlSession;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class PrefetchingCursorTest {
+    private Configuration configuration;
+
+    private PreparedStatement statement;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        statement = Mockito.mock(PreparedStatement.class);
+        configuration = MockSessions.configuration(MockSessions.connection(statement));
+        configuration.addMappedStatement(MockSessions.select(configuration, "selectIds", "select id from t", Row.class)
+                .prefetchDepth(2)
+                .build());
+    }
+
+    @Test
+    public void should_prefetch_up_to_depth() throws SQLException {
+        ResultSet resultSet = resultSet(5);
+        try (SqlSession sqlSession = MockSessions.openSession(configuration)) {
+            Cursor<Row> cursor = sqlSession.selectCursor("selectIds", null);
+            Assertions.assertThat(cursor).isInstanceOf(PrefetchingCursor.class);
+
+            // 缓冲区放满两行后，第三行等待放入
+            Mockito.verify(resultSet, Mockito.timeout(1000).times(3)).next();
+            Mockito.verify(resultSet, Mockito.after(100).times(3)).next();
+
+            List<Integer> ids = new ArrayList<>();
+            cursor.forEachRemaining(row -> ids.add(row.getId()));
+            Assertions.assertThat(ids).containsExactly(0, 1, 2, 3, 4);
+            Assertions.assertThat(cursor.isConsumed()).isTrue();
+            Assertions.assertThat(cursor.getCurrentIndex()).isEqualTo(4);
+            Mockito.verify(statement).close();
+        }
+    }
+
+    @Test
+    public void should_propagate_producer_exception() throws SQLException {
+        ResultSet resultSet = MockResultSets.of(statement, new String[]{"id"}, new Object[]{1}, new Object[]{"broken"});
+        Mockito.when(statement.getResultSet()).thenReturn(resultSet);
+        try (SqlSession sqlSession = MockSessions.openSession(configuration)) {
+            Cursor<Row> cursor = sqlSession.selectCursor("selectIds", null);
+
+            Assertions.assertThat(cursor.next().getId()).isEqualTo(1);
+            Assertions.assertThatExceptionOfType(RuntimeException.class).isThrownBy(cursor::hasNext);
+            Assertions.assertThat(cursor.isOpen()).isFalse();
+            Mockito.verify(statement).close();
+        }
+    }
+
+    @Test
+    public void should_stop_producer_when_closed() throws Exception {
+        ResultSet resultSet = resultSet(1000);
+        try (SqlSession sqlSession = MockSessions.openSession(configuration)) {
+            Cursor<Row> cursor = sqlSession.selectCursor("selectIds", null);
+            Assertions.assertThat(cursor.next().getId()).isZero();
+
+            cursor.close();
+
+            Assertions.assertThat(cursor.isOpen()).isFalse();
+            Assertions.assertThat(cursor.isConsumed()).isFalse();
+            Assertions.assertThat(cursor.hasNext()).isFalse();
+            Mockito.verify(resultSet).close();
+            Mockito.verify(statement).close();
+            Mockito.verify(resultSet, Mockito.atMost(5)).next();
+        }
+    }
+
+    @Test
+    public void should_cancel_statement_blocked_in_driver_when_closed() throws Exception {
+        ResultSet resultSet = resultSet(0);
+        CountDownLatch fetching = new CountDownLatch(1);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        Mockito.when(resultSet.next()).thenAnswer(invocation -> {
+            fetching.countDown();
+            cancelled.await();
+            throw new SQLException("Statement cancelled");
+        });
+        Mockito.doAnswer(invocation -> {
+            cancelled.countDown();
+            return null;
+        }).when(statement).cancel();
+
+        try (SqlSession sqlSession = MockSessions.openSession(configuration)) {
+            Cursor<Row> cursor = sqlSession.selectCursor("selectIds", null);
+            Assertions.assertThat(fetching.await(1, TimeUnit.SECONDS)).isTrue();
+
+            CompletableFuture.runAsync(() -> {
+                try {
+                    cursor.close();
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }).get(1, TimeUnit.SECONDS);
+
+            Mockito.verify(statement).cancel();
+            Mockito.verify(statement).close();
+        }
+    }
+
+    private ResultSet resultSet(int rows) throws SQLException {
+        Object[][] data = new Object[rows][];
+        for (int i = 0; i < rows; i++) {
+            data[i] = new Object[]{i};
+        }
+
+        ResultSet resultSet = MockResultSets.of(statement, new String[]{"id"}, data);
+        Mockito.when(statement.getResultSet()).thenReturn(resultSet);
+        return resultSet;
+    }
+
+    public static class Row {
+        private Integer id;
+
+        public Integer getId() {
+            return id;
+        }
+
+        public void setId(Integer id) {
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.pcz.mybatis.core.datasource.driver;
+
+import org.mockito.Mockito;
+
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverPropertyInfo;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Logger;
+
+public class MockDriver implements Driver {
+    public static final String URL_PREFIX = "jdbc:mock:";
+
+    private static final List<Connection> CONNECTIONS = new CopyOnWriteArrayList<>();
+
+    private static final List<String> CONNECTING_THREADS = new CopyOnWriteArrayList<>();
+
+    public static List<Connection> getConnections() {
+        return CONNECTIONS;
+    }
+
+    public static List<String> getConnectingThreads() {
+        return CONNECTING_THREADS;
+    }
+
+    public static void reset() {
+        CONNECTIONS.clear();
+        CONNECTING_THREADS.clear();
+    }
+
+    @Override
+    public Connection connect(String url, Properties info) throws SQLException {
+        if (!acceptsURL(url)) {
+            return null;
+        }
+
+        Connection connection = Mockito.mock(Connection.class);
+        Mockito.when(connection.getAutoCommit()).thenReturn(true);
+        CONNECTIONS.add(connection);
+        CONNECTING_THREADS.add(Thread.currentThread().getName());
+        return connection;
+    }
+
+    @Override
+    public boolean acceptsURL(String url) {
+        return url != null && url.startsWith(URL_PREFIX);
+    }
+
+    @Override
+    public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+        return new DriverPropertyInfo[0];
+    }
+
+    @Override
+    public int getMajorVersion() {
+        return 1;
+    }
+
+    @Override
+    public int getMinorVersion() {
+        return 0;
+    }
+
+    @Override
+    public boolean jdbcCompliant() {
+        return false;
+    }
+
+    @Override
+    public Logger getParentLogger() {
+        return Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+    }
+}
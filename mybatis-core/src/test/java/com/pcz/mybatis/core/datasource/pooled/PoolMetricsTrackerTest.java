@@ -0,0 +1,48 @@
+package com.pcz.mybatis.core.datasource.pooled;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class PoolMetricsTrackerTest {
+    @Test
+    public void should_calculate_wait_percentiles() {
+        PoolMetricsTracker tracker = new PoolMetricsTracker();
+        for (int i = 0; i < 98; i++) {
+            tracker.recordBorrow(TimeUnit.MICROSECONDS.toNanos(1));
+        }
+        tracker.recordBorrow(TimeUnit.MILLISECONDS.toNanos(10));
+        tracker.recordBorrow(TimeUnit.MILLISECONDS.toNanos(100));
+
+        PoolMetrics metrics = tracker.snapshot(new PooledDataSource());
+
+        Assertions.assertThat(metrics.getBorrowCount()).isEqualTo(100);
+        Assertions.assertThat(metrics.getWaitP50Nanos()).isBetween(1000L, 2000L);
+        Assertions.assertThat(metrics.getWaitP95Nanos()).isBetween(1000L, 2000L);
+        Assertions.assertThat(metrics.getWaitP99Nanos())
+                .isBetween(TimeUnit.MILLISECONDS.toNanos(10), TimeUnit.MILLISECONDS.toNanos(20));
+        Assertions.assertThat(metrics.getMaxWaitNanos()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    public void should_return_zero_when_no_borrow_recorded() {
+        PoolMetrics metrics = new PoolMetricsTracker().snapshot(new PooledDataSource());
+
+        Assertions.assertThat(metrics.getWaitP99Nanos()).isZero();
+        Assertions.assertThat(metrics.getMeanCreationNanos()).isZero();
+    }
+
+    @Test
+    public void should_record_creation_time() {
+        PoolMetricsTracker tracker = new PoolMetricsTracker();
+        tracker.recordCreation(100);
+        tracker.recordCreation(300);
+
+        PoolMetrics metrics = tracker.snapshot(new PooledDataSource());
+
+        Assertions.assertThat(metrics.getCreationCount()).isEqualTo(2);
+        Assertions.assertThat(metrics.getMeanCreationNanos()).isEqualTo(200);
+        Assertions.assertThat(metrics.getMaxCreationNanos()).isEqualTo(300);
+    }
+}
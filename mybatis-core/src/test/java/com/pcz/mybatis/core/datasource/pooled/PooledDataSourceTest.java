@@ -0,0 +1,252 @@
+package com.pcz.mybatis.core.datasource.pooled;
+
+import com.pcz.mybatis.core.datasource.driver.MockDriver;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+public class PooledDataSourceTest {
+    private PooledDataSource dataSource;
+
+    @BeforeEach
+    public void setUp() {
+        MockDriver.reset();
+        dataSource = new PooledDataSource(MockDriver.class.getName(), MockDriver.URL_PREFIX + "test", "sa", "");
+        dataSource.setMaxPoolSize(2);
+        dataSource.setConnectionTimeout(200);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    public void should_reuse_returned_connection() throws SQLException {
+        dataSource.getConnection().close();
+        dataSource.getConnection().close();
+
+        Assertions.assertThat(MockDriver.getConnections()).hasSize(1);
+        Assertions.assertThat(dataSource.getIdleConnections()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_not_exceed_max_pool_size() throws SQLException {
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+
+        Assertions.assertThatExceptionOfType(SQLException.class)
+                .isThrownBy(() -> dataSource.getConnection());
+        Assertions.assertThat(dataSource.getActiveConnections()).isEqualTo(2);
+
+        first.close();
+        second.close();
+    }
+
+    @Test
+    public void should_hand_off_connection_to_waiting_thread() throws Exception {
+        dataSource.setMaxPoolSize(1);
+        dataSource.setConnectionTimeout(5000);
+        Connection connection = dataSource.getConnection();
+
+        CompletableFuture<Connection> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return dataSource.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        while (dataSource.getPendingThreads() == 0) {
+            Thread.yield();
+        }
+        connection.close();
+
+        Connection handedOff = waiting.get(5, TimeUnit.SECONDS);
+        Assertions.assertThat(handedOff.isClosed()).isFalse();
+        Assertions.assertThat(MockDriver.getConnections()).hasSize(1);
+        handedOff.close();
+    }
+
+    @Test
+    public void should_replace_retired_connection_for_waiting_thread_on_housekeeper() throws Exception {
+        dataSource.setMaxPoolSize(1);
+        dataSource.setMaxLifetime(1);
+        dataSource.setConnectionTimeout(5000);
+        Connection connection = dataSource.getConnection();
+
+        CompletableFuture<Connection> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return dataSource.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        while (dataSource.getPendingThreads() == 0) {
+            Thread.yield();
+        }
+        TimeUnit.MILLISECONDS.sleep(5);
+        connection.close();
+
+        Connection replacement = waiting.get(5, TimeUnit.SECONDS);
+        Assertions.assertThat(MockDriver.getConnections()).hasSize(2);
+        Assertions.assertThat(MockDriver.getConnectingThreads().get(1)).isEqualTo("mybatis-pool-housekeeper");
+        replacement.close();
+    }
+
+    @Test
+    public void should_wake_waiting_thread_when_closed() throws Exception {
+        dataSource.setMaxPoolSize(1);
+        dataSource.setConnectionTimeout(30000);
+        dataSource.getConnection();
+
+        CompletableFuture<Connection> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return dataSource.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        while (dataSource.getPendingThreads() == 0) {
+            Thread.yield();
+        }
+        dataSource.close();
+
+        Assertions.assertThatThrownBy(() -> waiting.get(5, TimeUnit.SECONDS))
+                .hasRootCauseInstanceOf(SQLException.class)
+                .hasMessageContaining("has been closed");
+        Assertions.assertThat(dataSource.getPendingThreads()).isZero();
+    }
+
+    @Test
+    public void should_reject_usage_after_close() throws SQLException {
+        Connection connection = dataSource.getConnection();
+        connection.close();
+
+        Assertions.assertThat(connection.isClosed()).isTrue();
+        Assertions.assertThatExceptionOfType(SQLException.class)
+                .isThrownBy(connection::createStatement);
+    }
+
+    @Test
+    public void should_prefill_min_idle_connections() {
+        dataSource.setMinIdle(2);
+        dataSource.startHouseKeeper();
+
+        awaitCondition(() -> dataSource.getIdleConnections() == 2);
+        Assertions.assertThat(MockDriver.getConnections()).hasSize(2);
+    }
+
+    @Test
+    public void should_evict_idle_connections_above_min_idle() throws SQLException {
+        dataSource.setMinIdle(1);
+        dataSource.setIdleTimeout(1);
+        dataSource.setHousekeepingPeriod(10);
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+        first.close();
+        second.close();
+
+        awaitCondition(() -> dataSource.getTotalConnections() == 1);
+        Assertions.assertThat(dataSource.getIdleConnections()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_close_connection_past_max_lifetime_when_returned() throws Exception {
+        dataSource.setMaxLifetime(1);
+        Connection connection = dataSource.getConnection();
+        TimeUnit.MILLISECONDS.sleep(5);
+        connection.close();
+
+        Assertions.assertThat(dataSource.getTotalConnections()).isZero();
+        Mockito.verify(MockDriver.getConnections().get(0)).close();
+    }
+
+    @Test
+    public void should_remove_idle_connection_failed_validation() throws SQLException {
+        dataSource.setValidationInterval(1);
+        dataSource.setHousekeepingPeriod(10);
+        dataSource.getConnection().close();
+        Connection realConnection = MockDriver.getConnections().get(0);
+        Mockito.when(realConnection.isValid(Mockito.anyInt())).thenReturn(false);
+
+        awaitCondition(() -> dataSource.getTotalConnections() == 0);
+        Mockito.verify(realConnection).close();
+        Assertions.assertThat(dataSource.getMetrics().getEvictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_not_validate_connection_on_borrow() throws SQLException {
+        dataSource.getConnection().close();
+        dataSource.getConnection().close();
+
+        Mockito.verify(MockDriver.getConnections().get(0), Mockito.never()).isValid(Mockito.anyInt());
+    }
+
+    @Test
+    public void should_close_physical_connections_when_force_close_all() throws SQLException {
+        dataSource.getConnection().close();
+        dataSource.forceCloseAll();
+
+        Assertions.assertThat(dataSource.getTotalConnections()).isZero();
+        Connection realConnection = MockDriver.getConnections().get(0);
+        Mockito.verify(realConnection).close();
+    }
+
+    @Test
+    public void should_record_metrics() throws SQLException {
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+        Assertions.assertThatExceptionOfType(SQLException.class)
+                .isThrownBy(() -> dataSource.getConnection());
+        first.close();
+
+        PoolMetrics metrics = dataSource.getMetrics();
+        Assertions.assertThat(metrics.getBorrowCount()).isEqualTo(2);
+        Assertions.assertThat(metrics.getTimeoutCount()).isEqualTo(1);
+        Assertions.assertThat(metrics.getCreationCount()).isEqualTo(2);
+        Assertions.assertThat(metrics.getActiveConnections()).isEqualTo(1);
+        Assertions.assertThat(metrics.getIdleConnections()).isEqualTo(1);
+        second.close();
+    }
+
+    @Test
+    public void should_create_data_source_by_factory() {
+        Properties properties = new Properties();
+        properties.setProperty("driver", MockDriver.class.getName());
+        properties.setProperty("url", MockDriver.URL_PREFIX + "test");
+        properties.setProperty("maxPoolSize", "5");
+        properties.setProperty("connectionTimeout", "1000");
+
+        PooledDataSourceFactory factory = new PooledDataSourceFactory();
+        factory.setProperty(properties);
+        DataSource result = factory.getDataSource();
+
+        Assertions.assertThat(result).isInstanceOf(PooledDataSource.class);
+        Assertions.assertThat(((PooledDataSource) result).getMaxPoolSize()).isEqualTo(5);
+        Assertions.assertThat(((PooledDataSource) result).getConnectionTimeout()).isEqualTo(1000);
+        ((PooledDataSource) result).close();
+    }
+
+    private void awaitCondition(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                Assertions.fail("Condition not met within 5000ms");
+            }
+            Thread.yield();
+        }
+    }
+}
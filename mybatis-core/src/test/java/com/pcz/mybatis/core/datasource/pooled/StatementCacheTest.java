@@ -0,0 +1,80 @@
+package com.pcz.mybatis.core.datasource.pooled;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+public class StatementCacheTest {
+    @Test
+    public void should_count_hits_and_misses() {
+        StatementCache cache = new StatementCache(2);
+        PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+
+        Assertions.assertThat(cache.get("select 1")).isNull();
+        cache.put("select 1", statement);
+        Assertions.assertThat(cache.get("select 1")).isSameAs(statement);
+        Assertions.assertThat(cache.get("select 1")).isSameAs(statement);
+
+        Assertions.assertThat(cache.getHitCount()).isEqualTo(2);
+        Assertions.assertThat(cache.getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_close_least_recently_used_statement_when_full() throws SQLException {
+        StatementCache cache = new StatementCache(2);
+        PreparedStatement first = Mockito.mock(PreparedStatement.class);
+        PreparedStatement second = Mockito.mock(PreparedStatement.class);
+        PreparedStatement third = Mockito.mock(PreparedStatement.class);
+
+        cache.put("select 1", first);
+        cache.put("select 2", second);
+        cache.get("select 1");
+        cache.put("select 3", third);
+
+        Assertions.assertThat(cache.size()).isEqualTo(2);
+        Mockito.verify(second).close();
+        Mockito.verify(first, Mockito.never()).close();
+        Assertions.assertThat(cache.get("select 2")).isNull();
+    }
+
+    @Test
+    public void should_treat_closed_statement_as_miss() throws SQLException {
+        StatementCache cache = new StatementCache(2);
+        PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+        Mockito.when(statement.isClosed()).thenReturn(true);
+        cache.put("select 1", statement);
+
+        Assertions.assertThat(cache.get("select 1")).isNull();
+        Assertions.assertThat(cache.size()).isZero();
+        Assertions.assertThat(cache.getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_close_statements_when_cleared() throws SQLException {
+        StatementCache cache = new StatementCache(2);
+        PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+        cache.put("select 1", statement);
+
+        cache.clear();
+
+        Assertions.assertThat(cache.size()).isZero();
+        Mockito.verify(statement).close();
+    }
+
+    @Test
+    public void should_report_to_metrics_tracker() {
+        PoolMetricsTracker tracker = new PoolMetricsTracker();
+        StatementCache cache = new StatementCache(2, tracker);
+        cache.get("select 1");
+        cache.put("select 1", Mockito.mock(PreparedStatement.class));
+        cache.get("select 1");
+
+        PooledDataSource dataSource = new PooledDataSource();
+        PoolMetrics metrics = tracker.snapshot(dataSource);
+        Assertions.assertThat(metrics.getStatementCacheHitCount()).isEqualTo(1);
+        Assertions.assertThat(metrics.getStatementCacheMissCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,187 @@
+package com.pcz.mybatis.core.datasource.routing;
+
+import com.pcz.mybatis.core.mapping.SqlCommandType;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+public class ReadWriteRoutingDataSourceTest {
+    private DataSource primary;
+
+    private DataSource firstReplica;
+
+    private DataSource secondReplica;
+
+    private Connection primaryConnection;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        primaryConnection = mockConnection();
+        primary = mockDataSource(primaryConnection);
+        firstReplica = mockDataSource(mockConnection());
+        secondReplica = mockDataSource(mockConnection());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        RoutingContext.clear();
+    }
+
+    @Test
+    public void should_route_select_to_replicas_by_round_robin() throws SQLException {
+        ReadWriteRoutingDataSource dataSource =
+                new ReadWriteRoutingDataSource(primary, Arrays.asList(firstReplica, secondReplica));
+        RoutingContext.bind(SqlCommandType.SELECT);
+
+        dataSource.getConnection().prepareStatement("select 1");
+        dataSource.getConnection().prepareStatement("select 1");
+
+        Mockito.verify(firstReplica).getConnection();
+        Mockito.verify(secondReplica).getConnection();
+        Mockito.verify(primary, Mockito.never()).getConnection();
+    }
+
+    @Test
+    public void should_route_write_to_primary_and_stick() throws SQLException {
+        ReadWriteRoutingDataSource dataSource =
+                new ReadWriteRoutingDataSource(primary, Arrays.asList(firstReplica));
+        Connection connection = dataSource.getConnection();
+
+        RoutingContext.bind(SqlCommandType.SELECT);
+        connection.prepareStatement("select 1");
+        RoutingContext.bind(SqlCommandType.UPDATE);
+        connection.prepareStatement("update t set a = 1");
+        RoutingContext.bind(SqlCommandType.SELECT);
+        connection.prepareStatement("select 1");
+
+        Mockito.verify(firstReplica).getConnection();
+        Mockito.verify(primary).getConnection();
+        Mockito.verify(primaryConnection).prepareStatement("select 1");
+    }
+
+    @Test
+    public void should_route_select_in_transaction_to_primary() throws SQLException {
+        ReadWriteRoutingDataSource dataSource =
+                new ReadWriteRoutingDataSource(primary, Arrays.asList(firstReplica));
+        Connection connection = dataSource.getConnection();
+        connection.setAutoCommit(false);
+
+        RoutingContext.bind(SqlCommandType.SELECT);
+        connection.prepareStatement("select 1");
+
+        Mockito.verify(firstReplica, Mockito.never()).getConnection();
+        Mockito.verify(primaryConnection).setAutoCommit(false);
+    }
+
+    @Test
+    public void should_route_select_in_read_only_transaction_to_replica() throws SQLException {
+        Connection replicaConnection = firstReplica.getConnection();
+        ReadWriteRoutingDataSource dataSource =
+                new ReadWriteRoutingDataSource(primary, Arrays.asList(firstReplica));
+        Connection connection = dataSource.getConnection();
+        connection.setAutoCommit(false);
+        connection.setReadOnly(true);
+
+        RoutingContext.bind(SqlCommandType.SELECT);
+        connection.prepareStatement("select 1");
+
+        Mockito.verify(replicaConnection).setReadOnly(true);
+        Mockito.verify(replicaConnection).prepareStatement("select 1");
+        Mockito.verify(primary, Mockito.never()).getConnection();
+    }
+
+    @Test
+    public void should_route_locking_select_to_primary() throws SQLException {
+        ReadWriteRoutingDataSource dataSource =
+                new ReadWriteRoutingDataSource(primary, Arrays.asList(firstReplica));
+        RoutingContext.bind(SqlCommandType.SELECT);
+
+        dataSource.getConnection().prepareStatement("select * from t where id = 1 for update");
+        dataSource.getConnection().prepareStatement("select * from t where id = 1 lock in share mode");
+
+        Mockito.verify(firstReplica, Mockito.never()).getConnection();
+        Mockito.verify(primaryConnection).prepareStatement("select * from t where id = 1 for update");
+    }
+
+    @Test
+    public void should_route_select_to_primary_when_forced() throws SQLException {
+        ReadWriteRoutingDataSource dataSource =
+                new ReadWriteRoutingDataSource(primary, Arrays.asList(firstReplica));
+        Connection connection = dataSource.getConnection();
+        connection.setAutoCommit(false);
+
+        RoutingContext.bind(SqlCommandType.SELECT);
+        RoutingContext.setForcePrimary(true);
+        connection.prepareStatement("select 1");
+        RoutingContext.setForcePrimary(false);
+        connection.prepareStatement("select 2");
+
+        Mockito.verify(firstReplica, Mockito.never()).getConnection();
+        Mockito.verify(primaryConnection).prepareStatement("select 2");
+    }
+
+    @Test
+    public void should_not_get_physical_connection_until_statement_created() throws SQLException {
+        ReadWriteRoutingDataSource dataSource =
+                new ReadWriteRoutingDataSource(primary, Arrays.asList(firstReplica));
+        Connection connection = dataSource.getConnection();
+        connection.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        connection.commit();
+        connection.close();
+
+        Mockito.verify(primary, Mockito.never()).getConnection();
+        Mockito.verify(firstReplica, Mockito.never()).getConnection();
+    }
+
+    @Test
+    public void should_select_least_in_flight_replica() throws SQLException {
+        ReadWriteRoutingDataSource dataSource = new ReadWriteRoutingDataSource(
+                primary, Arrays.asList(firstReplica, secondReplica), new LeastInFlightReplicaSelector());
+        RoutingContext.bind(SqlCommandType.SELECT);
+
+        Connection first = dataSource.getConnection();
+        first.prepareStatement("select 1");
+        Replica busy = dataSource.getReplicas().get(0).getInFlight() == 1
+                ? dataSource.getReplicas().get(0) : dataSource.getReplicas().get(1);
+        for (int i = 0; i < 3; i++) {
+            Connection connection = dataSource.getConnection();
+            connection.prepareStatement("select 1");
+            connection.close();
+        }
+
+        Mockito.verify(busy.getDataSource(), Mockito.times(1)).getConnection();
+        first.close();
+        Assertions.assertThat(busy.getInFlight()).isZero();
+    }
+
+    @Test
+    public void should_fall_back_to_primary_when_replica_unavailable() throws SQLException {
+        Mockito.when(firstReplica.getConnection()).thenThrow(new SQLException("down"));
+        ReadWriteRoutingDataSource dataSource =
+                new ReadWriteRoutingDataSource(primary, Arrays.asList(firstReplica));
+        RoutingContext.bind(SqlCommandType.SELECT);
+
+        dataSource.getConnection().prepareStatement("select 1");
+
+        Mockito.verify(primaryConnection).prepareStatement("select 1");
+    }
+
+    private Connection mockConnection() throws SQLException {
+        Connection connection = Mockito.mock(Connection.class);
+        Mockito.when(connection.getAutoCommit()).thenReturn(true);
+        return connection;
+    }
+
+    private DataSource mockDataSource(Connection connection) throws SQLException {
+        DataSource dataSource = Mockito.mock(DataSource.class);
+        Mockito.when(dataSource.getConnection()).thenReturn(connection);
+        return dataSource;
+    }
+}
@@ -0,0 +1,132 @@
+package com.pcz.mybatis.core.datasource.sharding;
+
+import com.pcz.mybatis.core.binding.MapperMethod;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+public class ShardedDataSourceTest {
+    private Connection firstConnection;
+
+    private Connection secondConnection;
+
+    private ShardedDataSource dataSource;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        firstConnection = mockConnection();
+        secondConnection = mockConnection();
+        dataSource = new ShardedDataSource(
+                Arrays.asList(mockDataSource(firstConnection), mockDataSource(secondConnection)),
+                new ModShardingFunction(),
+                new ShardKeyResolver("userId, user.id"));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ShardContext.clear();
+    }
+
+    @Test
+    public void should_route_by_named_parameter() throws SQLException {
+        MapperMethod.ParamMap<Object> paramMap = new MapperMethod.ParamMap<>();
+        paramMap.put("userId", 3L);
+        ShardContext.bindParameter(paramMap);
+
+        dataSource.getConnection().prepareStatement("select 1");
+
+        Mockito.verify(secondConnection).prepareStatement("select 1");
+        Mockito.verifyNoInteractions(firstConnection);
+    }
+
+    @Test
+    public void should_route_by_nested_property() throws SQLException {
+        MapperMethod.ParamMap<Object> paramMap = new MapperMethod.ParamMap<>();
+        paramMap.put("user", new User(4));
+        ShardContext.bindParameter(paramMap);
+
+        dataSource.getConnection().prepareStatement("select 1");
+
+        Mockito.verify(firstConnection).prepareStatement("select 1");
+    }
+
+    @Test
+    public void should_route_by_simple_parameter() throws SQLException {
+        ShardContext.bindParameter(5);
+
+        dataSource.getConnection().prepareStatement("select 1");
+
+        Mockito.verify(secondConnection).prepareStatement("select 1");
+    }
+
+    @Test
+    public void should_use_connection_per_shard_and_commit_all() throws SQLException {
+        Connection connection = dataSource.getConnection();
+        connection.setAutoCommit(false);
+
+        ShardContext.bindParameter(0);
+        connection.prepareStatement("update a");
+        ShardContext.bindParameter(1);
+        connection.prepareStatement("update b");
+        ShardContext.bindParameter(2);
+        connection.prepareStatement("update c");
+        connection.commit();
+        connection.close();
+
+        Mockito.verify(firstConnection).setAutoCommit(false);
+        Mockito.verify(firstConnection).commit();
+        Mockito.verify(secondConnection).commit();
+        Mockito.verify(firstConnection).close();
+        Mockito.verify(secondConnection).close();
+        Mockito.verify(firstConnection).prepareStatement("update c");
+    }
+
+    @Test
+    public void should_fail_without_shard_key() throws SQLException {
+        Connection connection = dataSource.getConnection();
+
+        Assertions.assertThatExceptionOfType(SQLException.class)
+                .isThrownBy(() -> connection.prepareStatement("select 1"));
+    }
+
+    @Test
+    public void should_prefer_explicit_shard_index() throws SQLException {
+        ShardContext.bindParameter(0);
+        ShardContext.setShardIndex(1);
+
+        dataSource.getConnection().prepareStatement("select 1");
+
+        Mockito.verify(secondConnection).prepareStatement("select 1");
+    }
+
+    private Connection mockConnection() throws SQLException {
+        Connection connection = Mockito.mock(Connection.class);
+        Mockito.when(connection.getAutoCommit()).thenReturn(true);
+        return connection;
+    }
+
+    private DataSource mockDataSource(Connection connection) throws SQLException {
+        DataSource dataSource = Mockito.mock(DataSource.class);
+        Mockito.when(dataSource.getConnection()).thenReturn(connection);
+        return dataSource;
+    }
+
+    public static class User {
+        private final Integer id;
+
+        public User(Integer id) {
+            this.id = id;
+        }
+
+        public Integer getId() {
+            return id;
+        }
+    }
+}
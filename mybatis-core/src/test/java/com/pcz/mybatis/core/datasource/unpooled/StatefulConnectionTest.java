@@ -0,0 +1,105 @@
+package com.pcz.mybatis.core.datasource.unpooled;
+
+import com.pcz.mybatis.core.datasource.driver.MockDriver;
+import com.pcz.mybatis.core.transaction.jdbc.JdbcTransaction;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.Executor;
+
+public class StatefulConnectionTest {
+    private Connection realConnection;
+
+    private Connection connection;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        realConnection = Mockito.mock(Connection.class);
+        Mockito.when(realConnection.getAutoCommit()).thenReturn(true);
+        connection = StatefulConnection.wrap(realConnection);
+    }
+
+    @Test
+    public void should_cache_auto_commit() throws SQLException {
+        Assertions.assertThat(connection.getAutoCommit()).isTrue();
+        Assertions.assertThat(connection.getAutoCommit()).isTrue();
+        connection.setAutoCommit(true);
+        connection.setAutoCommit(false);
+        Assertions.assertThat(connection.getAutoCommit()).isFalse();
+
+        Mockito.verify(realConnection, Mockito.times(1)).getAutoCommit();
+        Mockito.verify(realConnection, Mockito.never()).setAutoCommit(true);
+        Mockito.verify(realConnection, Mockito.times(1)).setAutoCommit(false);
+    }
+
+    @Test
+    public void should_skip_redundant_isolation_and_read_only_calls() throws SQLException {
+        connection.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        connection.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        connection.setReadOnly(true);
+        connection.setReadOnly(true);
+
+        Assertions.assertThat(connection.getTransactionIsolation()).isEqualTo(Connection.TRANSACTION_READ_COMMITTED);
+        Assertions.assertThat(connection.isReadOnly()).isTrue();
+        Mockito.verify(realConnection, Mockito.times(1)).setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        Mockito.verify(realConnection, Mockito.times(1)).setReadOnly(true);
+        Mockito.verify(realConnection, Mockito.never()).getTransactionIsolation();
+        Mockito.verify(realConnection, Mockito.never()).isReadOnly();
+    }
+
+    @Test
+    public void should_not_cache_state_when_driver_call_failed() throws SQLException {
+        Mockito.doThrow(new SQLException("failed")).when(realConnection).setAutoCommit(false);
+
+        Assertions.assertThatExceptionOfType(SQLException.class)
+                .isThrownBy(() -> connection.setAutoCommit(false));
+        connection.getAutoCommit();
+
+        Mockito.verify(realConnection, Mockito.times(1)).getAutoCommit();
+    }
+
+    @Test
+    public void should_not_wrap_twice() {
+        Assertions.assertThat(StatefulConnection.wrap(connection)).isSameAs(connection);
+        Assertions.assertThat(connection).isEqualTo(connection);
+    }
+
+    @Test
+    public void should_share_network_timeout_executor() throws SQLException {
+        MockDriver.reset();
+        UnpooledDataSource dataSource = new UnpooledDataSource(
+                MockDriver.class.getName(), MockDriver.URL_PREFIX + "test", "sa", "");
+        dataSource.setDefaultNetworkTimeout(1000);
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        Executor first = captureNetworkTimeoutExecutor(MockDriver.getConnections().get(0));
+        Executor second = captureNetworkTimeoutExecutor(MockDriver.getConnections().get(1));
+        Assertions.assertThat(first).isSameAs(second);
+    }
+
+    @Test
+    public void should_not_query_auto_commit_again_in_transaction() throws SQLException {
+        Mockito.when(realConnection.getAutoCommit()).thenReturn(false);
+        JdbcTransaction transaction = new JdbcTransaction(realConnection);
+
+        transaction.commit();
+        transaction.rollback();
+        transaction.commit();
+
+        Mockito.verify(realConnection, Mockito.times(1)).getAutoCommit();
+        Mockito.verify(realConnection, Mockito.times(2)).commit();
+        Mockito.verify(realConnection, Mockito.times(1)).rollback();
+    }
+
+    private Executor captureNetworkTimeoutExecutor(Connection connection) throws SQLException {
+        ArgumentCaptor<Executor> captor = ArgumentCaptor.forClass(Executor.class);
+        Mockito.verify(connection).setNetworkTimeout(captor.capture(), Mockito.eq(1000));
+        return captor.getValue();
+    }
+}
@@ -0,0 +1,195 @@
+package com.pcz.mybatis.core.executor;
+
+import com.pcz.mybatis.core.builder.SqlSourceBuilder;
+import com.pcz.mybatis.core.mapping.MappedStatement;
+import com.pcz.mybatis.core.mapping.SqlCommandType;
+import com.pcz.mybatis.core.session.Configuration;
+import com.pcz.mybatis.core.session.ExecutorType;
+import com.pcz.mybatis.core.transaction.jdbc.JdbcTransaction;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+public class BatchExecutorTest {
+    private static final String INSERT_SQL = "insert into user (id, name) values (?, ?)";
+
+    private static final String DELETE_SQL = "delete from user where id = ?";
+
+    private Configuration configuration;
+
+    private Connection connection;
+
+    private PreparedStatement insertStatement;
+
+    private PreparedStatement deleteStatement;
+
+    private MappedStatement insert;
+
+    private MappedStatement delete;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        configuration = new Configuration();
+        connection = Mockito.mock(Connection.class);
+        insertStatement = Mockito.mock(PreparedStatement.class);
+        deleteStatement = Mockito.mock(PreparedStatement.class);
+        Mockito.when(connection.prepareStatement(INSERT_SQL)).thenReturn(insertStatement);
+        Mockito.when(connection.prepareStatement(DELETE_SQL)).thenReturn(deleteStatement);
+        Mockito.when(insertStatement.executeBatch()).thenReturn(new int[]{1, 1});
+        Mockito.when(deleteStatement.executeBatch()).thenReturn(new int[]{1});
+
+        SqlSourceBuilder sqlSourceBuilder = new SqlSourceBuilder(configuration);
+        insert = new MappedStatement.Builder(configuration, "insertUser",
+                sqlSourceBuilder.parse("insert into user (id, name) values (#{id}, #{name})", User.class),
+                SqlCommandType.INSERT).build();
+        delete = new MappedStatement.Builder(configuration, "deleteUser",
+                sqlSourceBuilder.parse("delete from user where id = #{id}", Integer.class),
+                SqlCommandType.DELETE).build();
+    }
+
+    @Test
+    public void should_group_consecutive_executions_of_same_statement() throws SQLException {
+        Executor executor = newExecutor();
+        User first = new User(1, "a");
+        User second = new User(2, "b");
+
+        Assertions.assertThat(executor.update(insert, first)).isEqualTo(BatchExecutor.BATCH_UPDATE_RETURN_VALUE);
+        executor.update(insert, second);
+        executor.update(delete, 3);
+        List<BatchResult> results = executor.flushStatements();
+
+        Mockito.verify(connection, Mockito.times(1)).prepareStatement(INSERT_SQL);
+        Mockito.verify(insertStatement, Mockito.times(2)).addBatch();
+        Assertions.assertThat(results).hasSize(2);
+        Assertions.assertThat(results.get(0).getMappedStatement()).isSameAs(insert);
+        Assertions.assertThat(results.get(0).getSql()).isEqualTo(INSERT_SQL);
+        Assertions.assertThat(results.get(0).getParameterObjects()).containsExactly(first, second);
+        Assertions.assertThat(results.get(0).getUpdateCounts()).containsExactly(1, 1);
+        Assertions.assertThat(results.get(1).getParameterObjects()).containsExactly(3);
+        Assertions.assertThat(results.get(1).getUpdateCounts()).containsExactly(1);
+        Mockito.verify(insertStatement).close();
+        Mockito.verify(deleteStatement).close();
+    }
+
+    @Test
+    public void should_start_new_batch_when_statement_changes() throws SQLException {
+        Executor executor = newExecutor();
+
+        executor.update(insert, new User(1, "a"));
+        executor.update(delete, 1);
+        executor.update(insert, new User(2, "b"));
+
+        Assertions.assertThat(executor.flushStatements()).hasSize(3);
+        Mockito.verify(connection, Mockito.times(2)).prepareStatement(INSERT_SQL);
+    }
+
+    @Test
+    public void should_auto_flush_when_rows_reached() throws SQLException {
+        configuration.setBatchFlushRows(2);
+        Executor executor = newExecutor();
+
+        executor.update(insert, new User(1, "a"));
+        Mockito.verify(insertStatement, Mockito.never()).executeBatch();
+        executor.update(insert, new User(2, "b"));
+        Mockito.verify(insertStatement, Mockito.times(1)).executeBatch();
+        executor.update(insert, new User(3, "c"));
+
+        List<BatchResult> results = executor.flushStatements();
+        Assertions.assertThat(results).hasSize(1);
+        Assertions.assertThat(results.get(0).getParameterObjects()).hasSize(1);
+        Mockito.verify(insertStatement, Mockito.times(2)).executeBatch();
+    }
+
+    @Test
+    public void should_auto_flush_when_bytes_reached() throws SQLException {
+        configuration.setBatchFlushBytes(100L);
+        Executor executor = newExecutor();
+
+        executor.update(insert, new User(1, "short"));
+        Mockito.verify(insertStatement, Mockito.never()).executeBatch();
+        executor.update(insert, new User(2, new String(new char[100])));
+        Mockito.verify(insertStatement, Mockito.times(1)).executeBatch();
+        Assertions.assertThat(executor.flushStatements()).isEmpty();
+    }
+
+    @Test
+    public void should_flush_before_query() throws SQLException {
+        Executor executor = newExecutor();
+        executor.update(insert, new User(1, "a"));
+
+        Mockito.when(connection.prepareStatement("select 1")).thenThrow(new SQLException("stop"));
+        MappedStatement select = new MappedStatement.Builder(configuration, "select",
+                new SqlSourceBuilder(configuration).parse("select 1", Object.class), SqlCommandType.SELECT).build();
+        Assertions.assertThatExceptionOfType(SQLException.class)
+                .isThrownBy(() -> executor.query(select, null, null, Executor.NO_RESULT_HANDLER));
+
+        Mockito.verify(insertStatement).executeBatch();
+    }
+
+    @Test
+    public void should_report_failing_batch() throws SQLException {
+        Mockito.when(deleteStatement.executeBatch()).thenThrow(new BatchUpdateException());
+        Executor executor = newExecutor();
+        executor.update(insert, new User(1, "a"));
+        executor.update(delete, 1);
+
+        Assertions.assertThatExceptionOfType(BatchExecutorException.class)
+                .isThrownBy(executor::flushStatements)
+                .satisfies(e -> {
+                    Assertions.assertThat(e.getFailingStatementId()).isEqualTo("deleteUser");
+                    Assertions.assertThat(e.getFailingSqlStatement()).isEqualTo(DELETE_SQL);
+                    Assertions.assertThat(e.getSuccessfulBatchResults()).hasSize(1);
+                });
+        Mockito.verify(deleteStatement).close();
+    }
+
+    @Test
+    public void should_discard_batches_on_rollback() throws SQLException {
+        Executor executor = newExecutor();
+        executor.update(insert, new User(1, "a"));
+
+        executor.rollback(true);
+
+        Mockito.verify(insertStatement, Mockito.never()).executeBatch();
+        Mockito.verify(insertStatement).close();
+        Assertions.assertThat(executor.flushStatements()).isEmpty();
+    }
+
+    private Executor newExecutor() {
+        return configuration.newExecutor(new JdbcTransaction(connection), ExecutorType.BATCH);
+    }
+
+    public static class User {
+        private Integer id;
+
+        private String name;
+
+        public User(Integer id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        public Integer getId() {
+            return id;
+        }
+
+        public void setId(Integer id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+}
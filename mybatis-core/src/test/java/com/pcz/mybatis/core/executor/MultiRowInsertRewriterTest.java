@@ -0,0 +1,141 @@
+package com.pcz.mybatis.core.executor;
+
+import com.pcz.mybatis.core.dialect.DefaultDialect;
+import com.pcz.mybatis.core.executor.resultset.MockSessions;
+import com.pcz.mybatis.core.mapping.BoundSql;
+import com.pcz.mybatis.core.mapping.MappedStatement;
+import com.pcz.mybatis.core.mapping.SqlCommandType;
+import com.pcz.mybatis.core.reflection.ParamNameResolver;
+import com.pcz.mybatis.core.session.Configuration;
+import com.pcz.mybatis.core.session.SqlSession;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class MultiRowInsertRewriterTest {
+    private Configuration configuration;
+
+    @BeforeEach
+    public void setUp() {
+        configuration = new Configuration();
+        configuration.getDialectRegistry().register("test", new DefaultDialect(4, true));
+        configuration.setDatabaseId("test");
+    }
+
+    @Test
+    public void should_rewrite_into_chunked_multi_row_inserts() {
+        MappedStatement mappedStatement = insertStatement("insertUser",
+                "insert into user (id, name) values (#{id}, #{name})", true);
+
+        List<MappedStatement> statements = MultiRowInsertRewriter.rewrite(mappedStatement,
+                ParamNameResolver.wrapToMapIfCollection(users(5), null));
+
+        Assertions.assertThat(statements).hasSize(3);
+        BoundSql first = statements.get(0).getBoundSql(null);
+        Assertions.assertThat(first.getSql()).isEqualTo("insert into user (id, name) values (?, ?), (?, ?)");
+        Assertions.assertThat(first.getParameterMappings()).hasSize(4);
+        Assertions.assertThat(first.getAdditionalParameter("__multirow_2")).isEqualTo(2);
+        Assertions.assertThat(first.getAdditionalParameter("__multirow_3")).isEqualTo("user2");
+        Assertions.assertThat(statements.get(2).getBoundSql(null).getSql())
+                .isEqualTo("insert into user (id, name) values (?, ?)");
+        Assertions.assertThat(statements.get(0).getId()).isEqualTo("insertUser");
+    }
+
+    @Test
+    public void should_keep_suffix_after_values() {
+        MappedStatement mappedStatement = insertStatement("upsertUser",
+                "insert into user (id, name) values (#{id}, #{name}) on duplicate key update name = values(name)", true);
+
+        List<MappedStatement> statements = MultiRowInsertRewriter.rewrite(mappedStatement,
+                ParamNameResolver.wrapToMapIfCollection(users(2), null));
+
+        Assertions.assertThat(statements).hasSize(1);
+        Assertions.assertThat(statements.get(0).getBoundSql(null).getSql()).isEqualTo(
+                "insert into user (id, name) values (?, ?), (?, ?) on duplicate key update name = values(name)");
+    }
+
+    @Test
+    public void should_not_rewrite_when_not_applicable() {
+        Object users = ParamNameResolver.wrapToMapIfCollection(users(2), null);
+
+        Assertions.assertThat(MultiRowInsertRewriter.rewrite(insertStatement("disabled",
+                "insert into user (id, name) values (#{id}, #{name})", false), users)).isNull();
+        Assertions.assertThat(MultiRowInsertRewriter.rewrite(insertStatement("select",
+                "insert into user (id, name) select #{id}, #{name}", true), users)).isNull();
+        Assertions.assertThat(MultiRowInsertRewriter.rewrite(insertStatement("single",
+                "insert into user (id, name) values (#{id}, #{name})", true), new User(1, "a"))).isNull();
+
+        configuration.getDialectRegistry().register("test", new DefaultDialect(4, false));
+        Assertions.assertThat(MultiRowInsertRewriter.rewrite(insertStatement("unsupported",
+                "insert into user (id, name) values (#{id}, #{name})", true), users)).isNull();
+    }
+
+    @Test
+    public void should_sum_update_counts_of_chunks() throws SQLException {
+        PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+        Connection connection = MockSessions.connection(statement);
+        Mockito.when(statement.getUpdateCount()).thenReturn(2, 1);
+        configuration.setEnvironment(MockSessions.environment(connection));
+        configuration.addMappedStatement(insertStatement("insertUser",
+                "insert into user (id, name) values (#{id}, #{name})", true));
+
+        try (SqlSession sqlSession = MockSessions.openSession(configuration)) {
+            Assertions.assertThat(sqlSession.insert("insertUser", users(3))).isEqualTo(3);
+            Assertions.assertThat(sqlSession.insert("insertUser", Collections.emptyList())).isZero();
+        }
+
+        Mockito.verify(connection).prepareStatement("insert into user (id, name) values (?, ?), (?, ?)");
+        Mockito.verify(connection).prepareStatement("insert into user (id, name) values (?, ?)");
+        Mockito.verify(statement).setInt(3, 2);
+        Mockito.verify(statement).setString(4, "user2");
+    }
+
+    private MappedStatement insertStatement(String id, String sql, boolean multiRowInsert) {
+        return MockSessions.statement(configuration, id, sql, User.class, SqlCommandType.INSERT)
+                .multiRowInsert(multiRowInsert)
+                .build();
+    }
+
+    private static List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            users.add(new User(i, "user" + i));
+        }
+        return users;
+    }
+
+    public static class User {
+        private Integer id;
+
+        private String name;
+
+        public User(Integer id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        public Integer getId() {
+            return id;
+        }
+
+        public void setId(Integer id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.pcz.mybatis.core.executor;
+
+import com.pcz.mybatis.core.builder.SqlSourceBuilder;
+import com.pcz.mybatis.core.mapping.MappedStatement;
+import com.pcz.mybatis.core.mapping.SqlCommandType;
+import com.pcz.mybatis.core.session.Configuration;
+import com.pcz.mybatis.core.session.ExecutorType;
+import com.pcz.mybatis.core.transaction.jdbc.JdbcTransaction;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ReorderingBatchExecutorTest {
+    private Configuration configuration;
+
+    private Connection connection;
+
+    private PreparedStatement parentStatement;
+
+    private PreparedStatement childStatement;
+
+    private PreparedStatement logStatement;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        configuration = new Configuration();
+        configuration.setBatchReorderingEnabled(true);
+        connection = Mockito.mock(Connection.class);
+        parentStatement = mockStatement("insert into parent (id) values (?)");
+        childStatement = mockStatement("insert into child (id) values (?)");
+        logStatement = mockStatement("insert into log (id) values (?)");
+
+        addStatement("insertParent", "insert into parent (id) values (#{id})");
+        addStatement("insertChild", "insert into child (id) values (#{id})", "insertParent");
+        addStatement("insertLog", "insert into log (id) values (#{id})");
+    }
+
+    @Test
+    public void should_create_reordering_executor_when_enabled() {
+        Assertions.assertThat(newExecutor()).isInstanceOf(ReorderingBatchExecutor.class);
+
+        configuration.setBatchReorderingEnabled(false);
+        Assertions.assertThat(newExecutor()).isNotInstanceOf(ReorderingBatchExecutor.class);
+    }
+
+    @Test
+    public void should_group_interleaved_statements() throws SQLException {
+        Executor executor = newExecutor();
+        for (int i = 0; i < 3; i++) {
+            executor.update(statement("insertParent"), i);
+            executor.update(statement("insertChild"), i);
+        }
+
+        Mockito.verify(connection, Mockito.never()).prepareStatement(Mockito.anyString());
+        List<BatchResult> results = executor.flushStatements();
+
+        Assertions.assertThat(results).hasSize(2);
+        Assertions.assertThat(results.get(0).getMappedStatement().getId()).isEqualTo("insertParent");
+        Assertions.assertThat(results.get(0).getParameterObjects()).containsExactly(0, 1, 2);
+        Assertions.assertThat(results.get(1).getMappedStatement().getId()).isEqualTo("insertChild");
+        Assertions.assertThat(results.get(1).getParameterObjects()).containsExactly(0, 1, 2);
+        Mockito.verify(parentStatement, Mockito.times(3)).addBatch();
+        Mockito.verify(parentStatement, Mockito.times(1)).executeBatch();
+        Mockito.verify(childStatement, Mockito.times(1)).executeBatch();
+    }
+
+    @Test
+    public void should_execute_dependencies_first() throws SQLException {
+        Executor executor = newExecutor();
+        executor.update(statement("insertLog"), 1);
+        executor.update(statement("insertChild"), 1);
+        executor.update(statement("insertParent"), 1);
+
+        List<BatchResult> results = executor.flushStatements();
+
+        Assertions.assertThat(results).extracting(result -> result.getMappedStatement().getId())
+                .containsExactly("insertLog", "insertParent", "insertChild");
+        InOrder inOrder = Mockito.inOrder(parentStatement, childStatement);
+        inOrder.verify(parentStatement).executeBatch();
+        inOrder.verify(childStatement).executeBatch();
+    }
+
+    @Test
+    public void should_follow_transitive_dependencies() throws SQLException {
+        addStatement("insertGrandChild", "insert into log (id) values (#{id})", "insertChild");
+        Executor executor = newExecutor();
+        executor.update(statement("insertGrandChild"), 1);
+        executor.update(statement("insertParent"), 1);
+
+        List<BatchResult> results = executor.flushStatements();
+
+        Assertions.assertThat(results).extracting(result -> result.getMappedStatement().getId())
+                .containsExactly("insertParent", "insertGrandChild");
+    }
+
+    @Test
+    public void should_reject_cyclic_dependencies() throws SQLException {
+        addStatement("insertA", "insert into parent (id) values (#{id})", "insertB");
+        addStatement("insertB", "insert into child (id) values (#{id})", "insertA");
+        Executor executor = newExecutor();
+        executor.update(statement("insertA"), 1);
+        executor.update(statement("insertB"), 1);
+
+        Assertions.assertThatExceptionOfType(ExecutorException.class)
+                .isThrownBy(executor::flushStatements)
+                .withMessageContaining("Cyclic");
+        Assertions.assertThat(executor.flushStatements()).isEmpty();
+    }
+
+    @Test
+    public void should_auto_flush_buffered_updates() throws SQLException {
+        configuration.setBatchFlushRows(2);
+        Executor executor = newExecutor();
+        executor.update(statement("insertChild"), 1);
+        executor.update(statement("insertParent"), 1);
+
+        InOrder inOrder = Mockito.inOrder(parentStatement, childStatement);
+        inOrder.verify(parentStatement).executeBatch();
+        inOrder.verify(childStatement).executeBatch();
+        Assertions.assertThat(executor.flushStatements()).isEmpty();
+    }
+
+    @Test
+    public void should_bind_values_captured_when_update_is_buffered() throws SQLException {
+        Executor executor = newExecutor();
+        Map<String, Object> parameter = new HashMap<>();
+        parameter.put("id", 1);
+        executor.update(statement("insertParent"), parameter);
+        parameter.put("id", 2);
+        executor.update(statement("insertParent"), parameter);
+        parameter.put("id", 3);
+
+        executor.flushStatements();
+
+        InOrder inOrder = Mockito.inOrder(parentStatement);
+        inOrder.verify(parentStatement).setInt(1, 1);
+        inOrder.verify(parentStatement).addBatch();
+        inOrder.verify(parentStatement).setInt(1, 2);
+        inOrder.verify(parentStatement).addBatch();
+        Mockito.verify(parentStatement, Mockito.never()).setInt(1, 3);
+    }
+
+    @Test
+    public void should_discard_buffered_updates_on_rollback() throws SQLException {
+        Executor executor = newExecutor();
+        executor.update(statement("insertParent"), 1);
+
+        executor.rollback(true);
+
+        Mockito.verify(connection, Mockito.never()).prepareStatement(Mockito.anyString());
+        Assertions.assertThat(executor.flushStatements()).isEmpty();
+    }
+
+    private PreparedStatement mockStatement(String sql) throws SQLException {
+        PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+        Mockito.when(connection.prepareStatement(sql)).thenReturn(statement);
+        return statement;
+    }
+
+    private void addStatement(String id, String sql, String... dependencies) {
+        configuration.addMappedStatement(new MappedStatement.Builder(configuration, id,
+                new SqlSourceBuilder(configuration).parse(sql, Integer.class), SqlCommandType.INSERT)
+                .batchDependencies(dependencies)
+                .build());
+    }
+
+    private MappedStatement statement(String id) {
+        return configuration.getMappedStatement(id);
+    }
+
+    private Executor newExecutor() {
+        return configuration.newExecutor(new JdbcTransaction(connection), ExecutorType.BATCH);
+    }
+}
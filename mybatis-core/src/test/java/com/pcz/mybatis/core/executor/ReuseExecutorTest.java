@@ -0,0 +1,145 @@
+package com.pcz.mybatis.core.executor;
+
+import com.pcz.mybatis.core.datasource.driver.MockDriver;
+import com.pcz.mybatis.core.datasource.pooled.PoolMetrics;
+import com.pcz.mybatis.core.datasource.pooled.PooledDataSource;
+import com.pcz.mybatis.core.executor.resultset.MockSessions;
+import com.pcz.mybatis.core.mapping.SqlCommandType;
+import com.pcz.mybatis.core.session.Configuration;
+import com.pcz.mybatis.core.session.ExecutorType;
+import com.pcz.mybatis.core.session.SqlSession;
+import com.pcz.mybatis.core.session.SqlSessionFactory;
+import com.pcz.mybatis.core.session.SqlSessionFactoryBuilder;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+public class ReuseExecutorTest {
+    private static final String SQL = "update user set name = ? where id = ?";
+
+    private PooledDataSource dataSource;
+
+    private SqlSessionFactory sqlSessionFactory;
+
+    private PreparedStatement statement;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        MockDriver.reset();
+        dataSource = new PooledDataSource(MockDriver.class.getName(), MockDriver.URL_PREFIX + "test", "sa", "");
+        dataSource.setMaxPoolSize(1);
+        dataSource.getConnection().close();
+
+        statement = Mockito.mock(PreparedStatement.class);
+        Mockito.when(statement.getUpdateCount()).thenReturn(1);
+        Connection realConnection = MockDriver.getConnections().get(0);
+        Mockito.when(realConnection.prepareStatement(Mockito.anyString())).thenReturn(statement);
+
+        Configuration configuration = MockSessions.configuration(dataSource);
+        configuration.addMappedStatement(MockSessions.statement(configuration, "updateName",
+                "update user set name = #{name} where id = #{id}", User.class, SqlCommandType.UPDATE).build());
+        configuration.addMappedStatement(MockSessions.statement(configuration, "updateNameWithTimeout",
+                "update user set name = #{name} where id = #{id}", User.class, SqlCommandType.UPDATE)
+                .timeout(5)
+                .fetchSize(10)
+                .build());
+        sqlSessionFactory = new SqlSessionFactoryBuilder().build(configuration);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    public void should_reuse_statement_across_sessions() throws SQLException {
+        for (int i = 0; i < 3; i++) {
+            try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.REUSE, true)) {
+                Assertions.assertThat(sqlSession.update("updateName", new User(i, "name" + i))).isEqualTo(1);
+            }
+        }
+
+        Connection realConnection = MockDriver.getConnections().get(0);
+        Mockito.verify(realConnection, Mockito.times(1)).prepareStatement(SQL);
+        Mockito.verify(statement, Mockito.never()).close();
+        Mockito.verify(statement, Mockito.times(3)).execute();
+
+        PoolMetrics metrics = dataSource.getMetrics();
+        Assertions.assertThat(metrics.getStatementCacheHitCount()).isEqualTo(2);
+        Assertions.assertThat(metrics.getStatementCacheMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_reapply_statement_settings_on_reuse() throws SQLException {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.REUSE, true)) {
+            sqlSession.update("updateNameWithTimeout", new User(1, "name"));
+        }
+        try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.REUSE, true)) {
+            sqlSession.update("updateName", new User(2, "name"));
+        }
+
+        InOrder inOrder = Mockito.inOrder(statement);
+        inOrder.verify(statement).setQueryTimeout(5);
+        inOrder.verify(statement).setFetchSize(10);
+        inOrder.verify(statement).setQueryTimeout(0);
+        inOrder.verify(statement).setFetchSize(0);
+        Assertions.assertThat(dataSource.getMetrics().getStatementCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_close_cached_statements_with_physical_connection() throws SQLException {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.REUSE, true)) {
+            sqlSession.update("updateName", new User(1, "name"));
+        }
+
+        dataSource.forceCloseAll();
+
+        Mockito.verify(statement).close();
+    }
+
+    @Test
+    public void should_not_use_connection_cache_for_simple_executor() throws SQLException {
+        for (int i = 0; i < 2; i++) {
+            try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.SIMPLE, true)) {
+                sqlSession.update("updateName", new User(i, "name" + i));
+            }
+        }
+
+        Mockito.verify(MockDriver.getConnections().get(0), Mockito.times(2)).prepareStatement(SQL);
+        Mockito.verify(statement, Mockito.times(2)).close();
+    }
+
+    public static class User {
+        private Integer id;
+
+        private String name;
+
+        public User(Integer id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        public Integer getId() {
+            return id;
+        }
+
+        public void setId(Integer id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.pcz.mybatis.core.executor;
+
+import com.pcz.mybatis.core.executor.resultset.MockResultSets;
+import com.pcz.mybatis.core.executor.resultset.MockSessions;
+import com.pcz.mybatis.core.mapping.BoundSql;
+import com.pcz.mybatis.core.mapping.MappedStatement;
+import com.pcz.mybatis.core.session.Configuration;
+import com.pcz.mybatis.core.session.RowBounds;
+import com.pcz.mybatis.core.session.SqlSession;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+public class RowBoundsRewriterTest {
+    private Configuration configuration;
+
+    @BeforeEach
+    public void setUp() {
+        configuration = new Configuration();
+    }
+
+    @Test
+    public void should_rewrite_with_limit_offset() {
+        configuration.setDatabaseId("mysql");
+        MappedStatement mappedStatement = selectStatement("select * from user where name = #{name};");
+
+        BoundSql boundSql = rewrite(mappedStatement, new RowBounds(20, 10));
+
+        Assertions.assertThat(boundSql.getSql()).isEqualTo("select * from user where name = ? LIMIT ? OFFSET ?");
+        Assertions.assertThat(boundSql.getParameterMappings()).hasSize(3);
+        Assertions.assertThat(boundSql.getAdditionalParameter("__limit_1")).isEqualTo(10L);
+        Assertions.assertThat(boundSql.getAdditionalParameter("__limit_2")).isEqualTo(20L);
+        Assertions.assertThat(rewrite(mappedStatement, new RowBounds(0, 10)).getSql())
+                .isEqualTo("select * from user where name = ? LIMIT ?");
+    }
+
+    @Test
+    public void should_rewrite_with_offset_fetch() {
+        configuration.setDatabaseId("sqlserver");
+
+        Assertions.assertThat(rewrite(selectStatement("select * from user order by id"), new RowBounds(20, 10)).getSql())
+                .isEqualTo("select * from user order by id OFFSET ? ROWS FETCH NEXT ? ROWS ONLY");
+        Assertions.assertThat(rewrite(selectStatement("select * from user"), new RowBounds(20, 10))).isNull();
+    }
+
+    @Test
+    public void should_rewrite_with_rownum() {
+        configuration.setDatabaseId("oracle");
+        MappedStatement mappedStatement = selectStatement("select * from user order by id");
+
+        BoundSql boundSql = rewrite(mappedStatement, new RowBounds(20, 10));
+
+        Assertions.assertThat(boundSql.getSql()).isEqualTo("SELECT * FROM (SELECT t_.*, ROWNUM mybatis_rn_ FROM ("
+                + "select * from user order by id) t_ WHERE ROWNUM <= ?) WHERE mybatis_rn_ > ?");
+        Assertions.assertThat(boundSql.getAdditionalParameter("__limit_0")).isEqualTo(30L);
+        Assertions.assertThat(boundSql.getAdditionalParameter("__limit_1")).isEqualTo(20L);
+        Assertions.assertThat(rewrite(mappedStatement, new RowBounds(0, 10)).getSql())
+                .isEqualTo("SELECT * FROM (select * from user order by id) WHERE ROWNUM <= ?");
+    }
+
+    @Test
+    public void should_not_rewrite_when_not_applicable() {
+        MappedStatement mappedStatement = selectStatement("select * from user");
+        Assertions.assertThat(rewrite(mappedStatement, new RowBounds(20, 10))).isNull();
+
+        configuration.setDatabaseId("mysql");
+        Assertions.assertThat(rewrite(mappedStatement, RowBounds.DEFAULT)).isNull();
+        Assertions.assertThat(rewrite(selectStatement("select * from user limit 5"), new RowBounds(20, 10))).isNull();
+        Assertions.assertThat(rewrite(selectStatement("select * from user for update"), new RowBounds(20, 10)))
+                .isNull();
+
+        configuration.setRowBoundsPushdownEnabled(false);
+        Assertions.assertThat(rewrite(mappedStatement, new RowBounds(20, 10))).isNull();
+    }
+
+    @Test
+    public void should_not_skip_rows_on_client_when_pushed_down() throws SQLException {
+        PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+        ResultSet resultSet = MockResultSets.of(statement, new String[]{"id"}, new Object[]{21}, new Object[]{22});
+        Connection connection = MockSessions.connection(statement);
+        Mockito.when(statement.getResultSet()).thenReturn(resultSet);
+        configuration.setEnvironment(MockSessions.environment(connection));
+        configuration.setDatabaseId("postgresql");
+        configuration.addMappedStatement(selectStatement("select id from user"));
+
+        List<Map<String, Object>> users;
+        try (SqlSession sqlSession = MockSessions.openSession(configuration)) {
+            users = sqlSession.selectList("selectUsers", null, new RowBounds(20, 2));
+        }
+
+        Assertions.assertThat(users).extracting(user -> user.get("id")).containsExactly(21, 22);
+        Mockito.verify(connection).prepareStatement("select id from user LIMIT ? OFFSET ?");
+        Mockito.verify(statement).setLong(1, 2L);
+        Mockito.verify(statement).setLong(2, 20L);
+        Mockito.verify(resultSet, Mockito.never()).absolute(Mockito.anyInt());
+    }
+
+    private BoundSql rewrite(MappedStatement mappedStatement, RowBounds rowBounds) {
+        return RowBoundsRewriter.rewrite(mappedStatement, mappedStatement.getBoundSql(null), rowBounds);
+    }
+
+    private MappedStatement selectStatement(String sql) {
+        return MockSessions.select(configuration, "selectUsers", sql, Map.class).build();
+    }
+}
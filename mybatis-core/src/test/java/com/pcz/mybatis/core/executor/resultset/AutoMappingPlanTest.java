@@ -0,0 +1,106 @@
+package com.pcz.mybatis.core.executor.resultset;
+
+import com.pcz.mybatis.core.mapping.MappedStatement;
+import com.pcz.mybatis.core.mapping.ResultMap;
+import com.pcz.mybatis.core.session.AutoMappingUnknownColumnBehavior;
+import com.pcz.mybatis.core.session.Configuration;
+import com.pcz.mybatis.core.session.SqlSession;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+public class AutoMappingPlanTest {
+    private Configuration configuration;
+
+    private PreparedStatement statement;
+
+    private MappedStatement mappedStatement;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        statement = Mockito.mock(PreparedStatement.class);
+        configuration = MockSessions.configuration(MockSessions.connection(statement));
+        configuration.setCompiledRowMappersEnabled(false);
+        configuration.setMapUnderscoreToCamelCase(true);
+        mappedStatement = MockSessions.select(configuration, "selectUsers", "select * from user", User.class).build();
+        configuration.addMappedStatement(mappedStatement);
+    }
+
+    @Test
+    public void should_reuse_auto_mapping_plan_across_executions() throws SQLException {
+        ResultSet first = MockResultSets.of(statement, new String[]{"id", "user_name"}, new Object[]{1, "a"});
+        ResultSet second = MockResultSets.of(statement, new String[]{"id", "user_name"}, new Object[]{2, "b"});
+        Mockito.when(statement.getResultSet()).thenReturn(first, second);
+
+        selectList();
+        ResultMap resultMap = mappedStatement.getResultMaps().get(0);
+        List<DefaultResultSetHandler.UnMappedColumnAutoMapping> plan =
+                mappedStatement.getResultSetSchema(0).getAutoMappings(resultMap, null);
+        List<User> users = selectList();
+
+        Assertions.assertThat(plan).hasSize(2);
+        Assertions.assertThat(mappedStatement.getResultSetSchema(0).getAutoMappings(resultMap, null)).isSameAs(plan);
+        Assertions.assertThat(users).extracting(User::getUserName).containsExactly("b");
+        Assertions.assertThat(users).extracting(User::getId).containsExactly(2);
+        Mockito.verify(second).getString(2);
+        Mockito.verify(second, Mockito.never()).getString("user_name");
+    }
+
+    @Test
+    public void should_fail_on_every_execution_when_unknown_column_is_failing() throws SQLException {
+        configuration.setAutoMappingUnknownColumnBehavior(AutoMappingUnknownColumnBehavior.FAILING);
+        ResultSet first = MockResultSets.of(statement, new String[]{"id", "unknown"}, new Object[]{1, "a"});
+        ResultSet second = MockResultSets.of(statement, new String[]{"id", "unknown"}, new Object[]{2, "b"});
+        Mockito.when(statement.getResultSet()).thenReturn(first, second);
+
+        Assertions.assertThatThrownBy(this::selectList).hasMessageContaining("columnName=unknown");
+        Assertions.assertThatThrownBy(this::selectList).hasMessageContaining("columnName=unknown");
+    }
+
+    @Test
+    public void should_report_unknown_column_once_when_warning() throws SQLException {
+        configuration.setAutoMappingUnknownColumnBehavior(AutoMappingUnknownColumnBehavior.WARNING);
+        ResultSet first = MockResultSets.of(statement, new String[]{"id", "unknown"}, new Object[]{1, "a"});
+        ResultSet second = MockResultSets.of(statement, new String[]{"id", "unknown"}, new Object[]{2, "b"});
+        Mockito.when(statement.getResultSet()).thenReturn(first, second);
+
+        selectList();
+        List<User> users = selectList();
+
+        Assertions.assertThat(users).extracting(User::getId).containsExactly(2);
+    }
+
+    private List<User> selectList() {
+        try (SqlSession sqlSession = MockSessions.openSession(configuration)) {
+            return sqlSession.selectList("selectUsers", null);
+        }
+    }
+
+    public static class User {
+        private Integer id;
+
+        private String userName;
+
+        public Integer getId() {
+            return id;
+        }
+
+        public void setId(Integer id) {
+            this.id = id;
+        }
+
+        public String getUserName() {
+            return userName;
+        }
+
+        public void setUserName(String userName) {
+            this.userName = userName;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.pcz.mybatis.core.executor.resultset;
+
+import com.pcz.mybatis.core.mapping.ResultMap;
+import com.pcz.mybatis.core.mapping.SqlCommandType;
+import com.pcz.mybatis.core.session.Configuration;
+import com.pcz.mybatis.core.session.ResultHandler;
+import com.pcz.mybatis.core.session.SqlSession;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public class EarlyTerminationTest {
+    private Configuration configuration;
+
+    private PreparedStatement statement;
+
+    private ResultSet resultSet;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        statement = Mockito.mock(PreparedStatement.class);
+        resultSet = MockResultSets.of(statement, new String[]{"id"},
+                new Object[]{1}, new Object[]{2}, new Object[]{3}, new Object[]{4});
+        Mockito.when(statement.getResultSet()).thenReturn(resultSet);
+
+        configuration = MockSessions.configuration(MockSessions.connection(statement));
+        ResultMap resultMap = new ResultMap.Builder(configuration, "selectIds-Inline", Map.class,
+                Collections.emptyList()).build();
+        ResultMap secondResultMap = new ResultMap.Builder(configuration, "selectIds-Inline-2", Map.class,
+                Collections.emptyList()).build();
+        configuration.addMappedStatement(MockSessions.statement(configuration, "selectIds", "select id from item",
+                Object.class, SqlCommandType.SELECT)
+                .resultMaps(Arrays.asList(resultMap, secondResultMap))
+                .build());
+    }
+
+    @Test
+    public void should_cancel_statement_when_handler_stops() throws SQLException {
+        List<Object> ids = new ArrayList<>();
+        ResultHandler<Map<String, Object>> handler = context -> {
+            ids.add(context.getResultObject().get("id"));
+            if (ids.size() == 2) {
+                context.stop();
+            }
+        };
+
+        try (SqlSession sqlSession = MockSessions.openSession(configuration)) {
+            sqlSession.select("selectIds", null, handler);
+        }
+
+        Assertions.assertThat(ids).containsExactly(1, 2);
+        Mockito.verify(resultSet, Mockito.times(2)).next();
+        InOrder inOrder = Mockito.inOrder(statement, resultSet);
+        inOrder.verify(statement).cancel();
+        inOrder.verify(resultSet).close();
+        inOrder.verify(statement).close();
+        Mockito.verify(statement, Mockito.never()).getMoreResults();
+    }
+
+    @Test
+    public void should_not_cancel_statement_when_handler_consumes_all_rows() throws SQLException {
+        List<Object> ids = new ArrayList<>();
+        ResultHandler<Map<String, Object>> handler = context -> ids.add(context.getResultObject().get("id"));
+
+        try (SqlSession sqlSession = MockSessions.openSession(configuration)) {
+            sqlSession.select("selectIds", null, handler);
+        }
+
+        Assertions.assertThat(ids).containsExactly(1, 2, 3, 4);
+        Mockito.verify(statement, Mockito.never()).cancel();
+    }
+}
@@ -0,0 +1,111 @@
+package com.pcz.mybatis.core.executor.resultset;
+
+import org.mockito.Mockito;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.List;
+
+public class MockResultSets {
+    private MockResultSets() {
+    }
+
+    public static ResultSet of(Statement statement, String[] columns, Object[]... rows) throws SQLException {
+        List<Object[]> data = Arrays.asList(rows);
+        int[] cursor = {-1};
+        boolean[] closed = {false};
+        Object[] lastValue = {null};
+
+        ResultSet resultSet = Mockito.mock(ResultSet.class);
+        Mockito.when(resultSet.getType()).thenReturn(ResultSet.TYPE_FORWARD_ONLY);
+        Mockito.when(resultSet.getStatement()).thenReturn(statement);
+        Mockito.when(resultSet.next()).thenAnswer(invocation -> {
+            if (closed[0]) {
+                throw new SQLException("ResultSet is closed");
+            }
+            cursor[0]++;
+            return cursor[0] < data.size();
+        });
+        Mockito.when(resultSet.isClosed()).thenAnswer(invocation -> closed[0]);
+        Mockito.doAnswer(invocation -> {
+            closed[0] = true;
+            return null;
+        }).when(resultSet).close();
+        Mockito.when(resultSet.wasNull()).thenAnswer(invocation -> lastValue[0] == null);
+        Mockito.when(resultSet.getObject(Mockito.anyString())).thenAnswer(invocation -> {
+            lastValue[0] = value(data, cursor[0], columns, invocation.getArgument(0));
+            return lastValue[0];
+        });
+        Mockito.when(resultSet.getString(Mockito.anyString())).thenAnswer(invocation -> {
+            lastValue[0] = value(data, cursor[0], columns, invocation.getArgument(0));
+            return lastValue[0] == null ? null : String.valueOf(lastValue[0]);
+        });
+        Mockito.when(resultSet.getInt(Mockito.anyString())).thenAnswer(invocation -> {
+            lastValue[0] = value(data, cursor[0], columns, invocation.getArgument(0));
+            return lastValue[0] == null ? 0 : ((Number) lastValue[0]).intValue();
+        });
+        Mockito.when(resultSet.getLong(Mockito.anyString())).thenAnswer(invocation -> {
+            lastValue[0] = value(data, cursor[0], columns, invocation.getArgument(0));
+            return lastValue[0] == null ? 0L : ((Number) lastValue[0]).longValue();
+        });
+        Mockito.when(resultSet.getObject(Mockito.anyInt())).thenAnswer(invocation -> {
+            lastValue[0] = data.get(cursor[0])[(int) invocation.getArgument(0) - 1];
+            return lastValue[0];
+        });
+        Mockito.when(resultSet.getString(Mockito.anyInt())).thenAnswer(invocation -> {
+            lastValue[0] = data.get(cursor[0])[(int) invocation.getArgument(0) - 1];
+            return lastValue[0] == null ? null : String.valueOf(lastValue[0]);
+        });
+        Mockito.when(resultSet.getInt(Mockito.anyInt())).thenAnswer(invocation -> {
+            lastValue[0] = data.get(cursor[0])[(int) invocation.getArgument(0) - 1];
+            return lastValue[0] == null ? 0 : ((Number) lastValue[0]).intValue();
+        });
+        Mockito.when(resultSet.getLong(Mockito.anyInt())).thenAnswer(invocation -> {
+            lastValue[0] = data.get(cursor[0])[(int) invocation.getArgument(0) - 1];
+            return lastValue[0] == null ? 0L : ((Number) lastValue[0]).longValue();
+        });
+
+        ResultSetMetaData metaData = Mockito.mock(ResultSetMetaData.class);
+        Mockito.when(metaData.getColumnCount()).thenReturn(columns.length);
+        for (int i = 0; i < columns.length; i++) {
+            Object sample = rows.length > 0 ? rows[0][i] : null;
+            Mockito.when(metaData.getColumnLabel(i + 1)).thenReturn(columns[i]);
+            Mockito.when(metaData.getColumnName(i + 1)).thenReturn(columns[i]);
+            Mockito.when(metaData.getColumnType(i + 1)).thenReturn(jdbcType(sample));
+            Mockito.when(metaData.getColumnClassName(i + 1))
+                    .thenReturn(sample == null ? Object.class.getName() : sample.getClass().getName());
+        }
+        Mockito.when(resultSet.getMetaData()).thenReturn(metaData);
+        return resultSet;
+    }
+
+    private static Object value(List<Object[]> data, int row, String[] columns, String column) throws SQLException {
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i].equalsIgnoreCase(column)) {
+                return data.get(row)[i];
+            }
+        }
+
+        throw new SQLException("Unknown column " + column);
+    }
+
+    private static int jdbcType(Object sample) {
+        if (sample instanceof Integer) {
+            return Types.INTEGER;
+        }
+
+        if (sample instanceof Long) {
+            return Types.BIGINT;
+        }
+
+        if (sample instanceof String) {
+            return Types.VARCHAR;
+        }
+
+        return Types.OTHER;
+    }
+}
@@ -0,0 +1,75 @@
+package com.pcz.mybatis.core.executor.resultset;
+
+import com.pcz.mybatis.core.builder.SqlSourceBuilder;
+import com.pcz.mybatis.core.mapping.Environment;
+import com.pcz.mybatis.core.mapping.MappedStatement;
+import com.pcz.mybatis.core.mapping.ResultMap;
+import com.pcz.mybatis.core.mapping.SqlCommandType;
+import com.pcz.mybatis.core.session.Configuration;
+import com.pcz.mybatis.core.session.SqlSession;
+import com.pcz.mybatis.core.session.SqlSessionFactoryBuilder;
+import com.pcz.mybatis.core.transaction.jdbc.JdbcTransactionFactory;
+import org.mockito.Mockito;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+
+public class MockSessions {
+    private MockSessions() {
+    }
+
+    public static Connection connection(PreparedStatement statement) throws SQLException {
+        Connection connection = Mockito.mock(Connection.class);
+        Mockito.when(connection.prepareStatement(Mockito.anyString())).thenReturn(statement);
+        return connection;
+    }
+
+    public static Environment environment(Connection connection) throws SQLException {
+        DataSource dataSource = Mockito.mock(DataSource.class);
+        Mockito.when(dataSource.getConnection()).thenReturn(connection);
+        return environment(dataSource);
+    }
+
+    public static Environment environment(DataSource dataSource) {
+        return new Environment("test", new JdbcTransactionFactory(), dataSource);
+    }
+
+    public static Configuration configuration(Connection connection) throws SQLException {
+        Configuration configuration = new Configuration();
+        configuration.setEnvironment(environment(connection));
+        return configuration;
+    }
+
+    public static Configuration configuration(DataSource dataSource) {
+        Configuration configuration = new Configuration();
+        configuration.setEnvironment(environment(dataSource));
+        return configuration;
+    }
+
+    public static MappedStatement.Builder statement(Configuration configuration,
+                                                    String id,
+                                                    String sql,
+                                                    Class<?> parameterType,
+                                                    SqlCommandType sqlCommandType) {
+        return new MappedStatement.Builder(configuration, id,
+                new SqlSourceBuilder(configuration).parse(sql, parameterType), sqlCommandType);
+    }
+
+    public static MappedStatement.Builder select(Configuration configuration, String id, String sql, Class<?> resultType) {
+        ResultMap resultMap = new ResultMap.Builder(configuration, id + "-Inline", resultType,
+                Collections.emptyList()).build();
+        return select(configuration, id, sql, resultMap);
+    }
+
+    public static MappedStatement.Builder select(Configuration configuration, String id, String sql, ResultMap resultMap) {
+        return statement(configuration, id, sql, Object.class, SqlCommandType.SELECT)
+                .resultMaps(Collections.singletonList(resultMap));
+    }
+
+    public static SqlSession openSession(Configuration configuration) {
+        return new SqlSessionFactoryBuilder().build(configuration).openSession();
+    }
+}
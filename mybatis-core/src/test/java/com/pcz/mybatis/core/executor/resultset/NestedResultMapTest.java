@@ -0,0 +1,223 @@
+package com.pcz.mybatis.core.executor.resultset;
+
+import com.pcz.mybatis.core.cursor.Cursor;
+import com.pcz.mybatis.core.mapping.ResultFlag;
+import com.pcz.mybatis.core.mapping.ResultMap;
+import com.pcz.mybatis.core.mapping.ResultMapping;
+import com.pcz.mybatis.core.session.Configuration;
+import com.pcz.mybatis.core.session.SqlSession;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class NestedResultMapTest {
+    private static final String[] COLUMNS = {"id", "title", "post_id", "post_subject"};
+
+    private Configuration configuration;
+
+    private PreparedStatement statement;
+
+    private ResultMap blogMap;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        statement = Mockito.mock(PreparedStatement.class);
+        configuration = MockSessions.configuration(MockSessions.connection(statement));
+        configuration.addResultMap(new ResultMap.Builder(configuration, "postMap", Post.class, Arrays.asList(
+                idMapping("id"),
+                new ResultMapping.Builder(configuration, "subject").column("subject").build())).build());
+        blogMap = new ResultMap.Builder(configuration, "blogMap", Blog.class, Arrays.asList(
+                idMapping("id"),
+                new ResultMapping.Builder(configuration, "title").column("title").build(),
+                new ResultMapping.Builder(configuration, "posts")
+                        .nestedResultMapId("postMap")
+                        .columnPrefix("post_")
+                        .build())).build();
+        configuration.addResultMap(blogMap);
+        addSelectStatement("selectBlogs", false);
+        addSelectStatement("selectOrderedBlogs", true);
+    }
+
+    @Test
+    public void should_merge_joined_rows_by_id() throws SQLException {
+        mockRows(new Object[]{1, "a", 10, "x"},
+                new Object[]{2, "b", 20, "z"},
+                new Object[]{1, "a", 11, "y"},
+                new Object[]{3, "c", null, null});
+
+        List<Blog> blogs;
+        try (SqlSession sqlSession = MockSessions.openSession(configuration)) {
+            blogs = sqlSession.selectList("selectBlogs", null);
+        }
+
+        Assertions.assertThat(blogs).extracting(Blog::getTitle).containsExactly("a", "b", "c");
+        Assertions.assertThat(blogs.get(0).getPosts()).extracting(Post::getSubject).containsExactly("x", "y");
+        Assertions.assertThat(blogs.get(1).getPosts()).extracting(Post::getSubject).containsExactly("z");
+        Assertions.assertThat(blogs.get(2).getPosts()).isEmpty();
+    }
+
+    @Test
+    public void should_complete_parent_when_id_changes_in_ordered_results() throws SQLException {
+        mockRows(new Object[]{1, "a", 10, "x"},
+                new Object[]{1, "a", 11, "y"},
+                new Object[]{2, "b", 20, "z"},
+                new Object[]{3, "c", null, null});
+
+        List<Integer> postCounts = new ArrayList<>();
+        try (SqlSession sqlSession = MockSessions.openSession(configuration)) {
+            sqlSession.select("selectOrderedBlogs", null,
+                    context -> postCounts.add(((Blog) context.getResultObject()).getPosts().size()));
+        }
+
+        Assertions.assertThat(postCounts).containsExactly(2, 1, 0);
+    }
+
+    @Test
+    public void should_stream_complete_parents_through_cursor() throws SQLException {
+        mockRows(new Object[]{1, "a", 10, "x"},
+                new Object[]{1, "a", 11, "y"},
+                new Object[]{2, "b", 20, "z"});
+
+        List<Integer> postCounts = new ArrayList<>();
+        try (SqlSession sqlSession = MockSessions.openSession(configuration);
+             Cursor<Blog> cursor = sqlSession.selectCursor("selectOrderedBlogs", null)) {
+            cursor.forEachRemaining(blog -> postCounts.add(blog.getPosts().size()));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+
+        Assertions.assertThat(postCounts).containsExactly(2, 1);
+    }
+
+    @Test
+    public void should_reject_result_handler_when_results_are_not_ordered() throws SQLException {
+        mockRows(new Object[]{1, "a", 10, "x"});
+
+        try (SqlSession sqlSession = MockSessions.openSession(configuration)) {
+            Assertions.assertThatThrownBy(() -> sqlSession.select("selectBlogs", null, context -> {
+            })).hasMessageContaining("resultOrdered=true");
+        }
+    }
+
+    @Test
+    public void should_read_integral_ids_as_longs() throws SQLException {
+        ResultSet resultSet = MockResultSets.of(statement, COLUMNS,
+                new Object[]{1, "a", 10, "x"},
+                new Object[]{1, "b", 11, "y"});
+        ResultSetWrapper resultSetWrapper = new ResultSetWrapper(resultSet, configuration);
+        RowKey.Plan plan = RowKey.Plan.create(resultSetWrapper, blogMap, null);
+        RowKey.Plan postPlan = RowKey.Plan.create(resultSetWrapper, configuration.getResultMap("postMap"), "post_");
+
+        resultSet.next();
+        RowKey first = plan.read(resultSet, null);
+        RowKey firstPost = postPlan.read(resultSet, first);
+        resultSet.next();
+        RowKey second = plan.read(resultSet, null);
+        RowKey secondPost = postPlan.read(resultSet, second);
+
+        Assertions.assertThat(second).isEqualTo(first);
+        Assertions.assertThat(second.hashCode()).isEqualTo(first.hashCode());
+        Assertions.assertThat(secondPost).isNotEqualTo(firstPost);
+        Assertions.assertThat(postPlan.read(resultSet, null)).isNotEqualTo(secondPost);
+        Mockito.verify(resultSet, Mockito.never()).getObject(Mockito.anyInt());
+    }
+
+    @Test
+    public void should_read_typed_integral_ids_as_longs() throws SQLException {
+        ResultMap typedBlogMap = new ResultMap.Builder(configuration, "typedBlogMap", Blog.class,
+                Collections.singletonList(new ResultMapping.Builder(configuration, "id")
+                        .column("id")
+                        .javaType(Long.class)
+                        .flags(Collections.singletonList(ResultFlag.ID))
+                        .build())).build();
+        ResultSet resultSet = MockResultSets.of(statement, COLUMNS, new Object[]{1, "a", 10, "x"});
+        RowKey.Plan plan = RowKey.Plan.create(new ResultSetWrapper(resultSet, configuration), typedBlogMap, null);
+
+        resultSet.next();
+        RowKey rowKey = plan.read(resultSet, null);
+
+        Assertions.assertThat(rowKey.toString()).contains("longValues=[1]", "objectValues=null");
+        Mockito.verify(resultSet).getLong(1);
+    }
+
+    private ResultMapping idMapping(String property) {
+        return new ResultMapping.Builder(configuration, property)
+                .column(property)
+                .flags(Collections.singletonList(ResultFlag.ID))
+                .build();
+    }
+
+    private void addSelectStatement(String id, boolean resultOrdered) {
+        configuration.addMappedStatement(MockSessions.select(configuration, id, "select * from blog left join post", blogMap)
+                .resultOrdered(resultOrdered)
+                .build());
+    }
+
+    private void mockRows(Object[]... rows) throws SQLException {
+        ResultSet resultSet = MockResultSets.of(statement, COLUMNS, rows);
+        Mockito.when(statement.getResultSet()).thenReturn(resultSet);
+    }
+
+    public static class Blog {
+        private Integer id;
+
+        private String title;
+
+        private List<Post> posts;
+
+        public Integer getId() {
+            return id;
+        }
+
+        public void setId(Integer id) {
+            this.id = id;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public void setTitle(String title) {
+            this.title = title;
+        }
+
+        public List<Post> getPosts() {
+            return posts;
+        }
+
+        public void setPosts(List<Post> posts) {
+            this.posts = posts;
+        }
+    }
+
+    public static class Post {
+        private Integer id;
+
+        private String subject;
+
+        public Integer getId() {
+            return id;
+        }
+
+        public void setId(Integer id) {
+            this.id = id;
+        }
+
+        public String getSubject() {
+            return subject;
+        }
+
+        public void setSubject(String subject) {
+            this.subject = subject;
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package com.pcz.mybatis.core.executor.resultset;
+
+import com.pcz.mybatis.core.mapping.ResultFlag;
+import com.pcz.mybatis.core.mapping.ResultMap;
+import com.pcz.mybatis.core.mapping.ResultMapping;
+import com.pcz.mybatis.core.session.AutoMappingBehavior;
+import com.pcz.mybatis.core.session.Configuration;
+import com.pcz.mybatis.core.session.SqlSession;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class NestedSelectBatchTest {
+    private static final String[] BLOG_COLUMNS = {"id", "title", "author_id"};
+
+    private static final String[] POST_COLUMNS = {"id", "blog_id", "subject"};
+
+    private static final String[] AUTHOR_COLUMNS = {"id", "name"};
+
+    private Configuration configuration;
+
+    private Connection connection;
+
+    private PreparedStatement statement;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        statement = Mockito.mock(PreparedStatement.class);
+        connection = MockSessions.connection(statement);
+
+        configuration = MockSessions.configuration(connection);
+        configuration.setMapUnderscoreToCamelCase(true);
+        addSelectStatement("selectPostsByBlog", "select * from post where blog_id = #{blogId} order by id",
+                new ResultMap.Builder(configuration, "selectPostsByBlog-Inline", Post.class,
+                        Collections.emptyList()).build());
+        addSelectStatement("selectAuthor", "select * from author where id = #{id}",
+                new ResultMap.Builder(configuration, "selectAuthor-Inline", Author.class,
+                        Collections.emptyList()).build());
+    }
+
+    @Test
+    public void should_load_collections_in_chunks() throws SQLException {
+        addBlogStatement(2);
+        ResultSet blogs = MockResultSets.of(statement, BLOG_COLUMNS,
+                new Object[]{1, "a", null},
+                new Object[]{2, "b", null},
+                new Object[]{3, "c", null},
+                new Object[]{4, "d", null},
+                new Object[]{5, "e", null});
+        ResultSet firstChunk = MockResultSets.of(statement, POST_COLUMNS,
+                new Object[]{10, 1, "x"},
+                new Object[]{11, 1, "y"},
+                new Object[]{20, 2, "z"});
+        ResultSet secondChunk = MockResultSets.of(statement, POST_COLUMNS, new Object[]{40, 4, "w"});
+        ResultSet thirdChunk = MockResultSets.of(statement, POST_COLUMNS, new Object[]{50, 5, "v"});
+        Mockito.when(statement.getResultSet()).thenReturn(blogs, firstChunk, secondChunk, thirdChunk);
+
+        List<Blog> result = selectBlogs();
+
+        Assertions.assertThat(result).extracting(blog -> blog.getPosts().size()).containsExactly(2, 1, 0, 1, 1);
+        Assertions.assertThat(result.get(0).getPosts()).extracting(Post::getSubject).containsExactly("x", "y");
+        Assertions.assertThat(preparedSqls()).containsExactly(
+                "select * from blog",
+                "select * from post where blog_id IN (?, ?) order by id",
+                "select * from post where blog_id IN (?, ?) order by id",
+                "select * from post where blog_id IN (?) order by id");
+    }
+
+    @Test
+    public void should_share_batched_associations_with_global_batch_size() throws SQLException {
+        configuration.setDefaultNestedSelectBatchSize(10);
+        addBlogStatement(null);
+        ResultSet blogs = MockResultSets.of(statement, new String[]{"id", "title", "author_id"},
+                new Object[]{1, "a", 7},
+                new Object[]{2, "b", 7},
+                new Object[]{3, "c", 8},
+                new Object[]{4, "d", null});
+        ResultSet authors = MockResultSets.of(statement, AUTHOR_COLUMNS,
+                new Object[]{7, "tom"},
+                new Object[]{8, "ann"});
+        ResultSet posts = MockResultSets.of(statement, POST_COLUMNS);
+        Mockito.when(statement.getResultSet()).thenReturn(blogs, posts, authors);
+
+        List<Blog> result = selectBlogs();
+
+        Assertions.assertThat(result).extracting(blog -> blog.getAuthor() == null ? null : blog.getAuthor().getName())
+                .containsExactly("tom", "tom", "ann", null);
+        Assertions.assertThat(result.get(0).getAuthor()).isSameAs(result.get(1).getAuthor());
+        Assertions.assertThat(preparedSqls()).containsExactly(
+                "select * from blog",
+                "select * from post where blog_id IN (?, ?, ?, ?) order by id",
+                "select * from author where id IN (?, ?)");
+    }
+
+    @Test
+    public void should_load_per_row_when_batch_size_is_zero() throws SQLException {
+        configuration.setDefaultNestedSelectBatchSize(10);
+        addBlogStatement(0);
+        ResultSet blogs = MockResultSets.of(statement, BLOG_COLUMNS,
+                new Object[]{1, "a", null},
+                new Object[]{2, "b", null});
+        ResultSet firstPosts = MockResultSets.of(statement, POST_COLUMNS, new Object[]{10, 1, "x"});
+        ResultSet secondPosts = MockResultSets.of(statement, POST_COLUMNS, new Object[]{20, 2, "z"});
+        Mockito.when(statement.getResultSet()).thenReturn(blogs, firstPosts, secondPosts);
+
+        List<Blog> result = selectBlogs();
+
+        Assertions.assertThat(result).extracting(blog -> blog.getPosts().get(0).getSubject()).containsExactly("x", "z");
+        Assertions.assertThat(preparedSqls()).containsExactly(
+                "select * from blog",
+                "select * from post where blog_id = ? order by id",
+                "select * from post where blog_id = ? order by id");
+    }
+
+    @Test
+    public void should_load_per_row_when_nested_select_is_limited() throws SQLException {
+        addSelectStatement("selectLatestPostsByBlog", "select * from post where blog_id = #{blogId} order by id limit 1",
+                new ResultMap.Builder(configuration, "selectLatestPostsByBlog-Inline", Post.class,
+                        Collections.emptyList()).build());
+        addSelectStatement("selectBlogs", "select * from blog",
+                new ResultMap.Builder(configuration, "blogMap", Blog.class, Arrays.asList(
+                        new ResultMapping.Builder(configuration, "id").column("id").build(),
+                        new ResultMapping.Builder(configuration, "posts")
+                                .column("id")
+                                .nestedQueryId("selectLatestPostsByBlog")
+                                .batchSize(10)
+                                .build())).build());
+        ResultSet blogs = MockResultSets.of(statement, BLOG_COLUMNS,
+                new Object[]{1, "a", null},
+                new Object[]{2, "b", null});
+        ResultSet firstPosts = MockResultSets.of(statement, POST_COLUMNS, new Object[]{10, 1, "x"});
+        ResultSet secondPosts = MockResultSets.of(statement, POST_COLUMNS, new Object[]{20, 2, "z"});
+        Mockito.when(statement.getResultSet()).thenReturn(blogs, firstPosts, secondPosts);
+
+        List<Blog> result = selectBlogs();
+
+        Assertions.assertThat(result).extracting(blog -> blog.getPosts().get(0).getSubject()).containsExactly("x", "z");
+        Assertions.assertThat(preparedSqls()).containsExactly(
+                "select * from blog",
+                "select * from post where blog_id = ? order by id limit 1",
+                "select * from post where blog_id = ? order by id limit 1");
+    }
+
+    @Test
+    public void should_load_per_row_when_key_column_is_not_selected() throws SQLException {
+        addBlogStatement(10);
+        String[] columns = {"id", "subject"};
+        ResultSet blogs = MockResultSets.of(statement, BLOG_COLUMNS,
+                new Object[]{1, "a", null},
+                new Object[]{2, "b", null});
+        ResultSet batchedPosts = MockResultSets.of(statement, columns,
+                new Object[]{10, "x"},
+                new Object[]{20, "z"});
+        ResultSet firstPosts = MockResultSets.of(statement, columns, new Object[]{10, "x"});
+        ResultSet secondPosts = MockResultSets.of(statement, columns, new Object[]{20, "z"});
+        Mockito.when(statement.getResultSet()).thenReturn(blogs, batchedPosts, firstPosts, secondPosts);
+
+        List<Blog> result = selectBlogs();
+
+        Assertions.assertThat(result).extracting(blog -> blog.getPosts().get(0).getSubject()).containsExactly("x", "z");
+        Assertions.assertThat(preparedSqls()).containsExactly(
+                "select * from blog",
+                "select * from post where blog_id IN (?, ?) order by id",
+                "select * from post where blog_id = ? order by id",
+                "select * from post where blog_id = ? order by id");
+    }
+
+    @Test
+    public void should_load_per_row_when_auto_mapping_is_disabled() throws SQLException {
+        configuration.setAutoMappingBehavior(AutoMappingBehavior.NONE);
+        addBlogStatement(10);
+        ResultSet blogs = MockResultSets.of(statement, BLOG_COLUMNS,
+                new Object[]{1, "a", null},
+                new Object[]{2, "b", null});
+        ResultSet firstPosts = MockResultSets.of(statement, POST_COLUMNS, new Object[]{10, 1, "x"});
+        ResultSet secondPosts = MockResultSets.of(statement, POST_COLUMNS, new Object[]{20, 2, "z"});
+        Mockito.when(statement.getResultSet()).thenReturn(blogs, firstPosts, secondPosts);
+
+        selectBlogs();
+
+        Assertions.assertThat(preparedSqls()).containsExactly(
+                "select * from blog",
+                "select * from post where blog_id = ? order by id",
+                "select * from post where blog_id = ? order by id");
+    }
+
+    private void addBlogStatement(Integer postsBatchSize) {
+        ResultMap blogMap = new ResultMap.Builder(configuration, "blogMap", Blog.class, Arrays.asList(
+                new ResultMapping.Builder(configuration, "id")
+                        .column("id")
+                        .flags(Collections.singletonList(ResultFlag.ID))
+                        .build(),
+                new ResultMapping.Builder(configuration, "title").column("title").build(),
+                new ResultMapping.Builder(configuration, "posts")
+                        .column("id")
+                        .nestedQueryId("selectPostsByBlog")
+                        .batchSize(postsBatchSize)
+                        .build(),
+                new ResultMapping.Builder(configuration, "author")
+                        .column("author_id")
+                        .nestedQueryId("selectAuthor")
+                        .build())).build();
+        addSelectStatement("selectBlogs", "select * from blog", blogMap);
+    }
+
+    private void addSelectStatement(String id, String sql, ResultMap resultMap) {
+        configuration.addMappedStatement(MockSessions.select(configuration, id, sql, resultMap).build());
+    }
+
+    private List<Blog> selectBlogs() {
+        try (SqlSession sqlSession = MockSessions.openSession(configuration)) {
+            return sqlSession.selectList("selectBlogs", null);
+        }
+    }
+
+    private List<String> preparedSqls() throws SQLException {
+        ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+        Mockito.verify(connection, Mockito.atLeastOnce()).prepareStatement(captor.capture());
+        return captor.getAllValues();
+    }
+
+    public static class Blog {
+        private Integer id;
+
+        private String title;
+
+        private List<Post> posts;
+
+        private Author author;
+
+        public Integer getId() {
+            return id;
+        }
+
+        public void setId(Integer id) {
+            this.id = id;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public void setTitle(String title) {
+            this.title = title;
+        }
+
+        public List<Post> getPosts() {
+            return posts;
+        }
+
+        public void setPosts(List<Post> posts) {
+            this.posts = posts;
+        }
+
+        public Author getAuthor() {
+            return author;
+        }
+
+        public void setAuthor(Author author) {
+            this.author = author;
+        }
+    }
+
+    public static class Post {
+        private Integer id;
+
+        private Integer blogId;
+
+        private String subject;
+
+        public Integer getId() {
+            return id;
+        }
+
+        public void setId(Integer id) {
+            this.id = id;
+        }
+
+        public Integer getBlogId() {
+            return blogId;
+        }
+
+        public void setBlogId(Integer blogId) {
+            this.blogId = blogId;
+        }
+
+        public String getSubject() {
+            return subject;
+        }
+
+        public void setSubject(String subject) {
+            this.subject = subject;
+        }
+    }
+
+    public static class Author {
+        private Integer id;
+
+        private String name;
+
+        public Integer getId() {
+            return id;
+        }
+
+        public void setId(Integer id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.pcz.mybatis.core.executor.resultset;
+
+import com.pcz.mybatis.core.mapping.MappedStatement;
+import com.pcz.mybatis.core.session.Configuration;
+import com.pcz.mybatis.core.session.SqlSession;
+import com.pcz.mybatis.core.type.JdbcType;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+public class ResultSetSchemaTest {
+    private Configuration configuration;
+
+    private PreparedStatement statement;
+
+    private MappedStatement mappedStatement;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        statement = Mockito.mock(PreparedStatement.class);
+        configuration = MockSessions.configuration(MockSessions.connection(statement));
+        mappedStatement = MockSessions.select(configuration, "selectUsers", "select * from user", Map.class).build();
+        configuration.addMappedStatement(mappedStatement);
+    }
+
+    @Test
+    public void should_reuse_schema_across_executions() throws SQLException {
+        ResultSet first = MockResultSets.of(statement, new String[]{"id", "name"}, new Object[]{1, "a"});
+        ResultSet second = MockResultSets.of(statement, new String[]{"id", "name"}, new Object[]{2, "b"});
+        Mockito.when(statement.getResultSet()).thenReturn(first, second);
+
+        selectList();
+        ResultSetSchema schema = mappedStatement.getResultSetSchema(0);
+        List<Map<String, Object>> users = selectList();
+
+        Assertions.assertThat(users).extracting(user -> user.get("name")).containsExactly("b");
+        Assertions.assertThat(mappedStatement.getResultSetSchema(0)).isSameAs(schema);
+        ResultSetMetaData metaData = second.getMetaData();
+        Mockito.verify(metaData).getColumnCount();
+        Mockito.verify(metaData, Mockito.never()).getColumnType(Mockito.anyInt());
+        Mockito.verify(metaData, Mockito.never()).getColumnClassName(Mockito.anyInt());
+    }
+
+    @Test
+    public void should_replace_schema_when_columns_change() throws SQLException {
+        ResultSet first = MockResultSets.of(statement, new String[]{"id", "name"}, new Object[]{1, "a"});
+        ResultSet second = MockResultSets.of(statement, new String[]{"id", "title"}, new Object[]{2, "b"});
+        Mockito.when(statement.getResultSet()).thenReturn(first, second);
+
+        selectList();
+        ResultSetSchema schema = mappedStatement.getResultSetSchema(0);
+        List<Map<String, Object>> users = selectList();
+
+        Assertions.assertThat(users).extracting(user -> user.get("title")).containsExactly("b");
+        Assertions.assertThat(mappedStatement.getResultSetSchema(0)).isNotSameAs(schema);
+        Assertions.assertThat(mappedStatement.getResultSetSchema(0).getColumnNames()).containsExactly("id", "title");
+    }
+
+    @Test
+    public void should_resolve_columns_by_index() throws SQLException {
+        ResultSet resultSet = MockResultSets.of(statement, new String[]{"id", "name"}, new Object[]{1, "a"});
+
+        ResultSetSchema schema = ResultSetSchema.of(resultSet.getMetaData(),
+                configuration.getTypeHandlerRegistry(), true, null);
+
+        Assertions.assertThat(schema.getColumnIndex("NAME")).isEqualTo(2);
+        Assertions.assertThat(schema.getColumnIndex("missing")).isEqualTo(-1);
+        Assertions.assertThat(schema.getJdbcType("id")).isEqualTo(JdbcType.INTEGER);
+        Assertions.assertThat(ResultSetSchema.of(resultSet.getMetaData(),
+                configuration.getTypeHandlerRegistry(), false, schema)).isNotSameAs(schema);
+    }
+
+    private List<Map<String, Object>> selectList() {
+        try (SqlSession sqlSession = MockSessions.openSession(configuration)) {
+            return sqlSession.selectList("selectUsers", null);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.pcz.mybatis.core.executor.resultset;
+
+import com.pcz.mybatis.core.mapping.ResultMap;
+import com.pcz.mybatis.core.mapping.ResultMapping;
+import com.pcz.mybatis.core.session.Configuration;
+import com.pcz.mybatis.core.session.SqlSession;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+
+public class RowMapperCompilerTest {
+    private Configuration configuration;
+
+    private PreparedStatement statement;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        statement = Mockito.mock(PreparedStatement.class);
+        configuration = MockSessions.configuration(MockSessions.connection(statement));
+        configuration.setMapUnderscoreToCamelCase(true);
+    }
+
+    @Test
+    public void should_map_rows_with_compiled_mapper() throws SQLException {
+        ResultMap resultMap = new ResultMap.Builder(configuration, "userMap", User.class, Collections.singletonList(
+                new ResultMapping.Builder(configuration, "name", "user_name", String.class).build())).build();
+        addSelectStatement("selectUsers", resultMap);
+        ResultSet resultSet = MockResultSets.of(statement, new String[]{"id", "user_name", "total_score"},
+                new Object[]{1, "a", 10L}, new Object[]{2, null, null});
+        Mockito.when(statement.getResultSet()).thenReturn(resultSet);
+
+        List<User> users = selectList("selectUsers");
+
+        Assertions.assertThat(users).extracting(User::getId).containsExactly(1, 2);
+        Assertions.assertThat(users).extracting(User::getName).containsExactly("a", null);
+        Assertions.assertThat(users).extracting(User::getTotalScore).containsExactly(10L, null);
+        Assertions.assertThat(configuration.getRowMapperCompiler().size()).isEqualTo(1);
+        Mockito.verify(resultSet, Mockito.times(2)).getInt(1);
+        Mockito.verify(resultSet, Mockito.never()).getInt("id");
+    }
+
+    @Test
+    public void should_cache_mapper_per_column_shape() throws SQLException {
+        ResultMap resultMap = new ResultMap.Builder(configuration, "userMap", User.class,
+                Collections.emptyList()).build();
+        addSelectStatement("selectUsers", resultMap);
+        ResultSet first = MockResultSets.of(statement, new String[]{"id"}, new Object[]{1});
+        ResultSet second = MockResultSets.of(statement, new String[]{"id"}, new Object[]{2});
+        ResultSet third = MockResultSets.of(statement, new String[]{"id", "total_score"}, new Object[]{3, 30L});
+        Mockito.when(statement.getResultSet()).thenReturn(first, second, third);
+
+        selectList("selectUsers");
+        selectList("selectUsers");
+        List<User> users = selectList("selectUsers");
+
+        Assertions.assertThat(users.get(0).getTotalScore()).isEqualTo(30L);
+        Assertions.assertThat(configuration.getRowMapperCompiler().size()).isEqualTo(2);
+    }
+
+    @Test
+    public void should_fall_back_to_reflection_for_non_public_type() throws SQLException {
+        ResultMap resultMap = new ResultMap.Builder(configuration, "hiddenMap", HiddenUser.class,
+                Collections.emptyList()).build();
+        addSelectStatement("selectHiddenUsers", resultMap);
+        ResultSet resultSet = MockResultSets.of(statement, new String[]{"id"}, new Object[]{1});
+        Mockito.when(statement.getResultSet()).thenReturn(resultSet);
+
+        List<HiddenUser> users = selectList("selectHiddenUsers");
+
+        Assertions.assertThat(users.get(0).id).isEqualTo(1);
+        Assertions.assertThat(configuration.getRowMapperCompiler().size()).isZero();
+        Mockito.verify(resultSet).getInt(1);
+    }
+
+    @Test
+    public void should_not_compile_when_disabled() throws SQLException {
+        configuration.setCompiledRowMappersEnabled(false);
+        ResultMap resultMap = new ResultMap.Builder(configuration, "userMap", User.class,
+                Collections.emptyList()).build();
+        addSelectStatement("selectUsers", resultMap);
+        ResultSet resultSet = MockResultSets.of(statement, new String[]{"id"}, new Object[]{1});
+        Mockito.when(statement.getResultSet()).thenReturn(resultSet);
+
+        Assertions.assertThat(this.<User>selectList("selectUsers")).extracting(User::getId).containsExactly(1);
+        Assertions.assertThat(configuration.getRowMapperCompiler().size()).isZero();
+    }
+
+    private <E> List<E> selectList(String statementId) {
+        try (SqlSession sqlSession = MockSessions.openSession(configuration)) {
+            return sqlSession.selectList(statementId, null);
+        }
+    }
+
+    private void addSelectStatement(String id, ResultMap resultMap) {
+        configuration.addMappedStatement(MockSessions.select(configuration, id, "select * from user", resultMap).build());
+    }
+
+    public static class User {
+        private int id;
+
+        private String name;
+
+        private Long totalScore;
+
+        public int getId() {
+            return id;
+        }
+
+        public void setId(int id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Long getTotalScore() {
+            return totalScore;
+        }
+
+        public void setTotalScore(Long totalScore) {
+            this.totalScore = totalScore;
+        }
+    }
+
+    static class HiddenUser {
+        private int id;
+
+        public void setId(int id) {
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.pcz.mybatis.core.executor.statement;
+
+import com.pcz.mybatis.core.executor.resultset.MockSessions;
+import com.pcz.mybatis.core.mapping.Environment;
+import com.pcz.mybatis.core.mapping.SqlCommandType;
+import com.pcz.mybatis.core.session.Configuration;
+import com.pcz.mybatis.core.session.SqlSession;
+import com.pcz.mybatis.core.transaction.jdbc.JdbcTransaction;
+import com.pcz.mybatis.core.transaction.jdbc.JdbcTransactionFactory;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class StatementTimeoutTest {
+    private Configuration configuration;
+
+    private Connection connection;
+
+    private PreparedStatement statement;
+
+    private CountDownLatch cancelled;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        statement = Mockito.mock(PreparedStatement.class);
+        cancelled = new CountDownLatch(1);
+        Mockito.doAnswer(invocation -> {
+            cancelled.countDown();
+            return null;
+        }).when(statement).cancel();
+        Mockito.when(statement.execute()).thenAnswer(invocation -> {
+            if (!cancelled.await(5, TimeUnit.SECONDS)) {
+                return false;
+            }
+            throw new SQLException("Query was cancelled");
+        });
+        connection = MockSessions.connection(statement);
+
+        configuration = MockSessions.configuration(connection);
+        configuration.setTimeoutSchedulerEnabled(true);
+    }
+
+    @Test
+    public void should_cancel_statement_exceeding_its_timeout() throws SQLException {
+        addUpdateStatement("slowUpdate", 1);
+
+        try (SqlSession sqlSession = MockSessions.openSession(configuration)) {
+            Assertions.assertThatThrownBy(() -> sqlSession.update("slowUpdate", null))
+                    .hasStackTraceContaining("Query was cancelled");
+        }
+
+        Mockito.verify(statement).cancel();
+        Mockito.verify(statement, Mockito.never()).setQueryTimeout(Mockito.anyInt());
+    }
+
+    @Test
+    public void should_cancel_statement_at_transaction_deadline() throws SQLException {
+        addUpdateStatement("slowUpdate", null);
+        JdbcTransactionFactory transactionFactory = new JdbcTransactionFactory();
+        Properties properties = new Properties();
+        properties.setProperty("timeout", "1");
+        transactionFactory.setProperties(properties);
+        configuration.setEnvironment(new Environment("test", transactionFactory,
+                configuration.getEnvironment().getDataSource()));
+
+        try (SqlSession sqlSession = MockSessions.openSession(configuration)) {
+            Assertions.assertThatThrownBy(() -> sqlSession.update("slowUpdate", null))
+                    .hasStackTraceContaining("Query was cancelled");
+        }
+
+        Mockito.verify(statement).cancel();
+    }
+
+    @Test
+    public void should_not_schedule_without_timeout() throws SQLException {
+        addUpdateStatement("update", null);
+        Mockito.when(statement.execute()).thenReturn(false);
+        Mockito.when(statement.getUpdateCount()).thenReturn(1);
+
+        try (SqlSession sqlSession = MockSessions.openSession(configuration)) {
+            Assertions.assertThat(sqlSession.update("update", null)).isEqualTo(1);
+        }
+
+        Mockito.verify(statement, Mockito.never()).cancel();
+    }
+
+    @Test
+    public void should_report_remaining_transaction_timeout() throws SQLException {
+        JdbcTransaction transaction = new JdbcTransaction(Mockito.mock(DataSource.class), null, false, false, 30);
+        Assertions.assertThat(transaction.getTimeout()).isBetween(29, 30);
+
+        JdbcTransaction expired = new JdbcTransaction(Mockito.mock(DataSource.class), null, false, false, 0);
+        Assertions.assertThatExceptionOfType(SQLTimeoutException.class).isThrownBy(expired::getTimeout);
+
+        Assertions.assertThat(new JdbcTransaction(Mockito.mock(DataSource.class), null, false).getTimeout()).isNull();
+    }
+
+    @Test
+    public void should_restart_transaction_deadline_after_commit() throws SQLException, InterruptedException {
+        DataSource dataSource = Mockito.mock(DataSource.class);
+        Connection connection = Mockito.mock(Connection.class);
+        Mockito.when(dataSource.getConnection()).thenReturn(connection);
+        JdbcTransaction transaction = new JdbcTransaction(dataSource, null, false, false, 1);
+        transaction.getConnection();
+
+        Assertions.assertThat(transaction.getTimeout()).isEqualTo(1);
+        transaction.commit();
+        Thread.sleep(1100);
+
+        Assertions.assertThat(transaction.getTimeout()).isEqualTo(1);
+        Thread.sleep(1100);
+        Assertions.assertThatExceptionOfType(SQLTimeoutException.class).isThrownBy(transaction::getTimeout);
+        transaction.rollback();
+        Assertions.assertThat(transaction.getTimeout()).isEqualTo(1);
+    }
+
+    private void addUpdateStatement(String id, Integer timeout) {
+        configuration.addMappedStatement(MockSessions.statement(configuration, id, "update user set name = 'a'",
+                Object.class, SqlCommandType.UPDATE)
+                .timeout(timeout)
+                .build());
+    }
+}
@@ -1,5 +1,6 @@
 package com.pcz.mybatis.core.mapping;
 
+import com.pcz.mybatis.core.datasource.routing.ReadWriteRoutingDataSource;
 import com.pcz.mybatis.core.transaction.TransactionFactory;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -20,4 +21,20 @@ public class EnvironmentTest {
                 .build();
         Assertions.assertThat(environment).isNotNull();
     }
+
+    @Test
+    public void should_build_routing_data_source_with_replicas() {
+        DataSource primary = Mockito.mock(DataSource.class);
+        DataSource replica = Mockito.mock(DataSource.class);
+
+        Environment environment = new Environment.Builder("test")
+                .datasource(primary)
+                .replica(replica)
+                .transactionFactory(Mockito.mock(TransactionFactory.class))
+                .build();
+
+        Assertions.assertThat(environment.getDataSource()).isInstanceOf(ReadWriteRoutingDataSource.class);
+        Assertions.assertThat(environment.getPrimaryDataSource()).isSameAs(primary);
+        Assertions.assertThat(environment.getReplicaDataSources()).containsExactly(replica);
+    }
 }
@@ -0,0 +1,208 @@
+package com.pcz.mybatis.core.session;
+
+import com.pcz.mybatis.core.cursor.Cursor;
+import com.pcz.mybatis.core.executor.resultset.MockResultSets;
+import com.pcz.mybatis.core.executor.resultset.MockSessions;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AsyncSqlSessionTest {
+    private Configuration configuration;
+
+    private DataSource dataSource;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        dataSource = Mockito.mock(DataSource.class);
+        Mockito.when(dataSource.getConnection()).thenAnswer(invocation -> newConnection());
+
+        configuration = MockSessions.configuration(dataSource);
+        configuration.addMapper(UserMapper.class);
+        addSelectStatement(UserMapper.class.getName() + ".selectById", "select id, name from user where id = 1");
+        addSelectStatement(UserMapper.class.getName() + ".selectAll", "select id, name from user");
+        addSelectStatement(UserMapper.class.getName() + ".count", "select id, name from user");
+        addSelectStatement(UserMapper.class.getName() + ".selectCursor", "select id, name from user");
+
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void should_execute_mapper_methods_asynchronously() {
+        AsyncSqlSession asyncSqlSession = new AsyncSqlSession(
+                new SqlSessionFactoryBuilder().build(configuration), executor, 2);
+        UserMapper mapper = asyncSqlSession.getMapper(UserMapper.class);
+
+        CompletableFuture<User> user = mapper.selectById(1);
+        CompletableFuture<List<User>> users = mapper.selectAll();
+
+        Assertions.assertThat(user.join().getName()).isEqualTo("a");
+        Assertions.assertThat(users.join()).extracting(User::getId).containsExactly(1, 2);
+        Assertions.assertThat(mapper.count()).hasSize(2);
+    }
+
+    @Test
+    public void should_cap_concurrent_database_access() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AsyncSqlSession asyncSqlSession = new AsyncSqlSession(
+                new SqlSessionFactoryBuilder().build(configuration), executor, 1);
+
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            futures.add(asyncSqlSession.submit(sqlSession -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                return 1;
+            }));
+        }
+
+        Assertions.assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        Assertions.assertThat(asyncSqlSession.getActiveCount()).isEqualTo(1);
+        release.countDown();
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+
+        Assertions.assertThat(maxRunning.get()).isEqualTo(1);
+        Assertions.assertThat(asyncSqlSession.getActiveCount()).isZero();
+    }
+
+    @Test
+    public void should_complete_exceptionally_and_release_connection() throws SQLException {
+        Connection connection = Mockito.mock(Connection.class);
+        Mockito.when(connection.prepareStatement(Mockito.anyString())).thenThrow(new SQLException("failed"));
+        Mockito.when(dataSource.getConnection()).thenReturn(connection);
+        AsyncSqlSession asyncSqlSession = new AsyncSqlSession(
+                new SqlSessionFactoryBuilder().build(configuration), executor, 2);
+
+        CompletableFuture<List<User>> users = asyncSqlSession.getMapper(UserMapper.class).selectAll();
+
+        Assertions.assertThatExceptionOfType(CompletionException.class)
+                .isThrownBy(users::join)
+                .withRootCauseInstanceOf(SQLException.class);
+        Mockito.verify(connection).close();
+        Assertions.assertThat(asyncSqlSession.getActiveCount()).isZero();
+    }
+
+    @Test
+    public void should_execute_blocking_mapper_methods_on_calling_thread() {
+        AtomicInteger submitted = new AtomicInteger();
+        AsyncSqlSession asyncSqlSession = new AsyncSqlSession(new SqlSessionFactoryBuilder().build(configuration),
+                command -> {
+                    submitted.incrementAndGet();
+                    executor.execute(command);
+                }, 2);
+        UserMapper mapper = asyncSqlSession.getMapper(UserMapper.class);
+
+        Assertions.assertThat(mapper.count()).hasSize(2);
+        Assertions.assertThat(submitted).hasValue(0);
+        Assertions.assertThat(asyncSqlSession.getActiveCount()).isZero();
+    }
+
+    @Test
+    public void should_reject_mapper_methods_returning_cursor() throws SQLException {
+        AsyncSqlSession asyncSqlSession = new AsyncSqlSession(
+                new SqlSessionFactoryBuilder().build(configuration), executor, 2);
+        UserMapper mapper = asyncSqlSession.getMapper(UserMapper.class);
+
+        Assertions.assertThatThrownBy(mapper::selectCursor)
+                .isInstanceOf(SqlSessionException.class)
+                .hasMessageContaining("returns a Cursor");
+        Mockito.verify(dataSource, Mockito.never()).getConnection();
+    }
+
+    @Test
+    public void should_shutdown_owned_executor_only() {
+        AsyncSqlSession asyncSqlSession = new AsyncSqlSession(
+                new SqlSessionFactoryBuilder().build(configuration), executor, 2);
+        asyncSqlSession.close();
+        Assertions.assertThat(executor.isShutdown()).isFalse();
+
+        AsyncSqlSession owning = new AsyncSqlSession(new SqlSessionFactoryBuilder().build(configuration));
+        Assertions.assertThat(owning.getMaxConcurrency()).isEqualTo(10);
+        Assertions.assertThat(owning.selectList("selectAll", null).join()).hasSize(2);
+        owning.close();
+    }
+
+    private Connection newConnection() throws SQLException {
+        Connection connection = Mockito.mock(Connection.class);
+        Mockito.when(connection.prepareStatement(Mockito.anyString())).thenAnswer(invocation -> {
+            PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+            String sql = invocation.getArgument(0);
+            ResultSet resultSet = sql.contains("where")
+                    ? MockResultSets.of(statement, new String[]{"id", "name"}, new Object[]{1, "a"})
+                    : MockResultSets.of(statement, new String[]{"id", "name"},
+                    new Object[]{1, "a"}, new Object[]{2, "b"});
+            Mockito.when(statement.getResultSet()).thenReturn(resultSet);
+            return statement;
+        });
+        return connection;
+    }
+
+    private void addSelectStatement(String id, String sql) {
+        configuration.addMappedStatement(MockSessions.select(configuration, id, sql, User.class).build());
+    }
+
+    public interface UserMapper {
+        CompletableFuture<User> selectById(Integer id);
+
+        CompletableFuture<List<User>> selectAll();
+
+        List<User> count();
+
+        Cursor<User> selectCursor();
+    }
+
+    public static class User {
+        private Integer id;
+
+        private String name;
+
+        public Integer getId() {
+            return id;
+        }
+
+        public void setId(Integer id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.pcz.mybatis.core.session;
+
+import com.pcz.mybatis.core.executor.KeysetStatementBuilder;
+import com.pcz.mybatis.core.executor.resultset.MockResultSets;
+import com.pcz.mybatis.core.executor.resultset.MockSessions;
+import com.pcz.mybatis.core.mapping.BoundSql;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Map;
+
+public class KeysetPaginationTest {
+    private static final String SELECT_USERS = "selectUsers";
+
+    private Configuration configuration;
+
+    private Connection connection;
+
+    private PreparedStatement statement;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        statement = Mockito.mock(PreparedStatement.class);
+        connection = MockSessions.connection(statement);
+        configuration = MockSessions.configuration(connection);
+        configuration.setDatabaseId("postgresql");
+        configuration.addMapper(UserMapper.class);
+        addSelectStatement(SELECT_USERS, "select id, score from user where status = #{status}");
+        addSelectStatement(UserMapper.class.getName() + ".selectPage", "select id, score from user");
+    }
+
+    @Test
+    public void should_round_trip_token() {
+        Timestamp timestamp = new Timestamp(1000L);
+        timestamp.setNanos(123456789);
+        KeysetBounds keysetBounds = new KeysetBounds.Builder(10)
+                .key("a").key("b").key("c").key("d")
+                .afterValues(1L, "x", timestamp, LocalDate.of(2020, 1, 2))
+                .build();
+        String token = KeysetBounds.encode(keysetBounds.getAfter());
+
+        KeysetBounds next = new KeysetBounds.Builder(10).key("a").key("b").key("c").key("d").after(token).build();
+
+        Assertions.assertThat(next.getAfter()).containsExactly(1L, "x", timestamp, LocalDate.of(2020, 1, 2));
+        Assertions.assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> new KeysetBounds.Builder(10).key("a").after("not-a-token"));
+        Assertions.assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> new KeysetBounds.Builder(10).key("a; drop table user"));
+    }
+
+    @Test
+    public void should_append_seek_predicate_and_order_by() {
+        KeysetBounds keysetBounds = new KeysetBounds.Builder(10)
+                .key("score", "score", true)
+                .key("id")
+                .afterValues(new BigDecimal("9.5"), 7)
+                .build();
+
+        BoundSql boundSql = KeysetStatementBuilder.build(configuration.getMappedStatement(SELECT_USERS),
+                Collections.singletonMap("status", 1), keysetBounds).getBoundSql(null);
+
+        Assertions.assertThat(boundSql.getSql()).isEqualTo("SELECT * FROM (select id, score from user where status = ?)"
+                + " keyset_ WHERE (keyset_.score < ?) OR (keyset_.score = ? AND keyset_.id > ?)"
+                + " ORDER BY keyset_.score DESC, keyset_.id ASC");
+        Assertions.assertThat(boundSql.getParameterMappings()).hasSize(4);
+        Assertions.assertThat(boundSql.getAdditionalParameter("__keyset_2")).isEqualTo(new BigDecimal("9.5"));
+        Assertions.assertThat(boundSql.getAdditionalParameter("__keyset_3")).isEqualTo(7);
+    }
+
+    @Test
+    public void should_return_page_with_next_token() throws SQLException {
+        ResultSet resultSet = MockResultSets.of(statement, new String[]{"id", "score"},
+                new Object[]{1, 10}, new Object[]{2, 20}, new Object[]{3, 30});
+        Mockito.when(statement.getResultSet()).thenReturn(resultSet);
+        KeysetBounds keysetBounds = new KeysetBounds.Builder(2).key("id").build();
+
+        KeysetPage<Map<String, Object>> page;
+        try (SqlSession sqlSession = MockSessions.openSession(configuration)) {
+            page = sqlSession.selectKeysetPage(SELECT_USERS, Collections.singletonMap("status", 1), keysetBounds);
+        }
+
+        Assertions.assertThat(page.getItems()).extracting(user -> user.get("id")).containsExactly(1, 2);
+        Assertions.assertThat(page.hasNext()).isTrue();
+        Assertions.assertThat(new KeysetBounds.Builder(2).key("id").after(page.getNextToken()).build().getAfter())
+                .containsExactly(2);
+        Mockito.verify(connection).prepareStatement("SELECT * FROM (select id, score from user where status = ?)"
+                + " keyset_ ORDER BY keyset_.id ASC LIMIT ?");
+        Mockito.verify(statement).setLong(2, 3L);
+    }
+
+    @Test
+    public void should_return_last_page_through_mapper() throws SQLException {
+        ResultSet resultSet = MockResultSets.of(statement, new String[]{"id", "score"}, new Object[]{3, 30});
+        Mockito.when(statement.getResultSet()).thenReturn(resultSet);
+
+        KeysetPage<Map<String, Object>> page;
+        try (SqlSession sqlSession = MockSessions.openSession(configuration)) {
+            page = sqlSession.getMapper(UserMapper.class)
+                    .selectPage(new KeysetBounds.Builder(2).key("id").afterValues(2).build());
+        }
+
+        Assertions.assertThat(page.getItems()).hasSize(1);
+        Assertions.assertThat(page.hasNext()).isFalse();
+        Mockito.verify(connection).prepareStatement("SELECT * FROM (select id, score from user) keyset_"
+                + " WHERE (keyset_.id > ?) ORDER BY keyset_.id ASC LIMIT ?");
+        Mockito.verify(statement).setInt(1, 2);
+    }
+
+    private void addSelectStatement(String id, String sql) {
+        configuration.addMappedStatement(MockSessions.select(configuration, id, sql, Map.class).build());
+    }
+
+    public interface UserMapper {
+        KeysetPage<Map<String, Object>> selectPage(KeysetBounds keysetBounds);
+    }
+}
@@ -0,0 +1,126 @@
+package com.pcz.mybatis.core.session;
+
+import com.pcz.mybatis.core.dialect.DefaultDialect;
+import com.pcz.mybatis.core.dialect.LimitStyle;
+import com.pcz.mybatis.core.executor.resultset.MockResultSets;
+import com.pcz.mybatis.core.executor.resultset.MockSessions;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public class PipelineTest {
+    private Configuration configuration;
+
+    private Connection connection;
+
+    private DatabaseMetaData metaData;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        connection = Mockito.mock(Connection.class);
+        metaData = Mockito.mock(DatabaseMetaData.class);
+        Mockito.when(connection.getMetaData()).thenReturn(metaData);
+
+        configuration = MockSessions.configuration(connection);
+        addSelectStatement("selectUser", "select id, name from user where id = #{id};", User.class);
+        addSelectStatement("selectOrders", "select id, amount from orders where user_id = #{userId}", Map.class);
+    }
+
+    @Test
+    public void should_execute_statements_in_one_round_trip() throws SQLException {
+        Mockito.when(metaData.supportsMultipleResultSets()).thenReturn(true);
+        configuration.getDialectRegistry().register("test", new DefaultDialect(1000, true, LimitStyle.NONE, true));
+        configuration.setDatabaseId("test");
+        PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+        ResultSet users = MockResultSets.of(statement, new String[]{"id", "name"}, new Object[]{1, "a"});
+        ResultSet orders = MockResultSets.of(statement, new String[]{"id", "amount"},
+                new Object[]{10, 100}, new Object[]{11, 200});
+        Mockito.when(statement.getResultSet()).thenReturn(users, orders);
+        Mockito.when(statement.getMoreResults()).thenReturn(true, false);
+        Mockito.when(statement.getUpdateCount()).thenReturn(-1);
+        Mockito.when(statement.getConnection()).thenReturn(connection);
+        Mockito.when(connection.prepareStatement(Mockito.anyString())).thenReturn(statement);
+
+        Pipeline pipeline = new Pipeline();
+        Pipeline.Key<User> userKey = pipeline.add("selectUser", 1);
+        Pipeline.Key<Map<String, Object>> orderKey = pipeline.add("selectOrders", Collections.singletonMap("userId", 1));
+        PipelineResult result;
+        try (SqlSession sqlSession = MockSessions.openSession(configuration)) {
+            result = sqlSession.selectPipeline(pipeline);
+        }
+
+        Assertions.assertThat(result.isPipelined()).isTrue();
+        List<User> userList = result.get(userKey);
+        Assertions.assertThat(userList).extracting(User::getName).containsExactly("a");
+        Assertions.assertThat(result.get(orderKey)).extracting(order -> order.get("amount")).containsExactly(100, 200);
+        Mockito.verify(connection, Mockito.times(1)).prepareStatement(
+                "select id, name from user where id = ?;\nselect id, amount from orders where user_id = ?");
+        Mockito.verify(statement).setInt(1, 1);
+        Mockito.verify(statement).setInt(2, 1);
+    }
+
+    @Test
+    public void should_fall_back_to_sequential_execution() throws SQLException {
+        Mockito.when(metaData.supportsMultipleResultSets()).thenReturn(true);
+        PreparedStatement userStatement = Mockito.mock(PreparedStatement.class);
+        ResultSet users = MockResultSets.of(userStatement, new String[]{"id", "name"}, new Object[]{1, "a"});
+        Mockito.when(userStatement.getResultSet()).thenReturn(users);
+        PreparedStatement orderStatement = Mockito.mock(PreparedStatement.class);
+        ResultSet orders = MockResultSets.of(orderStatement, new String[]{"id", "amount"}, new Object[]{10, 100});
+        Mockito.when(orderStatement.getResultSet()).thenReturn(orders);
+        Mockito.when(connection.prepareStatement(Mockito.startsWith("select id, name")))
+                .thenReturn(userStatement);
+        Mockito.when(connection.prepareStatement(Mockito.startsWith("select id, amount")))
+                .thenReturn(orderStatement);
+
+        Pipeline pipeline = new Pipeline();
+        Pipeline.Key<User> userKey = pipeline.add("selectUser", 1);
+        Pipeline.Key<Map<String, Object>> orderKey = pipeline.add("selectOrders", Collections.singletonMap("userId", 1));
+        PipelineResult result;
+        try (SqlSession sqlSession = MockSessions.openSession(configuration)) {
+            result = sqlSession.selectPipeline(pipeline);
+        }
+
+        Assertions.assertThat(result.isPipelined()).isFalse();
+        Assertions.assertThat(result.get(userKey)).hasSize(1);
+        Assertions.assertThat(result.get(orderKey)).hasSize(1);
+        Mockito.verify(connection, Mockito.times(2)).prepareStatement(Mockito.anyString());
+        Mockito.verify(connection, Mockito.never()).prepareStatement(Mockito.contains(";\n"));
+    }
+
+    private void addSelectStatement(String id, String sql, Class<?> resultType) {
+        configuration.addMappedStatement(MockSessions.select(configuration, id, sql, resultType).build());
+    }
+
+    public static class User {
+        private Integer id;
+
+        private String name;
+
+        public Integer getId() {
+            return id;
+        }
+
+        public void setId(Integer id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+}
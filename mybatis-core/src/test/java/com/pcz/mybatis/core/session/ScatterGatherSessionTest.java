@@ -0,0 +1,189 @@
+package com.pcz.mybatis.core.session;
+
+import com.pcz.mybatis.core.cursor.Cursor;
+import com.pcz.mybatis.core.datasource.sharding.ShardContext;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+public class ScatterGatherSessionTest {
+    private static final List<List<Map<String, Object>>> SHARD_ROWS = Arrays.asList(
+            Arrays.asList(row(1), row(4), row(7)),
+            Arrays.asList(row(2), row(5)),
+            Arrays.asList(row(3), row(6)));
+
+    private ExecutorService executor;
+
+    private List<SqlSession> sessions;
+
+    @BeforeEach
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(3);
+        sessions = new ArrayList<>();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void should_merge_list_on_key_with_row_bounds() {
+        ScatterGatherSession session = new ScatterGatherSession(sessionFactory(), 3, executor);
+
+        List<Map<String, Object>> result = session.selectList("selectAll", null,
+                new RowBounds(1, 4), ScatterGatherSession.orderBy("id"));
+
+        Assertions.assertThat(result).extracting(row -> row.get("id")).containsExactly(2, 3, 4, 5);
+        sessions.forEach(sqlSession -> Mockito.verify(sqlSession).close());
+        sessions.forEach(sqlSession -> Mockito.verify(sqlSession)
+                .selectList(Mockito.eq("selectAll"), Mockito.any(), Mockito.argThat(rowBounds -> rowBounds.getLimit() == 5)));
+    }
+
+    @Test
+    public void should_merge_cursor_descending_and_close_sessions() {
+        ScatterGatherSession session = new ScatterGatherSession(sessionFactory(), 3, executor);
+
+        List<Object> ids = new ArrayList<>();
+        try (Cursor<Map<String, Object>> cursor = session.selectCursor("selectAll", null,
+                RowBounds.DEFAULT, ScatterGatherSession.orderBy("id desc"))) {
+            Assertions.assertThat(sessions).allSatisfy(sqlSession -> Mockito.verify(sqlSession, Mockito.never()).close());
+            cursor.forEachRemaining(row -> ids.add(row.get("id")));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        Assertions.assertThat(ids).containsExactly(7, 6, 5, 4, 3, 2, 1);
+        sessions.forEach(sqlSession -> Mockito.verify(sqlSession).close());
+    }
+
+    @Test
+    public void should_query_shards_concurrently() {
+        CountDownLatch latch = new CountDownLatch(3);
+        SqlSessionFactory factory = factory(() -> {
+            SqlSession sqlSession = Mockito.mock(SqlSession.class);
+            Mockito.when(sqlSession.selectList(Mockito.anyString(), Mockito.any(), Mockito.any())).thenAnswer(invocation -> {
+                latch.countDown();
+                // 所有分片同时执行时才能通过
+                Assertions.assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+                return new ArrayList<>();
+            });
+            return sqlSession;
+        });
+
+        List<Object> result = new ScatterGatherSession(factory, 3, executor).selectList("selectAll", null);
+
+        Assertions.assertThat(result).isEmpty();
+    }
+
+    @Test
+    public void should_close_sessions_when_shard_failed() {
+        SqlSessionFactory factory = factory(() -> {
+            SqlSession sqlSession = Mockito.mock(SqlSession.class);
+            Mockito.when(sqlSession.selectCursor(Mockito.anyString(), Mockito.any(), Mockito.any())).thenAnswer(invocation -> {
+                if (ShardContext.getShardIndex() == 1) {
+                    throw new IllegalStateException("shard down");
+                }
+                return Mockito.mock(Cursor.class);
+            });
+            synchronized (sessions) {
+                sessions.add(sqlSession);
+            }
+            return sqlSession;
+        });
+
+        Assertions.assertThatExceptionOfType(SqlSessionException.class)
+                .isThrownBy(() -> new ScatterGatherSession(factory, 3, executor)
+                        .selectCursor("selectAll", null, RowBounds.DEFAULT, null));
+        sessions.forEach(sqlSession -> Mockito.verify(sqlSession).close());
+    }
+
+    private SqlSessionFactory sessionFactory() {
+        return factory(() -> {
+            int shard = ShardContext.getShardIndex();
+            SqlSession sqlSession = Mockito.mock(SqlSession.class);
+            Mockito.when(sqlSession.selectList(Mockito.anyString(), Mockito.any(), Mockito.any()))
+                    .thenReturn(new ArrayList<>(SHARD_ROWS.get(shard)));
+            Mockito.when(sqlSession.selectCursor(Mockito.anyString(), Mockito.any(), Mockito.any()))
+                    .thenAnswer(invocation -> new ListCursor<>(descending(SHARD_ROWS.get(shard))));
+            synchronized (sessions) {
+                sessions.add(sqlSession);
+            }
+            return sqlSession;
+        });
+    }
+
+    private static SqlSessionFactory factory(Supplier<SqlSession> supplier) {
+        SqlSessionFactory factory = Mockito.mock(SqlSessionFactory.class);
+        Mockito.when(factory.openSession()).thenAnswer(invocation -> supplier.get());
+        return factory;
+    }
+
+    private static List<Map<String, Object>> descending(List<Map<String, Object>> rows) {
+        List<Map<String, Object>> result = new ArrayList<>(rows);
+        Collections.reverse(result);
+        return result;
+    }
+
+    private static Map<String, Object> row(int id) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", id);
+        return row;
+    }
+
+    private static class ListCursor<T> implements Cursor<T> {
+        private final Iterator<T> iterator;
+
+        private int currentIndex = -1;
+
+        ListCursor(List<T> list) {
+            this.iterator = list.iterator();
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public boolean isConsumed() {
+            return !iterator.hasNext();
+        }
+
+        @Override
+        public int getCurrentIndex() {
+            return currentIndex;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        @Override
+        public T next() {
+            currentIndex++;
+            return iterator.next();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.pcz.mybatis.core.util;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class HashedWheelTimerTest {
+    private HashedWheelTimer timer;
+
+    @BeforeEach
+    public void setUp() {
+        timer = new HashedWheelTimer("test-timer", 10, TimeUnit.MILLISECONDS, 8);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        timer.stop();
+    }
+
+    @Test
+    public void should_run_task_after_delay() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        HashedWheelTimer.Timeout timeout = timer.newTimeout(latch::countDown, 50, TimeUnit.MILLISECONDS);
+
+        Assertions.assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        Assertions.assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(50);
+        Assertions.assertThat(timeout.isExpired()).isTrue();
+        Assertions.assertThat(timeout.cancel()).isFalse();
+    }
+
+    @Test
+    public void should_run_tasks_beyond_one_rotation() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(3);
+        timer.newTimeout(latch::countDown, 0, TimeUnit.MILLISECONDS);
+        timer.newTimeout(latch::countDown, 30, TimeUnit.MILLISECONDS);
+        timer.newTimeout(latch::countDown, 200, TimeUnit.MILLISECONDS);
+
+        Assertions.assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void should_not_run_cancelled_task() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(1);
+        HashedWheelTimer.Timeout cancelled = timer.newTimeout(runs::incrementAndGet, 30, TimeUnit.MILLISECONDS);
+        timer.newTimeout(latch::countDown, 100, TimeUnit.MILLISECONDS);
+
+        Assertions.assertThat(cancelled.cancel()).isTrue();
+
+        Assertions.assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        Assertions.assertThat(cancelled.isCancelled()).isTrue();
+        Assertions.assertThat(runs.get()).isZero();
+    }
+
+    @Test
+    public void should_reject_tasks_after_stop() {
+        timer.stop();
+
+        Assertions.assertThatExceptionOfType(IllegalStateException.class)
+                .isThrownBy(() -> timer.newTimeout(() -> {
+                }, 1, TimeUnit.MILLISECONDS));
+    }
+}